@@ -50,15 +50,21 @@ public class SecurityConfig {
         "/per/products/list",
         "/per/products/detail/{id}",
         "/per/products/search",
+        "/per/products/search/cursor",
+        "/per/products/cursor",
         "/per/brands/list",
         "/per/brands/detail/{id}",
         "/per/brands/search",
+        "/per/brands/cursor",
         "/per/categories/list",
         "/per/categories/detail/{id}",
         "/per/categories/search",
+        "/per/categories/cursor",
         "/per/made-in/list",
         "/per/made-in/detail/{id}",
         "/per/made-in/search",
+        "/per/made-in/cursor",
+        "/per/search/all",
     };
 
     private static final String[] publicRagEndpoints = {"/per/rag/chat", "/per/rag/chat/stream"};
@@ -1,10 +1,14 @@
 package com.per.brand.consumer;
 
+import java.util.List;
 import java.util.UUID;
 
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.annotation.RetryableTopic;
 import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 
@@ -12,11 +16,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.per.brand.mapper.BrandDocumentMapper;
 import com.per.brand.repository.BrandRepository;
 import com.per.brand.repository.BrandSearchRepository;
+import com.per.common.config.kafka.CdcMetrics;
 import com.per.common.config.kafka.KafkaTopicNames;
 import com.per.common.event.cdc.BrandCdcPayload;
-import com.per.product.service.ProductCdcIndexService;
+import com.per.product.service.ProductCascadeReindexScheduler;
+import com.per.product.service.ProductCascadeReindexScheduler.Parent;
 import com.per.rag.service.QdrantCdcService;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,9 +39,10 @@ public class BrandCdcConsumer {
     private final BrandRepository brandRepository;
     private final BrandSearchRepository brandSearchRepository;
     private final BrandDocumentMapper brandDocumentMapper;
-    private final ProductCdcIndexService productCdcIndexService;
+    private final ProductCascadeReindexScheduler cascadeReindexScheduler;
     private final QdrantCdcService qdrantCdcService;
     private final ObjectMapper objectMapper;
+    private final CdcMetrics cdcMetrics;
 
     @RetryableTopic(
             attempts = "4",
@@ -47,7 +55,7 @@ public class BrandCdcConsumer {
             topics = KafkaTopicNames.CDC_BRANDS_TOPIC,
             groupId = KafkaTopicNames.CDC_BRAND_GROUP,
             containerFactory = "cdcKafkaListenerContainerFactory")
-    public void consume(String message) {
+    public void consume(String message, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
         if (message == null || message.isEmpty()) {
             log.debug("Received empty or tombstone record, skipping");
             return;
@@ -55,6 +63,8 @@ public class BrandCdcConsumer {
 
         try {
             BrandCdcPayload payload = objectMapper.readValue(message, BrandCdcPayload.class);
+            cdcMetrics.consumed(topic, payload);
+            Timer.Sample sample = cdcMetrics.startIndexing();
             UUID brandId = UUID.fromString(payload.getId());
 
             log.info("Processing brand CDC event: op={}, brandId={}", payload.getOp(), brandId);
@@ -76,13 +86,21 @@ public class BrandCdcConsumer {
                                     qdrantCdcService.indexBrand(brandId);
                                     log.info("Brand indexed: {}", brandId);
 
-                                    // CASCADE: Re-index all products that reference this brand
-                                    productCdcIndexService.reindexProductsByBrand(brandId);
+                                    // CASCADE: Debounced re-index of the products of this brand
+                                    cascadeReindexScheduler.request(Parent.BRAND, brandId);
                                 });
             }
+            cdcMetrics.indexed(topic, sample, List.of(payload));
         } catch (Exception e) {
             log.error("Failed to process brand CDC event: {}", e.getMessage(), e);
             throw new RuntimeException("CDC processing failed", e);
         }
     }
+
+    /** Records that exhausted their retries; the failure was logged on every attempt. */
+    @DltHandler
+    public void handleDlt(String message, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        cdcMetrics.deadLettered(topic);
+        log.error("Brand CDC event dead-lettered to {}: {}", topic, message);
+    }
 }
@@ -30,6 +30,7 @@ import com.per.common.ApiConstants;
 import com.per.common.base.BaseController;
 import com.per.common.response.ApiResponse;
 import com.per.common.response.ApiSuccessCode;
+import com.per.common.response.CursorPageResponse;
 import com.per.common.response.PageResponse;
 
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
@@ -56,6 +57,18 @@ public class BrandController extends BaseController {
         return ResponseEntity.ok(ApiResponse.success(ApiSuccessCode.BRAND_LIST_SUCCESS, response));
     }
 
+    @GetMapping(ApiConstants.Brand.CURSOR)
+    @RateLimiter(name = "mediumTraffic", fallbackMethod = "rateLimit")
+    @Operation(
+            summary = "List brands by cursor",
+            description = "Keyset pagination, newest first; no total count")
+    public ResponseEntity<ApiResponse<CursorPageResponse<BrandResponse>>> scrollBrands(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        CursorPageResponse<BrandResponse> response = brandService.scrollBrands(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(ApiSuccessCode.BRAND_LIST_SUCCESS, response));
+    }
+
     @GetMapping(ApiConstants.Brand.SEARCH)
     @RateLimiter(name = "highTraffic", fallbackMethod = "rateLimit")
     @Operation(summary = "Search brands", description = "Full-text search with fuzzy matching")
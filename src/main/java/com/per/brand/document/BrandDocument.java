@@ -10,7 +10,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-@Document(indexName = "brands")
+@Document(indexName = "brands", createIndex = false)
 @Data
 @Builder
 @NoArgsConstructor
@@ -1,11 +1,15 @@
 package com.per.brand.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.per.brand.entity.Brand;
 
@@ -22,4 +26,28 @@ public interface BrandRepository extends JpaRepository<Brand, UUID> {
 			OR LOWER(COALESCE(b.websiteUrl, '')) LIKE LOWER(CONCAT('%', :query, '%'))
 			""")
     Page<Brand> search(String name, Pageable pageable);
+
+    // Keyset pagination, newest first (see CursorPageResponse)
+    @Query(
+            """
+			SELECT b FROM Brand b
+			ORDER BY b.createdAt DESC, b.id DESC
+			""")
+    List<Brand> findFirstPage(Pageable limit);
+
+    @Query(
+            """
+			SELECT b FROM Brand b
+			WHERE b.createdAt <= :createdAt
+			AND (b.createdAt < :createdAt OR b.id < :id)
+			ORDER BY b.createdAt DESC, b.id DESC
+			""")
+    List<Brand> findPageAfter(
+            @Param("createdAt") Instant createdAt, @Param("id") UUID id, Pageable limit);
+
+    // Catch-up of the writes made while a new index was filled
+    List<Brand> findByUpdatedAtGreaterThanEqual(Instant since);
+
+    @Query("SELECT b.id FROM Brand b WHERE b.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
 }
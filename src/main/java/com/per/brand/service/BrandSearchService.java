@@ -5,10 +5,18 @@ import org.springframework.data.domain.Pageable;
 import com.per.brand.document.BrandDocument;
 import com.per.common.response.PageResponse;
 
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+
 public interface BrandSearchService {
 
     PageResponse<BrandDocument> search(String query, Pageable pageable);
 
+    /**
+     * Builds the query behind {@link #search(String, Pageable)}, so callers can batch it with other
+     * searches in one multi search request.
+     */
+    Query searchQuery(String query);
+
     void index(BrandDocument document);
 
     void delete(String id);
@@ -7,12 +7,15 @@ import org.springframework.data.domain.Pageable;
 import com.per.brand.dto.request.BrandCreateRequest;
 import com.per.brand.dto.request.BrandUpdateRequest;
 import com.per.brand.dto.response.BrandResponse;
+import com.per.common.response.CursorPageResponse;
 import com.per.common.response.PageResponse;
 
 public interface BrandService {
 
     PageResponse<BrandResponse> getBrands(String query, Pageable pageable);
 
+    CursorPageResponse<BrandResponse> scrollBrands(String cursor, int size);
+
     BrandResponse getBrand(UUID id);
 
     BrandResponse createBrand(BrandCreateRequest request);
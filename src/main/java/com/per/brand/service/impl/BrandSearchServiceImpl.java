@@ -1,5 +1,6 @@
 package com.per.brand.service.impl;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.data.domain.Pageable;
@@ -7,6 +8,7 @@ import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -16,6 +18,8 @@ import com.per.brand.mapper.BrandDocumentMapper;
 import com.per.brand.repository.BrandRepository;
 import com.per.brand.repository.BrandSearchRepository;
 import com.per.brand.service.BrandSearchService;
+import com.per.common.config.elasticsearch.AliasedIndexManager;
+import com.per.common.config.elasticsearch.AliasedIndexManager.FillResult;
 import com.per.common.response.PageResponse;
 
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
@@ -29,13 +33,14 @@ import lombok.extern.slf4j.Slf4j;
 public class BrandSearchServiceImpl implements BrandSearchService {
 
     private final ElasticsearchOperations esOperations;
+    private final AliasedIndexManager aliasedIndexManager;
     private final BrandSearchRepository searchRepository;
     private final BrandRepository brandRepository;
     private final BrandDocumentMapper documentMapper;
 
     @Override
     public PageResponse<BrandDocument> search(String query, Pageable pageable) {
-        Query esQuery = buildSearchQuery(query);
+        Query esQuery = searchQuery(query);
 
         NativeQuery nativeQuery =
                 NativeQuery.builder().withQuery(esQuery).withPageable(pageable).build();
@@ -73,25 +78,37 @@ public class BrandSearchServiceImpl implements BrandSearchService {
     @Override
     public void reindexAll() {
         log.info("Starting full brand reindex");
-        searchRepository.deleteAll();
-
-        List<Brand> brands = brandRepository.findAll();
-        int indexed = 0;
+        long indexed =
+                aliasedIndexManager.rebuild(
+                        BrandDocument.class,
+                        index -> write(brandRepository.findAll(), index),
+                        (index, since) ->
+                                write(
+                                        brandRepository.findByUpdatedAtGreaterThanEqual(since),
+                                        index),
+                        brandRepository::findExistingIds);
+        log.info("Brand reindex completed: {} brands indexed", indexed);
+    }
 
+    private FillResult write(List<Brand> brands, IndexCoordinates index) {
+        List<BrandDocument> documents = new ArrayList<>();
+        long failed = 0;
         for (Brand brand : brands) {
             try {
-                BrandDocument doc = documentMapper.toDocument(brand);
-                searchRepository.save(doc);
-                indexed++;
+                documents.add(documentMapper.toDocument(brand));
             } catch (Exception e) {
+                failed++;
                 log.error("Failed to index brand {}: {}", brand.getId(), e.getMessage());
             }
         }
-
-        log.info("Brand reindex completed: {} brands indexed", indexed);
+        if (!documents.isEmpty()) {
+            esOperations.save(documents, index);
+        }
+        return new FillResult(brands.size(), documents.size(), failed);
     }
 
-    private Query buildSearchQuery(String query) {
+    @Override
+    public Query searchQuery(String query) {
         BoolQuery.Builder boolQuery = new BoolQuery.Builder();
 
         // Filter active brands only
@@ -1,10 +1,14 @@
 package com.per.category.consumer;
 
+import java.util.List;
 import java.util.UUID;
 
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.annotation.RetryableTopic;
 import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 
@@ -12,11 +16,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.per.category.mapper.CategoryDocumentMapper;
 import com.per.category.repository.CategoryRepository;
 import com.per.category.repository.CategorySearchRepository;
+import com.per.common.config.kafka.CdcMetrics;
 import com.per.common.config.kafka.KafkaTopicNames;
 import com.per.common.event.cdc.CategoryCdcPayload;
-import com.per.product.service.ProductCdcIndexService;
+import com.per.product.service.ProductCascadeReindexScheduler;
+import com.per.product.service.ProductCascadeReindexScheduler.Parent;
 import com.per.rag.service.QdrantCdcService;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,9 +39,10 @@ public class CategoryCdcConsumer {
     private final CategoryRepository categoryRepository;
     private final CategorySearchRepository categorySearchRepository;
     private final CategoryDocumentMapper categoryDocumentMapper;
-    private final ProductCdcIndexService productCdcIndexService;
+    private final ProductCascadeReindexScheduler cascadeReindexScheduler;
     private final QdrantCdcService qdrantCdcService;
     private final ObjectMapper objectMapper;
+    private final CdcMetrics cdcMetrics;
 
     @RetryableTopic(
             attempts = "4",
@@ -47,7 +55,7 @@ public class CategoryCdcConsumer {
             topics = KafkaTopicNames.CDC_CATEGORIES_TOPIC,
             groupId = KafkaTopicNames.CDC_CATEGORY_GROUP,
             containerFactory = "cdcKafkaListenerContainerFactory")
-    public void consume(String message) {
+    public void consume(String message, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
         if (message == null || message.isEmpty()) {
             log.debug("Received empty or tombstone record, skipping");
             return;
@@ -55,6 +63,8 @@ public class CategoryCdcConsumer {
 
         try {
             CategoryCdcPayload payload = objectMapper.readValue(message, CategoryCdcPayload.class);
+            cdcMetrics.consumed(topic, payload);
+            Timer.Sample sample = cdcMetrics.startIndexing();
             UUID categoryId = UUID.fromString(payload.getId());
 
             log.info(
@@ -76,13 +86,21 @@ public class CategoryCdcConsumer {
                                     qdrantCdcService.indexCategory(categoryId);
                                     log.info("Category indexed: {}", categoryId);
 
-                                    // CASCADE: Re-index all products that reference this category
-                                    productCdcIndexService.reindexProductsByCategory(categoryId);
+                                    // CASCADE: Debounced re-index of the products of this category
+                                    cascadeReindexScheduler.request(Parent.CATEGORY, categoryId);
                                 });
             }
+            cdcMetrics.indexed(topic, sample, List.of(payload));
         } catch (Exception e) {
             log.error("Failed to process category CDC event: {}", e.getMessage(), e);
             throw new RuntimeException("CDC processing failed", e);
         }
     }
+
+    /** Records that exhausted their retries; the failure was logged on every attempt. */
+    @DltHandler
+    public void handleDlt(String message, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        cdcMetrics.deadLettered(topic);
+        log.error("Category CDC event dead-lettered to {}: {}", topic, message);
+    }
 }
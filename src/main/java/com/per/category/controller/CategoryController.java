@@ -22,6 +22,7 @@ import com.per.common.ApiConstants;
 import com.per.common.base.BaseController;
 import com.per.common.response.ApiResponse;
 import com.per.common.response.ApiSuccessCode;
+import com.per.common.response.CursorPageResponse;
 import com.per.common.response.PageResponse;
 
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
@@ -49,6 +50,20 @@ public class CategoryController extends BaseController {
                 ApiResponse.success(ApiSuccessCode.CATEGORY_LIST_SUCCESS, response));
     }
 
+    @GetMapping(ApiConstants.Category.CURSOR)
+    @RateLimiter(name = "mediumTraffic", fallbackMethod = "rateLimit")
+    @Operation(
+            summary = "List categories by cursor",
+            description = "Keyset pagination, newest first; no total count")
+    public ResponseEntity<ApiResponse<CursorPageResponse<CategoryResponse>>> scrollCategories(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        CursorPageResponse<CategoryResponse> response =
+                categoryService.scrollCategories(cursor, size);
+        return ResponseEntity.ok(
+                ApiResponse.success(ApiSuccessCode.CATEGORY_LIST_SUCCESS, response));
+    }
+
     @GetMapping(ApiConstants.Category.SEARCH)
     @RateLimiter(name = "highTraffic", fallbackMethod = "rateLimit")
     @Operation(summary = "Search categories", description = "Full-text search with fuzzy matching")
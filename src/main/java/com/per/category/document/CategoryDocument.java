@@ -10,7 +10,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-@Document(indexName = "categories")
+@Document(indexName = "categories", createIndex = false)
 @Data
 @Builder
 @NoArgsConstructor
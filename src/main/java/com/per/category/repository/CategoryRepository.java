@@ -1,11 +1,15 @@
 package com.per.category.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.per.category.entity.Category;
 
@@ -21,4 +25,28 @@ public interface CategoryRepository extends JpaRepository<Category, UUID> {
 			WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :query, '%'))
 			""")
     Page<Category> search(String name, Pageable pageable);
+
+    // Keyset pagination, newest first (see CursorPageResponse)
+    @Query(
+            """
+			SELECT c FROM Category c
+			ORDER BY c.createdAt DESC, c.id DESC
+			""")
+    List<Category> findFirstPage(Pageable limit);
+
+    @Query(
+            """
+			SELECT c FROM Category c
+			WHERE c.createdAt <= :createdAt
+			AND (c.createdAt < :createdAt OR c.id < :id)
+			ORDER BY c.createdAt DESC, c.id DESC
+			""")
+    List<Category> findPageAfter(
+            @Param("createdAt") Instant createdAt, @Param("id") UUID id, Pageable limit);
+
+    // Catch-up of the writes made while a new index was filled
+    List<Category> findByUpdatedAtGreaterThanEqual(Instant since);
+
+    @Query("SELECT c.id FROM Category c WHERE c.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
 }
@@ -7,12 +7,15 @@ import org.springframework.data.domain.Pageable;
 import com.per.category.dto.request.CategoryCreateRequest;
 import com.per.category.dto.request.CategoryUpdateRequest;
 import com.per.category.dto.response.CategoryResponse;
+import com.per.common.response.CursorPageResponse;
 import com.per.common.response.PageResponse;
 
 public interface CategoryService {
 
     PageResponse<CategoryResponse> getCategories(String query, Pageable pageable);
 
+    CursorPageResponse<CategoryResponse> scrollCategories(String cursor, int size);
+
     CategoryResponse getCategory(UUID id);
 
     CategoryResponse createCategory(CategoryCreateRequest request);
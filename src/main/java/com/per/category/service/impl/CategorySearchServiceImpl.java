@@ -1,5 +1,6 @@
 package com.per.category.service.impl;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.data.domain.Pageable;
@@ -7,6 +8,7 @@ import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -16,6 +18,8 @@ import com.per.category.mapper.CategoryDocumentMapper;
 import com.per.category.repository.CategoryRepository;
 import com.per.category.repository.CategorySearchRepository;
 import com.per.category.service.CategorySearchService;
+import com.per.common.config.elasticsearch.AliasedIndexManager;
+import com.per.common.config.elasticsearch.AliasedIndexManager.FillResult;
 import com.per.common.response.PageResponse;
 
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
@@ -29,13 +33,14 @@ import lombok.extern.slf4j.Slf4j;
 public class CategorySearchServiceImpl implements CategorySearchService {
 
     private final ElasticsearchOperations esOperations;
+    private final AliasedIndexManager aliasedIndexManager;
     private final CategorySearchRepository searchRepository;
     private final CategoryRepository categoryRepository;
     private final CategoryDocumentMapper documentMapper;
 
     @Override
     public PageResponse<CategoryDocument> search(String query, Pageable pageable) {
-        Query esQuery = buildSearchQuery(query);
+        Query esQuery = searchQuery(query);
 
         NativeQuery nativeQuery =
                 NativeQuery.builder().withQuery(esQuery).withPageable(pageable).build();
@@ -73,25 +78,37 @@ public class CategorySearchServiceImpl implements CategorySearchService {
     @Override
     public void reindexAll() {
         log.info("Starting full category reindex");
-        searchRepository.deleteAll();
-
-        List<Category> categories = categoryRepository.findAll();
-        int indexed = 0;
+        long indexed =
+                aliasedIndexManager.rebuild(
+                        CategoryDocument.class,
+                        index -> write(categoryRepository.findAll(), index),
+                        (index, since) ->
+                                write(
+                                        categoryRepository.findByUpdatedAtGreaterThanEqual(since),
+                                        index),
+                        categoryRepository::findExistingIds);
+        log.info("Category reindex completed: {} categories indexed", indexed);
+    }
 
+    private FillResult write(List<Category> categories, IndexCoordinates index) {
+        List<CategoryDocument> documents = new ArrayList<>();
+        long failed = 0;
         for (Category category : categories) {
             try {
-                CategoryDocument doc = documentMapper.toDocument(category);
-                searchRepository.save(doc);
-                indexed++;
+                documents.add(documentMapper.toDocument(category));
             } catch (Exception e) {
+                failed++;
                 log.error("Failed to index category {}: {}", category.getId(), e.getMessage());
             }
         }
-
-        log.info("Category reindex completed: {} categories indexed", indexed);
+        if (!documents.isEmpty()) {
+            esOperations.save(documents, index);
+        }
+        return new FillResult(categories.size(), documents.size(), failed);
     }
 
-    private Query buildSearchQuery(String query) {
+    @Override
+    public Query searchQuery(String query) {
         BoolQuery.Builder boolQuery = new BoolQuery.Builder();
 
         boolQuery.filter(f -> f.term(t -> t.field("isActive").value(true)));
@@ -1,5 +1,6 @@
 package com.per.category.service.impl;
 
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.cache.annotation.Cacheable;
@@ -19,7 +20,9 @@ import com.per.common.config.cache.CacheEvictionHelper;
 import com.per.common.config.cache.CacheNames;
 import com.per.common.exception.ApiErrorCode;
 import com.per.common.exception.ApiException;
+import com.per.common.response.CursorPageResponse;
 import com.per.common.response.PageResponse;
+import com.per.common.response.SeekCursor;
 
 import lombok.RequiredArgsConstructor;
 
@@ -53,6 +56,19 @@ public class CategoryServiceImpl implements CategoryService {
         return PageResponse.from(page.map(categoryMapper::toResponse));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CategoryResponse> scrollCategories(String cursor, int size) {
+        SeekCursor after = SeekCursor.decode(cursor);
+        Pageable limit = CursorPageResponse.limit(size);
+        List<Category> rows =
+                after == null
+                        ? categoryRepository.findFirstPage(limit)
+                        : categoryRepository.findPageAfter(after.createdAt(), after.id(), limit);
+        return CursorPageResponse.from(
+                rows, size, categoryMapper::toResponse, Category::getCreatedAt, Category::getId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     @Cacheable(value = CacheNames.CATEGORY, key = "#id", sync = true)
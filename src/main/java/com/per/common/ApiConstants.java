@@ -41,6 +41,7 @@ public final class ApiConstants {
         public static final String DELETE = "/delete/{id}";
         public static final String SEARCH = "/search";
         public static final String REINDEX = "/reindex";
+        public static final String CURSOR = "/cursor";
     }
 
     public static final class Category {
@@ -54,6 +55,7 @@ public final class ApiConstants {
         public static final String DELETE = "/delete/{id}";
         public static final String SEARCH = "/search";
         public static final String REINDEX = "/reindex";
+        public static final String CURSOR = "/cursor";
     }
 
     public static final class MadeIn {
@@ -67,6 +69,7 @@ public final class ApiConstants {
         public static final String DELETE = "/delete/{id}";
         public static final String SEARCH = "/search";
         public static final String REINDEX = "/reindex";
+        public static final String CURSOR = "/cursor";
     }
 
     public static final class Product {
@@ -79,7 +82,9 @@ public final class ApiConstants {
         public static final String UPDATE = "/update/{id}";
         public static final String DELETE = "/delete/{id}";
         public static final String SEARCH = "/search";
+        public static final String SEARCH_CURSOR = "/search/cursor";
         public static final String REINDEX = "/reindex";
+        public static final String CURSOR = "/cursor";
     }
 
     public static final class ProductVariant {
@@ -111,6 +116,13 @@ public final class ApiConstants {
         public static final String ITEM_DETAILS = "/items/{itemId}";
     }
 
+    public static final class Search {
+        private Search() {}
+
+        public static final String ROOT = API_VERSION + "/search";
+        public static final String ALL = "/all";
+    }
+
     public static final class Rag {
         private Rag() {}
 
@@ -123,6 +135,14 @@ public final class ApiConstants {
         public static final String KNOWLEDGE_STATUS = "/knowledge/status";
     }
 
+    public static final class Dlt {
+        private Dlt() {}
+
+        public static final String ROOT = API_VERSION + "/dlt";
+        public static final String REPLAY = "/replay";
+        public static final String REPLAY_DETAIL = "/replay/{jobId}";
+    }
+
     public static final class User {
         private User() {}
 
@@ -132,5 +152,6 @@ public final class ApiConstants {
         public static final String CREATE = "/create";
         public static final String UPDATE = "/{id}";
         public static final String DELETE = "/{id}";
+        public static final String CURSOR = "/cursor";
     }
 }
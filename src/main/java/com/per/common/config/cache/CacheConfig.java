@@ -1,20 +1,26 @@
 package com.per.common.config.cache;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.per.common.config.cache.TwoLevelCacheManager.NearCacheSpec;
+import com.per.common.config.cache.TwoLevelCacheManager.RefreshSpec;
 
 /**
  * Redis cache configuration with customized TTL per cache type.
@@ -25,6 +31,17 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
  *   <li>Product caches: 10 minutes (higher traffic, more frequent updates)
  *   <li>Master data caches: 30 minutes (low update frequency)
  * </ul>
+ *
+ * <p>Catalog caches are additionally fronted by a bounded in-process L1 ({@link TwoLevelCache}). L1
+ * TTLs are kept short because cross-node invalidation over pub/sub is best-effort.
+ *
+ * <p>Values are stored as JSON by default. Caches listed in {@code app.cache.codec.binary-caches}
+ * use Smile with LZ4 compression instead (see {@link SmileLz4RedisSerializer}).
+ *
+ * <p>The product detail cache is stale-while-revalidate ({@link StaleWhileRevalidateCache}): after
+ * its 10 minute fresh window an entry is served for up to 5 more minutes while a single node
+ * reloads it through {@code ProductServiceImpl}'s {@link CacheRefreshLoader}, and frequently read
+ * entries are reloaded before they turn stale.
  */
 @Configuration
 @EnableCaching
@@ -33,26 +50,146 @@ public class CacheConfig {
     private static final Duration DEFAULT_TTL = Duration.ofMinutes(15);
     private static final Duration PRODUCT_TTL = Duration.ofMinutes(10);
     private static final Duration MASTER_DATA_TTL = Duration.ofMinutes(30);
+    // How long a product detail may be served stale while it is refreshed
+    private static final Duration PRODUCT_STALE_TTL = Duration.ofMinutes(5);
+
+    // L1 (near cache) sizing
+    private static final NearCacheSpec PRODUCT_NEAR =
+            new NearCacheSpec(10_000, Duration.ofSeconds(60));
+    private static final NearCacheSpec PRODUCTS_NEAR =
+            new NearCacheSpec(1_000, Duration.ofSeconds(30));
+    private static final NearCacheSpec MASTER_DATA_NEAR =
+            new NearCacheSpec(2_000, Duration.ofMinutes(5));
+    private static final NearCacheSpec MASTER_DATA_LIST_NEAR =
+            new NearCacheSpec(500, Duration.ofMinutes(2));
+
+    // List caches invalidated by generation bump instead of a keyspace scan
+    private static final Set<String> GENERATIONAL_CACHES =
+            Set.of(
+                    CacheNames.PRODUCTS,
+                    CacheNames.CATEGORIES,
+                    CacheNames.BRANDS,
+                    CacheNames.MADE_INS);
+
+    @Value("${app.cache.near.enabled:true}")
+    private boolean nearCacheEnabled;
+
+    @Value("${app.cache.refresh.enabled:true}")
+    private boolean refreshEnabled;
+
+    @Value("${app.cache.refresh.hot-read-threshold:20}")
+    private int hotReadThreshold;
+
+    @Value("${app.cache.codec.binary-caches:product,products}")
+    private Set<String> binaryCodecCaches;
+
+    @Value("${app.cache.codec.compression-threshold-bytes:1024}")
+    private int compressionThresholdBytes;
+
+    /**
+     * Primary cache manager used by {@code @Cacheable} and {@link CacheEvictionHelper}. Wraps the
+     * Redis manager with an in-process L1 for the catalog caches.
+     */
+    @Bean
+    @Primary
+    public TwoLevelCacheManager cacheManager(
+            RedisCacheManager redisCacheManager,
+            CacheGenerationTracker cacheGenerationTracker,
+            ObjectProvider<CacheRefreshLoader> cacheRefreshLoaders,
+            CacheRefreshCoordinator cacheRefreshCoordinator,
+            CacheInvalidationPublisher cacheInvalidationPublisher) {
+        Map<String, NearCacheSpec> nearCacheSpecs =
+                nearCacheEnabled
+                        ? Map.of(
+                                CacheNames.PRODUCT, PRODUCT_NEAR,
+                                CacheNames.PRODUCTS, PRODUCTS_NEAR,
+                                CacheNames.CATEGORY, MASTER_DATA_NEAR,
+                                CacheNames.CATEGORIES, MASTER_DATA_LIST_NEAR,
+                                CacheNames.BRAND, MASTER_DATA_NEAR,
+                                CacheNames.BRANDS, MASTER_DATA_LIST_NEAR,
+                                CacheNames.MADE_IN, MASTER_DATA_NEAR,
+                                CacheNames.MADE_INS, MASTER_DATA_LIST_NEAR)
+                        : Map.of();
 
+        Map<String, RefreshSpec> refreshSpecs =
+                refreshEnabled
+                        ? Map.of(
+                                CacheNames.PRODUCT,
+                                new RefreshSpec(PRODUCT_TTL, 0.8, hotReadThreshold, 10_000))
+                        : Map.of();
+
+        TwoLevelCacheManager cacheManager =
+                new TwoLevelCacheManager(
+                        redisCacheManager,
+                        nearCacheSpecs,
+                        GENERATIONAL_CACHES,
+                        refreshSpecs,
+                        cacheRefreshLoaders,
+                        cacheGenerationTracker,
+                        cacheRefreshCoordinator,
+                        cacheInvalidationPublisher);
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    /** Subscribes to L1 invalidations broadcast by other nodes. */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            CacheInvalidationListener cacheInvalidationListener) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                cacheInvalidationListener, new ChannelTopic(CacheInvalidationPublisher.CHANNEL));
+        return container;
+    }
+
+    /** L2 (Redis) tier. Transaction awareness is applied by the two-level manager on top. */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        RedisCacheConfiguration defaultConfig = createCacheConfig(DEFAULT_TTL);
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
+        RedisCacheConfiguration defaultConfig =
+                createCacheConfig(DEFAULT_TTL, CacheValueSerializers.json());
 
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
-                .withCacheConfiguration(CacheNames.PRODUCTS, createCacheConfig(PRODUCT_TTL))
-                .withCacheConfiguration(CacheNames.PRODUCT, createCacheConfig(PRODUCT_TTL))
-                .withCacheConfiguration(CacheNames.CATEGORIES, createCacheConfig(MASTER_DATA_TTL))
-                .withCacheConfiguration(CacheNames.CATEGORY, createCacheConfig(MASTER_DATA_TTL))
-                .withCacheConfiguration(CacheNames.BRANDS, createCacheConfig(MASTER_DATA_TTL))
-                .withCacheConfiguration(CacheNames.BRAND, createCacheConfig(MASTER_DATA_TTL))
-                .withCacheConfiguration(CacheNames.MADE_INS, createCacheConfig(MASTER_DATA_TTL))
-                .withCacheConfiguration(CacheNames.MADE_IN, createCacheConfig(MASTER_DATA_TTL))
-                .transactionAware()
+                .withCacheConfiguration(
+                        CacheNames.PRODUCTS, createCacheConfig(CacheNames.PRODUCTS, PRODUCT_TTL))
+                .withCacheConfiguration(
+                        CacheNames.PRODUCT,
+                        createCacheConfig(CacheNames.PRODUCT, productDetailTtl()))
+                .withCacheConfiguration(
+                        CacheNames.CATEGORIES,
+                        createCacheConfig(CacheNames.CATEGORIES, MASTER_DATA_TTL))
+                .withCacheConfiguration(
+                        CacheNames.CATEGORY,
+                        createCacheConfig(CacheNames.CATEGORY, MASTER_DATA_TTL))
+                .withCacheConfiguration(
+                        CacheNames.BRANDS, createCacheConfig(CacheNames.BRANDS, MASTER_DATA_TTL))
+                .withCacheConfiguration(
+                        CacheNames.BRAND, createCacheConfig(CacheNames.BRAND, MASTER_DATA_TTL))
+                .withCacheConfiguration(
+                        CacheNames.MADE_INS,
+                        createCacheConfig(CacheNames.MADE_INS, MASTER_DATA_TTL))
+                .withCacheConfiguration(
+                        CacheNames.MADE_IN, createCacheConfig(CacheNames.MADE_IN, MASTER_DATA_TTL))
                 .build();
     }
 
-    private RedisCacheConfiguration createCacheConfig(Duration ttl) {
+    /** Product detail entries outlive their fresh window so they can be served stale. */
+    private Duration productDetailTtl() {
+        return refreshEnabled ? PRODUCT_TTL.plus(PRODUCT_STALE_TTL) : PRODUCT_TTL;
+    }
+
+    private RedisCacheConfiguration createCacheConfig(String cacheName, Duration ttl) {
+        RedisSerializer<Object> valueSerializer =
+                binaryCodecCaches.contains(cacheName)
+                        ? CacheValueSerializers.smile(compressionThresholdBytes)
+                        : CacheValueSerializers.json();
+        return createCacheConfig(ttl, valueSerializer);
+    }
+
+    private RedisCacheConfiguration createCacheConfig(
+            Duration ttl, RedisSerializer<Object> valueSerializer) {
         return RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(ttl)
                 .disableCachingNullValues()
@@ -61,16 +198,6 @@ public class CacheConfig {
                                 new StringRedisSerializer()))
                 .serializeValuesWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(
-                                new GenericJackson2JsonRedisSerializer(redisObjectMapper())));
-    }
-
-    /** Configures ObjectMapper with Java 8 date/time support for Redis serialization. */
-    private ObjectMapper redisObjectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        mapper.activateDefaultTyping(
-                mapper.getPolymorphicTypeValidator(), ObjectMapper.DefaultTyping.NON_FINAL);
-        return mapper;
+                                valueSerializer));
     }
 }
@@ -68,6 +68,9 @@ public class CacheEvictionHelper {
      * Evicts all entries from the specified cache AFTER the current transaction commits. If no
      * transaction is active, evicts immediately.
      *
+     * <p>For generational list caches (see {@link GenerationalCache}) this is a single generation
+     * bump rather than a key scan.
+     *
      * @param cacheName the name of the cache to clear
      */
     public void evictAllAfterCommit(String cacheName) {
@@ -0,0 +1,78 @@
+package com.per.common.config.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tracks the current generation of each versioned cache.
+ *
+ * <p>The authoritative counter lives in Redis under {@code cache:generation:{cacheName}} and is
+ * bumped with {@code INCR}, so invalidating a whole cache is a single O(1) command. Nodes keep the
+ * last value they saw and re-read it after a short interval, or immediately when another node
+ * broadcasts a clear through {@link CacheInvalidationPublisher}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheGenerationTracker {
+
+    private static final String KEY_PREFIX = "cache:generation:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, CachedGeneration> generations = new ConcurrentHashMap<>();
+
+    @Value("${app.cache.generation.refresh-interval-ms:5000}")
+    private long refreshIntervalMs;
+
+    /** Returns the generation that keys of the given cache should currently embed. */
+    public long current(String cacheName) {
+        long now = System.currentTimeMillis();
+        CachedGeneration cached = generations.get(cacheName);
+        if (cached != null && now - cached.readAt() < refreshIntervalMs) {
+            return cached.value();
+        }
+
+        try {
+            String stored = redisTemplate.opsForValue().get(buildKey(cacheName));
+            long value = stored != null ? Long.parseLong(stored) : 0L;
+            generations.put(cacheName, new CachedGeneration(value, now));
+            return value;
+        } catch (Exception e) {
+            log.warn(
+                    "Failed to read generation of cache '{}', using last known value: {}",
+                    cacheName,
+                    e.getMessage());
+            return cached != null ? cached.value() : 0L;
+        }
+    }
+
+    /**
+     * Starts a new generation, which makes every existing entry of the cache unreachable. Old
+     * entries are left to expire on their TTL.
+     */
+    public long increment(String cacheName) {
+        Long value = redisTemplate.opsForValue().increment(buildKey(cacheName));
+        long next = value != null ? value : 0L;
+        generations.put(cacheName, new CachedGeneration(next, System.currentTimeMillis()));
+        log.debug("Cache '{}' moved to generation {}", cacheName, next);
+        return next;
+    }
+
+    /** Forgets the locally known generation so the next read goes to Redis. */
+    public void refresh(String cacheName) {
+        generations.remove(cacheName);
+    }
+
+    private String buildKey(String cacheName) {
+        return KEY_PREFIX + cacheName;
+    }
+
+    private record CachedGeneration(long value, long readAt) {}
+}
@@ -0,0 +1,51 @@
+package com.per.common.config.cache;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies L1 invalidations broadcast by other nodes. Only the local tier is touched; L2 (Redis) was
+ * already updated by the node that published the message.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationListener implements MessageListener {
+
+    private final TwoLevelCacheManager cacheManager;
+    private final CacheGenerationTracker generationTracker;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            CacheInvalidationMessage event =
+                    objectMapper.readValue(message.getBody(), CacheInvalidationMessage.class);
+            if (invalidationPublisher.isLocal(event)) {
+                return;
+            }
+
+            if (event.isClear()) {
+                // A clear on a generational cache means its generation was bumped
+                generationTracker.refresh(event.cacheName());
+                cacheManager.clearLocal(event.cacheName());
+                log.debug("Cleared L1 cache '{}' on remote request", event.cacheName());
+            } else {
+                cacheManager.evictLocal(event.cacheName(), event.key());
+                log.debug(
+                        "Evicted L1 key '{}' from cache '{}' on remote request",
+                        event.key(),
+                        event.cacheName());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to apply cache invalidation message: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.per.common.config.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Message broadcast over Redis pub/sub when a near-cached entry is evicted.
+ *
+ * @param origin id of the node that performed the eviction (receivers skip their own messages)
+ * @param cacheName the cache the eviction applies to
+ * @param key the evicted key, or {@code null} when the whole cache was cleared
+ */
+public record CacheInvalidationMessage(String origin, String cacheName, String key) {
+
+    @JsonIgnore
+    public boolean isClear() {
+        return key == null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.per.common.config.cache;
+
+import java.util.UUID;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Broadcasts L1 invalidations to the other application nodes over Redis pub/sub.
+ *
+ * <p>Publishing is best-effort: if Redis is unreachable the eviction still applies locally and the
+ * L1 TTL bounds how long other nodes can serve the old value.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    public static final String CHANNEL = "cache:invalidation";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void publishEvict(String cacheName, String key) {
+        publish(new CacheInvalidationMessage(nodeId, cacheName, key));
+    }
+
+    public void publishClear(String cacheName) {
+        publish(new CacheInvalidationMessage(nodeId, cacheName, null));
+    }
+
+    /** Returns true if the message was published by this node. */
+    public boolean isLocal(CacheInvalidationMessage message) {
+        return nodeId.equals(message.origin());
+    }
+
+    private void publish(CacheInvalidationMessage message) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(message));
+        } catch (Exception e) {
+            log.warn(
+                    "Failed to broadcast invalidation for cache '{}': {}",
+                    message.cacheName(),
+                    e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.per.common.config.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs background cache refreshes so that only one node reloads a given entry at a time.
+ *
+ * <p>Refreshes of the same key are first de-duplicated on this node, then guarded by a short Redis
+ * lock ({@code SET NX PX}). Nodes that lose the race simply keep serving the value they have. The
+ * lock expires on its own if the owner dies mid-refresh.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheRefreshCoordinator {
+
+    private static final String LOCK_PREFIX = "cache:refresh-lock:";
+
+    // Only the owner may release the lock
+    private static final RedisScript<Long> RELEASE_SCRIPT =
+            new DefaultRedisScript<>(
+                    "if redis.call('get', KEYS[1]) == ARGV[1] then"
+                            + " return redis.call('del', KEYS[1]) else return 0 end",
+                    Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.cache.refresh.lock-ttl-ms:10000}")
+    private long lockTtlMs;
+
+    /**
+     * Schedules {@code refresh} unless a refresh of the same entry is already running on this or
+     * another node. Never blocks the caller.
+     */
+    public void refreshAsync(String cacheName, Object key, Callable<?> refresh) {
+        String lockKey = LOCK_PREFIX + cacheName + ":" + key;
+        if (!inFlight.add(lockKey)) {
+            return;
+        }
+
+        try {
+            applicationTaskExecutor.execute(
+                    () -> {
+                        try {
+                            runLocked(lockKey, refresh);
+                        } finally {
+                            inFlight.remove(lockKey);
+                        }
+                    });
+        } catch (Exception e) {
+            inFlight.remove(lockKey);
+            log.warn("Failed to schedule refresh of '{}': {}", lockKey, e.getMessage());
+        }
+    }
+
+    private void runLocked(String lockKey, Callable<?> refresh) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired =
+                    redisTemplate
+                            .opsForValue()
+                            .setIfAbsent(lockKey, token, Duration.ofMillis(lockTtlMs));
+            if (!Boolean.TRUE.equals(acquired)) {
+                return;
+            }
+        } catch (Exception e) {
+            log.warn("Failed to acquire refresh lock '{}': {}", lockKey, e.getMessage());
+            return;
+        }
+
+        try {
+            refresh.call();
+            log.debug("Refreshed cache entry '{}'", lockKey);
+        } catch (Exception e) {
+            log.warn("Background refresh of '{}' failed: {}", lockKey, e.getMessage());
+        } finally {
+            release(lockKey, token);
+        }
+    }
+
+    private void release(String lockKey, String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(lockKey), token);
+        } catch (Exception e) {
+            log.debug("Failed to release refresh lock '{}': {}", lockKey, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.per.common.config.cache;
+
+/**
+ * Reloads entries of one stale-while-revalidate cache in the background.
+ *
+ * <p>A refresh runs on a task executor after the request that found the stale entry has returned,
+ * so it cannot reuse that request's {@code @Cacheable} value loader: whether the loader still
+ * passes through the method's other advice, such as its transaction, depends on advisor order.
+ * Implementations are the beans owning the cached data. The refresh calls them through their Spring
+ * proxy, so {@link #load} declares its own transaction and must bypass the cache.
+ */
+public interface CacheRefreshLoader {
+
+    /** Name of the cache whose entries this loader reloads. */
+    String cacheName();
+
+    /**
+     * Loads the current value of an entry, without reading or writing the cache.
+     *
+     * @param key the cache key, as computed by the {@code @Cacheable} method
+     * @return the value to cache, or {@code null} to leave the entry as it is
+     */
+    Object load(Object key);
+}
@@ -0,0 +1,49 @@
+package com.per.common.config.cache;
+
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Value serializers available to the Redis caches. Both formats share the same Jackson
+ * configuration, so any value that can be cached as JSON can also be cached as Smile.
+ */
+public final class CacheValueSerializers {
+
+    private CacheValueSerializers() {
+        // Prevent instantiation
+    }
+
+    /** Plain JSON with embedded type hints. Human readable in {@code redis-cli}. */
+    public static RedisSerializer<Object> json() {
+        return new GenericJackson2JsonRedisSerializer(configure(new ObjectMapper()));
+    }
+
+    /**
+     * Binary Smile, LZ4-compressed once the encoded value reaches {@code compressionThreshold}
+     * bytes. Still reads JSON entries written before a cache was switched over.
+     */
+    public static RedisSerializer<Object> smile(int compressionThreshold) {
+        SmileFactory smileFactory =
+                SmileFactory.builder()
+                        // Type hints and enum names repeat across list elements
+                        .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                        .build();
+        return new SmileLz4RedisSerializer(
+                configure(new ObjectMapper(smileFactory)), compressionThreshold, json());
+    }
+
+    /** Configures ObjectMapper with Java 8 date/time support for Redis serialization. */
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.activateDefaultTyping(
+                mapper.getPolymorphicTypeValidator(), ObjectMapper.DefaultTyping.NON_FINAL);
+        return mapper;
+    }
+}
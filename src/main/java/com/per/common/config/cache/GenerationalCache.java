@@ -0,0 +1,95 @@
+package com.per.common.config.cache;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Cache decorator that namespaces every key with the cache's current generation ({@code
+ * v{generation}:{key}}).
+ *
+ * <p>{@link #clear()} does not touch the underlying store. It bumps the generation in Redis, which
+ * orphans all existing keys at once; they expire on their regular TTL. This replaces the keyspace
+ * scan that {@code RedisCache.clear()} performs, and entries of the new generation are populated on
+ * demand instead of every shopper hitting an empty cache at the same moment.
+ */
+public class GenerationalCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheGenerationTracker generationTracker;
+    private final CacheInvalidationPublisher invalidationPublisher;
+
+    public GenerationalCache(
+            Cache delegate,
+            CacheGenerationTracker generationTracker,
+            CacheInvalidationPublisher invalidationPublisher) {
+        this.delegate = delegate;
+        this.generationTracker = generationTracker;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(versioned(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(versioned(key), type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(versioned(key), valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(versioned(key), value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(versioned(key), value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(versioned(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(versioned(key));
+    }
+
+    @Override
+    public void clear() {
+        generationTracker.increment(getName());
+        if (delegate instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.clearLocal();
+        }
+        // Other nodes drop their L1 and re-read the generation
+        invalidationPublisher.publishClear(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        clear();
+        return true;
+    }
+
+    private String versioned(Object key) {
+        return "v" + generationTracker.current(getName()) + ":" + key;
+    }
+}
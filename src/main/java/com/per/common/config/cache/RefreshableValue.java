@@ -0,0 +1,22 @@
+package com.per.common.config.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Envelope stored by {@link StaleWhileRevalidateCache}. Carries the cached value together with the
+ * moment it was loaded and the moment it becomes stale; the Redis TTL is longer than the fresh
+ * window so a stale value can still be served while it is being refreshed.
+ *
+ * <p>Intentionally not a record: the cache serializers only emit type hints for non-final types.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshableValue {
+
+    private Object value;
+    private long loadedAt;
+    private long staleAt;
+}
@@ -0,0 +1,138 @@
+package com.per.common.config.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+/**
+ * Redis serializer that writes values as Smile (binary JSON) and compresses large payloads with
+ * LZ4.
+ *
+ * <p>Layout of a stored value:
+ *
+ * <ul>
+ *   <li>Smile document as-is (starts with the {@code :)} header) when below the threshold
+ *   <li>{@code 0x00}, original length as a 4-byte int, then the LZ4 block otherwise
+ * </ul>
+ *
+ * <p>Anything else is treated as a JSON entry written by the previous codec and handed to the
+ * fallback serializer, so switching a cache over does not require flushing it.
+ *
+ * <p>Stored values are not trusted on the way back: the length header is bounded by {@link
+ * #MAX_DECOMPRESSED_LENGTH} before anything is allocated, and the block is read with the bounds
+ * checking decompressor, so a corrupt or truncated entry fails with a {@link
+ * SerializationException}.
+ */
+public class SmileLz4RedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte LZ4_MARKER = 0x00;
+    private static final byte SMILE_HEADER = ':';
+    private static final int LZ4_HEADER_LENGTH = 1 + Integer.BYTES;
+
+    /** Largest decompressed value accepted, far above any cached page. */
+    static final int MAX_DECOMPRESSED_LENGTH = 64 * 1024 * 1024;
+
+    private final ObjectMapper smileMapper;
+    private final int compressionThreshold;
+    private final RedisSerializer<Object> fallbackSerializer;
+    private final LZ4Compressor compressor;
+    private final LZ4SafeDecompressor decompressor;
+
+    public SmileLz4RedisSerializer(
+            ObjectMapper smileMapper,
+            int compressionThreshold,
+            RedisSerializer<Object> fallbackSerializer) {
+        this.smileMapper = smileMapper;
+        this.compressionThreshold = compressionThreshold;
+        this.fallbackSerializer = fallbackSerializer;
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.safeDecompressor();
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        byte[] encoded;
+        try {
+            encoded = smileMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new SerializationException("Could not write Smile: " + e.getMessage(), e);
+        }
+
+        if (encoded.length < compressionThreshold) {
+            return encoded;
+        }
+
+        int maxLength = compressor.maxCompressedLength(encoded.length);
+        byte[] compressed = new byte[LZ4_HEADER_LENGTH + maxLength];
+        ByteBuffer.wrap(compressed).put(LZ4_MARKER).putInt(encoded.length);
+        int compressedLength =
+                compressor.compress(
+                        encoded, 0, encoded.length, compressed, LZ4_HEADER_LENGTH, maxLength);
+
+        // Incompressible payloads are stored uncompressed
+        if (LZ4_HEADER_LENGTH + compressedLength >= encoded.length) {
+            return encoded;
+        }
+        return Arrays.copyOf(compressed, LZ4_HEADER_LENGTH + compressedLength);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        try {
+            return switch (bytes[0]) {
+                case LZ4_MARKER -> smileMapper.readValue(decompress(bytes), Object.class);
+                case SMILE_HEADER -> smileMapper.readValue(bytes, Object.class);
+                default -> fallbackSerializer.deserialize(bytes);
+            };
+        } catch (SerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SerializationException("Could not read Smile: " + e.getMessage(), e);
+        }
+    }
+
+    private byte[] decompress(byte[] bytes) {
+        if (bytes.length <= LZ4_HEADER_LENGTH) {
+            throw new SerializationException("Truncated LZ4 entry: " + bytes.length + " bytes");
+        }
+        int originalLength = ByteBuffer.wrap(bytes, 1, Integer.BYTES).getInt();
+        if (originalLength <= 0 || originalLength > MAX_DECOMPRESSED_LENGTH) {
+            throw new SerializationException("Invalid LZ4 length header: " + originalLength);
+        }
+
+        byte[] restored = new byte[originalLength];
+        int restoredLength =
+                decompressor.decompress(
+                        bytes,
+                        LZ4_HEADER_LENGTH,
+                        bytes.length - LZ4_HEADER_LENGTH,
+                        restored,
+                        0,
+                        originalLength);
+        if (restoredLength != originalLength) {
+            throw new SerializationException(
+                    "LZ4 entry restored to "
+                            + restoredLength
+                            + " bytes, header says "
+                            + originalLength);
+        }
+        return restored;
+    }
+}
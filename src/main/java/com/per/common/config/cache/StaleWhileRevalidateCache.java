@@ -0,0 +1,179 @@
+package com.per.common.config.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.per.common.config.cache.TwoLevelCacheManager.RefreshSpec;
+
+/**
+ * Cache decorator that serves stale values while one node reloads them in the background.
+ *
+ * <p>Values are stored as {@link RefreshableValue}s that become stale after {@link
+ * RefreshSpec#freshFor()}, while the underlying Redis TTL is longer. A read of a stale entry
+ * returns it immediately and hands a reload through the cache's {@link CacheRefreshLoader} to
+ * {@link CacheRefreshCoordinator}, so an expiring hot key costs one database load cluster-wide
+ * instead of one per node and request. The {@code @Cacheable} value loader of the request is only
+ * used on a miss, within that request.
+ *
+ * <p>Entries read at least {@link RefreshSpec#hotReadThreshold()} times on this node are refreshed
+ * ahead of time once {@link RefreshSpec#refreshAheadRatio()} of their fresh window has passed, so
+ * they normally never turn stale at all.
+ *
+ * <p>Only {@code @Cacheable(sync = true)} reads are checked for staleness; plain reads return the
+ * value as-is.
+ */
+public class StaleWhileRevalidateCache implements Cache {
+
+    private final Cache delegate;
+    private final RefreshSpec spec;
+    private final CacheRefreshLoader refreshLoader;
+    private final CacheRefreshCoordinator refreshCoordinator;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final com.github.benmanes.caffeine.cache.Cache<String, AtomicInteger> readCounts;
+
+    public StaleWhileRevalidateCache(
+            Cache delegate,
+            RefreshSpec spec,
+            CacheRefreshLoader refreshLoader,
+            CacheRefreshCoordinator refreshCoordinator,
+            CacheInvalidationPublisher invalidationPublisher) {
+        this.delegate = delegate;
+        this.spec = spec;
+        this.refreshLoader = refreshLoader;
+        this.refreshCoordinator = refreshCoordinator;
+        this.invalidationPublisher = invalidationPublisher;
+        this.readCounts =
+                Caffeine.newBuilder()
+                        .maximumSize(spec.trackedKeys())
+                        .expireAfterWrite(spec.freshFor())
+                        .build();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        return wrapper != null ? new SimpleValueWrapper(unwrap(wrapper.get())) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object cached =
+                delegate.get(
+                        key,
+                        () -> {
+                            T value = valueLoader.call();
+                            return value != null ? wrap(value) : null;
+                        });
+
+        if (cached instanceof RefreshableValue entry) {
+            if (shouldRefresh(key, entry)) {
+                scheduleRefresh(key);
+            }
+            return (T) entry.getValue();
+        }
+
+        // Written before this cache stored envelopes; serve it and replace it
+        if (cached != null) {
+            scheduleRefresh(key);
+        }
+        return (T) cached;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value != null ? wrap(value) : null);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value != null ? wrap(value) : null);
+        return existing != null ? new SimpleValueWrapper(unwrap(existing.get())) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private boolean shouldRefresh(Object key, RefreshableValue entry) {
+        long now = System.currentTimeMillis();
+        if (now >= entry.getStaleAt()) {
+            return true;
+        }
+
+        AtomicInteger reads = readCounts.get(String.valueOf(key), ignored -> new AtomicInteger());
+        long refreshAheadAt =
+                entry.getLoadedAt()
+                        + (long)
+                                ((entry.getStaleAt() - entry.getLoadedAt())
+                                        * spec.refreshAheadRatio());
+        return reads.incrementAndGet() >= spec.hotReadThreshold() && now >= refreshAheadAt;
+    }
+
+    private void scheduleRefresh(Object key) {
+        refreshCoordinator.refreshAsync(
+                getName(),
+                key,
+                () -> {
+                    Object value = refreshLoader.load(key);
+                    if (value != null) {
+                        delegate.put(key, wrap(value));
+                        // Other nodes drop their L1 copy and pick up the new value from Redis
+                        invalidationPublisher.publishEvict(getName(), String.valueOf(key));
+                    }
+                    readCounts.invalidate(String.valueOf(key));
+                    return value;
+                });
+    }
+
+    private RefreshableValue wrap(Object value) {
+        long now = System.currentTimeMillis();
+        return new RefreshableValue(value, now, now + spec.freshFor().toMillis());
+    }
+
+    private Object unwrap(Object cached) {
+        return cached instanceof RefreshableValue entry ? entry.getValue() : cached;
+    }
+}
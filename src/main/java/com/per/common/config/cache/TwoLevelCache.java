@@ -0,0 +1,152 @@
+package com.per.common.config.cache;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * Two-level cache: a bounded in-process Caffeine L1 in front of the Redis-backed L2.
+ *
+ * <p>Hits on L1 are served straight from heap, without a network round trip or deserialization.
+ * Misses fall through to L2 and populate L1 on the way back. Evictions are applied to both tiers on
+ * this node and broadcast through {@link CacheInvalidationPublisher} so that other nodes drop their
+ * L1 copies as well; so are puts that change the Redis entry, so that other nodes reload it.
+ *
+ * <p>L1 keys are the string form of the cache key, which is also what Redis uses and what is sent
+ * over the invalidation channel, so remote evictions hit the same entry.
+ *
+ * <p>Note: L1 hands out the same instance to every caller. Cached DTOs must be treated as
+ * read-only.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final Cache remoteCache;
+    private final CacheInvalidationPublisher invalidationPublisher;
+
+    public TwoLevelCache(
+            String name,
+            com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+            Cache remoteCache,
+            CacheInvalidationPublisher invalidationPublisher) {
+        this.name = name;
+        this.localCache = localCache;
+        this.remoteCache = remoteCache;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remoteCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = toLocalKey(key);
+        Object value = localCache.getIfPresent(localKey);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+
+        ValueWrapper wrapper = remoteCache.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            localCache.put(localKey, wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    /**
+     * Used by {@code @Cacheable(sync = true)}. Caffeine serializes concurrent loads of the same key
+     * inside this JVM, so only one thread goes to Redis (and to the loader on a Redis miss).
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) localCache.get(toLocalKey(key), localKey -> remoteCache.get(key, valueLoader));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remoteCache.put(key, value);
+        if (value != null) {
+            localCache.put(toLocalKey(key), value);
+        }
+        invalidationPublisher.publishEvict(name, toLocalKey(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remoteCache.putIfAbsent(key, value);
+        Object cached = existing != null ? existing.get() : value;
+        if (cached != null) {
+            localCache.put(toLocalKey(key), cached);
+        }
+        if (existing == null) {
+            invalidationPublisher.publishEvict(name, toLocalKey(key));
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        evictLocal(toLocalKey(key));
+        invalidationPublisher.publishEvict(name, toLocalKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remoteCache.evictIfPresent(key);
+        evictLocal(toLocalKey(key));
+        invalidationPublisher.publishEvict(name, toLocalKey(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        clearLocal();
+        invalidationPublisher.publishClear(name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remoteCache.invalidate();
+        clearLocal();
+        invalidationPublisher.publishClear(name);
+        return invalidated;
+    }
+
+    /** Drops a single entry from L1 only. Used when another node broadcasts an eviction. */
+    public void evictLocal(String localKey) {
+        localCache.invalidate(localKey);
+    }
+
+    /** Drops every entry from L1 only. Used when another node broadcasts a clear. */
+    public void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    private String toLocalKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,153 @@
+package com.per.common.config.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache manager that layers a bounded in-process L1 on top of an existing (Redis) cache manager.
+ *
+ * <p>Only cache names with a {@link NearCacheSpec} get an L1; every other name is served directly
+ * by the L2 manager. Names listed as generational are additionally wrapped in a {@link
+ * GenerationalCache}, so clearing them is an O(1) generation bump, and names with a {@link
+ * RefreshSpec} and a {@link CacheRefreshLoader} in a {@link StaleWhileRevalidateCache}. Loaders are
+ * looked up when a cache is first used, since their beans usually depend on this manager
+ * themselves. Transaction awareness is applied on this manager, so the L2 manager should be built
+ * without it to avoid double decoration.
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final Map<String, NearCacheSpec> nearCacheSpecs;
+    private final Set<String> generationalCacheNames;
+    private final Map<String, RefreshSpec> refreshSpecs;
+    private final ObjectProvider<CacheRefreshLoader> refreshLoaders;
+    private final CacheGenerationTracker generationTracker;
+    private final CacheRefreshCoordinator refreshCoordinator;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final Map<String, TwoLevelCache> nearCaches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(
+            CacheManager remoteCacheManager,
+            Map<String, NearCacheSpec> nearCacheSpecs,
+            Set<String> generationalCacheNames,
+            Map<String, RefreshSpec> refreshSpecs,
+            ObjectProvider<CacheRefreshLoader> refreshLoaders,
+            CacheGenerationTracker generationTracker,
+            CacheRefreshCoordinator refreshCoordinator,
+            CacheInvalidationPublisher invalidationPublisher) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.nearCacheSpecs = Map.copyOf(nearCacheSpecs);
+        this.generationalCacheNames = Set.copyOf(generationalCacheNames);
+        this.refreshSpecs = Map.copyOf(refreshSpecs);
+        this.refreshLoaders = refreshLoaders;
+        this.generationTracker = generationTracker;
+        this.refreshCoordinator = refreshCoordinator;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        // Caches are created lazily from the L2 manager on first access
+        return List.of();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache remoteCache = remoteCacheManager.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+
+        Cache cache = remoteCache;
+        NearCacheSpec spec = nearCacheSpecs.get(name);
+        if (spec != null) {
+            TwoLevelCache twoLevelCache =
+                    new TwoLevelCache(
+                            name,
+                            Caffeine.newBuilder()
+                                    .maximumSize(spec.maximumSize())
+                                    .expireAfterWrite(spec.ttl())
+                                    .build(),
+                            remoteCache,
+                            invalidationPublisher);
+            nearCaches.put(name, twoLevelCache);
+            cache = twoLevelCache;
+        }
+
+        RefreshSpec refreshSpec = refreshSpecs.get(name);
+        if (refreshSpec != null) {
+            CacheRefreshLoader refreshLoader =
+                    refreshLoaders
+                            .orderedStream()
+                            .filter(loader -> name.equals(loader.cacheName()))
+                            .findFirst()
+                            .orElse(null);
+            if (refreshLoader != null) {
+                cache =
+                        new StaleWhileRevalidateCache(
+                                cache,
+                                refreshSpec,
+                                refreshLoader,
+                                refreshCoordinator,
+                                invalidationPublisher);
+            } else {
+                log.warn("No refresh loader for cache '{}', stale-while-revalidate is off", name);
+            }
+        }
+
+        if (generationalCacheNames.contains(name)) {
+            cache = new GenerationalCache(cache, generationTracker, invalidationPublisher);
+        }
+        return cache;
+    }
+
+    /** Evicts a key from the local L1 of the given cache, leaving L2 untouched. */
+    public void evictLocal(String cacheName, String key) {
+        TwoLevelCache cache = nearCaches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocal(key);
+        }
+    }
+
+    /** Clears the local L1 of the given cache, leaving L2 untouched. */
+    public void clearLocal(String cacheName) {
+        TwoLevelCache cache = nearCaches.get(cacheName);
+        if (cache != null) {
+            cache.clearLocal();
+        }
+    }
+
+    /**
+     * L1 sizing for one cache name.
+     *
+     * @param maximumSize maximum number of entries kept on heap
+     * @param ttl time-to-live after write; bounds staleness if an invalidation message is lost
+     */
+    public record NearCacheSpec(long maximumSize, Duration ttl) {}
+
+    /**
+     * Stale-while-revalidate settings for one cache name. The L2 TTL of the cache must be longer
+     * than {@code freshFor}; the difference is how long a stale value may still be served.
+     *
+     * @param freshFor how long a loaded value is considered fresh
+     * @param refreshAheadRatio fraction of {@code freshFor} after which hot entries are reloaded
+     * @param hotReadThreshold reads on this node within {@code freshFor} that make an entry hot
+     * @param trackedKeys maximum number of keys whose read counts are tracked
+     */
+    public record RefreshSpec(
+            Duration freshFor, double refreshAheadRatio, int hotReadThreshold, long trackedKeys) {}
+}
@@ -0,0 +1,287 @@
+package com.per.common.config.elasticsearch;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActionParameters;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.index.AliasData;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilterBuilder;
+import org.springframework.stereotype.Component;
+
+import com.per.common.exception.ApiErrorCode;
+import com.per.common.exception.ApiException;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Manages search indexes that are read and written through an alias.
+ *
+ * <p>The {@code indexName} of a document class is used as an alias pointing at exactly one physical
+ * index named {@code {alias}_{yyyyMMddHHmmssSSS}}. A rebuild fills a fresh physical index while
+ * queries keep hitting the old one, then moves the alias in a single atomic {@code _aliases} call
+ * and deletes the previous index. Document classes must declare {@code createIndex = false} so
+ * Spring Data does not create a concrete index under the alias name.
+ *
+ * <p>Writes that arrive through the alias during a rebuild land in the old index. Before the swap,
+ * the rows changed since the rebuild started are therefore written into the new index once more,
+ * and documents of rows deleted meanwhile are removed from it. Only a change committed while that
+ * catch-up runs can still miss the new index; it is picked up by the row's next change event.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AliasedIndexManager {
+
+    private static final DateTimeFormatter SUFFIX_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS").withZone(ZoneOffset.UTC);
+
+    /**
+     * How far before the rebuild start the catch-up looks. {@code updated_at} is stamped when the
+     * row is flushed, not when it commits, and by the clock of whichever node wrote it.
+     */
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofMinutes(1);
+
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    /**
+     * Makes sure the alias of the document class exists. Creates a first physical index when there
+     * is none; an index left over from before aliasing (a concrete index under the alias name) is
+     * kept as is and replaced atomically by the next rebuild. Fields added to the document class
+     * since the index was created are put into the mapping of the existing index.
+     */
+    public void ensureAlias(Class<?> documentClass) {
+        String alias = aliasOf(documentClass);
+        if (!indicesBehind(alias).isEmpty()) {
+            putMapping(documentClass, alias);
+            return;
+        }
+        if (elasticsearchOperations.indexOps(IndexCoordinates.of(alias)).exists()) {
+            log.warn("Index '{}' is not aliased yet; it will be replaced on next reindex", alias);
+            return;
+        }
+
+        IndexCoordinates index = createPhysicalIndex(documentClass);
+        swapAlias(alias, index, List.of(), false);
+        log.info("Created index '{}' behind alias '{}'", index.getIndexName(), alias);
+    }
+
+    /**
+     * Rebuilds the index of a document class without downtime: creates a new physical index, lets
+     * {@code filler} populate it, catches up with the writes made meanwhile, points the alias at it
+     * and removes the old index. If filling or catching up throws, or reports a failed document or
+     * fewer documents written than expected, the new index is dropped and the alias is left
+     * untouched.
+     *
+     * @param documentClass the document class whose {@code indexName} is the alias
+     * @param filler writes all documents into the given index and reports how that went
+     * @param catchUp writes the documents of the rows changed at or after the given instant into
+     *     the given index and reports how that went
+     * @param existingIds returns those of the given ids whose rows still exist
+     * @return number of documents written
+     * @throws ApiException with {@link ApiErrorCode#SEARCH_REINDEX_INCOMPLETE} if the fill or the
+     *     catch-up was incomplete
+     */
+    public long rebuild(
+            Class<?> documentClass,
+            Function<IndexCoordinates, FillResult> filler,
+            BiFunction<IndexCoordinates, Instant, FillResult> catchUp,
+            Function<Collection<UUID>, Collection<UUID>> existingIds) {
+        String alias = aliasOf(documentClass);
+        IndexCoordinates index = createPhysicalIndex(documentClass);
+        log.info("Rebuilding alias '{}' into new index '{}'", alias, index.getIndexName());
+
+        Instant startedAt = Instant.now();
+        long written;
+        try {
+            FillResult result = filler.apply(index);
+            requireComplete(alias, index, "Rebuild", result);
+            written = result.written();
+
+            Instant since = startedAt.minus(CATCH_UP_OVERLAP);
+            FillResult caughtUp = catchUp.apply(index, since);
+            requireComplete(alias, index, "Catch-up", caughtUp);
+            long deleted = deleteMissing(documentClass, index, existingIds);
+            log.info(
+                    "Caught up '{}' with {} rows changed and {} deleted since {}",
+                    index.getIndexName(),
+                    caughtUp.written(),
+                    deleted,
+                    since);
+        } catch (RuntimeException e) {
+            deleteQuietly(index.getIndexName());
+            throw e;
+        }
+
+        List<String> previous = indicesBehind(alias);
+        boolean legacy =
+                previous.isEmpty()
+                        && elasticsearchOperations.indexOps(IndexCoordinates.of(alias)).exists();
+        swapAlias(alias, index, previous, legacy);
+        log.info(
+                "Alias '{}' now points at '{}' ({} documents)",
+                alias,
+                index.getIndexName(),
+                written);
+
+        previous.forEach(this::deleteQuietly);
+        return written;
+    }
+
+    /**
+     * What a filler wrote into the new index.
+     *
+     * @param expected documents the source holds
+     * @param written documents the index accepted
+     * @param failed documents that could not be built or were rejected
+     */
+    public record FillResult(long expected, long written, long failed) {}
+
+    private void requireComplete(
+            String alias, IndexCoordinates index, String step, FillResult result) {
+        if (result.failed() == 0 && result.written() >= result.expected()) {
+            return;
+        }
+        log.error(
+                "{} of alias '{}' incomplete ({} of {} documents written, {} failed);"
+                        + " keeping the current index",
+                step,
+                alias,
+                result.written(),
+                result.expected(),
+                result.failed());
+        throw new ApiException(
+                ApiErrorCode.SEARCH_REINDEX_INCOMPLETE,
+                "%s of '%s' wrote %d of %d documents, %d failed"
+                        .formatted(
+                                step, alias, result.written(), result.expected(), result.failed()));
+    }
+
+    /** Deletes the documents of the index whose rows no longer exist; returns how many. */
+    private long deleteMissing(
+            Class<?> documentClass,
+            IndexCoordinates index,
+            Function<Collection<UUID>, Collection<UUID>> existingIds) {
+        elasticsearchOperations.indexOps(index).refresh();
+        NativeQuery query =
+                NativeQuery.builder()
+                        .withQuery(q -> q.matchAll(m -> m))
+                        .withSourceFilter(new FetchSourceFilterBuilder().withExcludes("*").build())
+                        .withPageable(PageRequest.of(0, ID_CHUNK_SIZE))
+                        .build();
+        List<UUID> missing = new ArrayList<>();
+        try (SearchHitsIterator<?> hits =
+                elasticsearchOperations.searchForStream(query, documentClass, index)) {
+            List<UUID> chunk = new ArrayList<>(ID_CHUNK_SIZE);
+            while (hits.hasNext()) {
+                chunk.add(UUID.fromString(hits.next().getId()));
+                if (chunk.size() == ID_CHUNK_SIZE || !hits.hasNext()) {
+                    Set<UUID> existing = new HashSet<>(existingIds.apply(chunk));
+                    chunk.stream().filter(id -> !existing.contains(id)).forEach(missing::add);
+                    chunk.clear();
+                }
+            }
+        }
+        missing.forEach(id -> elasticsearchOperations.delete(id.toString(), index));
+        return missing.size();
+    }
+
+    private IndexCoordinates createPhysicalIndex(Class<?> documentClass) {
+        IndexCoordinates index =
+                IndexCoordinates.of(
+                        aliasOf(documentClass) + "_" + SUFFIX_FORMAT.format(Instant.now()));
+        IndexOperations classOps = elasticsearchOperations.indexOps(documentClass);
+        Settings settings = classOps.createSettings(documentClass);
+        Document mapping = classOps.createMapping(documentClass);
+        elasticsearchOperations.indexOps(index).create(settings, mapping);
+        return index;
+    }
+
+    /** Adds new fields only; a changed field type still needs a rebuild. */
+    private void putMapping(Class<?> documentClass, String alias) {
+        try {
+            Document mapping = elasticsearchOperations.indexOps(documentClass).createMapping();
+            elasticsearchOperations.indexOps(IndexCoordinates.of(alias)).putMapping(mapping);
+        } catch (Exception e) {
+            log.warn("Failed to update mapping of alias '{}': {}", alias, e.getMessage());
+        }
+    }
+
+    private void swapAlias(
+            String alias, IndexCoordinates target, List<String> previous, boolean legacy) {
+        AliasActions actions =
+                new AliasActions(
+                        new AliasAction.Add(
+                                AliasActionParameters.builder()
+                                        .withIndices(target.getIndexName())
+                                        .withAliases(alias)
+                                        .build()));
+        for (String old : previous) {
+            actions.add(
+                    new AliasAction.Remove(
+                            AliasActionParameters.builder()
+                                    .withIndices(old)
+                                    .withAliases(alias)
+                                    .build()));
+        }
+        if (legacy) {
+            // The concrete index must go in the same call, an alias cannot shadow an index
+            actions.add(
+                    new AliasAction.RemoveIndex(
+                            AliasActionParameters.builder().withIndices(alias).build()));
+        }
+        elasticsearchOperations.indexOps(target).alias(actions);
+    }
+
+    /** Physical indexes the alias currently points at. */
+    private List<String> indicesBehind(String alias) {
+        Map<String, Set<AliasData>> aliasesByIndex =
+                elasticsearchOperations
+                        .indexOps(IndexCoordinates.of(alias))
+                        .getAliasesForIndex(alias + "_*");
+        List<String> indices = new ArrayList<>();
+        aliasesByIndex.forEach(
+                (index, aliases) -> {
+                    if (aliases.stream().anyMatch(a -> alias.equals(a.getAlias()))) {
+                        indices.add(index);
+                    }
+                });
+        return indices;
+    }
+
+    private void deleteQuietly(String indexName) {
+        try {
+            elasticsearchOperations.indexOps(IndexCoordinates.of(indexName)).delete();
+            log.info("Deleted index '{}'", indexName);
+        } catch (Exception e) {
+            log.warn("Failed to delete index '{}': {}", indexName, e.getMessage());
+        }
+    }
+
+    private String aliasOf(Class<?> documentClass) {
+        return elasticsearchOperations.getIndexCoordinatesFor(documentClass).getIndexName();
+    }
+}
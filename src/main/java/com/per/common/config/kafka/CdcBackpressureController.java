@@ -0,0 +1,228 @@
+package com.per.common.config.kafka;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pauses the CDC listener containers while the search sinks are slow or failing, so that a
+ * throttled Elasticsearch or Qdrant is waited out instead of being hit with redeliveries and retry
+ * topic copies.
+ *
+ * <p>Every {@code interval} the controller reads what {@link CdcMetrics} recorded since the last
+ * check: the mean {@code cdc.index.latency} and the error rate, i.e. {@code cdc.retries} over
+ * retries plus indexed writes. Thresholds have hysteresis:
+ *
+ * <ul>
+ *   <li>the containers are paused when latency exceeds {@code latency-high} or the error rate
+ *       exceeds {@code error-rate-high}, given at least {@code min-samples} outcomes;
+ *   <li>a paused pipeline produces no outcomes, so it is resumed after a cooldown to probe the
+ *       sinks. If the next window is still unhealthy it is paused again with the cooldown doubled,
+ *       up to {@code max-pause};
+ *   <li>the cooldown is reset only once a window is below {@code latency-low} and {@code
+ *       error-rate-low}, so a sink hovering around the limit does not cause pause/resume flapping.
+ * </ul>
+ *
+ * <p>Pausing stops polling without leaving the consumer group; offsets are kept and nothing is
+ * lost. Retry topic containers of the CDC listeners are paused as well. Metrics: {@code
+ * cdc.backpressure.paused} and {@code cdc.backpressure.pauses{reason}}.
+ */
+@Component
+@Slf4j
+public class CdcBackpressureController {
+
+    private static final Set<String> CDC_TOPICS =
+            Set.of(
+                    KafkaTopicNames.CDC_PRODUCTS_TOPIC,
+                    KafkaTopicNames.CDC_PRODUCT_VARIANTS_TOPIC,
+                    KafkaTopicNames.CDC_BRANDS_TOPIC,
+                    KafkaTopicNames.CDC_CATEGORIES_TOPIC,
+                    KafkaTopicNames.CDC_MADE_INS_TOPIC);
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final AtomicBoolean paused = new AtomicBoolean();
+
+    @Value("${app.cdc.backpressure.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cdc.backpressure.latency-high:2s}")
+    private Duration latencyHigh;
+
+    @Value("${app.cdc.backpressure.latency-low:500ms}")
+    private Duration latencyLow;
+
+    @Value("${app.cdc.backpressure.error-rate-high:0.2}")
+    private double errorRateHigh;
+
+    @Value("${app.cdc.backpressure.error-rate-low:0.05}")
+    private double errorRateLow;
+
+    @Value("${app.cdc.backpressure.min-samples:10}")
+    private long minSamples;
+
+    @Value("${app.cdc.backpressure.pause:10s}")
+    private Duration basePause;
+
+    @Value("${app.cdc.backpressure.max-pause:2m}")
+    private Duration maxPause;
+
+    private long lastIndexed;
+    private double lastLatencyMillis;
+    private double lastRetries;
+    private Duration cooldown;
+    private Instant resumeAt;
+
+    public CdcBackpressureController(
+            KafkaListenerEndpointRegistry listenerRegistry,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.listenerRegistry = listenerRegistry;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        Gauge.builder("cdc.backpressure.paused", paused, p -> p.get() ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    /** Evaluates the last window and pauses or resumes the CDC containers. */
+    @Scheduled(fixedDelayString = "${app.cdc.backpressure.interval:5s}")
+    public synchronized void evaluate() {
+        if (!enabled) {
+            return;
+        }
+        if (cooldown == null) {
+            cooldown = basePause;
+        }
+
+        Window window = nextWindow();
+        if (paused.get()) {
+            // In-flight batches may still finish; the window only starts counting after resume
+            if (!clock.instant().isBefore(resumeAt)) {
+                resume();
+            }
+            return;
+        }
+        if (window.samples() < minSamples) {
+            return;
+        }
+
+        if (window.meanLatencyMillis() > latencyHigh.toMillis()) {
+            pause("latency", window);
+        } else if (window.errorRate() > errorRateHigh) {
+            pause("errors", window);
+        } else if (window.meanLatencyMillis() < latencyLow.toMillis()
+                && window.errorRate() < errorRateLow) {
+            cooldown = basePause;
+        }
+    }
+
+    public boolean isPaused() {
+        return paused.get();
+    }
+
+    private void pause(String reason, Window window) {
+        List<MessageListenerContainer> containers = cdcContainers();
+        containers.forEach(MessageListenerContainer::pause);
+        paused.set(true);
+        resumeAt = clock.instant().plus(cooldown);
+        Counter.builder("cdc.backpressure.pauses")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        log.warn(
+                "Pausing {} CDC containers for {} ({}): mean index latency {}ms, error rate {}",
+                containers.size(),
+                cooldown,
+                reason,
+                Math.round(window.meanLatencyMillis()),
+                String.format("%.2f", window.errorRate()));
+        // Doubled for the next pause, unless a healthy window resets it first
+        cooldown = min(cooldown.multipliedBy(2), maxPause);
+    }
+
+    private void resume() {
+        List<MessageListenerContainer> containers = cdcContainers();
+        containers.forEach(MessageListenerContainer::resume);
+        paused.set(false);
+        log.info("Resuming {} CDC containers", containers.size());
+    }
+
+    private List<MessageListenerContainer> cdcContainers() {
+        return listenerRegistry.getAllListenerContainers().stream()
+                .filter(CdcBackpressureController::consumesCdcTopic)
+                .toList();
+    }
+
+    private static boolean consumesCdcTopic(MessageListenerContainer container) {
+        String[] topics = container.getContainerProperties().getTopics();
+        if (topics == null) {
+            return false;
+        }
+        for (String topic : topics) {
+            if (CDC_TOPICS.contains(CdcMetrics.sourceTopic(topic))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Reads the outcomes recorded since the previous call. */
+    private Window nextWindow() {
+        long indexed = 0;
+        double latencyMillis = 0;
+        for (Timer timer : meterRegistry.find("cdc.index.latency").timers()) {
+            indexed += timer.count();
+            latencyMillis += timer.totalTime(TimeUnit.MILLISECONDS);
+        }
+        double retries =
+                meterRegistry.find("cdc.retries").counters().stream()
+                        .mapToDouble(Counter::count)
+                        .sum();
+
+        Window window =
+                new Window(
+                        indexed - lastIndexed,
+                        latencyMillis - lastLatencyMillis,
+                        retries - lastRetries);
+        lastIndexed = indexed;
+        lastLatencyMillis = latencyMillis;
+        lastRetries = retries;
+        return window;
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private record Window(long indexed, double latencyMillis, double errors) {
+
+        double samples() {
+            return indexed + errors;
+        }
+
+        double meanLatencyMillis() {
+            return indexed == 0 ? 0 : latencyMillis / indexed;
+        }
+
+        double errorRate() {
+            return samples() == 0 ? 0 : errors / samples();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.per.common.config.kafka;
+
+import java.time.Duration;
+import java.util.Collection;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.RetryListener;
+import org.springframework.stereotype.Component;
+
+import com.per.common.event.cdc.CdcPayload;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Freshness metrics of the CDC pipeline, from the database commit to the search index.
+ *
+ * <ul>
+ *   <li>{@code cdc.consume.lag}: commit ({@code __source_ts_ms}) to consume, by topic and op
+ *   <li>{@code cdc.index.latency}: consume to indexed, by topic and op; one sample per write, whose
+ *       op is {@code mixed} when a batch carries several
+ *   <li>{@code cdc.freshness}: commit to indexed, by topic and op
+ *   <li>{@code cdc.batch.size}: records per poll of the batch listeners, by topic
+ *   <li>{@code cdc.retries} and {@code cdc.dlt}: redeliveries and dead-lettered records, by topic
+ * </ul>
+ *
+ * <p>Retry and DLT topics are tagged with their source topic. Percentile histograms are enabled for
+ * the {@code cdc} prefix in {@code management.metrics.distribution}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CdcMetrics implements RetryListener {
+
+    private static final String RETRY_TOPIC_INFIX = "-retry";
+    private static final String MIXED_OP = "mixed";
+
+    private final MeterRegistry meterRegistry;
+
+    /** Records the size of a poll handed to a batch listener. */
+    public void batchReceived(String topic, int size) {
+        DistributionSummary.builder("cdc.batch.size")
+                .baseUnit("records")
+                .tag("topic", sourceTopic(topic))
+                .register(meterRegistry)
+                .record(size);
+    }
+
+    /**
+     * Records the commit-to-consume lag of one change. A record read from a retry topic is also
+     * counted as a retry.
+     */
+    public void consumed(String topic, CdcPayload payload) {
+        if (topic.contains(RETRY_TOPIC_INFIX)) {
+            counter("cdc.retries", topic).increment();
+        }
+        if (payload.getSourceTsMs() != null) {
+            timer("cdc.consume.lag", topic, payload.getOp()).record(sinceCommit(payload));
+        }
+    }
+
+    /** Starts timing the write of changes that were just consumed. */
+    public Timer.Sample startIndexing() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Records the consume-to-indexed time of a write and the commit-to-indexed freshness of every
+     * change it made visible.
+     */
+    public void indexed(
+            String topic, Timer.Sample sample, Collection<? extends CdcPayload> payloads) {
+        sample.stop(timer("cdc.index.latency", topic, opOf(payloads)));
+        for (CdcPayload payload : payloads) {
+            if (payload.getSourceTsMs() != null) {
+                timer("cdc.freshness", topic, payload.getOp()).record(sinceCommit(payload));
+            }
+        }
+    }
+
+    /** Counts a record that exhausted its retries and was published to the DLT. */
+    public void deadLettered(String topic) {
+        counter("cdc.dlt", topic).increment();
+    }
+
+    // ========== Batch listener error handler callbacks ==========
+
+    @Override
+    public void failedDelivery(ConsumerRecord<?, ?> record, Exception ex, int deliveryAttempt) {
+        counter("cdc.retries", record.topic()).increment();
+    }
+
+    @Override
+    public void recovered(ConsumerRecord<?, ?> record, Exception ex) {
+        deadLettered(record.topic());
+    }
+
+    /** Op shared by all changes of a write, {@code mixed} if they differ. */
+    private static String opOf(Collection<? extends CdcPayload> payloads) {
+        String op = null;
+        for (CdcPayload payload : payloads) {
+            if (op != null && !op.equals(payload.getOp())) {
+                return MIXED_OP;
+            }
+            op = payload.getOp();
+        }
+        return op;
+    }
+
+    private Timer timer(String name, String topic, String op) {
+        return Timer.builder(name)
+                .tag("topic", sourceTopic(topic))
+                .tag("op", op != null ? op : "unknown")
+                .register(meterRegistry);
+    }
+
+    private Counter counter(String name, String topic) {
+        return Counter.builder(name).tag("topic", sourceTopic(topic)).register(meterRegistry);
+    }
+
+    private static Duration sinceCommit(CdcPayload payload) {
+        // Clamped: clock skew between database and application must not produce negative lag
+        return Duration.ofMillis(Math.max(0, System.currentTimeMillis() - payload.getSourceTsMs()));
+    }
+
+    /** Maps {@code {topic}-retry-N} and {@code {topic}-dlt} to {@code {topic}}. */
+    static String sourceTopic(String topic) {
+        int retry = topic.indexOf(RETRY_TOPIC_INFIX);
+        if (retry > 0) {
+            return topic.substring(0, retry);
+        }
+        return topic.endsWith(KafkaTopicNames.CDC_DLT_SUFFIX)
+                ? topic.substring(0, topic.length() - KafkaTopicNames.CDC_DLT_SUFFIX.length())
+                : topic;
+    }
+}
@@ -5,11 +5,15 @@ import java.util.Map;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
@@ -17,6 +21,11 @@ import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ContainerProperties.AckMode;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
@@ -30,6 +39,9 @@ import org.springframework.kafka.support.serializer.JsonSerializer;
  *   <li>Retry mechanism configured via @RetryableTopic on consumers
  *   <li>Dead Letter Topic for failed messages after retries exhausted
  *   <li>CDC consumer factory with tombstone filtering for Debezium
+ *   <li>Batch CDC consumer factory with per-record retry and dead lettering
+ *   <li>Cascade re-index consumer factory with out-of-order manual acks
+ *   <li>Raw byte consumer and producer for replaying dead-lettered records unchanged
  * </ul>
  *
  * <p>Note: Retry configuration is handled by @RetryableTopic annotation on individual consumers
@@ -42,6 +54,9 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${app.cdc.batch-concurrency:1}")
+    private int cdcBatchConcurrency;
+
     // --- Producer Configuration ---
 
     @Bean
@@ -56,7 +71,9 @@ public class KafkaConfig {
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
+    // Primary: @RetryableTopic publishes retries through the single primary template
     @Bean
+    @Primary
     public KafkaTemplate<String, Object> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
@@ -108,4 +125,95 @@ public class KafkaConfig {
         factory.setRecordFilterStrategy(cdcRecordFilter);
         return factory;
     }
+
+    /**
+     * Batch variant of {@link #cdcKafkaListenerContainerFactory} for listeners that coalesce a
+     * whole poll. {@code @RetryableTopic} does not support batch listeners, so retries are
+     * blocking: a listener reports the failing record with a {@link BatchListenerFailedException},
+     * the records before it are committed, and the rest of the batch is redelivered after the
+     * backoff. Once retries are exhausted the failing record goes to {@code {topic}-dlt}.
+     *
+     * <p>Records are keyed by product id and product writes are versioned by WAL position, so
+     * partitions can be consumed in parallel ({@code app.cdc.batch-concurrency}) without an older
+     * change overwriting a newer one.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String>
+            cdcBatchKafkaListenerContainerFactory(
+                    CdcRecordFilter cdcRecordFilter,
+                    KafkaTemplate<String, Object> kafkaTemplate,
+                    CdcMetrics cdcMetrics) {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(cdcConsumerFactory());
+        factory.setRecordFilterStrategy(cdcRecordFilter);
+        factory.setBatchListener(true);
+        factory.setConcurrency(cdcBatchConcurrency);
+
+        // Same schedule as the @RetryableTopic CDC listeners: 4 attempts, 1s -> 2s -> 4s
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(3);
+        backOff.setInitialInterval(1000);
+        backOff.setMultiplier(2);
+        backOff.setMaxInterval(4000);
+        DeadLetterPublishingRecoverer recoverer =
+                new DeadLetterPublishingRecoverer(
+                        kafkaTemplate,
+                        (record, ex) ->
+                                new TopicPartition(
+                                        record.topic() + KafkaTopicNames.CDC_DLT_SUFFIX, -1));
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, backOff);
+        // Counts redeliveries and dead-lettered records (cdc.retries, cdc.dlt)
+        errorHandler.setRetryListeners(cdcMetrics);
+        factory.setCommonErrorHandler(errorHandler);
+        return factory;
+    }
+
+    /**
+     * Listener factory for cascade re-index requests. A request is acknowledged by the scheduler
+     * thread once its debounced run has finished, possibly after later requests; out-of-order acks
+     * let the container commit each offset once every record before it is acknowledged, so a
+     * request still pending when the node stops is redelivered.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String>
+            cascadeKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(cdcConsumerFactory());
+        factory.getContainerProperties().setAckMode(AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+
+    // --- Dead Letter Replay Configuration ---
+
+    /**
+     * Consumer for reading dead letter topics. Records are read as raw bytes through manual
+     * partition assignment, so no group is joined and no offsets are committed.
+     */
+    @Bean
+    public ConsumerFactory<byte[], byte[]> dltReplayConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        configProps.put(
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return new DefaultKafkaConsumerFactory<>(configProps);
+    }
+
+    /**
+     * Producer that republishes dead-lettered records byte for byte, so Debezium JSON and
+     * JSON-serialized events reach their listeners exactly as first published.
+     */
+    @Bean
+    public KafkaTemplate<byte[], byte[]> dltReplayKafkaTemplate() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(configProps));
+    }
 }
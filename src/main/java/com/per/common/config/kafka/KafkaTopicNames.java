@@ -37,6 +37,16 @@ public final class KafkaTopicNames {
     public static final String CDC_CATEGORY_GROUP = "category-cdc-group";
     public static final String CDC_MADEIN_GROUP = "madein-cdc-group";
 
+    // Dead letter topic of a CDC topic: {topic}{suffix}
+    public static final String CDC_DLT_SUFFIX = "-dlt";
+
+    // ========== Product Cascade Re-index ==========
+    // Re-index requests for the products of a changed brand, category or origin, keyed by parent
+    // id; dead-lettered to {topic}{CDC_DLT_SUFFIX}
+
+    public static final String PRODUCT_CASCADE_TOPIC = "product.cascade.reindex";
+    public static final String PRODUCT_CASCADE_GROUP = "product-cascade-group";
+
     private KafkaTopicNames() {
         // Utility class - prevent instantiation
     }
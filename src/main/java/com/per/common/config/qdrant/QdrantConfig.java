@@ -0,0 +1,185 @@
+package com.per.common.config.qdrant;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.qdrant.QdrantVectorStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import com.per.rag.service.CachedEmbeddingModel;
+import com.per.rag.service.EmbeddingCache;
+
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.grpc.MetricCollectingClientInterceptor;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.QdrantGrpcClient;
+
+/**
+ * Shared Qdrant clients for the RAG package.
+ *
+ * <ul>
+ *   <li>{@code qdrantClient}: one gRPC channel for the application, with keep-alive pings and a
+ *       deadline on every call. The Spring AI vector store backs off its own client and uses this
+ *       one as well;
+ *   <li>{@code vectorStore}: the Spring AI vector store, embedding through the {@link
+ *       EmbeddingCache} so reindexing unchanged products does not call the model again;
+ *   <li>{@code qdrantRestTemplate}: REST calls on a pooled keep-alive HTTP client, with the Qdrant
+ *       base URL as root URI so callers pass paths only.
+ * </ul>
+ *
+ * <p>Metrics: {@code grpc.client.*} and {@code qdrant.grpc.connected} for the channel, {@code
+ * http.client.requests} and {@code httpcomponents.httpclient.pool.*{httpclient=qdrant}} for REST.
+ */
+@Configuration
+public class QdrantConfig {
+
+    @Value("${spring.ai.vectorstore.qdrant.host}")
+    private String host;
+
+    @Value("${spring.ai.vectorstore.qdrant.port}")
+    private int grpcPort;
+
+    @Value("${spring.ai.vectorstore.qdrant.use-tls:false}")
+    private boolean useTls;
+
+    @Value("${spring.ai.vectorstore.qdrant.api-key:}")
+    private String apiKey;
+
+    // The collection product vectors are searched in, so that writes and deletes land there too
+    @Value("${app.rag.qdrant.collections.product:product_vectors}")
+    private String productCollection;
+
+    @Value("${spring.ai.vectorstore.qdrant.initialize-schema:false}")
+    private boolean initializeSchema;
+
+    @Value("${app.rag.qdrant.http-port:6333}")
+    private int httpPort;
+
+    @Value("${app.rag.qdrant.grpc.deadline:10s}")
+    private Duration grpcDeadline;
+
+    @Value("${app.rag.qdrant.grpc.keep-alive:30s}")
+    private Duration grpcKeepAlive;
+
+    @Value("${app.rag.qdrant.http.max-connections:20}")
+    private int httpMaxConnections;
+
+    @Value("${app.rag.qdrant.http.connect-timeout:2s}")
+    private Duration httpConnectTimeout;
+
+    @Value("${app.rag.qdrant.http.read-timeout:10s}")
+    private Duration httpReadTimeout;
+
+    @Value("${app.rag.qdrant.http.idle-timeout:60s}")
+    private Duration httpIdleTimeout;
+
+    @Bean(destroyMethod = "close")
+    public QdrantClient qdrantClient(MeterRegistry meterRegistry) {
+        ManagedChannelBuilder<?> channelBuilder =
+                ManagedChannelBuilder.forAddress(host, grpcPort)
+                        .keepAliveTime(grpcKeepAlive.toMillis(), TimeUnit.MILLISECONDS)
+                        .keepAliveWithoutCalls(true)
+                        .intercept(new MetricCollectingClientInterceptor(meterRegistry));
+        if (useTls) {
+            channelBuilder.useTransportSecurity();
+        } else {
+            channelBuilder.usePlaintext();
+        }
+        ManagedChannel channel = channelBuilder.build();
+        Gauge.builder(
+                        "qdrant.grpc.connected",
+                        channel,
+                        c -> c.getState(false) == ConnectivityState.READY ? 1 : 0)
+                .register(meterRegistry);
+
+        // Closing the client shuts the channel down
+        QdrantGrpcClient.Builder grpcClient =
+                QdrantGrpcClient.newBuilder(channel, true).withTimeout(grpcDeadline);
+        if (!apiKey.isBlank()) {
+            grpcClient.withApiKey(apiKey);
+        }
+        return new QdrantClient(grpcClient.build());
+    }
+
+    @Bean
+    public QdrantVectorStore vectorStore(
+            QdrantClient qdrantClient,
+            EmbeddingModel embeddingModel,
+            EmbeddingCache embeddingCache,
+            BatchingStrategy batchingStrategy,
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        return QdrantVectorStore.builder(
+                        qdrantClient, new CachedEmbeddingModel(embeddingCache, embeddingModel))
+                .collectionName(productCollection)
+                .initializeSchema(initializeSchema)
+                .batchingStrategy(batchingStrategy)
+                .observationRegistry(
+                        observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP))
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient qdrantHttpClient(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager =
+                PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(httpMaxConnections)
+                        .setMaxConnPerRoute(httpMaxConnections)
+                        .setDefaultConnectionConfig(
+                                ConnectionConfig.custom()
+                                        .setConnectTimeout(Timeout.of(httpConnectTimeout))
+                                        .setSocketTimeout(Timeout.of(httpReadTimeout))
+                                        // Qdrant may close idle connections first
+                                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                                        .build())
+                        .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "qdrant")
+                .bindTo(meterRegistry);
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(
+                        RequestConfig.custom()
+                                .setConnectionRequestTimeout(Timeout.of(httpConnectTimeout))
+                                .setResponseTimeout(Timeout.of(httpReadTimeout))
+                                .build())
+                .evictIdleConnections(TimeValue.of(httpIdleTimeout))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate qdrantRestTemplate(
+            RestTemplateBuilder restTemplateBuilder, CloseableHttpClient qdrantHttpClient) {
+        String scheme = useTls ? "https" : "http";
+        RestTemplateBuilder builder =
+                restTemplateBuilder
+                        .rootUri(scheme + "://" + host + ":" + httpPort)
+                        .requestFactory(
+                                () -> new HttpComponentsClientHttpRequestFactory(qdrantHttpClient));
+        if (!apiKey.isBlank()) {
+            builder = builder.defaultHeader("api-key", apiKey);
+        }
+        return builder.build();
+    }
+}
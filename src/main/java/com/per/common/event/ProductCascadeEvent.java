@@ -0,0 +1,22 @@
+package com.per.common.event;
+
+import com.per.product.service.ProductCascadeReindexScheduler.Parent;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Kafka event requesting a re-index of the products that reference a brand, category or origin.
+ * Published by ProductCascadeReindexScheduler, keyed by parent id.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCascadeEvent {
+
+    private Parent parent;
+    private String parentId;
+}
@@ -3,6 +3,12 @@ package com.per.common.event.cdc;
 /** Marker interface for CDC payload DTOs. All CDC entity payloads should implement this. */
 public interface CdcPayload {
 
+    /**
+     * Placeholder Debezium sends for an unchanged TOASTed column when the table's replica identity
+     * is not FULL.
+     */
+    String UNAVAILABLE_VALUE = "__debezium_unavailable_value";
+
     /** Returns the entity ID (UUID as String). */
     String getId();
 
@@ -12,6 +18,9 @@ public interface CdcPayload {
      */
     String getOp();
 
+    /** Returns the commit time of the change in the source database (__source_ts_ms). */
+    Long getSourceTsMs();
+
     /** Returns the __deleted flag from SMT rewrite mode. */
     Boolean getDeleted();
 
@@ -19,8 +19,26 @@ public class ProductCdcPayload implements CdcPayload {
 
     private String id;
     private String name;
+
+    @JsonProperty("short_description")
+    private String shortDescription;
+
     private String description;
 
+    @JsonProperty("image_url")
+    private String imageUrl;
+
+    // Enum columns are stored by name (EnumType.STRING)
+    private String gender;
+
+    @JsonProperty("fragrance_family")
+    private String fragranceFamily;
+
+    private String sillage;
+    private String longevity;
+    private String seasonality;
+    private String occasion;
+
     @JsonProperty("brand_id")
     private String brandId;
 
@@ -46,6 +64,10 @@ public class ProductCdcPayload implements CdcPayload {
     @JsonProperty("__source_ts_ms")
     private Long sourceTsMs;
 
+    // WAL position of the change; increases with every commit, used as the document version
+    @JsonProperty("__source_lsn")
+    private Long sourceLsn;
+
     @JsonProperty("__table")
     private String table;
 
@@ -66,4 +88,15 @@ public class ProductCdcPayload implements CdcPayload {
     public Boolean getDeleted() {
         return deleted;
     }
+
+    /**
+     * Whether a text column was left out of the change event because it is TOASTed and did not
+     * change; such a row cannot be indexed on its own.
+     */
+    public boolean hasUnavailableValues() {
+        return UNAVAILABLE_VALUE.equals(name)
+                || UNAVAILABLE_VALUE.equals(shortDescription)
+                || UNAVAILABLE_VALUE.equals(description)
+                || UNAVAILABLE_VALUE.equals(imageUrl);
+    }
 }
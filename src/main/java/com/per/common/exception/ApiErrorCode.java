@@ -11,6 +11,7 @@ public enum ApiErrorCode {
     // Common
     VALIDATION_ERROR("VALIDATION_ERROR", "Request validation failed", HttpStatus.BAD_REQUEST),
     BAD_REQUEST("BAD_REQUEST", "Invalid request", HttpStatus.BAD_REQUEST),
+    INVALID_CURSOR("INVALID_CURSOR", "Invalid pagination cursor", HttpStatus.BAD_REQUEST),
     NOT_FOUND("NOT_FOUND", "Requested resource was not found", HttpStatus.NOT_FOUND),
     FORBIDDEN("FORBIDDEN", "Access to this resource is forbidden", HttpStatus.FORBIDDEN),
     UNAUTHORIZED("UNAUTHORIZED", "Authentication is required", HttpStatus.UNAUTHORIZED),
@@ -65,7 +66,15 @@ public enum ApiErrorCode {
     RAG_SEARCH_FAILED("RAG_SEARCH_FAILED", "Assistant search failed", HttpStatus.INTERNAL_SERVER_ERROR),
     RAG_CHAT_FAILED("RAG_CHAT_FAILED", "Failed to generate assistant response", HttpStatus.INTERNAL_SERVER_ERROR),
     RAG_AI_SERVICE_UNAVAILABLE("RAG_AI_SERVICE_UNAVAILABLE", "AI service is unavailable", HttpStatus.SERVICE_UNAVAILABLE),
-    RAG_KNOWLEDGE_INDEX_FAILED("RAG_KNOWLEDGE_INDEX_FAILED", "Failed to index knowledge base", HttpStatus.INTERNAL_SERVER_ERROR);
+    RAG_KNOWLEDGE_INDEX_FAILED("RAG_KNOWLEDGE_INDEX_FAILED", "Failed to index knowledge base", HttpStatus.INTERNAL_SERVER_ERROR),
+
+    // Search
+    SEARCH_REINDEX_INCOMPLETE("SEARCH_REINDEX_INCOMPLETE", "The search index rebuild was incomplete; the current index is kept", HttpStatus.INTERNAL_SERVER_ERROR),
+
+    // Dead Letter Replay
+    DLT_TOPIC_NOT_SUPPORTED("DLT_TOPIC_NOT_SUPPORTED", "The topic is not a replayable dead letter topic", HttpStatus.BAD_REQUEST),
+    DLT_REPLAY_INVALID_RANGE("DLT_REPLAY_INVALID_RANGE", "The replay start time must be before its end time", HttpStatus.BAD_REQUEST),
+    DLT_REPLAY_NOT_FOUND("DLT_REPLAY_NOT_FOUND", "The requested replay job could not be found", HttpStatus.NOT_FOUND);
 
     // spotless:on
     private final String code;
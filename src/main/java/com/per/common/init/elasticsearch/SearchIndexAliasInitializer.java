@@ -0,0 +1,49 @@
+package com.per.common.init.elasticsearch;
+
+import java.util.List;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import com.per.brand.document.BrandDocument;
+import com.per.category.document.CategoryDocument;
+import com.per.common.config.elasticsearch.AliasedIndexManager;
+import com.per.made_in.document.MadeInDocument;
+import com.per.product.document.ProductDocument;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the search aliases before any listener or runner can write to them. Runs once all
+ * singletons exist, which is before Kafka listener containers start, so the first write never
+ * auto-creates a concrete index under an alias name.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexAliasInitializer implements SmartInitializingSingleton {
+
+    private static final List<Class<?>> DOCUMENT_CLASSES =
+            List.of(
+                    ProductDocument.class,
+                    BrandDocument.class,
+                    CategoryDocument.class,
+                    MadeInDocument.class);
+
+    private final AliasedIndexManager aliasedIndexManager;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (Class<?> documentClass : DOCUMENT_CLASSES) {
+            try {
+                aliasedIndexManager.ensureAlias(documentClass);
+            } catch (Exception e) {
+                log.error(
+                        "Failed to prepare search alias for {}: {}",
+                        documentClass.getSimpleName(),
+                        e.getMessage());
+            }
+        }
+    }
+}
@@ -9,9 +9,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 
 import io.qdrant.client.QdrantClient;
-import io.qdrant.client.QdrantGrpcClient;
 import io.qdrant.client.grpc.Collections.Distance;
 import io.qdrant.client.grpc.Collections.VectorParams;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -20,15 +20,12 @@ import lombok.extern.slf4j.Slf4j;
  * RagDataInitializer (Order 2 vs Order 3).
  */
 @Configuration
+@RequiredArgsConstructor
 @Slf4j
 @Order(2)
 public class QdrantCollectionInitializer {
 
-    @Value("${spring.ai.vectorstore.qdrant.host}")
-    private String host;
-
-    @Value("${spring.ai.vectorstore.qdrant.port}")
-    private int grpcPort;
+    private final QdrantClient qdrantClient;
 
     @Value("${app.rag.qdrant.collections.product:product_vectors}")
     private String productCollection;
@@ -56,10 +53,8 @@ public class QdrantCollectionInitializer {
 
         log.info("Ensuring Qdrant collections exist: {}", collections);
 
-        try (QdrantClient client =
-                new QdrantClient(QdrantGrpcClient.newBuilder(host, grpcPort, false).build())) {
-
-            List<String> existingCollections = client.listCollectionsAsync().get();
+        try {
+            List<String> existingCollections = qdrantClient.listCollectionsAsync().get();
 
             for (String collectionName : collections) {
                 if (!existingCollections.contains(collectionName)) {
@@ -68,7 +63,8 @@ public class QdrantCollectionInitializer {
                             collectionName,
                             VECTOR_DIMENSION);
 
-                    client.createCollectionAsync(
+                    qdrantClient
+                            .createCollectionAsync(
                                     collectionName,
                                     VectorParams.newBuilder()
                                             .setSize(VECTOR_DIMENSION)
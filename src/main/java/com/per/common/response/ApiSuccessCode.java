@@ -57,6 +57,9 @@ public enum ApiSuccessCode {
     PRODUCT_VARIANT_UPDATE_SUCCESS("PRODUCT_VARIANT_UPDATE_SUCCESS", "Product variant has been updated successfully"),
     PRODUCT_VARIANT_DELETE_SUCCESS("PRODUCT_VARIANT_DELETE_SUCCESS", "Product variant has been deleted successfully"),
 
+    // Search
+    SEARCH_SUCCESS("SEARCH_SUCCESS", "Search completed successfully"),
+
     // Cart
     CART_FETCH_SUCCESS("CART_FETCH_SUCCESS", "Cart retrieved successfully"),
     CART_ITEM_ADD_SUCCESS("CART_ITEM_ADD_SUCCESS", "Item added to cart successfully"),
@@ -77,7 +80,11 @@ public enum ApiSuccessCode {
 
     // Media
     MEDIA_UPLOAD_SUCCESS("MEDIA_UPLOAD_SUCCESS", "Media uploaded successfully"),
-    MEDIA_UPLOAD_BATCH_SUCCESS("MEDIA_UPLOAD_BATCH_SUCCESS", "Media files uploaded successfully");
+    MEDIA_UPLOAD_BATCH_SUCCESS("MEDIA_UPLOAD_BATCH_SUCCESS", "Media files uploaded successfully"),
+
+    // Dead Letter Replay
+    DLT_REPLAY_START_SUCCESS("DLT_REPLAY_START_SUCCESS", "Dead letter replay started successfully"),
+    DLT_REPLAY_FETCH_SUCCESS("DLT_REPLAY_FETCH_SUCCESS", "Dead letter replay status retrieved successfully");
 
     // spotless:on
     private final String code;
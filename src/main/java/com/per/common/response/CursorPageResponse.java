@@ -0,0 +1,77 @@
+package com.per.common.response;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Keyset (seek) page. Unlike {@link PageResponse} it carries no totals: the next page is located
+ * with an index seek from {@link #nextCursor}, so neither an OFFSET scan nor a {@code count(*)} is
+ * needed and deep pages cost the same as the first one.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+
+    /** Limit for the repository query: one extra row tells whether a next page exists. */
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, normalize(size) + 1);
+    }
+
+    /**
+     * Builds the page from rows fetched with {@link #limit(int)}.
+     *
+     * @param rows rows in {@code (created_at DESC, id DESC)} order
+     * @param size requested page size
+     * @param mapper row to response mapper
+     * @param createdAt created-at accessor of a row
+     * @param id id accessor of a row
+     */
+    public static <E, T> CursorPageResponse<T> from(
+            List<E> rows,
+            int size,
+            Function<E, T> mapper,
+            Function<E, Instant> createdAt,
+            Function<E, UUID> id) {
+        int pageSize = normalize(size);
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            E last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new SeekCursor(createdAt.apply(last), id.apply(last)).encode();
+        }
+
+        return CursorPageResponse.<T>builder()
+                .content(pageRows.stream().map(mapper).toList())
+                .size(pageSize)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /** Requested page size clamped to {@code [1, MAX_SIZE]}. */
+    public static int normalize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
@@ -0,0 +1,51 @@
+package com.per.common.response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.per.common.exception.ApiErrorCode;
+import com.per.common.exception.ApiException;
+
+/**
+ * Position in an Elasticsearch point-in-time scan: the point-in-time id and the sort values of the
+ * last hit, passed back as {@code search_after}. The sort always ends with the document id, so the
+ * position is unique and the scan never repeats or skips a hit.
+ *
+ * <p>Clients receive it as an opaque URL-safe string and send it back unchanged.
+ */
+public record SearchAfterCursor(String pointInTimeId, List<Object> searchAfter) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder()
+                    .withoutPadding()
+                    .encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to encode search cursor", e);
+        }
+    }
+
+    /** Returns the decoded cursor, or {@code null} for the first page. */
+    public static SearchAfterCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            SearchAfterCursor decoded = MAPPER.readValue(raw, SearchAfterCursor.class);
+            if (decoded.pointInTimeId() == null
+                    || decoded.searchAfter() == null
+                    || decoded.searchAfter().isEmpty()) {
+                throw new IllegalArgumentException("Incomplete search cursor");
+            }
+            return decoded;
+        } catch (Exception e) {
+            throw new ApiException(ApiErrorCode.INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.per.common.response;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.per.common.exception.ApiErrorCode;
+import com.per.common.exception.ApiException;
+
+/**
+ * Position in a listing ordered by {@code (created_at DESC, id DESC)}. The id breaks ties between
+ * rows created in the same instant, so the position is always unique.
+ *
+ * <p>Clients receive it as an opaque URL-safe string and send it back unchanged.
+ */
+public record SeekCursor(Instant createdAt, UUID id) {
+
+    private static final String SEPARATOR = "_";
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Returns the decoded cursor, or {@code null} for the first page. */
+    public static SeekCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new SeekCursor(
+                    Instant.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ApiException(ApiErrorCode.INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.per.dlt.controller;
+
+import java.util.UUID;
+
+import jakarta.validation.Valid;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.per.common.ApiConstants;
+import com.per.common.base.BaseController;
+import com.per.common.response.ApiResponse;
+import com.per.common.response.ApiSuccessCode;
+import com.per.dlt.dto.request.DltReplayRequest;
+import com.per.dlt.dto.response.DltReplayJobResponse;
+import com.per.dlt.service.DltReplayService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping(ApiConstants.Dlt.ROOT)
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Dead Letter Replay", description = "Admin APIs to reprocess dead-lettered messages")
+public class DltReplayController extends BaseController {
+
+    private final DltReplayService dltReplayService;
+
+    @PostMapping(ApiConstants.Dlt.REPLAY)
+    @Operation(
+            summary = "Replay a dead letter topic",
+            description =
+                    "Republishes the filtered, key-coalesced records to their source topic at a"
+                            + " limited rate. Runs in the background; poll the returned job")
+    public ResponseEntity<ApiResponse<DltReplayJobResponse>> replay(
+            @Valid @RequestBody DltReplayRequest request) {
+        DltReplayJobResponse response = dltReplayService.startReplay(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(ApiSuccessCode.DLT_REPLAY_START_SUCCESS, response));
+    }
+
+    @GetMapping(ApiConstants.Dlt.REPLAY_DETAIL)
+    @Operation(summary = "Get replay progress")
+    public ResponseEntity<ApiResponse<DltReplayJobResponse>> getReplay(
+            @PathVariable("jobId") UUID jobId) {
+        DltReplayJobResponse response = dltReplayService.getJob(jobId);
+        return ResponseEntity.ok(
+                ApiResponse.success(ApiSuccessCode.DLT_REPLAY_FETCH_SUCCESS, response));
+    }
+}
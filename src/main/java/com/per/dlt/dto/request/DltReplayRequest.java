@@ -0,0 +1,41 @@
+package com.per.dlt.dto.request;
+
+import java.time.Instant;
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DltReplayRequest {
+
+    /** Dead letter topic to replay, e.g. {@code per.public.product-dlt}. */
+    @NotBlank(message = "Topic is required")
+    private String topic;
+
+    /** Only records dead-lettered at or after this time; all records if empty. */
+    private Instant from;
+
+    /** Only records dead-lettered before this time; up to the end of the topic if empty. */
+    private Instant to;
+
+    /** Only records whose key contains one of these ids; all records if empty. */
+    private List<String> entityIds;
+
+    /** Maximum records republished per second; the configured default if empty. */
+    @Positive(message = "Rate must be positive")
+    private Integer ratePerSecond;
+
+    /** Scan and count only, without republishing. */
+    private boolean dryRun;
+}
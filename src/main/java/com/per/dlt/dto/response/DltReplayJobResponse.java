@@ -0,0 +1,40 @@
+package com.per.dlt.dto.response;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Progress of a dead letter replay. Counts are updated while the job runs. */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DltReplayJobResponse {
+
+    private UUID jobId;
+    private String topic;
+    private String targetTopic;
+    private String status;
+    private boolean dryRun;
+
+    /** Records read from the dead letter topic. */
+    private long scanned;
+
+    /** Records within the time range and entity filter. */
+    private long matched;
+
+    /** Matched records dropped because a later record has the same key. */
+    private long coalesced;
+
+    private long replayed;
+    private long failed;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+}
@@ -0,0 +1,29 @@
+package com.per.dlt.service;
+
+import java.util.UUID;
+
+import com.per.dlt.dto.request.DltReplayRequest;
+import com.per.dlt.dto.response.DltReplayJobResponse;
+
+/**
+ * Republishes dead-lettered records to the topic they failed on, so that they are processed again
+ * by the regular listeners once the cause (e.g. an Elasticsearch outage) is resolved.
+ */
+public interface DltReplayService {
+
+    /**
+     * Starts a replay in the background.
+     *
+     * @param request dead letter topic, filters and rate
+     * @return the job, to be polled with {@link #getJob(UUID)}
+     */
+    DltReplayJobResponse startReplay(DltReplayRequest request);
+
+    /**
+     * Returns the progress of a replay started on this node.
+     *
+     * @param jobId id returned by {@link #startReplay(DltReplayRequest)}
+     * @return the current counts and status
+     */
+    DltReplayJobResponse getJob(UUID jobId);
+}
@@ -0,0 +1,411 @@
+package com.per.dlt.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.per.common.config.kafka.KafkaTopicNames;
+import com.per.common.exception.ApiErrorCode;
+import com.per.common.exception.ApiException;
+import com.per.dlt.dto.request.DltReplayRequest;
+import com.per.dlt.dto.response.DltReplayJobResponse;
+import com.per.dlt.service.DltReplayService;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replays a dead letter topic in two phases.
+ *
+ * <ol>
+ *   <li><b>Scan</b>: the partitions of the dead letter topic are assigned directly (no consumer
+ *       group, no commits) and read up to the end offsets taken when the job starts. Records are
+ *       filtered by timestamp and entity id and coalesced by key: only the last record of each key
+ *       is kept, since a CDC event carries the full row and supersedes the earlier ones.
+ *   <li><b>Replay</b>: the selected records are republished byte for byte to their source topic,
+ *       with the dead letter headers removed, at most {@code ratePerSecond} per second.
+ * </ol>
+ *
+ * <p>Only product events and cascade re-index requests are safe to replay regardless of age:
+ * product documents are versioned by WAL position, whether written from an event or from the
+ * database, and reject an event older than what they hold; a cascade request is keyed by parent id
+ * and re-reads its products from the database. Variant, brand, category and origin events are
+ * applied unversioned, so a replayed event overwrites any later change of its row; narrow such a
+ * replay with {@code entityIds} to rows that have not changed since. Jobs are kept in memory on the
+ * node that started them for a day. Metrics: {@code dlt.replay.records{topic,outcome}}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DltReplayServiceImpl implements DltReplayService {
+
+    /** Dead letter topic to the topic its records are republished to. */
+    static final Map<String, String> SOURCE_TOPICS =
+            Map.of(
+                    KafkaTopicNames.CDC_PRODUCTS_TOPIC + KafkaTopicNames.CDC_DLT_SUFFIX,
+                    KafkaTopicNames.CDC_PRODUCTS_TOPIC,
+                    KafkaTopicNames.CDC_PRODUCT_VARIANTS_TOPIC + KafkaTopicNames.CDC_DLT_SUFFIX,
+                    KafkaTopicNames.CDC_PRODUCT_VARIANTS_TOPIC,
+                    KafkaTopicNames.CDC_BRANDS_TOPIC + KafkaTopicNames.CDC_DLT_SUFFIX,
+                    KafkaTopicNames.CDC_BRANDS_TOPIC,
+                    KafkaTopicNames.CDC_CATEGORIES_TOPIC + KafkaTopicNames.CDC_DLT_SUFFIX,
+                    KafkaTopicNames.CDC_CATEGORIES_TOPIC,
+                    KafkaTopicNames.CDC_MADE_INS_TOPIC + KafkaTopicNames.CDC_DLT_SUFFIX,
+                    KafkaTopicNames.CDC_MADE_INS_TOPIC,
+                    KafkaTopicNames.PRODUCT_CASCADE_TOPIC + KafkaTopicNames.CDC_DLT_SUFFIX,
+                    KafkaTopicNames.PRODUCT_CASCADE_TOPIC,
+                    KafkaTopicNames.EMAIL_DLQ_TOPIC,
+                    KafkaTopicNames.EMAIL_SEND_TOPIC);
+
+    // Added by the dead letter publisher and the retry topics; stale once the record is replayed
+    private static final List<String> DROPPED_HEADER_PREFIXES =
+            List.of("kafka_dlt-", "retry_topic-");
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final int PROGRESS_LOG_INTERVAL = 1000;
+
+    private enum Status {
+        SCANNING,
+        REPLAYING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final ConsumerFactory<byte[], byte[]> dltReplayConsumerFactory;
+    private final KafkaTemplate<byte[], byte[]> dltReplayKafkaTemplate;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Cache<UUID, Job> jobs =
+            Caffeine.newBuilder().maximumSize(100).expireAfterWrite(Duration.ofDays(1)).build();
+
+    @Value("${app.dlt.replay.rate-per-second:50}")
+    private int defaultRatePerSecond;
+
+    @Value("${app.dlt.replay.max-records:100000}")
+    private int maxRecords;
+
+    @Value("${app.dlt.replay.send-timeout:10s}")
+    private Duration sendTimeout;
+
+    @Override
+    public DltReplayJobResponse startReplay(DltReplayRequest request) {
+        String targetTopic = SOURCE_TOPICS.get(request.getTopic());
+        if (targetTopic == null) {
+            throw new ApiException(
+                    ApiErrorCode.DLT_TOPIC_NOT_SUPPORTED,
+                    "Not a replayable dead letter topic: " + request.getTopic());
+        }
+        if (request.getFrom() != null
+                && request.getTo() != null
+                && !request.getFrom().isBefore(request.getTo())) {
+            throw new ApiException(ApiErrorCode.DLT_REPLAY_INVALID_RANGE);
+        }
+
+        Job job = new Job(UUID.randomUUID(), request, targetTopic, clock.instant());
+        jobs.put(job.id, job);
+        log.info(
+                "Starting DLT replay {}: {} -> {} (from={}, to={}, entityIds={}, dryRun={})",
+                job.id,
+                request.getTopic(),
+                targetTopic,
+                request.getFrom(),
+                request.getTo(),
+                request.getEntityIds(),
+                request.isDryRun());
+        applicationTaskExecutor.execute(() -> run(job));
+        return job.toResponse();
+    }
+
+    @Override
+    public DltReplayJobResponse getJob(UUID jobId) {
+        Job job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new ApiException(ApiErrorCode.DLT_REPLAY_NOT_FOUND);
+        }
+        return job.toResponse();
+    }
+
+    private void run(Job job) {
+        try {
+            Collection<ConsumerRecord<byte[], byte[]>> selected = scan(job);
+            log.info(
+                    "DLT replay {}: scanned {}, matched {}, {} to replay after coalescing",
+                    job.id,
+                    job.scanned,
+                    job.matched,
+                    selected.size());
+            if (!job.request.isDryRun()) {
+                job.status = Status.REPLAYING;
+                replay(job, selected);
+            }
+            job.finish(Status.COMPLETED, null, clock.instant());
+            log.info(
+                    "DLT replay {} completed: {} replayed, {} failed",
+                    job.id,
+                    job.replayed,
+                    job.failed);
+        } catch (RuntimeException e) {
+            job.finish(Status.FAILED, e.getMessage(), clock.instant());
+            log.error("DLT replay {} failed: {}", job.id, e.getMessage(), e);
+        }
+    }
+
+    private Collection<ConsumerRecord<byte[], byte[]>> scan(Job job) {
+        DltReplayRequest request = job.request;
+        Map<String, ConsumerRecord<byte[], byte[]>> selected = new LinkedHashMap<>();
+        try (Consumer<byte[], byte[]> consumer =
+                dltReplayConsumerFactory.createConsumer(null, "dlt-replay-", null)) {
+            List<TopicPartition> partitions = partitionsOf(consumer, request.getTopic());
+            if (partitions.isEmpty()) {
+                return List.of();
+            }
+            consumer.assign(partitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+            seekToStart(consumer, partitions, request.getFrom());
+
+            while (!caughtUp(consumer, endOffsets)) {
+                for (ConsumerRecord<byte[], byte[]> record : consumer.poll(POLL_TIMEOUT)) {
+                    TopicPartition partition =
+                            new TopicPartition(record.topic(), record.partition());
+                    if (record.offset() >= endOffsets.get(partition)) {
+                        // Dead-lettered after the job started
+                        continue;
+                    }
+                    job.scanned.incrementAndGet();
+                    if (!matches(record, request)) {
+                        continue;
+                    }
+                    job.matched.incrementAndGet();
+
+                    String key = coalescingKey(record);
+                    if (selected.remove(key) != null) {
+                        job.coalesced.incrementAndGet();
+                        counter(job, "coalesced").increment();
+                    }
+                    selected.put(key, record);
+                    if (selected.size() > maxRecords) {
+                        throw new IllegalStateException(
+                                "More than "
+                                        + maxRecords
+                                        + " records to replay; narrow the time range or entity"
+                                        + " filter");
+                    }
+                }
+            }
+        }
+        return selected.values();
+    }
+
+    private void replay(Job job, Collection<ConsumerRecord<byte[], byte[]>> records) {
+        int rate =
+                job.request.getRatePerSecond() != null
+                        ? job.request.getRatePerSecond()
+                        : defaultRatePerSecond;
+        RateLimiter rateLimiter =
+                RateLimiter.of(
+                        "dlt-replay-" + job.id,
+                        RateLimiterConfig.custom()
+                                .limitForPeriod(rate)
+                                .limitRefreshPeriod(Duration.ofSeconds(1))
+                                .timeoutDuration(Duration.ofMinutes(1))
+                                .build());
+
+        for (ConsumerRecord<byte[], byte[]> record : records) {
+            RateLimiter.waitForPermission(rateLimiter);
+            try {
+                dltReplayKafkaTemplate
+                        .send(toSourceRecord(job.targetTopic, record))
+                        .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                job.replayed.incrementAndGet();
+                counter(job, "replayed").increment();
+            } catch (ExecutionException | TimeoutException e) {
+                job.failed.incrementAndGet();
+                counter(job, "failed").increment();
+                log.warn(
+                        "DLT replay {}: failed to republish {}-{}@{}: {}",
+                        job.id,
+                        record.topic(),
+                        record.partition(),
+                        record.offset(),
+                        e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Replay interrupted", e);
+            }
+
+            long done = job.replayed.get() + job.failed.get();
+            if (done % PROGRESS_LOG_INTERVAL == 0) {
+                log.info("DLT replay {}: {}/{} records done", job.id, done, records.size());
+            }
+        }
+    }
+
+    private static List<TopicPartition> partitionsOf(
+            Consumer<byte[], byte[]> consumer, String topic) {
+        List<PartitionInfo> infos = consumer.partitionsFor(topic);
+        if (infos == null) {
+            return List.of();
+        }
+        List<TopicPartition> partitions = new ArrayList<>(infos.size());
+        for (PartitionInfo info : infos) {
+            partitions.add(new TopicPartition(info.topic(), info.partition()));
+        }
+        return partitions;
+    }
+
+    private static void seekToStart(
+            Consumer<byte[], byte[]> consumer, List<TopicPartition> partitions, Instant from) {
+        if (from == null) {
+            consumer.seekToBeginning(partitions);
+            return;
+        }
+        Map<TopicPartition, Long> timestamps = new HashMap<>();
+        partitions.forEach(partition -> timestamps.put(partition, from.toEpochMilli()));
+        Map<TopicPartition, OffsetAndTimestamp> offsets = consumer.offsetsForTimes(timestamps);
+        List<TopicPartition> nothingAfter = new ArrayList<>();
+        for (TopicPartition partition : partitions) {
+            OffsetAndTimestamp offset = offsets.get(partition);
+            if (offset != null) {
+                consumer.seek(partition, offset.offset());
+            } else {
+                nothingAfter.add(partition);
+            }
+        }
+        consumer.seekToEnd(nothingAfter);
+    }
+
+    private static boolean caughtUp(
+            Consumer<byte[], byte[]> consumer, Map<TopicPartition, Long> endOffsets) {
+        for (Map.Entry<TopicPartition, Long> end : endOffsets.entrySet()) {
+            if (consumer.position(end.getKey()) < end.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(
+            ConsumerRecord<byte[], byte[]> record, DltReplayRequest request) {
+        if (request.getFrom() != null && record.timestamp() < request.getFrom().toEpochMilli()) {
+            return false;
+        }
+        if (request.getTo() != null && record.timestamp() >= request.getTo().toEpochMilli()) {
+            return false;
+        }
+        List<String> entityIds = request.getEntityIds();
+        if (entityIds == null || entityIds.isEmpty()) {
+            return true;
+        }
+        if (record.key() == null) {
+            return false;
+        }
+        // Debezium keys are the primary key as JSON, e.g. {"id":"..."}
+        String key = new String(record.key(), StandardCharsets.UTF_8);
+        return entityIds.stream().anyMatch(key::contains);
+    }
+
+    private static String coalescingKey(ConsumerRecord<byte[], byte[]> record) {
+        if (record.key() == null) {
+            // Keyless records (e.g. emails) are never coalesced
+            return record.partition() + "@" + record.offset();
+        }
+        return new String(record.key(), StandardCharsets.UTF_8);
+    }
+
+    private static ProducerRecord<byte[], byte[]> toSourceRecord(
+            String topic, ConsumerRecord<byte[], byte[]> record) {
+        RecordHeaders headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            if (DROPPED_HEADER_PREFIXES.stream().noneMatch(header.key()::startsWith)) {
+                headers.add(header);
+            }
+        }
+        return new ProducerRecord<>(topic, null, record.key(), record.value(), headers);
+    }
+
+    private Counter counter(Job job, String outcome) {
+        return Counter.builder("dlt.replay.records")
+                .tag("topic", job.request.getTopic())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class Job {
+
+        private final UUID id;
+        private final DltReplayRequest request;
+        private final String targetTopic;
+        private final Instant startedAt;
+        private final AtomicLong scanned = new AtomicLong();
+        private final AtomicLong matched = new AtomicLong();
+        private final AtomicLong coalesced = new AtomicLong();
+        private final AtomicLong replayed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile Status status = Status.SCANNING;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Job(UUID id, DltReplayRequest request, String targetTopic, Instant startedAt) {
+            this.id = id;
+            this.request = request;
+            this.targetTopic = targetTopic;
+            this.startedAt = startedAt;
+        }
+
+        private void finish(Status status, String error, Instant finishedAt) {
+            this.error = error;
+            this.finishedAt = finishedAt;
+            this.status = status;
+        }
+
+        private DltReplayJobResponse toResponse() {
+            return DltReplayJobResponse.builder()
+                    .jobId(id)
+                    .topic(request.getTopic())
+                    .targetTopic(targetTopic)
+                    .status(status.name())
+                    .dryRun(request.isDryRun())
+                    .scanned(scanned.get())
+                    .matched(matched.get())
+                    .coalesced(coalesced.get())
+                    .replayed(replayed.get())
+                    .failed(failed.get())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -1,21 +1,28 @@
 package com.per.made_in.consumer;
 
+import java.util.List;
 import java.util.UUID;
 
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.annotation.RetryableTopic;
 import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.per.common.config.kafka.CdcMetrics;
 import com.per.common.config.kafka.KafkaTopicNames;
 import com.per.common.event.cdc.MadeInCdcPayload;
 import com.per.made_in.mapper.MadeInDocumentMapper;
 import com.per.made_in.repository.MadeInRepository;
 import com.per.made_in.repository.MadeInSearchRepository;
-import com.per.product.service.ProductCdcIndexService;
+import com.per.product.service.ProductCascadeReindexScheduler;
+import com.per.product.service.ProductCascadeReindexScheduler.Parent;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -31,8 +38,9 @@ public class MadeInCdcConsumer {
     private final MadeInRepository madeInRepository;
     private final MadeInSearchRepository madeInSearchRepository;
     private final MadeInDocumentMapper madeInDocumentMapper;
-    private final ProductCdcIndexService productCdcIndexService;
+    private final ProductCascadeReindexScheduler cascadeReindexScheduler;
     private final ObjectMapper objectMapper;
+    private final CdcMetrics cdcMetrics;
 
     @RetryableTopic(
             attempts = "4",
@@ -45,7 +53,7 @@ public class MadeInCdcConsumer {
             topics = KafkaTopicNames.CDC_MADE_INS_TOPIC,
             groupId = KafkaTopicNames.CDC_MADEIN_GROUP,
             containerFactory = "cdcKafkaListenerContainerFactory")
-    public void consume(String message) {
+    public void consume(String message, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
         if (message == null || message.isEmpty()) {
             log.debug("Received empty or tombstone record, skipping");
             return;
@@ -53,6 +61,8 @@ public class MadeInCdcConsumer {
 
         try {
             MadeInCdcPayload payload = objectMapper.readValue(message, MadeInCdcPayload.class);
+            cdcMetrics.consumed(topic, payload);
+            Timer.Sample sample = cdcMetrics.startIndexing();
             UUID madeInId = UUID.fromString(payload.getId());
 
             log.info("Processing madeIn CDC event: op={}, madeInId={}", payload.getOp(), madeInId);
@@ -69,13 +79,21 @@ public class MadeInCdcConsumer {
                                             madeInDocumentMapper.toDocument(madeIn));
                                     log.info("MadeIn indexed: {}", madeInId);
 
-                                    // CASCADE: Re-index all products that reference this madeIn
-                                    productCdcIndexService.reindexProductsByMadeIn(madeInId);
+                                    // CASCADE: Debounced re-index of the products of this madeIn
+                                    cascadeReindexScheduler.request(Parent.MADE_IN, madeInId);
                                 });
             }
+            cdcMetrics.indexed(topic, sample, List.of(payload));
         } catch (Exception e) {
             log.error("Failed to process madeIn CDC event: {}", e.getMessage(), e);
             throw new RuntimeException("CDC processing failed", e);
         }
     }
+
+    /** Records that exhausted their retries; the failure was logged on every attempt. */
+    @DltHandler
+    public void handleDlt(String message, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        cdcMetrics.deadLettered(topic);
+        log.error("MadeIn CDC event dead-lettered to {}: {}", topic, message);
+    }
 }
@@ -16,6 +16,7 @@ import com.per.common.ApiConstants;
 import com.per.common.base.BaseController;
 import com.per.common.response.ApiResponse;
 import com.per.common.response.ApiSuccessCode;
+import com.per.common.response.CursorPageResponse;
 import com.per.common.response.PageResponse;
 import com.per.made_in.document.MadeInDocument;
 import com.per.made_in.dto.request.MadeInCreateRequest;
@@ -48,6 +49,18 @@ public class MadeInController extends BaseController {
         return ResponseEntity.ok(ApiResponse.success(ApiSuccessCode.MADEIN_LIST_SUCCESS, response));
     }
 
+    @GetMapping(ApiConstants.MadeIn.CURSOR)
+    @RateLimiter(name = "mediumTraffic", fallbackMethod = "rateLimit")
+    @Operation(
+            summary = "List made-in countries by cursor",
+            description = "Keyset pagination, newest first; no total count")
+    public ResponseEntity<ApiResponse<CursorPageResponse<MadeInResponse>>> scrollMadeIns(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        CursorPageResponse<MadeInResponse> response = madeInService.scrollMadeIns(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(ApiSuccessCode.MADEIN_LIST_SUCCESS, response));
+    }
+
     @GetMapping(ApiConstants.MadeIn.SEARCH)
     @RateLimiter(name = "highTraffic", fallbackMethod = "rateLimit")
     @Operation(
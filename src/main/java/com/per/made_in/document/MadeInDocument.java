@@ -10,7 +10,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-@Document(indexName = "made_in")
+@Document(indexName = "made_in", createIndex = false)
 @Data
 @Builder
 @NoArgsConstructor
@@ -1,11 +1,15 @@
 package com.per.made_in.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.per.made_in.entity.MadeIn;
 
@@ -23,4 +27,28 @@ public interface MadeInRepository extends JpaRepository<MadeIn, UUID> {
 			OR LOWER(m.region) LIKE LOWER(CONCAT('%', :query, '%'))
 			""")
     Page<MadeIn> search(String name, Pageable pageable);
+
+    // Keyset pagination, newest first (see CursorPageResponse)
+    @Query(
+            """
+			SELECT m FROM MadeIn m
+			ORDER BY m.createdAt DESC, m.id DESC
+			""")
+    List<MadeIn> findFirstPage(Pageable limit);
+
+    @Query(
+            """
+			SELECT m FROM MadeIn m
+			WHERE m.createdAt <= :createdAt
+			AND (m.createdAt < :createdAt OR m.id < :id)
+			ORDER BY m.createdAt DESC, m.id DESC
+			""")
+    List<MadeIn> findPageAfter(
+            @Param("createdAt") Instant createdAt, @Param("id") UUID id, Pageable limit);
+
+    // Catch-up of the writes made while a new index was filled
+    List<MadeIn> findByUpdatedAtGreaterThanEqual(Instant since);
+
+    @Query("SELECT m.id FROM MadeIn m WHERE m.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
 }
@@ -4,6 +4,7 @@ import java.util.UUID;
 
 import org.springframework.data.domain.Pageable;
 
+import com.per.common.response.CursorPageResponse;
 import com.per.common.response.PageResponse;
 import com.per.made_in.dto.request.MadeInCreateRequest;
 import com.per.made_in.dto.request.MadeInUpdateRequest;
@@ -13,6 +14,8 @@ public interface MadeInService {
 
     PageResponse<MadeInResponse> getMadeIns(String query, Pageable pageable);
 
+    CursorPageResponse<MadeInResponse> scrollMadeIns(String cursor, int size);
+
     MadeInResponse getMadeIn(UUID id);
 
     MadeInResponse createMadeIn(MadeInCreateRequest request);
@@ -1,5 +1,6 @@
 package com.per.made_in.service.impl;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.data.domain.Pageable;
@@ -7,9 +8,12 @@ import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import com.per.common.config.elasticsearch.AliasedIndexManager;
+import com.per.common.config.elasticsearch.AliasedIndexManager.FillResult;
 import com.per.common.response.PageResponse;
 import com.per.made_in.document.MadeInDocument;
 import com.per.made_in.entity.MadeIn;
@@ -29,13 +33,14 @@ import lombok.extern.slf4j.Slf4j;
 public class MadeInSearchServiceImpl implements MadeInSearchService {
 
     private final ElasticsearchOperations esOperations;
+    private final AliasedIndexManager aliasedIndexManager;
     private final MadeInSearchRepository searchRepository;
     private final MadeInRepository madeInRepository;
     private final MadeInDocumentMapper documentMapper;
 
     @Override
     public PageResponse<MadeInDocument> search(String query, Pageable pageable) {
-        Query esQuery = buildSearchQuery(query);
+        Query esQuery = searchQuery(query);
 
         NativeQuery nativeQuery =
                 NativeQuery.builder().withQuery(esQuery).withPageable(pageable).build();
@@ -73,25 +78,37 @@ public class MadeInSearchServiceImpl implements MadeInSearchService {
     @Override
     public void reindexAll() {
         log.info("Starting full made_in reindex");
-        searchRepository.deleteAll();
-
-        List<MadeIn> madeIns = madeInRepository.findAll();
-        int indexed = 0;
+        long indexed =
+                aliasedIndexManager.rebuild(
+                        MadeInDocument.class,
+                        index -> write(madeInRepository.findAll(), index),
+                        (index, since) ->
+                                write(
+                                        madeInRepository.findByUpdatedAtGreaterThanEqual(since),
+                                        index),
+                        madeInRepository::findExistingIds);
+        log.info("MadeIn reindex completed: {} entries indexed", indexed);
+    }
 
+    private FillResult write(List<MadeIn> madeIns, IndexCoordinates index) {
+        List<MadeInDocument> documents = new ArrayList<>();
+        long failed = 0;
         for (MadeIn madeIn : madeIns) {
             try {
-                MadeInDocument doc = documentMapper.toDocument(madeIn);
-                searchRepository.save(doc);
-                indexed++;
+                documents.add(documentMapper.toDocument(madeIn));
             } catch (Exception e) {
+                failed++;
                 log.error("Failed to index made_in {}: {}", madeIn.getId(), e.getMessage());
             }
         }
-
-        log.info("MadeIn reindex completed: {} entries indexed", indexed);
+        if (!documents.isEmpty()) {
+            esOperations.save(documents, index);
+        }
+        return new FillResult(madeIns.size(), documents.size(), failed);
     }
 
-    private Query buildSearchQuery(String query) {
+    @Override
+    public Query searchQuery(String query) {
         BoolQuery.Builder boolQuery = new BoolQuery.Builder();
 
         boolQuery.filter(f -> f.term(t -> t.field("isActive").value(true)));
@@ -1,5 +1,6 @@
 package com.per.made_in.service.impl;
 
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.cache.annotation.Cacheable;
@@ -12,7 +13,9 @@ import com.per.common.config.cache.CacheEvictionHelper;
 import com.per.common.config.cache.CacheNames;
 import com.per.common.exception.ApiErrorCode;
 import com.per.common.exception.ApiException;
+import com.per.common.response.CursorPageResponse;
 import com.per.common.response.PageResponse;
+import com.per.common.response.SeekCursor;
 import com.per.made_in.dto.request.MadeInCreateRequest;
 import com.per.made_in.dto.request.MadeInUpdateRequest;
 import com.per.made_in.dto.response.MadeInResponse;
@@ -53,6 +56,19 @@ public class MadeInServiceImpl implements MadeInService {
         return PageResponse.from(page.map(madeInMapper::toResponse));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<MadeInResponse> scrollMadeIns(String cursor, int size) {
+        SeekCursor after = SeekCursor.decode(cursor);
+        Pageable limit = CursorPageResponse.limit(size);
+        List<MadeIn> rows =
+                after == null
+                        ? madeInRepository.findFirstPage(limit)
+                        : madeInRepository.findPageAfter(after.createdAt(), after.id(), limit);
+        return CursorPageResponse.from(
+                rows, size, madeInMapper::toResponse, MadeIn::getCreatedAt, MadeIn::getId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     @Cacheable(value = CacheNames.MADE_IN, key = "#id", sync = true)
@@ -0,0 +1,49 @@
+package com.per.product.consumer;
+
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.per.common.config.kafka.KafkaTopicNames;
+import com.per.common.event.ProductCascadeEvent;
+import com.per.product.service.ProductCascadeReindexScheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Kafka consumer for cascade re-index requests published on brand, category and origin changes.
+ * Requests are handed to {@link ProductCascadeReindexScheduler}, which acknowledges them once their
+ * debounced run has finished.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCascadeConsumer {
+
+    private final ProductCascadeReindexScheduler cascadeReindexScheduler;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = KafkaTopicNames.PRODUCT_CASCADE_TOPIC,
+            groupId = KafkaTopicNames.PRODUCT_CASCADE_GROUP,
+            containerFactory = "cascadeKafkaListenerContainerFactory")
+    public void consume(String message, Acknowledgment acknowledgment) {
+        if (message == null || message.isEmpty()) {
+            acknowledgment.acknowledge();
+            return;
+        }
+
+        ProductCascadeEvent event;
+        try {
+            event = objectMapper.readValue(message, ProductCascadeEvent.class);
+        } catch (JsonProcessingException e) {
+            log.error("Skipping malformed cascade re-index request: {}", message, e);
+            acknowledgment.acknowledge();
+            return;
+        }
+        cascadeReindexScheduler.schedule(event, acknowledgment);
+    }
+}
@@ -0,0 +1,84 @@
+package com.per.product.consumer;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Product changes of one CDC poll, coalesced by product id so that every product is written once
+ * per batch with its latest change. Failures are reported on the earliest record of the failed
+ * product, which commits everything before it and redelivers the rest; reindexing is idempotent, so
+ * products that already succeeded in the redelivered part are simply written again.
+ */
+@Slf4j
+final class ProductChangeBatch<T> {
+
+    private final List<ConsumerRecord<String, String>> records;
+    private final Map<UUID, T> latestById = new LinkedHashMap<>();
+    private final Map<UUID, Integer> firstIndexById = new HashMap<>();
+    private int firstRejectedIndex = -1;
+    private Exception rejectedCause;
+
+    ProductChangeBatch(List<ConsumerRecord<String, String>> records) {
+        this.records = records;
+    }
+
+    /** Records a change of the product carried by the record at {@code index}; later wins. */
+    void put(int index, UUID productId, T change) {
+        latestById.put(productId, change);
+        firstIndexById.putIfAbsent(productId, index);
+    }
+
+    /** Records a message that could not be read; it is retried and dead-lettered on its own. */
+    void reject(int index, Exception cause) {
+        if (firstRejectedIndex < 0) {
+            firstRejectedIndex = index;
+            rejectedCause = cause;
+        }
+    }
+
+    /**
+     * Writes the coalesced changes and reports the earliest failed record, if any, with a {@link
+     * BatchListenerFailedException}.
+     *
+     * @param writer writes the latest change of each product and returns the ids it failed to write
+     */
+    void apply(Function<Map<UUID, T>, Set<UUID>> writer) {
+        log.info(
+                "Applying {} product CDC records as changes to {} products",
+                records.size(),
+                latestById.size());
+
+        Set<UUID> failed;
+        try {
+            failed = latestById.isEmpty() ? Set.of() : writer.apply(latestById);
+        } catch (RuntimeException e) {
+            // Nothing is known to be written, retry from the first record
+            throw new BatchListenerFailedException(
+                    "Failed to apply product CDC batch", e, records.get(0));
+        }
+
+        int failedIndex = firstRejectedIndex;
+        Exception cause = rejectedCause;
+        for (UUID productId : failed) {
+            int index = firstIndexById.get(productId);
+            if (failedIndex < 0 || index < failedIndex) {
+                failedIndex = index;
+                cause = new IllegalStateException("Indexing rejected for product " + productId);
+            }
+        }
+        if (failedIndex >= 0) {
+            throw new BatchListenerFailedException(
+                    "Failed to process product CDC record", cause, records.get(failedIndex));
+        }
+    }
+}
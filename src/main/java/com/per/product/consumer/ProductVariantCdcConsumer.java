@@ -1,24 +1,31 @@
 package com.per.product.consumer;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.annotation.RetryableTopic;
-import org.springframework.kafka.retrytopic.DltStrategy;
-import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.per.common.config.kafka.CdcMetrics;
 import com.per.common.config.kafka.KafkaTopicNames;
 import com.per.common.event.cdc.ProductVariantCdcPayload;
 import com.per.product.service.ProductCdcIndexService;
+import com.per.product.service.ProductIndexLookupCache;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * CDC consumer for ProductVariant entity changes from Debezium. When a variant changes (price,
- * stock, etc.), triggers re-indexing of the parent Product.
+ * stock, etc.), updates the price range of the parent Product.
+ *
+ * <p>Consumes whole polls: a bulk update of many variants of one product updates that product once
+ * per batch instead of once per variant. Variant prices are kept in {@link ProductIndexLookupCache}
+ * from the events, so the update is written without reading the variants again.
  */
 @Component
 @RequiredArgsConstructor
@@ -26,62 +33,66 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductVariantCdcConsumer {
 
     private final ProductCdcIndexService productCdcIndexService;
+    private final ProductIndexLookupCache productIndexLookupCache;
     private final ObjectMapper objectMapper;
+    private final CdcMetrics cdcMetrics;
 
-    @RetryableTopic(
-            attempts = "4",
-            backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 4000),
-            dltTopicSuffix = "-dlt",
-            dltStrategy = DltStrategy.FAIL_ON_ERROR,
-            autoCreateTopics = "true",
-            include = {Exception.class})
     @KafkaListener(
             topics = KafkaTopicNames.CDC_PRODUCT_VARIANTS_TOPIC,
             groupId = KafkaTopicNames.CDC_PRODUCT_VARIANT_GROUP,
-            containerFactory = "cdcKafkaListenerContainerFactory")
-    public void consume(String message) {
-        if (message == null || message.isEmpty()) {
-            log.debug("Received empty or tombstone record, skipping");
-            return;
-        }
+            containerFactory = "cdcBatchKafkaListenerContainerFactory")
+    public void consume(List<ConsumerRecord<String, String>> records) {
+        Timer.Sample sample = cdcMetrics.startIndexing();
+        cdcMetrics.batchReceived(KafkaTopicNames.CDC_PRODUCT_VARIANTS_TOPIC, records.size());
+        ProductChangeBatch<ProductVariantCdcPayload> batch = new ProductChangeBatch<>(records);
+        List<ProductVariantCdcPayload> received = new ArrayList<>();
 
-        try {
-            // Handle double-serialized JSON if present
-            String jsonContent = message;
-            if (message.startsWith("\"") && message.endsWith("\"")) {
-                jsonContent = objectMapper.readValue(message, String.class);
+        for (int i = 0; i < records.size(); i++) {
+            String message = records.get(i).value();
+            if (message == null || message.isEmpty()) {
+                log.debug("Received empty or tombstone record, skipping");
+                continue;
             }
 
-            ProductVariantCdcPayload payload =
-                    objectMapper.readValue(jsonContent, ProductVariantCdcPayload.class);
-            String productIdStr = payload.getProductId();
+            try {
+                ProductVariantCdcPayload payload = readPayload(message);
+                cdcMetrics.consumed(KafkaTopicNames.CDC_PRODUCT_VARIANTS_TOPIC, payload);
+                received.add(payload);
+                String productIdStr = payload.getProductId();
 
-            if (productIdStr == null || productIdStr.isEmpty()) {
-                log.warn(
-                        "ProductVariant CDC event missing product_id, skipping: variantId={}",
-                        payload.getId());
-                return;
-            }
+                if (productIdStr == null || productIdStr.isEmpty()) {
+                    log.warn(
+                            "ProductVariant CDC event missing product_id, skipping: variantId={}",
+                            payload.getId());
+                    continue;
+                }
 
-            UUID productId = UUID.fromString(productIdStr);
-            log.info(
-                    "Processing variant CDC event: op={}, variantId={}, productId={}",
-                    payload.getOp(),
-                    payload.getId(),
-                    productId);
+                UUID productId = UUID.fromString(productIdStr);
+                log.debug(
+                        "Received variant CDC event: op={}, variantId={}, productId={}",
+                        payload.getOp(),
+                        payload.getId(),
+                        productId);
 
-            if (payload.isDeleted()) {
-                // Variant deleted - re-index parent product to update variant list
-                productCdcIndexService.indexProduct(productId);
-                log.info("Parent product re-indexed after variant deletion: {}", productId);
-            } else {
-                // Variant created/updated - re-index parent product
-                productCdcIndexService.indexProduct(productId);
-                log.info("Parent product re-indexed after variant change: {}", productId);
+                // Created, updated or deleted variant: refresh the parent's price range either way
+                productIndexLookupCache.applyVariant(productId, payload);
+                batch.put(i, productId, payload);
+            } catch (Exception e) {
+                log.error("Failed to read variant CDC event: {}", e.getMessage(), e);
+                batch.reject(i, e);
             }
-        } catch (Exception e) {
-            log.error("Failed to process variant CDC event: {}", e.getMessage(), e);
-            throw new RuntimeException("CDC processing failed", e);
         }
+
+        batch.apply(changes -> productCdcIndexService.syncVariantPrices(changes.keySet()));
+        cdcMetrics.indexed(KafkaTopicNames.CDC_PRODUCT_VARIANTS_TOPIC, sample, received);
+    }
+
+    private ProductVariantCdcPayload readPayload(String message) throws Exception {
+        // Handle double-serialized JSON if present
+        String jsonContent = message;
+        if (message.startsWith("\"") && message.endsWith("\"")) {
+            jsonContent = objectMapper.readValue(message, String.class);
+        }
+        return objectMapper.readValue(jsonContent, ProductVariantCdcPayload.class);
     }
 }
@@ -17,18 +17,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.per.common.ApiConstants;
 import com.per.common.base.BaseController;
 import com.per.common.response.ApiResponse;
 import com.per.common.response.ApiSuccessCode;
+import com.per.common.response.CursorPageResponse;
 import com.per.common.response.PageResponse;
 import com.per.product.dto.request.ProductCreateRequest;
 import com.per.product.dto.request.ProductSearchRequest;
 import com.per.product.dto.request.ProductUpdateRequest;
 import com.per.product.dto.response.ProductDetailResponse;
 import com.per.product.dto.response.ProductResponse;
+import com.per.product.dto.response.ProductSearchPageResponse;
 import com.per.product.dto.response.ProductSearchResponse;
 import com.per.product.service.ProductSearchService;
 import com.per.product.service.ProductService;
@@ -51,10 +54,27 @@ public class ProductController extends BaseController {
     @RateLimiter(name = "highTraffic", fallbackMethod = "rateLimit")
     @Operation(
             summary = "Search products",
-            description = "Full-text search with fuzzy matching and filters")
-    public ResponseEntity<ApiResponse<PageResponse<ProductSearchResponse>>> searchProducts(
+            description = "Full-text search with fuzzy matching, filters and facet counts")
+    public ResponseEntity<ApiResponse<ProductSearchPageResponse>> searchProducts(
             @Valid ProductSearchRequest request, @PageableDefault(size = 20) Pageable pageable) {
-        PageResponse<ProductSearchResponse> data = productSearchService.search(request, pageable);
+        ProductSearchPageResponse data = productSearchService.search(request, pageable);
+        return ResponseEntity.ok(ApiResponse.success(ApiSuccessCode.PRODUCT_LIST_SUCCESS, data));
+    }
+
+    @GetMapping(ApiConstants.Product.SEARCH_CURSOR)
+    @RateLimiter(name = "highTraffic", fallbackMethod = "rateLimit")
+    @Operation(
+            summary = "Scan product search results by cursor",
+            description =
+                    "Point-in-time + search_after pagination for deep pages and full crawls; no"
+                            + " total count or facets")
+    public ResponseEntity<ApiResponse<CursorPageResponse<ProductSearchResponse>>>
+            scrollSearchProducts(
+                    @Valid ProductSearchRequest request,
+                    @RequestParam(value = "cursor", required = false) String cursor,
+                    @RequestParam(value = "size", defaultValue = "20") int size) {
+        CursorPageResponse<ProductSearchResponse> data =
+                productSearchService.scroll(request, cursor, size);
         return ResponseEntity.ok(ApiResponse.success(ApiSuccessCode.PRODUCT_LIST_SUCCESS, data));
     }
 
@@ -77,6 +97,19 @@ public class ProductController extends BaseController {
         return ResponseEntity.ok(ApiResponse.success(ApiSuccessCode.PRODUCT_LIST_SUCCESS, data));
     }
 
+    @GetMapping(ApiConstants.Product.CURSOR)
+    @RateLimiter(name = "highTraffic", fallbackMethod = "rateLimit")
+    @Operation(
+            summary = "List products by cursor",
+            description = "Keyset pagination, newest first; no total count")
+    public ResponseEntity<ApiResponse<CursorPageResponse<ProductResponse>>> scrollProducts(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        CursorPageResponse<ProductResponse> response = productService.scrollProducts(cursor, size);
+        return ResponseEntity.ok(
+                ApiResponse.success(ApiSuccessCode.PRODUCT_LIST_SUCCESS, response));
+    }
+
     @GetMapping(ApiConstants.Product.DETAIL)
     @RateLimiter(name = "highTraffic", fallbackMethod = "rateLimit")
     public ResponseEntity<ApiResponse<ProductDetailResponse>> getProduct(
@@ -1,9 +1,14 @@
 package com.per.product.document;
 
+import java.time.Instant;
+
 import org.springframework.data.annotation.Id;
+import org.springframework.data.elasticsearch.annotations.DateFormat;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
 import org.springframework.data.elasticsearch.annotations.Setting;
 
 import lombok.AllArgsConstructor;
@@ -11,20 +16,46 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-@Document(indexName = "products")
-@Setting(shards = 1, replicas = 0)
+// CDC writes pass the change's WAL position as version: an older event cannot overwrite a newer one
+@Document(indexName = "products", createIndex = false, versionType = Document.VersionType.EXTERNAL)
+// Shards, replicas and the autocomplete analyzers live in the settings file
+@Setting(settingPath = "elasticsearch/product-settings.json")
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProductDocument {
 
-    @Id private String id;
-
-    @Field(type = FieldType.Text, analyzer = "standard")
+    // Keyword so it can serve as the search_after tiebreaker
+    @Id
+    @Field(type = FieldType.Keyword)
+    private String id;
+
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+            otherFields = {
+                @InnerField(
+                        suffix = "prefix",
+                        type = FieldType.Text,
+                        analyzer = "autocomplete",
+                        searchAnalyzer = "autocomplete_search"),
+                @InnerField(
+                        suffix = "keyword",
+                        type = FieldType.Keyword,
+                        normalizer = "lowercase_normalizer",
+                        ignoreAbove = 256)
+            })
     private String name;
 
-    @Field(type = FieldType.Text, analyzer = "standard")
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+            otherFields = {
+                @InnerField(
+                        suffix = "prefix",
+                        type = FieldType.Text,
+                        analyzer = "autocomplete",
+                        searchAnalyzer = "autocomplete_search")
+            })
     private String shortDescription;
 
     @Field(type = FieldType.Text, analyzer = "standard")
@@ -33,7 +64,20 @@ public class ProductDocument {
     @Field(type = FieldType.Keyword)
     private String brandId;
 
-    @Field(type = FieldType.Text, analyzer = "standard")
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+            otherFields = {
+                @InnerField(
+                        suffix = "prefix",
+                        type = FieldType.Text,
+                        analyzer = "autocomplete",
+                        searchAnalyzer = "autocomplete_search"),
+                @InnerField(
+                        suffix = "keyword",
+                        type = FieldType.Keyword,
+                        normalizer = "lowercase_normalizer",
+                        ignoreAbove = 256)
+            })
     private String brandName;
 
     @Field(type = FieldType.Keyword)
@@ -71,4 +115,8 @@ public class ProductDocument {
 
     @Field(type = FieldType.Keyword)
     private String imageUrl;
+
+    // Row version the document was built from, compared by the index reconciliation
+    @Field(type = FieldType.Date, format = DateFormat.epoch_millis)
+    private Instant updatedAt;
 }
@@ -0,0 +1,12 @@
+package com.per.product.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The columns of a product row that its search document and vector are built from, used to detect
+ * index drift. Prices are {@code null} for a product without variants.
+ */
+public record ProductIndexState(
+        UUID id, Instant updatedAt, boolean active, BigDecimal minPrice, BigDecimal maxPrice) {}
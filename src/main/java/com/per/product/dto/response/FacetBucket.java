@@ -0,0 +1,22 @@
+package com.per.product.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One value of a search facet and the number of matching products. {@code from}/{@code to} are only
+ * set on range facets (price).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetBucket {
+
+    private String key;
+    private long count;
+    private Double from;
+    private Double to;
+}
@@ -0,0 +1,29 @@
+package com.per.product.dto.response;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.per.common.response.PageResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Product search results with facet counts. The page fields are serialized at the top level, so the
+ * JSON is a regular page response with an extra {@code facets} object keyed by facet name ({@code
+ * brand}, {@code category}, {@code gender}, {@code fragranceFamily}, {@code sillage}, {@code
+ * longevity}, {@code seasonality}, {@code occasion}, {@code price}).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchPageResponse {
+
+    @JsonUnwrapped private PageResponse<ProductSearchResponse> page;
+
+    private Map<String, List<FacetBucket>> facets;
+}
@@ -1,11 +1,14 @@
 package com.per.product.mapper;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.stereotype.Component;
 
+import com.per.common.event.cdc.ProductCdcPayload;
 import com.per.product.document.ProductDocument;
+import com.per.product.dto.response.ProductSearchResponse;
 import com.per.product.entity.Product;
 import com.per.product.entity.ProductVariant;
 
@@ -24,26 +27,8 @@ public class ProductDocumentMapper {
      * @return the Elasticsearch document
      */
     public ProductDocument toDocument(Product product, List<ProductVariant> variants) {
-        Double minPrice = null;
-        Double maxPrice = null;
-
-        if (variants != null && !variants.isEmpty()) {
-            minPrice =
-                    variants.stream()
-                            .map(ProductVariant::getPrice)
-                            .filter(p -> p != null)
-                            .map(BigDecimal::doubleValue)
-                            .min(Double::compareTo)
-                            .orElse(null);
-
-            maxPrice =
-                    variants.stream()
-                            .map(ProductVariant::getPrice)
-                            .filter(p -> p != null)
-                            .map(BigDecimal::doubleValue)
-                            .max(Double::compareTo)
-                            .orElse(null);
-        }
+        List<BigDecimal> prices =
+                variants != null ? variants.stream().map(ProductVariant::getPrice).toList() : null;
 
         return ProductDocument.builder()
                 .id(product.getId().toString())
@@ -64,10 +49,91 @@ public class ProductDocumentMapper {
                 .seasonality(
                         product.getSeasonality() != null ? product.getSeasonality().name() : null)
                 .occasion(product.getOccasion() != null ? product.getOccasion().name() : null)
-                .minPrice(minPrice)
-                .maxPrice(maxPrice)
+                .minPrice(minPrice(prices))
+                .maxPrice(maxPrice(prices))
                 .isActive(product.isActive())
                 .imageUrl(product.getImageUrl())
+                .updatedAt(product.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Converts a product row from a CDC event to an Elasticsearch document, without loading the
+     * product from the database.
+     *
+     * @param payload the product row
+     * @param brandName name of the product's brand
+     * @param categoryName name of the product's category
+     * @param variantPrices prices of the product's variants (for price range calculation)
+     * @return the Elasticsearch document
+     */
+    public ProductDocument toDocument(
+            ProductCdcPayload payload,
+            String brandName,
+            String categoryName,
+            Collection<BigDecimal> variantPrices) {
+        return ProductDocument.builder()
+                .id(payload.getId())
+                .name(payload.getName())
+                .shortDescription(payload.getShortDescription())
+                .description(payload.getDescription())
+                .brandId(payload.getBrandId())
+                .brandName(brandName)
+                .categoryId(payload.getCategoryId())
+                .categoryName(categoryName)
+                .gender(payload.getGender())
+                .fragranceFamily(payload.getFragranceFamily())
+                .sillage(payload.getSillage())
+                .longevity(payload.getLongevity())
+                .seasonality(payload.getSeasonality())
+                .occasion(payload.getOccasion())
+                .minPrice(minPrice(variantPrices))
+                .maxPrice(maxPrice(variantPrices))
+                .isActive(Boolean.TRUE.equals(payload.getIsActive()))
+                .imageUrl(payload.getImageUrl())
+                .updatedAt(payload.getUpdatedAt())
+                .build();
+    }
+
+    /** Lowest of the given variant prices, or {@code null} if there is none. */
+    public Double minPrice(Collection<BigDecimal> prices) {
+        return prices == null
+                ? null
+                : prices.stream()
+                        .filter(p -> p != null)
+                        .map(BigDecimal::doubleValue)
+                        .min(Double::compareTo)
+                        .orElse(null);
+    }
+
+    /** Highest of the given variant prices, or {@code null} if there is none. */
+    public Double maxPrice(Collection<BigDecimal> prices) {
+        return prices == null
+                ? null
+                : prices.stream()
+                        .filter(p -> p != null)
+                        .map(BigDecimal::doubleValue)
+                        .max(Double::compareTo)
+                        .orElse(null);
+    }
+
+    /**
+     * Converts a search hit to the lightweight search result returned by the search endpoints.
+     *
+     * @param document the Elasticsearch document
+     * @return the search result
+     */
+    public ProductSearchResponse toSearchResponse(ProductDocument document) {
+        return ProductSearchResponse.builder()
+                .id(document.getId())
+                .name(document.getName())
+                .shortDescription(document.getShortDescription())
+                .brandName(document.getBrandName())
+                .categoryName(document.getCategoryName())
+                .gender(document.getGender())
+                .minPrice(document.getMinPrice())
+                .maxPrice(document.getMaxPrice())
+                .imageUrl(document.getImageUrl())
                 .build();
     }
 }
@@ -1,5 +1,7 @@
 package com.per.product.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -9,6 +11,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.per.product.dto.ProductIndexState;
+import com.per.product.dto.response.ProductResponse;
 import com.per.product.entity.Product;
 
 public interface ProductRepository extends JpaRepository<Product, UUID> {
@@ -17,8 +21,6 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
 
     boolean existsByNameIgnoreCaseAndIdNot(String name, UUID id);
 
-    Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
-
     // Cascade re-indexing queries for CDC
     List<Product> findByBrandId(UUID brandId);
 
@@ -30,27 +32,135 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
     // These use JOIN FETCH to load Brand, Category, MadeIn in one query.
     // Variants are fetched separately to avoid Cartesian product.
 
+    // Keyset id chunks of the products referencing a parent, for cascade re-indexing
     @Query(
-            "SELECT DISTINCT p FROM Product p "
-                    + "LEFT JOIN FETCH p.brand "
-                    + "LEFT JOIN FETCH p.category "
-                    + "LEFT JOIN FETCH p.madeIn "
-                    + "WHERE p.brand.id = :brandId")
-    List<Product> findAllByBrandIdWithRelations(@Param("brandId") UUID brandId);
+            "SELECT p.id FROM Product p WHERE p.brand.id = :brandId AND p.id > :afterId ORDER BY p.id")
+    List<UUID> findIdsByBrandIdAfter(
+            @Param("brandId") UUID brandId, @Param("afterId") UUID afterId, Pageable limit);
 
     @Query(
-            "SELECT DISTINCT p FROM Product p "
-                    + "LEFT JOIN FETCH p.brand "
-                    + "LEFT JOIN FETCH p.category "
-                    + "LEFT JOIN FETCH p.madeIn "
-                    + "WHERE p.category.id = :categoryId")
-    List<Product> findAllByCategoryIdWithRelations(@Param("categoryId") UUID categoryId);
+            "SELECT p.id FROM Product p WHERE p.category.id = :categoryId AND p.id > :afterId"
+                    + " ORDER BY p.id")
+    List<UUID> findIdsByCategoryIdAfter(
+            @Param("categoryId") UUID categoryId, @Param("afterId") UUID afterId, Pageable limit);
+
+    @Query(
+            "SELECT p.id FROM Product p WHERE p.madeIn.id = :madeInId AND p.id > :afterId"
+                    + " ORDER BY p.id")
+    List<UUID> findIdsByMadeInIdAfter(
+            @Param("madeInId") UUID madeInId, @Param("afterId") UUID afterId, Pageable limit);
+
+    // Keyset id chunks of the active products, for the full vector reindex
+    @Query("SELECT p.id FROM Product p WHERE p.active = true AND p.id > :afterId ORDER BY p.id")
+    List<UUID> findActiveIdsAfter(@Param("afterId") UUID afterId, Pageable limit);
 
     @Query(
             "SELECT DISTINCT p FROM Product p "
                     + "LEFT JOIN FETCH p.brand "
                     + "LEFT JOIN FETCH p.category "
                     + "LEFT JOIN FETCH p.madeIn "
-                    + "WHERE p.madeIn.id = :madeInId")
-    List<Product> findAllByMadeInIdWithRelations(@Param("madeInId") UUID madeInId);
+                    + "WHERE p.id IN :ids")
+    List<Product> findAllByIdInWithRelations(@Param("ids") Collection<UUID> ids);
+
+    // ========== Full reindex (keyset chunks by primary key) ==========
+    // Only the relations the search document denormalizes are fetched.
+
+    @Query(
+            "SELECT p FROM Product p "
+                    + "JOIN FETCH p.brand "
+                    + "JOIN FETCH p.category "
+                    + "ORDER BY p.id")
+    List<Product> findChunkWithRelations(Pageable limit);
+
+    @Query(
+            "SELECT p FROM Product p "
+                    + "JOIN FETCH p.brand "
+                    + "JOIN FETCH p.category "
+                    + "WHERE p.id > :afterId "
+                    + "ORDER BY p.id")
+    List<Product> findChunkAfterWithRelations(@Param("afterId") UUID afterId, Pageable limit);
+
+    // Catch-up of the writes made while a new index was filled: a variant change stamps only the
+    // variant, so it counts as a change of its product
+    @Query(
+            "SELECT p.id FROM Product p WHERE p.updatedAt >= :since OR EXISTS"
+                    + " (SELECT v.id FROM ProductVariant v WHERE v.product = p AND v.updatedAt >= :since)"
+                    + " ORDER BY p.id")
+    List<UUID> findIdsChangedSince(@Param("since") Instant since);
+
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    // ========== Index versioning ==========
+    // Current WAL position in the numeric form of Debezium's source.lsn. Read in the transaction
+    // before the rows, it is lower than the LSN of any change those rows do not include yet.
+
+    @Query(
+            value = "SELECT CAST(pg_wal_lsn_diff(pg_current_wal_lsn(), '0/0') AS bigint)",
+            nativeQuery = true)
+    long currentWalLsn();
+
+    // ========== Index reconciliation (row versions with variant price range) ==========
+    // Postgres orders uuid bytewise, so an id range is also a range of its hex text.
+
+    String PRODUCT_INDEX_STATE =
+            """
+			SELECT new com.per.product.dto.ProductIndexState(
+				p.id, p.updatedAt, p.active, MIN(v.price), MAX(v.price))
+			FROM Product p LEFT JOIN ProductVariant v ON v.product = p
+			""";
+
+    @Query(
+            PRODUCT_INDEX_STATE
+                    + "WHERE p.id > :afterId GROUP BY p.id, p.updatedAt, p.active ORDER BY p.id")
+    List<ProductIndexState> findIndexStatesAfter(@Param("afterId") UUID afterId, Pageable limit);
+
+    @Query(
+            PRODUCT_INDEX_STATE
+                    + "WHERE p.id BETWEEN :fromId AND :toId"
+                    + " GROUP BY p.id, p.updatedAt, p.active")
+    List<ProductIndexState> findIndexStatesBetween(
+            @Param("fromId") UUID fromId, @Param("toId") UUID toId);
+
+    // ========== Read paths for listings (DTO projections) ==========
+    // Association ids are read from the FK columns: no join, no lazy load, no entity hydration,
+    // and wide columns such as description are never fetched.
+
+    String PRODUCT_RESPONSE =
+            """
+			SELECT new com.per.product.dto.response.ProductResponse(
+				p.id, p.brand.id, p.category.id, p.madeIn.id, p.name, p.shortDescription,
+				p.imageUrl, p.launchYear, p.fragranceFamily, p.gender, p.limitedEdition,
+				p.discontinued, p.active, p.createdAt, p.updatedAt)
+			FROM Product p
+			""";
+
+    @Query(value = PRODUCT_RESPONSE, countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductResponse> findAllResponses(Pageable pageable);
+
+    // % and _ in the search term are escaped, as the derived "ContainingIgnoreCase" query did
+    String NAME_CONTAINS =
+            "WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :#{escape(#name)}, '%'))"
+                    + " ESCAPE :#{escapeCharacter()}";
+
+    @Query(
+            value = PRODUCT_RESPONSE + NAME_CONTAINS,
+            countQuery = "SELECT COUNT(p) FROM Product p " + NAME_CONTAINS)
+    Page<ProductResponse> searchResponsesByName(@Param("name") String name, Pageable pageable);
+
+    // ========== Keyset pagination (created_at DESC, id DESC) ==========
+    // The redundant "createdAt <= :createdAt" gives the planner an index range start.
+
+    @Query(PRODUCT_RESPONSE + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductResponse> findFirstPage(Pageable limit);
+
+    @Query(
+            PRODUCT_RESPONSE
+                    + """
+			WHERE p.createdAt <= :createdAt
+			AND (p.createdAt < :createdAt OR p.id < :id)
+			ORDER BY p.createdAt DESC, p.id DESC
+			""")
+    List<ProductResponse> findPageAfter(
+            @Param("createdAt") Instant createdAt, @Param("id") UUID id, Pageable limit);
 }
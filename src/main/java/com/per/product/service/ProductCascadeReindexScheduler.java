@@ -0,0 +1,318 @@
+package com.per.product.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import com.per.common.config.kafka.KafkaTopicNames;
+import com.per.common.event.ProductCascadeEvent;
+import com.per.product.repository.ProductRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Re-indexes the products of a brand, category or origin after the parent changed, off the Kafka
+ * listener thread.
+ *
+ * <p>A change is first published to {@link KafkaTopicNames#PRODUCT_CASCADE_TOPIC}, so the CDC
+ * listener commits its offset only once the request is durable. The cascade listener hands each
+ * request to {@link #schedule(ProductCascadeEvent, Acknowledgment)}, which acknowledges it only
+ * after the run covering it has finished; a request pending when the node stops is redelivered.
+ *
+ * <p>Changes are debounced per parent: the first change schedules a run after {@code
+ * debounce-window}, and further changes of the same parent before that run starts are absorbed by
+ * it, since the run reads the current database state. Affected products are read as primary-key
+ * keyset chunks of ids and written with one bulk request per chunk. A failed run is retried from
+ * the chunk that failed, unless a newer change already scheduled a fresh run. The request of a run
+ * that exhausts its attempts, or whose products Elasticsearch partly rejected, is published to the
+ * cascade dead letter topic, from where it can be replayed.
+ *
+ * <p>Metrics: {@code cdc.cascade.scheduled}, {@code cdc.cascade.debounced} and {@code
+ * cdc.cascade.dlt} (by parent), {@code cdc.cascade.products} (by parent and outcome), {@code
+ * cdc.cascade.duration} (by parent and outcome) and {@code cdc.cascade.pending}.
+ */
+@Service
+@Slf4j
+public class ProductCascadeReindexScheduler {
+
+    /** Entity whose change requires the products that reference it to be re-indexed. */
+    public enum Parent {
+        BRAND,
+        CATEGORY,
+        MADE_IN
+    }
+
+    private record Key(Parent parent, UUID id) {}
+
+    /**
+     * One run and the requests it covers; {@code rejected} counts the products Elasticsearch
+     * rejected over all attempts.
+     */
+    private record Run(Key key, List<Acknowledgment> acks, AtomicLong rejected) {}
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+    private static final String DEAD_LETTER_TOPIC =
+            KafkaTopicNames.PRODUCT_CASCADE_TOPIC + KafkaTopicNames.CDC_DLT_SUFFIX;
+
+    private final TaskScheduler taskScheduler;
+    private final ProductRepository productRepository;
+    private final ProductCdcIndexService productCdcIndexService;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, List<Acknowledgment>> pending = new ConcurrentHashMap<>();
+
+    @Value("${app.cdc.cascade.debounce-window:5s}")
+    private Duration debounceWindow;
+
+    @Value("${app.cdc.cascade.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.cdc.cascade.max-attempts:3}")
+    private int maxAttempts;
+
+    public ProductCascadeReindexScheduler(
+            TaskScheduler taskScheduler,
+            ProductRepository productRepository,
+            ProductCdcIndexService productCdcIndexService,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            MeterRegistry meterRegistry) {
+        this.taskScheduler = taskScheduler;
+        this.productRepository = productRepository;
+        this.productCdcIndexService = productCdcIndexService;
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("cdc.cascade.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Requests a re-index of the products referencing the given parent. Returns once the broker has
+     * accepted the request.
+     *
+     * @param parent type of the changed entity
+     * @param parentId id of the changed entity
+     */
+    public void request(Parent parent, UUID parentId) {
+        ProductCascadeEvent event =
+                ProductCascadeEvent.builder().parent(parent).parentId(parentId.toString()).build();
+        kafkaTemplate
+                .send(KafkaTopicNames.PRODUCT_CASCADE_TOPIC, parentId.toString(), event)
+                .join();
+        log.debug("Requested cascade re-index for {} {}", parent, parentId);
+    }
+
+    /**
+     * Schedules a run for a consumed request, or adds the request to the run already pending for
+     * its parent.
+     *
+     * @param event the request
+     * @param acknowledgment acknowledged once the run covering the request has finished
+     */
+    public void schedule(ProductCascadeEvent event, Acknowledgment acknowledgment) {
+        Key key = new Key(event.getParent(), UUID.fromString(event.getParentId()));
+        boolean[] absorbed = {true};
+        pending.compute(
+                key,
+                (k, acks) -> {
+                    if (acks == null) {
+                        absorbed[0] = false;
+                        acks = new ArrayList<>();
+                    }
+                    acks.add(acknowledgment);
+                    return acks;
+                });
+        if (absorbed[0]) {
+            counter("cdc.cascade.debounced", key.parent()).increment();
+            log.debug("Cascade re-index already pending for {} {}", key.parent(), key.id());
+            return;
+        }
+
+        counter("cdc.cascade.scheduled", key.parent()).increment();
+        taskScheduler.schedule(() -> start(key), Instant.now().plus(debounceWindow));
+        log.info(
+                "Scheduled cascade re-index for {} {} in {}",
+                key.parent(),
+                key.id(),
+                debounceWindow);
+    }
+
+    private void start(Key key) {
+        // Changes from here on may not be seen by this run, so they schedule their own
+        List<Acknowledgment> acks = pending.remove(key);
+        run(new Run(key, acks != null ? acks : List.of(), new AtomicLong()), FIRST_ID, 1);
+    }
+
+    private void run(Run run, UUID resumeAfter, int attempt) {
+        Key key = run.key();
+        if (attempt > 1 && handOver(run)) {
+            log.debug("Dropping retry for {} {}, a fresh run is pending", key.parent(), key.id());
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        UUID afterId = resumeAfter;
+        long indexed = 0;
+        long failed = 0;
+        String outcome = "success";
+        try {
+            List<UUID> ids;
+            do {
+                ids = nextChunk(key, afterId, PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                Set<UUID> rejected = productCdcIndexService.syncProducts(ids, List.of());
+                indexed += ids.size() - rejected.size();
+                failed += rejected.size();
+                run.rejected().addAndGet(rejected.size());
+                if (!rejected.isEmpty()) {
+                    log.warn(
+                            "Cascade re-index for {} {}: {} products rejected: {}",
+                            key.parent(),
+                            key.id(),
+                            rejected.size(),
+                            rejected);
+                }
+                afterId = ids.get(ids.size() - 1);
+                log.debug(
+                        "Cascade re-index for {} {}: {} products written so far",
+                        key.parent(),
+                        key.id(),
+                        indexed);
+            } while (ids.size() == chunkSize);
+
+            log.info(
+                    "Cascade re-index for {} {} finished: {} indexed, {} rejected",
+                    key.parent(),
+                    key.id(),
+                    indexed,
+                    failed);
+            // Replaying the request re-reads every product of the parent, the rejected ones too
+            if (run.rejected().get() == 0 || deadLetter(key)) {
+                acknowledge(run);
+            }
+        } catch (RuntimeException e) {
+            outcome = "error";
+            retry(run, afterId, attempt, e);
+        } finally {
+            productsCounter(key.parent(), "indexed").increment(indexed);
+            productsCounter(key.parent(), "failed").increment(failed);
+            sample.stop(
+                    Timer.builder("cdc.cascade.duration")
+                            .tag("parent", tagOf(key.parent()))
+                            .tag("outcome", outcome)
+                            .register(meterRegistry));
+        }
+    }
+
+    private void retry(Run run, UUID afterId, int attempt, RuntimeException cause) {
+        Key key = run.key();
+        if (attempt >= maxAttempts) {
+            log.error(
+                    "Cascade re-index for {} {} failed after {} attempts: {}",
+                    key.parent(),
+                    key.id(),
+                    attempt,
+                    cause.getMessage(),
+                    cause);
+            if (deadLetter(key)) {
+                acknowledge(run);
+            }
+            return;
+        }
+
+        Duration delay = debounceWindow.multipliedBy(attempt);
+        log.warn(
+                "Cascade re-index for {} {} failed (attempt {}), retrying in {}: {}",
+                key.parent(),
+                key.id(),
+                attempt,
+                delay,
+                cause.getMessage());
+        taskScheduler.schedule(() -> run(run, afterId, attempt + 1), Instant.now().plus(delay));
+    }
+
+    /**
+     * Hands the requests of a retry over to the fresh run pending for its parent, if any; that run
+     * covers all products of the parent, including the ones this run had rejected.
+     */
+    private boolean handOver(Run run) {
+        return pending.computeIfPresent(
+                        run.key(),
+                        (k, acks) -> {
+                            acks.addAll(run.acks());
+                            return acks;
+                        })
+                != null;
+    }
+
+    /**
+     * Publishes the request of a run to the dead letter topic. If that fails, the requests the run
+     * covers stay unacknowledged and are redelivered once their partition is next assigned.
+     */
+    private boolean deadLetter(Key key) {
+        ProductCascadeEvent event =
+                ProductCascadeEvent.builder()
+                        .parent(key.parent())
+                        .parentId(key.id().toString())
+                        .build();
+        try {
+            kafkaTemplate.send(DEAD_LETTER_TOPIC, key.id().toString(), event).join();
+        } catch (RuntimeException e) {
+            log.error(
+                    "Failed to dead-letter cascade re-index for {} {}: {}",
+                    key.parent(),
+                    key.id(),
+                    e.getMessage());
+            return false;
+        }
+        counter("cdc.cascade.dlt", key.parent()).increment();
+        log.warn("Dead-lettered cascade re-index for {} {}", key.parent(), key.id());
+        return true;
+    }
+
+    private static void acknowledge(Run run) {
+        run.acks().forEach(Acknowledgment::acknowledge);
+    }
+
+    private List<UUID> nextChunk(Key key, UUID afterId, Pageable limit) {
+        return switch (key.parent()) {
+            case BRAND -> productRepository.findIdsByBrandIdAfter(key.id(), afterId, limit);
+            case CATEGORY -> productRepository.findIdsByCategoryIdAfter(key.id(), afterId, limit);
+            case MADE_IN -> productRepository.findIdsByMadeInIdAfter(key.id(), afterId, limit);
+        };
+    }
+
+    private Counter counter(String name, Parent parent) {
+        return Counter.builder(name).tag("parent", tagOf(parent)).register(meterRegistry);
+    }
+
+    private Counter productsCounter(Parent parent, String outcome) {
+        return Counter.builder("cdc.cascade.products")
+                .tag("parent", tagOf(parent))
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String tagOf(Parent parent) {
+        return parent.name().toLowerCase();
+    }
+}
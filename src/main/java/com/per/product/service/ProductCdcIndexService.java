@@ -1,31 +1,54 @@
 package com.per.product.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.BulkFailureException.FailureDetails;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
 import org.springframework.data.elasticsearch.core.query.IndexQuery;
 import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import com.per.common.event.cdc.ProductCdcPayload;
 import com.per.product.document.ProductDocument;
 import com.per.product.entity.Product;
 import com.per.product.entity.ProductVariant;
 import com.per.product.mapper.ProductDocumentMapper;
 import com.per.product.repository.ProductRepository;
-import com.per.product.repository.ProductSearchRepository;
 import com.per.product.repository.ProductVariantRepository;
 import com.per.rag.service.QdrantCdcService;
 
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.VersionType;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Service for CDC-triggered Product indexing to Elasticsearch and Qdrant. Provides methods for
- * direct indexing and cascade re-indexing.
+ * Service for CDC-triggered Product indexing to Elasticsearch and Qdrant. Cascade re-indexing after
+ * a brand, category or origin change is scheduled by {@link ProductCascadeReindexScheduler} and
+ * written through {@link #syncProducts}.
  */
 @Service
 @RequiredArgsConstructor
@@ -35,31 +58,26 @@ public class ProductCdcIndexService {
 
     private final ProductRepository productRepository;
     private final ProductVariantRepository variantRepository;
-    private final ProductSearchRepository searchRepository;
     private final ProductDocumentMapper documentMapper;
     private final QdrantCdcService qdrantCdcService;
     private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+    private final ProductIndexLookupCache lookupCache;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.cdc.index-from-payload:true}")
+    private boolean indexFromPayload;
 
     /** Index a single product to Elasticsearch and Qdrant. */
     public void indexProduct(UUID productId) {
-        productRepository
-                .findById(productId)
-                .ifPresentOrElse(
-                        product -> {
-                            var variants = variantRepository.findByProductId(productId);
-                            var document = documentMapper.toDocument(product, variants);
-                            searchRepository.save(document);
-                            qdrantCdcService.indexProduct(productId);
-                            log.debug("Indexed product {} to ES/Qdrant", productId);
-                        },
-                        () -> log.warn("Product {} not found, skipping indexing", productId));
+        syncProducts(List.of(productId), List.of());
+        log.debug("Indexed product {} to ES/Qdrant", productId);
     }
 
     /** Delete a product from Elasticsearch and Qdrant. */
     public void deleteProduct(UUID productId) {
         try {
-            searchRepository.deleteById(productId.toString());
-            qdrantCdcService.deleteProduct(productId);
+            syncProducts(List.of(), List.of(productId));
             log.debug("Deleted product {} from ES/Qdrant", productId);
         } catch (Exception e) {
             log.error(
@@ -70,89 +88,331 @@ public class ProductCdcIndexService {
     // ========== Bulk Indexing (Optimized for Cascade Updates) ==========
 
     /**
-     * Bulk index multiple products to Elasticsearch. Uses ES Bulk API for efficiency.
+     * Applies the coalesced product changes of one CDC batch: upserted products are loaded with one
+     * query, their variants with another, and written in one bulk request; deleted products are
+     * removed with one bulk request. The product vectors follow in one Qdrant sync.
+     *
+     * <p>Writes and deletes carry the WAL position read just before the rows as external version,
+     * so they cannot overwrite a document written from a later change event.
      *
-     * @param products List of products (with relations already loaded)
-     * @param variantsByProductId Map of productId -> variants
+     * @param upsertIds products to (re)index; ids no longer in the database are skipped
+     * @param deleteIds products to remove from the index
+     * @return ids of products whose write or delete Elasticsearch rejected
      */
-    public void bulkIndexProducts(
-            List<Product> products, Map<UUID, List<ProductVariant>> variantsByProductId) {
-        if (products.isEmpty()) {
-            log.debug("No products to index");
-            return;
+    public Set<UUID> syncProducts(Collection<UUID> upsertIds, Collection<UUID> deleteIds) {
+        Set<UUID> vectorUpserts = new HashSet<>();
+        Set<UUID> failed = writeProducts(upsertIds, vectorUpserts);
+        if (!deleteIds.isEmpty()) {
+            Long version = productRepository.currentWalLsn();
+            Map<UUID, Long> deletes = new HashMap<>();
+            deleteIds.forEach(productId -> deletes.put(productId, version));
+            failed.addAll(deleteDocuments(deletes));
         }
+        qdrantCdcService.syncProducts(vectorUpserts, deleteIds);
+        return failed;
+    }
 
+    /**
+     * Applies the coalesced product changes of one CDC batch from the change events themselves.
+     * Upserted rows are indexed from the payload, with brand and category names taken from {@link
+     * ProductIndexLookupCache} and the variant prices of the whole batch read with one query; a row
+     * is loaded from the database only when the event lacks a TOASTed column or its brand or
+     * category no longer exists.
+     *
+     * <p>Prices are not taken from the lookup cache here: the product and variant topics are
+     * partitioned independently, so this node may not see the variant changes of a product whose
+     * product events it consumes, and the product event's higher version would overwrite the
+     * correct price range written from the variant topic.
+     *
+     * <p>Payload writes and deletes carry the event's WAL position ({@code __source_lsn}) as
+     * external version, so Elasticsearch rejects an event older than, or the same as, the one
+     * already applied to the document; such stale and duplicate events are counted and skipped, not
+     * retried.
+     *
+     * @param changes latest change event of each product
+     * @return ids of products whose write or delete Elasticsearch rejected
+     */
+    public Set<UUID> syncProductChanges(Collection<ProductCdcPayload> changes) {
         List<IndexQuery> indexQueries = new ArrayList<>();
+        List<UUID> fromDatabase = new ArrayList<>();
+        Map<UUID, Long> deletes = new HashMap<>();
+        Map<UUID, List<BigDecimal>> prices =
+                indexFromPayload
+                        ? fetchVariantPrices(
+                                changes.stream()
+                                        .filter(change -> !change.isDeleted())
+                                        .map(change -> UUID.fromString(change.getId()))
+                                        .toList())
+                        : Map.of();
+
+        for (ProductCdcPayload change : changes) {
+            UUID productId = UUID.fromString(change.getId());
+            if (change.isDeleted()) {
+                lookupCache.evictProduct(productId);
+                deletes.put(productId, change.getSourceLsn());
+                continue;
+            }
+            ProductDocument document =
+                    indexFromPayload
+                            ? documentFromPayload(change, prices.getOrDefault(productId, List.of()))
+                            : null;
+            if (document != null) {
+                indexQueries.add(indexQuery(document, change.getSourceLsn()));
+            } else {
+                fromDatabase.add(productId);
+            }
+        }
 
-        for (Product product : products) {
-            List<ProductVariant> variants =
-                    variantsByProductId.getOrDefault(product.getId(), List.of());
-            ProductDocument document = documentMapper.toDocument(product, variants);
+        Set<UUID> vectorUpserts = new HashSet<>();
+        Set<UUID> failed = new HashSet<>(indexDocuments(indexQueries, vectorUpserts));
+        sourceCounter("payload").increment(indexQueries.size());
+        failed.addAll(writeProducts(fromDatabase, vectorUpserts));
+        failed.addAll(deleteDocuments(deletes));
+        qdrantCdcService.syncProducts(vectorUpserts, deletes.keySet());
+        return failed;
+    }
 
-            IndexQuery indexQuery =
-                    new IndexQueryBuilder().withId(document.getId()).withObject(document).build();
-            indexQueries.add(indexQuery);
+    /**
+     * Writes the price range of products whose variants changed as a partial update, computed from
+     * the variant prices in {@link ProductIndexLookupCache}. Products that are not indexed yet are
+     * indexed in full from the database.
+     *
+     * @param productIds products whose variants changed
+     * @return ids of products whose write Elasticsearch rejected
+     */
+    public Set<UUID> syncVariantPrices(Collection<UUID> productIds) {
+        if (!indexFromPayload) {
+            return syncProducts(productIds, List.of());
+        }
+        if (productIds.isEmpty()) {
+            return Set.of();
+        }
+
+        List<UpdateQuery> updates = new ArrayList<>();
+        for (UUID productId : productIds) {
+            Collection<BigDecimal> prices = lookupCache.variantPrices(productId).values();
+            Document priceRange = Document.create();
+            priceRange.put("minPrice", documentMapper.minPrice(prices));
+            priceRange.put("maxPrice", documentMapper.maxPrice(prices));
+            updates.add(UpdateQuery.builder(productId.toString()).withDocument(priceRange).build());
         }
 
-        elasticsearchOperations.bulkIndex(indexQueries, ProductDocument.class);
-        log.info("Bulk indexed {} products to Elasticsearch", products.size());
+        List<UUID> rejected = new ArrayList<>();
+        try {
+            bulkTimer("update")
+                    .record(
+                            () ->
+                                    elasticsearchOperations.bulkUpdate(
+                                            updates, ProductDocument.class));
+        } catch (BulkFailureException e) {
+            // Typically the product document is missing because its own event is not indexed yet
+            e.getFailedDocuments().keySet().forEach(id -> rejected.add(UUID.fromString(id)));
+            log.debug("{} price updates rejected, indexing them in full", rejected.size());
+        }
+        sourceCounter("payload").increment(updates.size() - rejected.size());
+        log.info("Updated price range of {} products", updates.size() - rejected.size());
 
-        // Qdrant indexing (still individual for now, can be optimized later)
-        products.forEach(p -> qdrantCdcService.indexProduct(p.getId()));
+        // The price range is part of the embedded text, so the vectors are rewritten as well
+        Set<UUID> vectorUpserts = new HashSet<>(productIds);
+        vectorUpserts.removeAll(rejected);
+        Set<UUID> failed = writeProducts(rejected, vectorUpserts);
+        qdrantCdcService.syncProducts(vectorUpserts, List.of());
+        return failed;
     }
 
+    // ========== Private Helpers ==========
+
     /**
-     * Re-index all products belonging to a specific brand. Called when a Brand entity is updated
-     * via CDC. Uses optimized JOIN FETCH query and bulk indexing.
+     * Indexes the products from the database to Elasticsearch only, adding the products whose write
+     * was accepted to {@code vectorUpserts}.
      */
-    public void reindexProductsByBrand(UUID brandId) {
-        List<Product> products = productRepository.findAllByBrandIdWithRelations(brandId);
-        if (products.isEmpty()) {
-            log.debug("No products found for brand {}", brandId);
-            return;
-        }
+    private Set<UUID> writeProducts(Collection<UUID> upsertIds, Set<UUID> vectorUpserts) {
+        Set<UUID> failed = new HashSet<>();
 
-        log.info("Cascade re-indexing {} products for brand {}", products.size(), brandId);
+        if (!upsertIds.isEmpty()) {
+            // Read first: a change the rows miss commits later and its event has a higher LSN
+            long version = productRepository.currentWalLsn();
+            List<Product> products = productRepository.findAllByIdInWithRelations(upsertIds);
+            if (products.size() < upsertIds.size()) {
+                log.debug(
+                        "{} of {} products no longer exist, skipping them",
+                        upsertIds.size() - products.size(),
+                        upsertIds.size());
+            }
+            Map<UUID, List<ProductVariant>> variants = fetchVariantsForProducts(products);
+            List<IndexQuery> indexQueries = new ArrayList<>();
+            for (Product product : products) {
+                List<ProductVariant> productVariants =
+                        variants.getOrDefault(product.getId(), List.of());
+                indexQueries.add(
+                        indexQuery(documentMapper.toDocument(product, productVariants), version));
+            }
+            failed.addAll(indexDocuments(indexQueries, vectorUpserts));
+            sourceCounter("database").increment(indexQueries.size());
+        }
 
-        Map<UUID, List<ProductVariant>> variantsMap = fetchVariantsForProducts(products);
-        bulkIndexProducts(products, variantsMap);
+        return failed;
     }
 
     /**
-     * Re-index all products belonging to a specific category. Called when a Category entity is
-     * updated via CDC.
+     * Deletes the documents in one bulk request, each with its external version when it has one,
+     * and returns the ids of the rejected deletes. Version conflicts are stale events, not
+     * failures.
      */
-    public void reindexProductsByCategory(UUID categoryId) {
-        List<Product> products = productRepository.findAllByCategoryIdWithRelations(categoryId);
-        if (products.isEmpty()) {
-            log.debug("No products found for category {}", categoryId);
-            return;
+    private Set<UUID> deleteDocuments(Map<UUID, Long> versions) {
+        if (versions.isEmpty()) {
+            return Set.of();
+        }
+
+        String index =
+                elasticsearchOperations
+                        .getIndexCoordinatesFor(ProductDocument.class)
+                        .getIndexName();
+        List<BulkOperation> operations = new ArrayList<>(versions.size());
+        versions.forEach(
+                (productId, version) -> operations.add(deleteOperation(index, productId, version)));
+
+        BulkResponse response;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            response = elasticsearchClient.bulk(BulkRequest.of(b -> b.operations(operations)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Bulk delete of products failed", e);
+        } finally {
+            sample.stop(bulkTimer("delete"));
         }
 
-        log.info("Cascade re-indexing {} products for category {}", products.size(), categoryId);
+        Set<UUID> failed = new HashSet<>();
+        int stale = 0;
+        for (BulkResponseItem item : response.items()) {
+            if (item.error() == null) {
+                continue;
+            }
+            if (item.status() == HttpStatus.CONFLICT.value()) {
+                stale++;
+            } else {
+                failed.add(UUID.fromString(item.id()));
+            }
+        }
+        if (!failed.isEmpty()) {
+            log.warn("Bulk delete rejected {} of {} products", failed.size(), versions.size());
+        }
+        countStale(stale);
+        log.info("Deleted {} products from Elasticsearch", versions.size() - failed.size() - stale);
+        return failed;
+    }
 
-        Map<UUID, List<ProductVariant>> variantsMap = fetchVariantsForProducts(products);
-        bulkIndexProducts(products, variantsMap);
+    /** Builds the document from the event, or returns {@code null} if the event is not enough. */
+    private ProductDocument documentFromPayload(
+            ProductCdcPayload payload, Collection<BigDecimal> prices) {
+        if (payload.hasUnavailableValues()
+                || payload.getBrandId() == null
+                || payload.getCategoryId() == null) {
+            return null;
+        }
+        String brandName = lookupCache.brandName(UUID.fromString(payload.getBrandId()));
+        String categoryName = lookupCache.categoryName(UUID.fromString(payload.getCategoryId()));
+        if (brandName == null || categoryName == null) {
+            return null;
+        }
+        return documentMapper.toDocument(payload, brandName, categoryName, prices);
+    }
+
+    private IndexQuery indexQuery(ProductDocument document, Long version) {
+        return new IndexQueryBuilder()
+                .withId(document.getId())
+                .withObject(document)
+                .withVersion(version)
+                .build();
     }
 
     /**
-     * Re-index all products belonging to a specific MadeIn (country of origin). Called when a
-     * MadeIn entity is updated via CDC.
+     * Writes the documents in one bulk request and returns the ids of the rejected ones; accepted
+     * products are added to {@code accepted}. Version conflicts are stale events, not failures.
      */
-    public void reindexProductsByMadeIn(UUID madeInId) {
-        List<Product> products = productRepository.findAllByMadeInIdWithRelations(madeInId);
-        if (products.isEmpty()) {
-            log.debug("No products found for madeIn {}", madeInId);
-            return;
+    private Set<UUID> indexDocuments(List<IndexQuery> indexQueries, Set<UUID> accepted) {
+        if (indexQueries.isEmpty()) {
+            return Set.of();
         }
 
-        log.info("Cascade re-indexing {} products for madeIn {}", products.size(), madeInId);
+        Set<UUID> failed = new HashSet<>();
+        Set<UUID> stale = new HashSet<>();
+        try {
+            bulkTimer("index")
+                    .record(
+                            () ->
+                                    elasticsearchOperations.bulkIndex(
+                                            indexQueries, ProductDocument.class));
+        } catch (BulkFailureException e) {
+            e.getFailedDocuments()
+                    .forEach(
+                            (id, details) ->
+                                    (isVersionConflict(details) ? stale : failed)
+                                            .add(UUID.fromString(id)));
+            if (!failed.isEmpty()) {
+                log.warn(
+                        "Bulk indexing rejected {} of {} products",
+                        failed.size(),
+                        indexQueries.size());
+            }
+        }
+        countStale(stale.size());
+        log.info(
+                "Bulk indexed {} products to Elasticsearch",
+                indexQueries.size() - failed.size() - stale.size());
 
-        Map<UUID, List<ProductVariant>> variantsMap = fetchVariantsForProducts(products);
-        bulkIndexProducts(products, variantsMap);
+        indexQueries.stream()
+                .map(q -> UUID.fromString(q.getId()))
+                .filter(id -> !failed.contains(id) && !stale.contains(id))
+                .forEach(accepted::add);
+        return failed;
     }
 
-    // ========== Private Helpers ==========
+    private static BulkOperation deleteOperation(String index, UUID productId, Long version) {
+        VersionType versionType = version != null ? VersionType.External : null;
+        return BulkOperation.of(
+                op ->
+                        op.delete(
+                                d ->
+                                        d.index(index)
+                                                .id(productId.toString())
+                                                .version(version)
+                                                .versionType(versionType)));
+    }
+
+    private static boolean isVersionConflict(FailureDetails details) {
+        return details != null
+                && details.status() != null
+                && details.status() == HttpStatus.CONFLICT.value();
+    }
+
+    private void countStale(int stale) {
+        if (stale > 0) {
+            Counter.builder("cdc.index.stale").register(meterRegistry).increment(stale);
+            log.debug("Skipped {} stale or duplicate product events", stale);
+        }
+    }
+
+    private Timer bulkTimer(String operation) {
+        return Timer.builder("cdc.index.bulk").tag("operation", operation).register(meterRegistry);
+    }
+
+    private Counter sourceCounter(String source) {
+        return Counter.builder("cdc.index.products").tag("source", source).register(meterRegistry);
+    }
+
+    /** Fetches the variant prices of the products in a single query, grouped by product ID. */
+    private Map<UUID, List<BigDecimal>> fetchVariantPrices(List<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return variantRepository.findByProductIdIn(productIds).stream()
+                .filter(v -> v.getPrice() != null)
+                .collect(
+                        Collectors.groupingBy(
+                                v -> v.getProduct().getId(),
+                                Collectors.mapping(ProductVariant::getPrice, Collectors.toList())));
+    }
 
     /**
      * Fetches all variants for a list of products in a single query, then groups them by product
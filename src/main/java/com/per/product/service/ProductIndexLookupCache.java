@@ -0,0 +1,115 @@
+package com.per.product.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.per.brand.service.BrandService;
+import com.per.category.service.CategoryService;
+import com.per.common.event.cdc.ProductVariantCdcPayload;
+import com.per.common.exception.ApiException;
+import com.per.product.entity.ProductVariant;
+import com.per.product.repository.ProductVariantRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lookups that let a product be indexed from CDC events alone: brand and category names for product
+ * events, and the variant prices of each product for variant events.
+ *
+ * <p>Names come from the brand and category caches, which are invalidated on every node when a
+ * brand or category is written. Variant prices are cached here and kept current from the variant
+ * topic, whose records are keyed by product id so that one node sees every variant change of a
+ * product. They are only current for the variant partitions this node consumes, so only the variant
+ * listener may read them; product events take their prices from the database. A miss is loaded from
+ * the database once; entries expire after {@code ttl} so a node that gets a partition back after a
+ * rebalance does not keep serving what it cached before.
+ */
+@Component
+@Slf4j
+public class ProductIndexLookupCache {
+
+    private final BrandService brandService;
+    private final CategoryService categoryService;
+    private final ProductVariantRepository variantRepository;
+    private final Cache<UUID, Map<UUID, BigDecimal>> variantPrices;
+
+    public ProductIndexLookupCache(
+            BrandService brandService,
+            CategoryService categoryService,
+            ProductVariantRepository variantRepository,
+            @Value("${app.cdc.lookup-cache.max-products:100000}") long maxProducts,
+            @Value("${app.cdc.lookup-cache.ttl:1m}") Duration ttl) {
+        this.brandService = brandService;
+        this.categoryService = categoryService;
+        this.variantRepository = variantRepository;
+        this.variantPrices =
+                Caffeine.newBuilder().maximumSize(maxProducts).expireAfterWrite(ttl).build();
+    }
+
+    /** Returns the brand name, or {@code null} if the brand does not exist. */
+    public String brandName(UUID brandId) {
+        try {
+            return brandService.getBrand(brandId).getName();
+        } catch (ApiException e) {
+            return null;
+        }
+    }
+
+    /** Returns the category name, or {@code null} if the category does not exist. */
+    public String categoryName(UUID categoryId) {
+        try {
+            return categoryService.getCategory(categoryId).getName();
+        } catch (ApiException e) {
+            return null;
+        }
+    }
+
+    /** Returns the prices of all variants of the product, keyed by variant id. */
+    public Map<UUID, BigDecimal> variantPrices(UUID productId) {
+        return variantPrices.get(productId, this::loadVariantPrices);
+    }
+
+    /**
+     * Applies a variant change to the cached prices of its product. A product that is not cached is
+     * left alone: its next read loads the current prices, which already include this change.
+     */
+    public void applyVariant(UUID productId, ProductVariantCdcPayload payload) {
+        UUID variantId = UUID.fromString(payload.getId());
+        variantPrices
+                .asMap()
+                .computeIfPresent(
+                        productId,
+                        (id, prices) -> {
+                            Map<UUID, BigDecimal> updated = new HashMap<>(prices);
+                            if (payload.isDeleted() || payload.getPrice() == null) {
+                                updated.remove(variantId);
+                            } else {
+                                updated.put(variantId, payload.getPrice());
+                            }
+                            return Map.copyOf(updated);
+                        });
+    }
+
+    public void evictProduct(UUID productId) {
+        variantPrices.invalidate(productId);
+    }
+
+    private Map<UUID, BigDecimal> loadVariantPrices(UUID productId) {
+        Map<UUID, BigDecimal> prices = new HashMap<>();
+        for (ProductVariant variant : variantRepository.findByProductId(productId)) {
+            if (variant.getPrice() != null) {
+                prices.put(variant.getId(), variant.getPrice());
+            }
+        }
+        log.debug("Loaded {} variant prices of product {}", prices.size(), productId);
+        return Map.copyOf(prices);
+    }
+}
@@ -0,0 +1,479 @@
+package com.per.product.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilterBuilder;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.per.product.document.ProductDocument;
+import com.per.product.dto.ProductIndexState;
+import com.per.product.repository.ProductRepository;
+import com.per.rag.dto.ProductVectorVersion;
+import com.per.rag.service.VectorStoreService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Detects and repairs drift between the product tables and the Elasticsearch and Qdrant indexes,
+ * e.g. after CDC events were dead-lettered or the replication slot was reset.
+ *
+ * <p>Products are split into id ranges by the first {@code range-prefix-length} hex digits of their
+ * id. Each row, document and vector is reduced to a 64-bit fingerprint of its id, {@code
+ * updated_at}, active flag and variant price range, and every range gets a checksum (count and sum
+ * of fingerprints) per store:
+ *
+ * <ol>
+ *   <li>one keyset pass over {@code product}/{@code product_variant} computes the expected
+ *       checksums, one scan of each index the actual ones. Only the checksums are kept;
+ *   <li>a second scan of a drifted store keeps the fingerprints of the mismatched ranges only, and
+ *       those ranges are compared row by row against the database;
+ *   <li>missing and stale products are re-indexed from the database, orphaned documents and vectors
+ *       deleted. At most {@code concurrency} ranges are repaired at a time.
+ * </ol>
+ *
+ * <p>Qdrant only holds active products. A change that lands while the job runs can be reported as
+ * drift; repairing it re-reads the row, which is harmless. The scheduled run is guarded by a Redis
+ * lock so only one node reconciles at a time. Metrics: {@code reconcile.ranges.mismatched{store}},
+ * {@code reconcile.drift{store,kind}}, {@code reconcile.repairs{store,outcome}} and {@code
+ * reconcile.duration}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductIndexReconciler {
+
+    static final String SEARCH = "elasticsearch";
+    static final String VECTOR = "qdrant";
+
+    private static final String LOCK_KEY = "reconciliation:product-index-lock";
+    private static final UUID MIN_ID = new UUID(0, 0);
+
+    // Only the owner may release the lock
+    private static final RedisScript<Long> RELEASE_SCRIPT =
+            new DefaultRedisScript<>(
+                    "if redis.call('get', KEYS[1]) == ARGV[1] then"
+                            + " return redis.call('del', KEYS[1]) else return 0 end",
+                    Long.class);
+
+    private final ProductRepository productRepository;
+    private final ProductCdcIndexService productCdcIndexService;
+    private final VectorStoreService vectorStoreService;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final StringRedisTemplate redisTemplate;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.reconciliation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reconciliation.qdrant:true}")
+    private boolean reconcileVectors;
+
+    @Value("${app.reconciliation.range-prefix-length:2}")
+    private int rangePrefixLength;
+
+    @Value("${app.reconciliation.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.reconciliation.concurrency:2}")
+    private int concurrency;
+
+    @Value("${app.reconciliation.lock-ttl:30m}")
+    private Duration lockTtl;
+
+    /** Runs {@link #reconcile()} on one node of the cluster. */
+    @Scheduled(cron = "${app.reconciliation.cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        if (!enabled) {
+            return;
+        }
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, lockTtl);
+            if (!Boolean.TRUE.equals(acquired)) {
+                log.debug("Index reconciliation is running on another node");
+                return;
+            }
+        } catch (Exception e) {
+            log.warn("Failed to acquire reconciliation lock: {}", e.getMessage());
+            return;
+        }
+
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Index reconciliation failed: {}", e.getMessage(), e);
+        } finally {
+            try {
+                redisTemplate.execute(RELEASE_SCRIPT, List.of(LOCK_KEY), token);
+            } catch (Exception e) {
+                log.debug("Failed to release reconciliation lock: {}", e.getMessage());
+            }
+        }
+    }
+
+    /** Compares the range checksums of every store and repairs the ranges that differ. */
+    public void reconcile() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        Map<String, Checksum> expectedSearch = new HashMap<>();
+        Map<String, Checksum> expectedVectors = new HashMap<>();
+        forEachProductState(
+                state -> {
+                    addTo(expectedSearch, state.id(), fingerprint(state, state.active()));
+                    if (state.active()) {
+                        addTo(expectedVectors, state.id(), fingerprint(state, true));
+                    }
+                });
+
+        Map<String, Checksum> actualSearch = new HashMap<>();
+        scanSearchIndex((id, fingerprint) -> addTo(actualSearch, id, fingerprint));
+        Set<String> searchRanges = mismatchedRanges(SEARCH, expectedSearch, actualSearch);
+
+        Set<String> vectorRanges = Set.of();
+        if (reconcileVectors) {
+            Map<String, Checksum> actualVectors = new HashMap<>();
+            scanVectors((id, fingerprint) -> addTo(actualVectors, id, fingerprint));
+            vectorRanges = mismatchedRanges(VECTOR, expectedVectors, actualVectors);
+        }
+
+        if (!searchRanges.isEmpty() || !vectorRanges.isEmpty()) {
+            repair(searchRanges, vectorRanges);
+        }
+
+        sample.stop(Timer.builder("reconcile.duration").register(meterRegistry));
+        log.info(
+                "Index reconciliation done: {} Elasticsearch and {} Qdrant ranges drifted",
+                searchRanges.size(),
+                vectorRanges.size());
+    }
+
+    // ========== Repair ==========
+
+    private void repair(Set<String> searchRanges, Set<String> vectorRanges) {
+        // Second pass: keep per-product fingerprints of the drifted ranges only
+        Map<UUID, Long> searchFingerprints = new HashMap<>();
+        if (!searchRanges.isEmpty()) {
+            scanSearchIndex(collectIn(searchRanges, searchFingerprints));
+        }
+        Map<UUID, Long> vectorFingerprints = new HashMap<>();
+        if (!vectorRanges.isEmpty()) {
+            scanVectors(collectIn(vectorRanges, vectorFingerprints));
+        }
+
+        Set<String> ranges = new TreeSet<>(searchRanges);
+        ranges.addAll(vectorRanges);
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<CompletableFuture<Void>> repairs = new ArrayList<>();
+        for (String range : ranges) {
+            inFlight.acquireUninterruptibly();
+            repairs.add(
+                    CompletableFuture.runAsync(
+                            () -> {
+                                try {
+                                    List<ProductIndexState> states = statesIn(range);
+                                    if (searchRanges.contains(range)) {
+                                        repairSearchRange(range, states, searchFingerprints);
+                                    }
+                                    if (vectorRanges.contains(range)) {
+                                        repairVectorRange(range, states, vectorFingerprints);
+                                    }
+                                } catch (RuntimeException e) {
+                                    log.warn(
+                                            "Failed to repair range '{}': {}",
+                                            range,
+                                            e.getMessage());
+                                } finally {
+                                    inFlight.release();
+                                }
+                            },
+                            applicationTaskExecutor));
+        }
+        CompletableFuture.allOf(repairs.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void repairSearchRange(
+            String range, List<ProductIndexState> states, Map<UUID, Long> indexed) {
+        Map<UUID, Long> expected = new HashMap<>();
+        states.forEach(state -> expected.put(state.id(), fingerprint(state, state.active())));
+        Drift drift = diff(range, expected, indexed);
+        record(SEARCH, drift);
+
+        List<UUID> upserts = drift.upserts();
+        int failed = 0;
+        for (int from = 0; from < upserts.size(); from += chunkSize) {
+            List<UUID> chunk = upserts.subList(from, Math.min(from + chunkSize, upserts.size()));
+            failed += productCdcIndexService.syncProducts(chunk, List.of()).size();
+        }
+        if (!drift.orphans().isEmpty()) {
+            productCdcIndexService.syncProducts(List.of(), drift.orphans());
+        }
+        repairCounter(SEARCH, "repaired").increment(drift.size() - failed);
+        repairCounter(SEARCH, "failed").increment(failed);
+    }
+
+    private void repairVectorRange(
+            String range, List<ProductIndexState> states, Map<UUID, Long> indexed) {
+        Map<UUID, Long> expected = new HashMap<>();
+        states.stream()
+                .filter(ProductIndexState::active)
+                .forEach(state -> expected.put(state.id(), fingerprint(state, true)));
+        Drift drift = diff(range, expected, indexed);
+        record(VECTOR, drift);
+
+        for (UUID productId : drift.upserts()) {
+            repairVector(productId, () -> vectorStoreService.indexProduct(productId));
+        }
+        for (UUID productId : drift.orphans()) {
+            repairVector(
+                    productId,
+                    () -> vectorStoreService.deleteByMetadata("productId", productId.toString()));
+        }
+    }
+
+    private void repairVector(UUID productId, Runnable repair) {
+        try {
+            repair.run();
+            repairCounter(VECTOR, "repaired").increment();
+        } catch (RuntimeException e) {
+            repairCounter(VECTOR, "failed").increment();
+            log.warn("Failed to repair vector of product {}: {}", productId, e.getMessage());
+        }
+    }
+
+    private Drift diff(String range, Map<UUID, Long> expected, Map<UUID, Long> indexed) {
+        List<UUID> missing = new ArrayList<>();
+        List<UUID> stale = new ArrayList<>();
+        List<UUID> orphans = new ArrayList<>();
+        expected.forEach(
+                (id, fingerprint) -> {
+                    Long actual = indexed.get(id);
+                    if (actual == null) {
+                        missing.add(id);
+                    } else if (!actual.equals(fingerprint)) {
+                        stale.add(id);
+                    }
+                });
+        indexed.keySet().stream()
+                .filter(id -> rangeOf(id).equals(range) && !expected.containsKey(id))
+                .forEach(orphans::add);
+        return new Drift(missing, stale, orphans);
+    }
+
+    private void record(String store, Drift drift) {
+        driftCounter(store, "missing").increment(drift.missing().size());
+        driftCounter(store, "stale").increment(drift.stale().size());
+        driftCounter(store, "orphaned").increment(drift.orphans().size());
+        if (drift.size() > 0) {
+            log.info(
+                    "{} drift: {} missing, {} stale, {} orphaned",
+                    store,
+                    drift.missing().size(),
+                    drift.stale().size(),
+                    drift.orphans().size());
+        }
+    }
+
+    // ========== Scans ==========
+
+    private void forEachProductState(Consumer<ProductIndexState> consumer) {
+        UUID afterId = MIN_ID;
+        while (true) {
+            List<ProductIndexState> chunk =
+                    productRepository.findIndexStatesAfter(afterId, PageRequest.of(0, chunkSize));
+            chunk.forEach(consumer);
+            if (chunk.size() < chunkSize) {
+                return;
+            }
+            afterId = chunk.get(chunk.size() - 1).id();
+        }
+    }
+
+    private List<ProductIndexState> statesIn(String range) {
+        String padding = "0".repeat(32 - range.length());
+        return productRepository.findIndexStatesBetween(
+                uuidOf(range + padding), uuidOf(range + padding.replace('0', 'f')));
+    }
+
+    private void scanSearchIndex(BiConsumer<UUID, Long> consumer) {
+        NativeQuery query =
+                NativeQuery.builder()
+                        .withQuery(q -> q.matchAll(m -> m))
+                        .withSourceFilter(
+                                new FetchSourceFilterBuilder()
+                                        .withIncludes(
+                                                "id",
+                                                "updatedAt",
+                                                "isActive",
+                                                "minPrice",
+                                                "maxPrice")
+                                        .build())
+                        .withPageable(PageRequest.of(0, chunkSize))
+                        .build();
+        try (SearchHitsIterator<ProductDocument> hits =
+                elasticsearchOperations.searchForStream(query, ProductDocument.class)) {
+            while (hits.hasNext()) {
+                ProductDocument document = hits.next().getContent();
+                UUID id = UUID.fromString(document.getId());
+                consumer.accept(
+                        id,
+                        fingerprint(
+                                id,
+                                document.getUpdatedAt(),
+                                Boolean.TRUE.equals(document.getIsActive()),
+                                document.getMinPrice(),
+                                document.getMaxPrice()));
+            }
+        }
+    }
+
+    private void scanVectors(BiConsumer<UUID, Long> consumer) {
+        vectorStoreService.forEachProductVectorVersion(
+                (ProductVectorVersion vector) ->
+                        consumer.accept(
+                                vector.productId(),
+                                fingerprint(
+                                        vector.productId(),
+                                        vector.updatedAt(),
+                                        true,
+                                        vector.minPrice(),
+                                        vector.maxPrice())));
+    }
+
+    private BiConsumer<UUID, Long> collectIn(Set<String> ranges, Map<UUID, Long> fingerprints) {
+        return (id, fingerprint) -> {
+            if (ranges.contains(rangeOf(id))) {
+                fingerprints.put(id, fingerprint);
+            }
+        };
+    }
+
+    // ========== Checksums ==========
+
+    private Set<String> mismatchedRanges(
+            String store, Map<String, Checksum> expected, Map<String, Checksum> actual) {
+        Set<String> ranges = new HashSet<>(expected.keySet());
+        ranges.addAll(actual.keySet());
+        ranges.removeIf(range -> Checksum.matches(expected.get(range), actual.get(range)));
+        Counter.builder("reconcile.ranges.mismatched")
+                .tag("store", store)
+                .register(meterRegistry)
+                .increment(ranges.size());
+        return ranges;
+    }
+
+    private void addTo(Map<String, Checksum> checksums, UUID id, long fingerprint) {
+        checksums.computeIfAbsent(rangeOf(id), range -> new Checksum()).add(fingerprint);
+    }
+
+    private String rangeOf(UUID id) {
+        return id.toString().substring(0, rangePrefixLength);
+    }
+
+    private static UUID uuidOf(String hex) {
+        return new UUID(
+                Long.parseUnsignedLong(hex.substring(0, 16), 16),
+                Long.parseUnsignedLong(hex.substring(16), 16));
+    }
+
+    private static long fingerprint(ProductIndexState state, boolean active) {
+        return fingerprint(
+                state.id(),
+                state.updatedAt(),
+                active,
+                state.minPrice() != null ? state.minPrice().doubleValue() : null,
+                state.maxPrice() != null ? state.maxPrice().doubleValue() : null);
+    }
+
+    /** Prices are compared in cents, timestamps in milliseconds as stored by the indexes. */
+    static long fingerprint(
+            UUID id, Instant updatedAt, boolean active, Double minPrice, Double maxPrice) {
+        long hash = mix(id.getMostSignificantBits());
+        hash = mix(hash ^ id.getLeastSignificantBits());
+        hash = mix(hash ^ (updatedAt != null ? updatedAt.toEpochMilli() : 0));
+        hash = mix(hash ^ (active ? 1 : 0));
+        hash = mix(hash ^ cents(minPrice));
+        return mix(hash ^ cents(maxPrice));
+    }
+
+    private static long cents(Double price) {
+        return price != null ? Math.round(price * 100) : Long.MIN_VALUE;
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private Counter driftCounter(String store, String kind) {
+        return Counter.builder("reconcile.drift")
+                .tag("store", store)
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    private Counter repairCounter(String store, String outcome) {
+        return Counter.builder("reconcile.repairs")
+                .tag("store", store)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /** Order-independent checksum of a range: fingerprint count and wrapping sum. */
+    private static final class Checksum {
+
+        private long count;
+        private long sum;
+
+        void add(long fingerprint) {
+            count++;
+            sum += fingerprint;
+        }
+
+        static boolean matches(Checksum a, Checksum b) {
+            return a != null && b != null && a.count == b.count && a.sum == b.sum;
+        }
+    }
+
+    private record Drift(List<UUID> missing, List<UUID> stale, List<UUID> orphans) {
+
+        List<UUID> upserts() {
+            List<UUID> upserts = new ArrayList<>(missing);
+            upserts.addAll(stale);
+            return upserts;
+        }
+
+        int size() {
+            return missing.size() + stale.size() + orphans.size();
+        }
+    }
+}
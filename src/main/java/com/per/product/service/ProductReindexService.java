@@ -0,0 +1,397 @@
+package com.per.product.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.BulkFailureException.FailureDetails;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.per.product.document.ProductDocument;
+import com.per.product.entity.Product;
+import com.per.product.entity.ProductVariant;
+import com.per.product.mapper.ProductDocumentMapper;
+import com.per.product.repository.ProductRepository;
+import com.per.product.repository.ProductVariantRepository;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams every product from PostgreSQL into an Elasticsearch index.
+ *
+ * <p>Products are read in primary-key keyset chunks, each in its own short read-only transaction,
+ * with brand and category fetched in the same query and variants batch-loaded per chunk. Documents
+ * carry the WAL position read at the start of their chunk's transaction as external version, so
+ * change events committed after the read still apply to them. Every chunk becomes one bulk request;
+ * at most {@code max-in-flight-bulks} requests run concurrently while the next chunk is read. The
+ * index refresh interval is disabled for the duration of the run and restored afterwards.
+ *
+ * <p>Metrics: {@code search.reindex.documents} (by outcome), {@code search.reindex.duration} and
+ * {@code search.reindex.progress} (0..1 of the current run).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductReindexService {
+
+    private static final String INDEX_TAG = "products";
+    private static final String REFRESH_DISABLED = "-1";
+
+    private final ProductRepository productRepository;
+    private final ProductVariantRepository variantRepository;
+    private final ProductDocumentMapper documentMapper;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+    private final PlatformTransactionManager transactionManager;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+    private final MeterRegistry meterRegistry;
+    private final AtomicReference<ReindexProgress> currentRun = new AtomicReference<>();
+
+    @Value("${app.elasticsearch.reindex.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.elasticsearch.reindex.max-in-flight-bulks:4}")
+    private int maxInFlightBulks;
+
+    @Value("${app.elasticsearch.reindex.refresh-interval:1s}")
+    private String refreshInterval;
+
+    /**
+     * Indexes all products into the given index. Documents are written with their product id, so
+     * running it against a populated index overwrites in place.
+     *
+     * <p>Rejected documents and failed bulk requests do not abort the run; they are counted in the
+     * result, so that a caller can tell a complete run from a partial one.
+     *
+     * @param index the target index
+     * @return numbers of documents read, indexed and rejected
+     */
+    public ReindexResult reindex(IndexCoordinates index) {
+        TransactionTemplate readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+
+        ReindexProgress progress = new ReindexProgress(productRepository.count());
+        currentRun.set(progress);
+        Gauge.builder("search.reindex.progress", currentRun, ProductReindexService::ratioOf)
+                .tag("index", INDEX_TAG)
+                .register(meterRegistry);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Semaphore inFlight = new Semaphore(maxInFlightBulks);
+        List<CompletableFuture<Void>> bulks = new ArrayList<>();
+
+        log.info(
+                "Reindexing {} products into '{}' (chunk size {}, {} bulks in flight)",
+                progress.total,
+                index.getIndexName(),
+                chunkSize,
+                maxInFlightBulks);
+        setRefreshInterval(index, REFRESH_DISABLED);
+        try {
+            UUID lastId = null;
+            while (true) {
+                UUID afterId = lastId;
+                Chunk chunk = readOnlyTx.execute(status -> readChunk(afterId));
+                if (chunk == null || chunk.queries().isEmpty()) {
+                    break;
+                }
+                progress.read.addAndGet(chunk.queries().size());
+
+                inFlight.acquireUninterruptibly();
+                bulks.add(
+                        CompletableFuture.runAsync(
+                                () -> {
+                                    try {
+                                        bulkIndex(chunk.queries(), index, progress);
+                                    } finally {
+                                        inFlight.release();
+                                    }
+                                },
+                                applicationTaskExecutor));
+
+                if (chunk.queries().size() < chunkSize) {
+                    break;
+                }
+                lastId = chunk.lastId();
+            }
+        } finally {
+            CompletableFuture.allOf(bulks.toArray(CompletableFuture[]::new)).join();
+            setRefreshInterval(index, refreshInterval);
+            elasticsearchOperations.indexOps(index).refresh();
+            currentRun.set(null);
+        }
+
+        long elapsedNanos =
+                sample.stop(
+                        Timer.builder("search.reindex.duration")
+                                .tag("index", INDEX_TAG)
+                                .register(meterRegistry));
+        double seconds = Math.max(TimeUnit.NANOSECONDS.toMillis(elapsedNanos), 1) / 1000.0;
+        log.info(
+                "Reindexed {} products into '{}' in {}s ({} docs/s, {} failed)",
+                progress.indexed.get(),
+                index.getIndexName(),
+                String.format("%.1f", seconds),
+                Math.round(progress.indexed.get() / seconds),
+                progress.failed.get());
+        return new ReindexResult(
+                progress.read.get(), progress.indexed.get(), progress.failed.get());
+    }
+
+    /**
+     * Indexes the products changed at or after {@code since}, including through one of their
+     * variants, into an index that {@link #reindex} has filled. Documents carry the WAL position
+     * read before their rows, so a version conflict means the index already holds the same or a
+     * later state of the product and is not counted as a failure.
+     *
+     * @param index the target index
+     * @param since the instant to catch up from
+     * @return numbers of documents read, indexed and rejected
+     */
+    public ReindexResult catchUp(IndexCoordinates index, Instant since) {
+        TransactionTemplate readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+
+        List<UUID> changedIds = productRepository.findIdsChangedSince(since);
+        long read = 0;
+        long failed = 0;
+        for (int from = 0; from < changedIds.size(); from += chunkSize) {
+            List<UUID> ids =
+                    changedIds.subList(from, Math.min(from + chunkSize, changedIds.size()));
+            List<IndexQuery> queries = readOnlyTx.execute(status -> readProducts(ids));
+            if (queries == null || queries.isEmpty()) {
+                continue;
+            }
+            read += queries.size();
+            failed += bulkIndexToleratingConflicts(queries, index);
+        }
+        log.info(
+                "Caught up {} products changed since {} into '{}' ({} failed)",
+                read - failed,
+                since,
+                index.getIndexName(),
+                failed);
+        return new ReindexResult(read, read - failed, failed);
+    }
+
+    /** Returns those of the given products that still exist. */
+    public List<UUID> existingIds(Collection<UUID> productIds) {
+        return productRepository.findExistingIds(productIds);
+    }
+
+    private Chunk readChunk(UUID afterId) {
+        long version = productRepository.currentWalLsn();
+        Pageable limit = PageRequest.of(0, chunkSize);
+        List<Product> products =
+                afterId == null
+                        ? productRepository.findChunkWithRelations(limit)
+                        : productRepository.findChunkAfterWithRelations(afterId, limit);
+        if (products.isEmpty()) {
+            return new Chunk(List.of(), afterId);
+        }
+
+        List<UUID> productIds = products.stream().map(Product::getId).toList();
+        Map<UUID, List<ProductVariant>> variantsByProductId =
+                variantRepository.findByProductIdIn(productIds).stream()
+                        .collect(Collectors.groupingBy(v -> v.getProduct().getId()));
+
+        List<IndexQuery> queries = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ProductDocument document =
+                    documentMapper.toDocument(
+                            product, variantsByProductId.getOrDefault(product.getId(), List.of()));
+            queries.add(
+                    new IndexQueryBuilder()
+                            .withId(document.getId())
+                            .withObject(document)
+                            .withVersion(version)
+                            .build());
+        }
+        return new Chunk(queries, productIds.get(productIds.size() - 1));
+    }
+
+    /** Products that no longer exist are skipped. */
+    private List<IndexQuery> readProducts(List<UUID> ids) {
+        long version = productRepository.currentWalLsn();
+        List<Product> products = productRepository.findAllByIdInWithRelations(ids);
+        Map<UUID, List<ProductVariant>> variantsByProductId =
+                variantRepository.findByProductIdIn(ids).stream()
+                        .collect(Collectors.groupingBy(v -> v.getProduct().getId()));
+        List<IndexQuery> queries = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ProductDocument document =
+                    documentMapper.toDocument(
+                            product, variantsByProductId.getOrDefault(product.getId(), List.of()));
+            queries.add(
+                    new IndexQueryBuilder()
+                            .withId(document.getId())
+                            .withObject(document)
+                            .withVersion(version)
+                            .build());
+        }
+        return queries;
+    }
+
+    /** Returns the number of documents rejected for another reason than a version conflict. */
+    private int bulkIndexToleratingConflicts(List<IndexQuery> queries, IndexCoordinates index) {
+        try {
+            elasticsearchOperations.bulkIndex(queries, index);
+            return 0;
+        } catch (BulkFailureException e) {
+            int failed = 0;
+            for (FailureDetails details : e.getFailedDocuments().values()) {
+                if (details == null
+                        || details.status() == null
+                        || details.status() != HttpStatus.CONFLICT.value()) {
+                    failed++;
+                }
+            }
+            if (failed > 0) {
+                log.error(
+                        "Bulk request to '{}' rejected {} of {} documents: {}",
+                        index.getIndexName(),
+                        failed,
+                        queries.size(),
+                        e.getFailedDocuments().keySet());
+            }
+            return failed;
+        }
+    }
+
+    private void bulkIndex(List<IndexQuery> queries, IndexCoordinates index, ReindexProgress run) {
+        int failed = 0;
+        try {
+            elasticsearchOperations.bulkIndex(queries, index);
+        } catch (BulkFailureException e) {
+            failed = e.getFailedDocuments().size();
+            log.error(
+                    "Bulk request to '{}' rejected {} of {} documents: {}",
+                    index.getIndexName(),
+                    failed,
+                    queries.size(),
+                    e.getFailedDocuments().keySet());
+        } catch (Exception e) {
+            failed = queries.size();
+            log.error(
+                    "Bulk request of {} documents to '{}' failed: {}",
+                    queries.size(),
+                    index.getIndexName(),
+                    e.getMessage());
+        }
+
+        int succeeded = queries.size() - failed;
+        documentsCounter("indexed").increment(succeeded);
+        documentsCounter("failed").increment(failed);
+        run.advance(succeeded, failed, index);
+    }
+
+    private void setRefreshInterval(IndexCoordinates index, String interval) {
+        try {
+            elasticsearchClient
+                    .indices()
+                    .putSettings(
+                            s ->
+                                    s.index(index.getIndexName())
+                                            .settings(
+                                                    is ->
+                                                            is.refreshInterval(
+                                                                    t -> t.time(interval))));
+        } catch (Exception e) {
+            log.warn(
+                    "Failed to set refresh interval of '{}' to {}: {}",
+                    index.getIndexName(),
+                    interval,
+                    e.getMessage());
+        }
+    }
+
+    private Counter documentsCounter(String outcome) {
+        return Counter.builder("search.reindex.documents")
+                .tag("index", INDEX_TAG)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static double ratioOf(AtomicReference<ReindexProgress> run) {
+        ReindexProgress progress = run.get();
+        return progress != null ? progress.ratio() : 0.0;
+    }
+
+    private record Chunk(List<IndexQuery> queries, UUID lastId) {}
+
+    /**
+     * Outcome of a run.
+     *
+     * @param read documents read from the database
+     * @param indexed documents Elasticsearch accepted
+     * @param failed documents rejected, or sent in a bulk request that failed as a whole
+     */
+    public record ReindexResult(long read, long indexed, long failed) {
+
+        /** Whether every document read was indexed. */
+        public boolean isComplete() {
+            return failed == 0 && indexed == read;
+        }
+    }
+
+    /** Counters of one run; logs a line every time another tenth of the products is done. */
+    private static final class ReindexProgress {
+
+        private final long total;
+        private final long startedAt = System.nanoTime();
+        private final AtomicLong read = new AtomicLong();
+        private final AtomicLong indexed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+
+        ReindexProgress(long total) {
+            this.total = total;
+        }
+
+        synchronized void advance(int succeeded, int failures, IndexCoordinates index) {
+            long before = indexed.get() + failed.get();
+            long done = indexed.addAndGet(succeeded) + failed.addAndGet(failures);
+            if (total > 0 && done * 10 / total > before * 10 / total) {
+                double seconds =
+                        Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), 1)
+                                / 1000.0;
+                log.info(
+                        "Reindex of '{}' at {}/{} ({} docs/s)",
+                        index.getIndexName(),
+                        done,
+                        total,
+                        Math.round(done / seconds));
+            }
+        }
+
+        double ratio() {
+            return total > 0 ? Math.min(1.0, (double) (indexed.get() + failed.get()) / total) : 0.0;
+        }
+    }
+}
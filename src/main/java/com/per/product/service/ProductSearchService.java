@@ -2,10 +2,13 @@ package com.per.product.service;
 
 import org.springframework.data.domain.Pageable;
 
-import com.per.common.response.PageResponse;
+import com.per.common.response.CursorPageResponse;
 import com.per.product.dto.request.ProductSearchRequest;
+import com.per.product.dto.response.ProductSearchPageResponse;
 import com.per.product.dto.response.ProductSearchResponse;
 
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+
 /**
  * Service interface for Elasticsearch-based product search. Provides full-text search with fuzzy
  * matching and filter capabilities.
@@ -13,13 +16,34 @@ import com.per.product.dto.response.ProductSearchResponse;
 public interface ProductSearchService {
 
     /**
-     * Search products with optional full-text query and filters.
+     * Search products with optional full-text query and filters. Facet counts are computed in the
+     * same request; each facet ignores its own filter so the other values stay selectable.
      *
      * @param request the search request with query and filters
      * @param pageable pagination parameters
-     * @return paginated search results
+     * @return paginated search results with facet counts
+     */
+    ProductSearchPageResponse search(ProductSearchRequest request, Pageable pageable);
+
+    /**
+     * Scan search results with a point-in-time and {@code search_after} instead of from/size. Every
+     * page costs the same regardless of depth and is not limited by {@code max_result_window}, so
+     * the whole catalog can be crawled linearly. The filters must be sent unchanged with each
+     * cursor; the point-in-time keeps the result set stable while the crawl runs.
+     *
+     * @param request the search request with query and filters
+     * @param cursor cursor from the previous page, {@code null} for the first page
+     * @param size page size
+     * @return one page of results and the cursor of the next one
+     */
+    CursorPageResponse<ProductSearchResponse> scroll(
+            ProductSearchRequest request, String cursor, int size);
+
+    /**
+     * Builds the relevance query of a plain text search over active products (no filters), so
+     * callers can batch it with other searches in one multi search request.
      */
-    PageResponse<ProductSearchResponse> search(ProductSearchRequest request, Pageable pageable);
+    Query searchQuery(String query);
 
     /** Reindex all products from PostgreSQL to Elasticsearch. Admin operation. */
     void reindexAll();
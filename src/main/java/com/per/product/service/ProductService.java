@@ -4,6 +4,7 @@ import java.util.UUID;
 
 import org.springframework.data.domain.Pageable;
 
+import com.per.common.response.CursorPageResponse;
 import com.per.common.response.PageResponse;
 import com.per.product.dto.request.ProductCreateRequest;
 import com.per.product.dto.request.ProductUpdateRequest;
@@ -17,6 +18,8 @@ public interface ProductService {
 
     PageResponse<ProductResponse> getProducts(String query, Pageable pageable);
 
+    CursorPageResponse<ProductResponse> scrollProducts(String cursor, int size);
+
     ProductDetailResponse getProduct(UUID id);
 
     ProductDetailResponse createProduct(ProductCreateRequest request);
@@ -1,28 +1,48 @@
 package com.per.product.service.impl;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregation;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.Query.PointInTime;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import com.per.common.config.elasticsearch.AliasedIndexManager;
+import com.per.common.config.elasticsearch.AliasedIndexManager.FillResult;
+import com.per.common.response.CursorPageResponse;
 import com.per.common.response.PageResponse;
+import com.per.common.response.SearchAfterCursor;
 import com.per.product.document.ProductDocument;
 import com.per.product.dto.request.ProductSearchRequest;
+import com.per.product.dto.response.FacetBucket;
+import com.per.product.dto.response.ProductSearchPageResponse;
 import com.per.product.dto.response.ProductSearchResponse;
-import com.per.product.entity.Product;
 import com.per.product.mapper.ProductDocumentMapper;
-import com.per.product.repository.ProductRepository;
-import com.per.product.repository.ProductSearchRepository;
-import com.per.product.repository.ProductVariantRepository;
+import com.per.product.service.ProductReindexService;
+import com.per.product.service.ProductReindexService.ReindexResult;
 import com.per.product.service.ProductSearchService;
 
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.AggregationRange;
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.json.JsonData;
 import lombok.RequiredArgsConstructor;
@@ -37,66 +57,156 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ProductSearchServiceImpl implements ProductSearchService {
 
+    static final String FACET_BRAND = "brand";
+    static final String FACET_CATEGORY = "category";
+    static final String FACET_GENDER = "gender";
+    static final String FACET_FRAGRANCE_FAMILY = "fragranceFamily";
+    static final String FACET_SILLAGE = "sillage";
+    static final String FACET_LONGEVITY = "longevity";
+    static final String FACET_SEASONALITY = "seasonality";
+    static final String FACET_OCCASION = "occasion";
+    static final String FACET_PRICE = "price";
+
+    /** Keyword facets and the document field each one counts, in response order. */
+    private static final Map<String, String> TERM_FACET_FIELDS = termFacetFields();
+
+    private static final String FACET_VALUES = "values";
+    private static final int FACET_SIZE = 50;
+
     private final ElasticsearchOperations esOperations;
-    private final ProductSearchRepository searchRepository;
-    private final ProductRepository productRepository;
-    private final ProductVariantRepository variantRepository;
+    private final AliasedIndexManager aliasedIndexManager;
+    private final ProductReindexService productReindexService;
     private final ProductDocumentMapper documentMapper;
 
-    @Override
-    public PageResponse<ProductSearchResponse> search(
-            ProductSearchRequest request, Pageable pageable) {
-        Query query = buildSearchQuery(request);
+    /** How long a point-in-time stays open between two pages of a cursor scan. */
+    @Value("${app.elasticsearch.search-after.keep-alive:2m}")
+    private Duration pointInTimeKeepAlive;
+
+    /** Upper bounds of the price facet buckets, in the catalog currency (VND). */
+    @Value("${app.elasticsearch.facets.price-breaks:1000000,2000000,3000000,5000000}")
+    private List<Double> priceBreaks;
 
-        NativeQuery nativeQuery =
-                NativeQuery.builder().withQuery(query).withPageable(pageable).build();
+    @Override
+    public ProductSearchPageResponse search(ProductSearchRequest request, Pageable pageable) {
+        Map<String, Query> facetFilters = buildFacetFilters(request);
+
+        NativeQueryBuilder queryBuilder =
+                NativeQuery.builder().withQuery(buildSearchQuery(request)).withPageable(pageable);
+        // Facet filters narrow the hits only after aggregating (post_filter), so every facet
+        // can count its values while ignoring its own selection
+        if (!facetFilters.isEmpty()) {
+            queryBuilder.withFilter(allOf(facetFilters.values()));
+        }
+        buildFacetAggregations(facetFilters).forEach(queryBuilder::withAggregation);
 
         SearchHits<ProductDocument> searchHits =
-                esOperations.search(nativeQuery, ProductDocument.class);
+                esOperations.search(queryBuilder.build(), ProductDocument.class);
 
         List<ProductSearchResponse> results =
                 searchHits.getSearchHits().stream()
                         .map(SearchHit::getContent)
-                        .map(this::toResponse)
+                        .map(documentMapper::toSearchResponse)
                         .toList();
 
         long totalElements = searchHits.getTotalHits();
         int totalPages = (int) Math.ceil((double) totalElements / pageable.getPageSize());
 
-        return PageResponse.<ProductSearchResponse>builder()
-                .content(results)
-                .page(pageable.getPageNumber())
-                .size(pageable.getPageSize())
-                .totalElements(totalElements)
-                .totalPages(totalPages)
+        PageResponse<ProductSearchResponse> page =
+                PageResponse.<ProductSearchResponse>builder()
+                        .content(results)
+                        .page(pageable.getPageNumber())
+                        .size(pageable.getPageSize())
+                        .totalElements(totalElements)
+                        .totalPages(totalPages)
+                        .build();
+
+        return ProductSearchPageResponse.builder()
+                .page(page)
+                .facets(readFacets(searchHits))
                 .build();
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public void reindexAll() {
-        log.info("Starting full product reindex");
+    public CursorPageResponse<ProductSearchResponse> scroll(
+            ProductSearchRequest request, String cursor, int size) {
+        SearchAfterCursor after = SearchAfterCursor.decode(cursor);
+        int pageSize = CursorPageResponse.normalize(size);
+        String pointInTimeId =
+                after != null
+                        ? after.pointInTimeId()
+                        : esOperations.openPointInTime(
+                                esOperations.getIndexCoordinatesFor(ProductDocument.class),
+                                pointInTimeKeepAlive);
+
+        // No facets here, so the facet filters can narrow the hits directly
+        BoolQuery.Builder filtered = new BoolQuery.Builder().must(buildSearchQuery(request));
+        buildFacetFilters(request).values().forEach(filtered::filter);
+        NativeQueryBuilder queryBuilder =
+                NativeQuery.builder()
+                        .withQuery(filtered.build()._toQuery())
+                        .withPointInTime(new PointInTime(pointInTimeId, pointInTimeKeepAlive))
+                        // One extra hit tells whether a next page exists
+                        .withPageable(PageRequest.of(0, pageSize + 1))
+                        .withTrackTotalHits(false);
+        // Relevance first when there is a text query; the id makes the order total
+        if (StringUtils.hasText(request.getQuery())) {
+            queryBuilder.withSort(s -> s.score(sc -> sc.order(SortOrder.Desc)));
+        }
+        queryBuilder.withSort(s -> s.field(f -> f.field("id").order(SortOrder.Asc)));
+        if (after != null) {
+            queryBuilder.withSearchAfter(after.searchAfter());
+        }
 
-        // Clear existing index
-        searchRepository.deleteAll();
-        log.info("Cleared existing product index");
-
-        // Fetch all active products and index them
-        List<Product> products = productRepository.findAll();
-        int indexed = 0;
-
-        for (Product product : products) {
-            try {
-                var variants = variantRepository.findByProductId(product.getId());
-                ProductDocument doc = documentMapper.toDocument(product, variants);
-                searchRepository.save(doc);
-                indexed++;
-            } catch (Exception e) {
-                log.error("Failed to index product {}: {}", product.getId(), e.getMessage());
-            }
+        SearchHits<ProductDocument> searchHits =
+                esOperations.search(queryBuilder.build(), ProductDocument.class);
+        List<SearchHit<ProductDocument>> hits = searchHits.getSearchHits();
+        boolean hasNext = hits.size() > pageSize;
+        List<SearchHit<ProductDocument>> pageHits = hasNext ? hits.subList(0, pageSize) : hits;
+
+        String nextCursor = null;
+        if (hasNext) {
+            // Elasticsearch may hand back a refreshed id; always continue with the latest one
+            String latestId =
+                    searchHits.getPointInTimeId() != null
+                            ? searchHits.getPointInTimeId()
+                            : pointInTimeId;
+            nextCursor =
+                    new SearchAfterCursor(
+                                    latestId, pageHits.get(pageHits.size() - 1).getSortValues())
+                            .encode();
+        } else {
+            closePointInTimeQuietly(pointInTimeId);
         }
 
-        log.info("Product reindex completed: {} products indexed", indexed);
+        return CursorPageResponse.<ProductSearchResponse>builder()
+                .content(
+                        pageHits.stream()
+                                .map(SearchHit::getContent)
+                                .map(documentMapper::toSearchResponse)
+                                .toList())
+                .size(pageSize)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    @Override
+    public Query searchQuery(String query) {
+        return buildSearchQuery(ProductSearchRequest.builder().query(query).build());
+    }
+
+    @Override
+    public void reindexAll() {
+        log.info("Starting full product reindex");
+        aliasedIndexManager.rebuild(
+                ProductDocument.class,
+                index -> fillResultOf(productReindexService.reindex(index)),
+                (index, since) -> fillResultOf(productReindexService.catchUp(index, since)),
+                productReindexService::existingIds);
+    }
+
+    private static FillResult fillResultOf(ReindexResult result) {
+        return new FillResult(result.read(), result.indexed(), result.failed());
     }
 
     private Query buildSearchQuery(ProductSearchRequest request) {
@@ -104,135 +214,261 @@ public class ProductSearchServiceImpl implements ProductSearchService {
 
         // Full-text search with fuzzy matching and prefix support
         if (StringUtils.hasText(request.getQuery())) {
-            String query = request.getQuery();
-            String lowerQuery = query.toLowerCase();
-            String wildcardQuery = lowerQuery + "*";
-
-            // Use should with minimum_should_match for flexible matching
-            boolQuery.should(
-                    // Prefix match on name (highest priority)
-                    s -> s.prefix(p -> p.field("name").value(lowerQuery).boost(4.0f)));
-            boolQuery.should(
-                    // Wildcard match on name
-                    s -> s.wildcard(w -> w.field("name").value(wildcardQuery).boost(3.0f)));
-            boolQuery.should(
-                    // Wildcard match on brand name
-                    s -> s.wildcard(w -> w.field("brandName").value(wildcardQuery).boost(2.0f)));
-            boolQuery.should(
-                    // Fuzzy match for typos
-                    s ->
-                            s.multiMatch(
-                                    mm ->
-                                            mm.query(query)
-                                                    .fields(
-                                                            "name^3",
-                                                            "shortDescription^2",
-                                                            "description",
-                                                            "brandName^2",
-                                                            "categoryName")
-                                                    .fuzziness("AUTO")));
-            boolQuery.should(
-                    // Wildcard on description
-                    s -> s.wildcard(w -> w.field("shortDescription").value(wildcardQuery)));
-
-            boolQuery.minimumShouldMatch("1");
-        }
-
-        // Filters
-        if (request.getBrandId() != null) {
-            boolQuery.filter(
-                    f -> f.term(t -> t.field("brandId").value(request.getBrandId().toString())));
+            boolQuery.must(fullTextQuery(request.getQuery()));
         }
 
+        // Active filter (default to true); not a facet, so it also scopes the counts
+        Boolean isActive = request.getIsActive() != null ? request.getIsActive() : true;
+        boolQuery.filter(f -> f.term(t -> t.field("isActive").value(isActive)));
+
+        return boolQuery.build()._toQuery();
+    }
+
+    /** Selected facet filters keyed by facet name; facets without a selection are absent. */
+    private Map<String, Query> buildFacetFilters(ProductSearchRequest request) {
+        Map<String, Query> facetFilters = new LinkedHashMap<>();
+
+        if (request.getBrandId() != null) {
+            facetFilters.put(FACET_BRAND, termFilter(FACET_BRAND, request.getBrandId().toString()));
+        }
         if (request.getCategoryId() != null) {
-            boolQuery.filter(
-                    f ->
-                            f.term(
-                                    t ->
-                                            t.field("categoryId")
-                                                    .value(request.getCategoryId().toString())));
+            facetFilters.put(
+                    FACET_CATEGORY, termFilter(FACET_CATEGORY, request.getCategoryId().toString()));
         }
-
         if (request.getGender() != null) {
-            boolQuery.filter(f -> f.term(t -> t.field("gender").value(request.getGender().name())));
+            facetFilters.put(FACET_GENDER, termFilter(FACET_GENDER, request.getGender().name()));
         }
-
         if (request.getFragranceFamily() != null) {
-            boolQuery.filter(
-                    f ->
-                            f.term(
-                                    t ->
-                                            t.field("fragranceFamily")
-                                                    .value(request.getFragranceFamily().name())));
+            facetFilters.put(
+                    FACET_FRAGRANCE_FAMILY,
+                    termFilter(FACET_FRAGRANCE_FAMILY, request.getFragranceFamily().name()));
         }
-
         if (request.getSillage() != null) {
-            boolQuery.filter(
-                    f -> f.term(t -> t.field("sillage").value(request.getSillage().name())));
+            facetFilters.put(FACET_SILLAGE, termFilter(FACET_SILLAGE, request.getSillage().name()));
         }
-
         if (request.getLongevity() != null) {
-            boolQuery.filter(
-                    f -> f.term(t -> t.field("longevity").value(request.getLongevity().name())));
+            facetFilters.put(
+                    FACET_LONGEVITY, termFilter(FACET_LONGEVITY, request.getLongevity().name()));
         }
-
         if (request.getSeasonality() != null) {
-            boolQuery.filter(
-                    f ->
-                            f.term(
-                                    t ->
-                                            t.field("seasonality")
-                                                    .value(request.getSeasonality().name())));
+            facetFilters.put(
+                    FACET_SEASONALITY,
+                    termFilter(FACET_SEASONALITY, request.getSeasonality().name()));
         }
-
         if (request.getOccasion() != null) {
-            boolQuery.filter(
-                    f -> f.term(t -> t.field("occasion").value(request.getOccasion().name())));
+            facetFilters.put(
+                    FACET_OCCASION, termFilter(FACET_OCCASION, request.getOccasion().name()));
         }
 
         // Price range filter (uses minPrice field for filtering)
         if (request.getMinPrice() != null || request.getMaxPrice() != null) {
-            boolQuery.filter(
-                    f ->
-                            f.range(
-                                    r ->
-                                            r.untyped(
-                                                    u -> {
-                                                        u.field("minPrice");
-                                                        if (request.getMinPrice() != null) {
-                                                            u.gte(
-                                                                    JsonData.of(
-                                                                            request.getMinPrice()
-                                                                                    .doubleValue()));
-                                                        }
-                                                        if (request.getMaxPrice() != null) {
-                                                            u.lte(
-                                                                    JsonData.of(
-                                                                            request.getMaxPrice()
-                                                                                    .doubleValue()));
-                                                        }
-                                                        return u;
-                                                    })));
-        }
-
-        // Active filter (default to true)
-        Boolean isActive = request.getIsActive() != null ? request.getIsActive() : true;
-        boolQuery.filter(f -> f.term(t -> t.field("isActive").value(isActive)));
+            facetFilters.put(
+                    FACET_PRICE,
+                    Query.of(
+                            f ->
+                                    f.range(
+                                            r ->
+                                                    r.untyped(
+                                                            u -> {
+                                                                u.field("minPrice");
+                                                                if (request.getMinPrice() != null) {
+                                                                    u.gte(
+                                                                            JsonData.of(
+                                                                                    request.getMinPrice()
+                                                                                            .doubleValue()));
+                                                                }
+                                                                if (request.getMaxPrice() != null) {
+                                                                    u.lte(
+                                                                            JsonData.of(
+                                                                                    request.getMaxPrice()
+                                                                                            .doubleValue()));
+                                                                }
+                                                                return u;
+                                                            }))));
+        }
+
+        return facetFilters;
+    }
+
+    private Map<String, Aggregation> buildFacetAggregations(Map<String, Query> facetFilters) {
+        Map<String, Aggregation> aggregations = new LinkedHashMap<>();
+        TERM_FACET_FIELDS.forEach(
+                (facet, field) ->
+                        aggregations.put(
+                                facet,
+                                facetAggregation(
+                                        facet,
+                                        facetFilters,
+                                        Aggregation.of(
+                                                a ->
+                                                        a.terms(
+                                                                t ->
+                                                                        t.field(field)
+                                                                                .size(
+                                                                                        FACET_SIZE))))));
+
+        List<AggregationRange> ranges = new ArrayList<>();
+        Double from = null;
+        for (Double to : priceBreaks) {
+            Double lower = from;
+            ranges.add(AggregationRange.of(r -> r.from(lower).to(to)));
+            from = to;
+        }
+        Double last = from;
+        ranges.add(AggregationRange.of(r -> r.from(last)));
+        aggregations.put(
+                FACET_PRICE,
+                facetAggregation(
+                        FACET_PRICE,
+                        facetFilters,
+                        Aggregation.of(a -> a.range(r -> r.field("minPrice").ranges(ranges)))));
+        return aggregations;
+    }
+
+    /** Wraps a facet in a filter aggregation applying every selected filter except its own. */
+    private Aggregation facetAggregation(
+            String facet, Map<String, Query> facetFilters, Aggregation values) {
+        List<Query> others =
+                facetFilters.entrySet().stream()
+                        .filter(e -> !e.getKey().equals(facet))
+                        .map(Map.Entry::getValue)
+                        .toList();
+        Query filter = others.isEmpty() ? Query.of(q -> q.matchAll(m -> m)) : allOf(others);
+        return Aggregation.of(a -> a.filter(filter).aggregations(FACET_VALUES, values));
+    }
+
+    private Map<String, List<FacetBucket>> readFacets(SearchHits<ProductDocument> searchHits) {
+        Map<String, List<FacetBucket>> facets = new LinkedHashMap<>();
+        if (!(searchHits.getAggregations() instanceof ElasticsearchAggregations aggregations)) {
+            return facets;
+        }
+
+        for (String facet : TERM_FACET_FIELDS.keySet()) {
+            Aggregate values = facetValues(aggregations, facet);
+            if (values != null && values.isSterms()) {
+                facets.put(
+                        facet,
+                        values.sterms().buckets().array().stream()
+                                .map(
+                                        b ->
+                                                FacetBucket.builder()
+                                                        .key(b.key().stringValue())
+                                                        .count(b.docCount())
+                                                        .build())
+                                .toList());
+            }
+        }
+
+        Aggregate price = facetValues(aggregations, FACET_PRICE);
+        if (price != null && price.isRange()) {
+            facets.put(
+                    FACET_PRICE,
+                    price.range().buckets().array().stream()
+                            .map(
+                                    b ->
+                                            FacetBucket.builder()
+                                                    .key(b.key())
+                                                    .count(b.docCount())
+                                                    .from(b.from())
+                                                    .to(b.to())
+                                                    .build())
+                            .toList());
+        }
+        return facets;
+    }
+
+    private Aggregate facetValues(ElasticsearchAggregations aggregations, String facet) {
+        ElasticsearchAggregation aggregation = aggregations.get(facet);
+        if (aggregation == null || !aggregation.aggregation().getAggregate().isFilter()) {
+            return null;
+        }
+        return aggregation.aggregation().getAggregate().filter().aggregations().get(FACET_VALUES);
+    }
+
+    private static Map<String, String> termFacetFields() {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put(FACET_BRAND, "brandId");
+        fields.put(FACET_CATEGORY, "categoryId");
+        fields.put(FACET_GENDER, "gender");
+        fields.put(FACET_FRAGRANCE_FAMILY, "fragranceFamily");
+        fields.put(FACET_SILLAGE, "sillage");
+        fields.put(FACET_LONGEVITY, "longevity");
+        fields.put(FACET_SEASONALITY, "seasonality");
+        fields.put(FACET_OCCASION, "occasion");
+        return Collections.unmodifiableMap(fields);
+    }
+
+    private static Query termFilter(String facet, String value) {
+        String field = TERM_FACET_FIELDS.get(facet);
+        return Query.of(q -> q.term(t -> t.field(field).value(value)));
+    }
+
+    private static Query allOf(Collection<Query> filters) {
+        return Query.of(q -> q.bool(b -> b.filter(List.copyOf(filters))));
+    }
 
+    /**
+     * Builds the relevance part of a product search. Prefix matching goes through the edge-n-gram
+     * {@code .prefix} sub-fields, which turns every keystroke into plain term lookups instead of
+     * wildcard scans over the term dictionary.
+     */
+    static Query fullTextQuery(String query) {
+        String lowerQuery = query.toLowerCase();
+        BoolQuery.Builder boolQuery = new BoolQuery.Builder();
+
+        boolQuery.should(
+                // Exact name match (highest priority)
+                s -> s.term(t -> t.field("name.keyword").value(lowerQuery).boost(6.0f)));
+        boolQuery.should(
+                // Every typed word starts a word of the name
+                s ->
+                        s.match(
+                                m ->
+                                        m.field("name.prefix")
+                                                .query(query)
+                                                .operator(Operator.And)
+                                                .boost(4.0f)));
+        boolQuery.should(
+                // Prefix match on brand name
+                s ->
+                        s.match(
+                                m ->
+                                        m.field("brandName.prefix")
+                                                .query(query)
+                                                .operator(Operator.And)
+                                                .boost(2.0f)));
+        boolQuery.should(
+                // Fuzzy match for typos
+                s ->
+                        s.multiMatch(
+                                mm ->
+                                        mm.query(query)
+                                                .fields(
+                                                        "name^3",
+                                                        "shortDescription^2",
+                                                        "description",
+                                                        "brandName^2",
+                                                        "categoryName")
+                                                .fuzziness("AUTO")));
+        boolQuery.should(
+                // Prefix match on short description
+                s ->
+                        s.match(
+                                m ->
+                                        m.field("shortDescription.prefix")
+                                                .query(query)
+                                                .operator(Operator.And)));
+
+        boolQuery.minimumShouldMatch("1");
         return boolQuery.build()._toQuery();
     }
 
-    private ProductSearchResponse toResponse(ProductDocument doc) {
-        return ProductSearchResponse.builder()
-                .id(doc.getId())
-                .name(doc.getName())
-                .shortDescription(doc.getShortDescription())
-                .brandName(doc.getBrandName())
-                .categoryName(doc.getCategoryName())
-                .gender(doc.getGender())
-                .minPrice(doc.getMinPrice())
-                .maxPrice(doc.getMaxPrice())
-                .imageUrl(doc.getImageUrl())
-                .build();
+    private void closePointInTimeQuietly(String pointInTimeId) {
+        try {
+            esOperations.closePointInTime(pointInTimeId);
+        } catch (Exception e) {
+            // It expires on its own after the keep-alive
+            log.warn("Failed to close point-in-time: {}", e.getMessage());
+        }
     }
 }
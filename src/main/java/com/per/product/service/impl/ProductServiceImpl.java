@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
@@ -19,9 +20,12 @@ import com.per.category.entity.Category;
 import com.per.category.repository.CategoryRepository;
 import com.per.common.config.cache.CacheEvictionHelper;
 import com.per.common.config.cache.CacheNames;
+import com.per.common.config.cache.CacheRefreshLoader;
 import com.per.common.exception.ApiErrorCode;
 import com.per.common.exception.ApiException;
+import com.per.common.response.CursorPageResponse;
 import com.per.common.response.PageResponse;
+import com.per.common.response.SeekCursor;
 import com.per.made_in.entity.MadeIn;
 import com.per.made_in.repository.MadeInRepository;
 import com.per.product.dto.request.ProductCreateRequest;
@@ -44,7 +48,7 @@ import lombok.RequiredArgsConstructor;
 @Service
 @RequiredArgsConstructor
 @Transactional
-public class ProductServiceImpl implements ProductService {
+public class ProductServiceImpl implements ProductService, CacheRefreshLoader {
 
     private final ProductRepository productRepository;
     private final ProductVariantRepository productVariantRepository;
@@ -65,22 +69,49 @@ public class ProductServiceImpl implements ProductService {
                     "'list:' + (#query ?: 'all') + ':p' + #pageable.pageNumber + ':s' + #pageable.pageSize",
             sync = true)
     public PageResponse<ProductResponse> getProducts(String query, Pageable pageable) {
-        Page<Product> page;
+        Page<ProductResponse> page;
         if (query == null || query.isBlank()) {
-            page = productRepository.findAll(pageable);
+            page = productRepository.findAllResponses(pageable);
         } else {
-            page = productRepository.findByNameContainingIgnoreCase(query, pageable);
+            page = productRepository.searchResponsesByName(query, pageable);
         }
-        return PageResponse.from(page.map(productMapper::toResponse));
+        return PageResponse.from(page);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProductResponse> scrollProducts(String cursor, int size) {
+        SeekCursor after = SeekCursor.decode(cursor);
+        Pageable limit = CursorPageResponse.limit(size);
+        List<ProductResponse> rows =
+                after == null
+                        ? productRepository.findFirstPage(limit)
+                        : productRepository.findPageAfter(after.createdAt(), after.id(), limit);
+        return CursorPageResponse.from(
+                rows,
+                size,
+                Function.identity(),
+                ProductResponse::getCreatedAt,
+                ProductResponse::getId);
     }
 
     @Override
     @Transactional(readOnly = true)
     @Cacheable(value = CacheNames.PRODUCT, key = "#id", sync = true)
     public ProductDetailResponse getProduct(UUID id) {
-        Product product = findProduct(id);
-        List<ProductVariant> variants = productVariantRepository.findByProductId(product.getId());
-        return buildDetail(product, variants);
+        return loadDetail(id);
+    }
+
+    @Override
+    public String cacheName() {
+        return CacheNames.PRODUCT;
+    }
+
+    /** Reloads a stale product detail in the background; the cache stores the result. */
+    @Override
+    @Transactional(readOnly = true)
+    public Object load(Object key) {
+        return loadDetail((UUID) key);
     }
 
     @Override
@@ -105,7 +136,8 @@ public class ProductServiceImpl implements ProductService {
         List<ProductVariant> variants =
                 productVariantRepository.findByProductId(savedProduct.getId());
 
-        cacheEvictionHelper.evictAllAfterCommit(CacheNames.PRODUCTS, CacheNames.PRODUCT);
+        // A new product cannot be in the detail cache yet; only the list views change
+        cacheEvictionHelper.evictAllAfterCommit(CacheNames.PRODUCTS);
 
         // Note: ES/Qdrant sync handled by CDC
         return buildDetail(savedProduct, variants);
@@ -209,6 +241,12 @@ public class ProductServiceImpl implements ProductService {
         cacheEvictionHelper.evictAfterCommit(CacheNames.PRODUCT, productId);
     }
 
+    private ProductDetailResponse loadDetail(UUID id) {
+        Product product = findProduct(id);
+        List<ProductVariant> variants = productVariantRepository.findByProductId(product.getId());
+        return buildDetail(product, variants);
+    }
+
     private ProductDetailResponse buildDetail(Product product, List<ProductVariant> variants) {
         ProductDetailResponse detail = productMapper.toDetail(product);
         List<ProductVariantResponse> variantResponses = new ArrayList<>();
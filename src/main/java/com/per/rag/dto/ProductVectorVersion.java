@@ -0,0 +1,11 @@
+package com.per.rag.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Row version a product vector was embedded from, as stored in its payload. Fields are {@code null}
+ * for vectors written before the payload carried them.
+ */
+public record ProductVectorVersion(
+        UUID productId, Instant updatedAt, Double minPrice, Double maxPrice) {}
@@ -0,0 +1,51 @@
+package com.per.rag.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link EmbeddingModel} view of the {@link EmbeddingCache}, for Spring AI components such as the
+ * vector store that embed through the model interface. Requests that pick their own model or
+ * dimensions go straight to the delegate.
+ */
+@RequiredArgsConstructor
+public class CachedEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingCache embeddingCache;
+    private final EmbeddingModel delegate;
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        EmbeddingOptions options = request.getOptions();
+        if (options != null && (options.getModel() != null || options.getDimensions() != null)) {
+            return delegate.call(request);
+        }
+
+        List<float[]> vectors = embeddingCache.embedAll(request.getInstructions());
+        List<Embedding> embeddings = new ArrayList<>(vectors.size());
+        for (int i = 0; i < vectors.size(); i++) {
+            embeddings.add(new Embedding(vectors.get(i), i));
+        }
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return embeddingCache.embed(document.getFormattedContent(MetadataMode.EMBED));
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+}
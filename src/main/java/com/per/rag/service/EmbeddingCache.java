@@ -0,0 +1,273 @@
+package com.per.rag.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Embeddings keyed by model name and a SHA-256 of the normalized text, so that content embedded
+ * once is not sent to the model again by a reindex or by a repeated question.
+ *
+ * <p>Lookups go through a bounded in-process tier, then Redis, where vectors are stored as raw
+ * little-endian float32 arrays under {@code embedding:{model}:{hash}}. Only texts missing from both
+ * are sent to the model, through the {@link EmbeddingDispatcher}. Redis is best-effort: when it is
+ * unreachable the lookup falls through to the model.
+ *
+ * <p>Normalization applies Unicode NFC, trims and collapses whitespace runs; the normalized text is
+ * what gets embedded. Returned arrays are shared with the cache and must be treated as read-only.
+ *
+ * <p>Metrics: {@code rag.embedding.cache.requests{tier}} counts texts served by the {@code local}
+ * tier, by {@code redis} and by the {@code model}; {@code cache.*{cache=embeddings}} describes the
+ * local tier.
+ */
+@Component
+@Slf4j
+public class EmbeddingCache {
+
+    private static final String KEY_PREFIX = "embedding:";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final EmbeddingDispatcher embeddingDispatcher;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final String model;
+    private final boolean enabled;
+    private final Duration redisTtl;
+    private final Cache<String, float[]> localCache;
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter modelCalls;
+    private final Timer modelTimer;
+
+    @Autowired
+    public EmbeddingCache(
+            EmbeddingDispatcher embeddingDispatcher,
+            RedisConnectionFactory connectionFactory,
+            MeterRegistry meterRegistry,
+            @Value(
+                            "${spring.ai.openai.embedding.options.model:${spring.ai.openai.embedding.model:text-embedding-ada-002}}")
+                    String model,
+            @Value("${app.rag.embedding-cache.enabled:true}") boolean enabled,
+            @Value("${app.rag.embedding-cache.max-entries:5000}") long maxEntries,
+            @Value("${app.rag.embedding-cache.redis-ttl:30d}") Duration redisTtl) {
+        this(
+                embeddingDispatcher,
+                bytesTemplate(connectionFactory),
+                meterRegistry,
+                model,
+                enabled,
+                maxEntries,
+                redisTtl);
+    }
+
+    EmbeddingCache(
+            EmbeddingDispatcher embeddingDispatcher,
+            RedisTemplate<String, byte[]> redisTemplate,
+            MeterRegistry meterRegistry,
+            String model,
+            boolean enabled,
+            long maxEntries,
+            Duration redisTtl) {
+        this.embeddingDispatcher = embeddingDispatcher;
+        this.redisTemplate = redisTemplate;
+        this.model = model;
+        this.enabled = enabled;
+        this.redisTtl = redisTtl;
+        this.localCache = Caffeine.newBuilder().maximumSize(maxEntries).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "embeddings");
+        this.localHits = requests(meterRegistry, "local");
+        this.redisHits = requests(meterRegistry, "redis");
+        this.modelCalls = requests(meterRegistry, "model");
+        this.modelTimer = Timer.builder("rag.embedding.model").register(meterRegistry);
+    }
+
+    /** Returns the embedding of a single text. */
+    public float[] embed(String text) {
+        return embedAll(List.of(text)).get(0);
+    }
+
+    /**
+     * Returns the embeddings of the texts, in order. Texts that normalize to the same content are
+     * looked up and embedded once.
+     */
+    public List<float[]> embedAll(List<String> texts) {
+        List<String> normalized = texts.stream().map(EmbeddingCache::normalize).toList();
+        if (!enabled) {
+            return embedWithModel(normalized);
+        }
+
+        float[][] vectors = new float[texts.size()][];
+        // Positions still to resolve, by cache key
+        Map<String, List<Integer>> pending = new LinkedHashMap<>();
+        for (int i = 0; i < normalized.size(); i++) {
+            String key = key(normalized.get(i));
+            float[] cached = localCache.getIfPresent(key);
+            if (cached != null) {
+                vectors[i] = cached;
+                localHits.increment();
+            } else {
+                pending.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+        }
+        if (pending.isEmpty()) {
+            return List.of(vectors);
+        }
+
+        loadFromRedis(pending, vectors);
+        if (!pending.isEmpty()) {
+            embedMissing(pending, normalized, vectors);
+        }
+        return List.of(vectors);
+    }
+
+    private void loadFromRedis(Map<String, List<Integer>> pending, float[][] vectors) {
+        List<String> keys = new ArrayList<>(pending.keySet());
+        List<byte[]> stored;
+        try {
+            stored = redisTemplate.opsForValue().multiGet(keys);
+        } catch (Exception e) {
+            log.warn("Failed to read embeddings from Redis: {}", e.getMessage());
+            return;
+        }
+        if (stored == null) {
+            return;
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] bytes = stored.get(i);
+            if (bytes == null || bytes.length == 0 || bytes.length % Float.BYTES != 0) {
+                continue;
+            }
+            float[] vector = decode(bytes);
+            localCache.put(keys.get(i), vector);
+            for (int position : pending.remove(keys.get(i))) {
+                vectors[position] = vector;
+                redisHits.increment();
+            }
+        }
+    }
+
+    private void embedMissing(
+            Map<String, List<Integer>> pending, List<String> normalized, float[][] vectors) {
+        List<String> keys = new ArrayList<>(pending.keySet());
+        List<String> inputs =
+                keys.stream().map(k -> normalized.get(pending.get(k).get(0))).toList();
+        List<float[]> embedded = embedWithModel(inputs);
+
+        Map<String, float[]> fresh = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            float[] vector = embedded.get(i);
+            fresh.put(keys.get(i), vector);
+            localCache.put(keys.get(i), vector);
+            for (int position : pending.get(keys.get(i))) {
+                vectors[position] = vector;
+                modelCalls.increment();
+            }
+        }
+        storeInRedis(fresh);
+    }
+
+    private List<float[]> embedWithModel(List<String> texts) {
+        return modelTimer.record(() -> embeddingDispatcher.embed(texts));
+    }
+
+    private void storeInRedis(Map<String, float[]> vectors) {
+        try {
+            Expiration expiration = Expiration.from(redisTtl);
+            redisTemplate.executePipelined(
+                    (RedisCallback<Object>)
+                            connection -> {
+                                vectors.forEach(
+                                        (key, vector) ->
+                                                connection
+                                                        .stringCommands()
+                                                        .set(
+                                                                key.getBytes(
+                                                                        StandardCharsets.UTF_8),
+                                                                encode(vector),
+                                                                expiration,
+                                                                SetOption.upsert()));
+                                return null;
+                            });
+        } catch (Exception e) {
+            log.warn("Failed to write {} embeddings to Redis: {}", vectors.size(), e.getMessage());
+        }
+    }
+
+    private String key(String normalizedText) {
+        return KEY_PREFIX + model + ":" + sha256(normalizedText);
+    }
+
+    static String normalize(String text) {
+        String composed = Normalizer.normalize(text, Normalizer.Form.NFC).strip();
+        return WHITESPACE.matcher(composed).replaceAll(" ");
+    }
+
+    static byte[] encode(float[] vector) {
+        ByteBuffer buffer =
+                ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    static float[] decode(byte[] bytes) {
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest =
+                    MessageDigest.getInstance("SHA-256")
+                            .digest(text.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String tier) {
+        return Counter.builder("rag.embedding.cache.requests")
+                .tag("tier", tier)
+                .register(meterRegistry);
+    }
+
+    private static RedisTemplate<String, byte[]> bytesTemplate(
+            RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
+    }
+}
@@ -0,0 +1,214 @@
+package com.per.rag.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.per.common.exception.ApiErrorCode;
+import com.per.common.exception.ApiException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Micro-batches embedding requests of concurrent callers into single {@code embed(List)} calls, so
+ * that chat load is limited by the provider's token budget rather than its request count.
+ *
+ * <p>Texts wait in a bounded queue. A collector takes the first one, keeps collecting for up to
+ * {@code max-latency} or until {@code max-batch-size} texts, then sends the batch on the task
+ * executor and fans the vectors back out; identical texts in a batch are embedded once. At most
+ * {@code max-concurrent-batches} calls are in flight. A caller whose texts do not fit into the
+ * queue is rejected with {@link ApiErrorCode#TOO_MANY_REQUESTS}, and a caller that brings a full
+ * batch on its own skips the queue.
+ *
+ * <p>Metrics: {@code rag.embedding.batch.size}, {@code rag.embedding.dispatcher.queue} and {@code
+ * rag.embedding.dispatcher.rejected}.
+ */
+@Component
+@Slf4j
+public class EmbeddingDispatcher {
+
+    private final EmbeddingModel embeddingModel;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final Duration maxLatency;
+    private final BlockingQueue<PendingEmbedding> queue;
+    private final Semaphore inFlight;
+    private final DistributionSummary batchSizes;
+    private final Counter rejected;
+
+    private volatile Thread collector;
+
+    public EmbeddingDispatcher(
+            EmbeddingModel embeddingModel,
+            AsyncTaskExecutor applicationTaskExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${app.rag.embedding-dispatcher.enabled:true}") boolean enabled,
+            @Value("${app.rag.embedding-dispatcher.max-batch-size:64}") int maxBatchSize,
+            @Value("${app.rag.embedding-dispatcher.max-latency:5ms}") Duration maxLatency,
+            @Value("${app.rag.embedding-dispatcher.queue-capacity:1000}") int queueCapacity,
+            @Value("${app.rag.embedding-dispatcher.max-concurrent-batches:4}")
+                    int maxConcurrentBatches) {
+        this.embeddingModel = embeddingModel;
+        this.applicationTaskExecutor = applicationTaskExecutor;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLatency = maxLatency;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.inFlight = new Semaphore(maxConcurrentBatches);
+        this.batchSizes =
+                DistributionSummary.builder("rag.embedding.batch.size").register(meterRegistry);
+        this.rejected =
+                Counter.builder("rag.embedding.dispatcher.rejected").register(meterRegistry);
+        Gauge.builder("rag.embedding.dispatcher.queue", queue, BlockingQueue::size)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (enabled) {
+            collector = Thread.ofVirtual().name("embedding-dispatcher").start(this::collect);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (collector != null) {
+            collector.interrupt();
+        }
+        failAll(drain(), new IllegalStateException("Embedding dispatcher stopped"));
+    }
+
+    /**
+     * Returns the embeddings of the texts, in order, once the batches they were added to complete.
+     *
+     * @throws ApiException with {@link ApiErrorCode#TOO_MANY_REQUESTS} if the queue is full
+     */
+    public List<float[]> embed(List<String> texts) {
+        if (texts.isEmpty()) {
+            return List.of();
+        }
+        if (!enabled || texts.size() >= maxBatchSize) {
+            batchSizes.record(texts.size());
+            return embeddingModel.embed(texts);
+        }
+
+        List<CompletableFuture<float[]>> results = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            PendingEmbedding pending = new PendingEmbedding(text, new CompletableFuture<>());
+            if (!queue.offer(pending)) {
+                // Texts already queued are still embedded; nobody waits for them
+                rejected.increment();
+                throw new ApiException(ApiErrorCode.TOO_MANY_REQUESTS, "Embedding queue is full");
+            }
+            results.add(pending.result());
+        }
+
+        List<float[]> vectors = new ArrayList<>(results.size());
+        try {
+            for (CompletableFuture<float[]> result : results) {
+                vectors.add(result.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return vectors;
+    }
+
+    private void collect() {
+        List<PendingEmbedding> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxLatency.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    PendingEmbedding next =
+                            queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                inFlight.acquire();
+                List<PendingEmbedding> dispatched = List.copyOf(batch);
+                batch.clear();
+                dispatch(dispatched);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failAll(batch, new IllegalStateException("Embedding dispatcher stopped"));
+    }
+
+    private void dispatch(List<PendingEmbedding> batch) {
+        try {
+            applicationTaskExecutor.execute(
+                    () -> {
+                        try {
+                            send(batch);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            failAll(batch, e);
+        }
+    }
+
+    private void send(List<PendingEmbedding> batch) {
+        Map<String, List<CompletableFuture<float[]>>> byText = new LinkedHashMap<>();
+        for (PendingEmbedding pending : batch) {
+            byText.computeIfAbsent(pending.text(), t -> new ArrayList<>()).add(pending.result());
+        }
+        List<String> texts = new ArrayList<>(byText.keySet());
+        batchSizes.record(texts.size());
+
+        try {
+            List<float[]> vectors = embeddingModel.embed(texts);
+            for (int i = 0; i < texts.size(); i++) {
+                float[] vector = vectors.get(i);
+                byText.get(texts.get(i)).forEach(result -> result.complete(vector));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to embed batch of {} texts: {}", texts.size(), e.getMessage());
+            failAll(batch, e);
+        }
+    }
+
+    private List<PendingEmbedding> drain() {
+        List<PendingEmbedding> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        return remaining;
+    }
+
+    private static void failAll(List<PendingEmbedding> batch, Throwable cause) {
+        batch.forEach(pending -> pending.result().completeExceptionally(cause));
+    }
+
+    private record PendingEmbedding(String text, CompletableFuture<float[]> result) {}
+}
@@ -1,26 +1,82 @@
 package com.per.rag.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.per.common.exception.ApiErrorCode;
 import com.per.common.exception.ApiException;
 import com.per.rag.service.impl.EntityVectorServiceImpl;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Service for CDC-triggered Qdrant vector indexing. Provides a unified interface for CDC consumers
  * to sync entities to Qdrant.
+ *
+ * <p>Product changes are handed off rather than synced inline, so that embedding calls do not hold
+ * up the CDC batch and its Elasticsearch writes. Pending products are coalesced by id, the latest
+ * change winning, and a single worker thread syncs whatever accumulated since its previous round
+ * with one {@link VectorStoreService#syncProducts} call. Metric: {@code cdc.vectors.pending}.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class QdrantCdcService {
 
     private final EntityVectorServiceImpl entityVectorService;
+    private final VectorStoreService vectorStoreService;
+    private final boolean async;
+
+    /**
+     * Products waiting for the worker: {@code true} to delete the vector, {@code false} to upsert.
+     */
+    private final Map<UUID, Boolean> pendingProducts = new ConcurrentHashMap<>();
+
+    private final Semaphore productsPending = new Semaphore(0);
+
+    private volatile Thread productSyncer;
+
+    public QdrantCdcService(
+            EntityVectorServiceImpl entityVectorService,
+            VectorStoreService vectorStoreService,
+            MeterRegistry meterRegistry,
+            @Value("${app.cdc.vector-sync.async:true}") boolean async) {
+        this.entityVectorService = entityVectorService;
+        this.vectorStoreService = vectorStoreService;
+        this.async = async;
+        Gauge.builder("cdc.vectors.pending", pendingProducts, Map::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (async) {
+            productSyncer = Thread.ofVirtual().name("qdrant-product-sync").start(this::syncPending);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (productSyncer != null) {
+            productSyncer.interrupt();
+        }
+        if (!pendingProducts.isEmpty()) {
+            log.warn(
+                    "Dropping {} pending product vector changes on shutdown",
+                    pendingProducts.size());
+        }
+    }
 
     // ========== Brand Operations ==========
 
@@ -79,21 +135,62 @@ public class QdrantCdcService {
     }
 
     // ========== Product Operations ==========
-    // Note: Product vectors are managed via the VectorStore (Spring AI) in
-    // VectorStoreServiceImpl
-    // These are placeholder methods for future integration
-
-    public void indexProduct(UUID productId) {
-        // Products use Spring AI VectorStore, not EntityVectorService
-        // This is a no-op for now; product vectors are indexed via VectorStoreService
-        log.debug(
-                "Product {} CDC event received (VectorStore sync not implemented yet)", productId);
+
+    /**
+     * Queues the coalesced product changes of one CDC batch for the product vectors and returns;
+     * without {@code app.cdc.vector-sync.async} they are applied before returning. Failures are
+     * logged and not retried: Elasticsearch stays the source of truth for the batch, and the
+     * nightly index reconciliation repairs the vectors that drifted, including changes still
+     * pending at shutdown.
+     */
+    public void syncProducts(Collection<UUID> upsertIds, Collection<UUID> deleteIds) {
+        if (upsertIds.isEmpty() && deleteIds.isEmpty()) {
+            return;
+        }
+        if (!async) {
+            applyProducts(upsertIds, deleteIds);
+            return;
+        }
+        upsertIds.forEach(productId -> pendingProducts.put(productId, false));
+        deleteIds.forEach(productId -> pendingProducts.put(productId, true));
+        productsPending.release();
     }
 
-    public void deleteProduct(UUID productId) {
-        // Products use Spring AI VectorStore, not EntityVectorService
-        log.debug(
-                "Product {} deletion event received (VectorStore cleanup not implemented yet)",
-                productId);
+    private void syncPending() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                productsPending.acquire();
+                productsPending.drainPermits();
+
+                List<UUID> upsertIds = new ArrayList<>();
+                List<UUID> deleteIds = new ArrayList<>();
+                // A product changed again meanwhile keeps its newer entry for the next round
+                pendingProducts.forEach(
+                        (productId, delete) -> {
+                            if (pendingProducts.remove(productId, delete)) {
+                                (delete ? deleteIds : upsertIds).add(productId);
+                            }
+                        });
+                applyProducts(upsertIds, deleteIds);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void applyProducts(Collection<UUID> upsertIds, Collection<UUID> deleteIds) {
+        if (upsertIds.isEmpty() && deleteIds.isEmpty()) {
+            return;
+        }
+        try {
+            vectorStoreService.syncProducts(upsertIds, deleteIds);
+        } catch (Exception e) {
+            log.error(
+                    "Failed to sync {} upserted and {} deleted products to Qdrant: {}",
+                    upsertIds.size(),
+                    deleteIds.size(),
+                    e.getMessage(),
+                    e);
+        }
     }
 }
@@ -1,10 +1,14 @@
 package com.per.rag.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.springframework.ai.document.Document;
 
+import com.per.rag.dto.ProductVectorVersion;
+
 public interface VectorStoreService {
 
     /**
@@ -21,6 +25,14 @@ public interface VectorStoreService {
      */
     void indexProduct(UUID productId);
 
+    /**
+     * Upsert and delete product vectors in batches
+     *
+     * @param upsertIds Products to (re)embed; products that are missing or inactive are deleted
+     * @param deleteIds Products whose vectors are removed
+     */
+    void syncProducts(Collection<UUID> upsertIds, Collection<UUID> deleteIds);
+
     /**
      * Search for similar documents based on query
      *
@@ -39,6 +51,13 @@ public interface VectorStoreService {
      */
     void deleteByMetadata(String key, String value);
 
+    /**
+     * Scroll through every product vector and report the row version it was embedded from
+     *
+     * @param consumer Receives the version of each product vector
+     */
+    void forEachProductVectorVersion(Consumer<ProductVectorVersion> consumer);
+
     /**
      * Get knowledge base indexing status
      *
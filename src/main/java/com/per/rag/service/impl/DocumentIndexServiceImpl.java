@@ -10,7 +10,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
-import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -22,9 +21,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.per.common.exception.ApiErrorCode;
 import com.per.common.exception.ApiException;
 import com.per.rag.service.DocumentIndexService;
+import com.per.rag.service.EmbeddingCache;
 
 import io.qdrant.client.QdrantClient;
-import io.qdrant.client.QdrantGrpcClient;
 import io.qdrant.client.grpc.Points.PointStruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -41,27 +40,14 @@ public class DocumentIndexServiceImpl implements DocumentIndexService {
     private static final String KNOWLEDGE_BASE_PATH = "knowledge";
     private static final String KNOWLEDGE_TYPE = "knowledge";
 
-    private final EmbeddingModel embeddingModel;
-    private final RestTemplate restTemplate;
+    private final EmbeddingCache embeddingCache;
+    private final RestTemplate qdrantRestTemplate;
+    private final QdrantClient qdrantClient;
     private final ObjectMapper objectMapper;
 
-    @Value("${spring.ai.vectorstore.qdrant.host}")
-    private String qdrantHost;
-
-    @Value("${spring.ai.vectorstore.qdrant.port}")
-    private int qdrantGrpcPort;
-
     @Value("${app.rag.qdrant.collections.knowledge:knowledge_vectors}")
     private String knowledgeCollection;
 
-    private int getHttpPort() {
-        return qdrantGrpcPort - 1;
-    }
-
-    private String getQdrantBaseUrl() {
-        return "http://" + qdrantHost + ":" + getHttpPort();
-    }
-
     @Override
     public int indexKnowledgeBase() {
         try {
@@ -149,8 +135,7 @@ public class DocumentIndexServiceImpl implements DocumentIndexService {
     public void clearKnowledgeBase() {
         try {
             log.info("Clearing knowledge base from collection: {}", knowledgeCollection);
-            String url =
-                    getQdrantBaseUrl() + "/collections/" + knowledgeCollection + "/points/delete";
+            String url = "/collections/" + knowledgeCollection + "/points/delete";
 
             Map<String, Object> filter =
                     Map.of(
@@ -169,7 +154,7 @@ public class DocumentIndexServiceImpl implements DocumentIndexService {
             HttpEntity<String> request =
                     new HttpEntity<>(objectMapper.writeValueAsString(filter), headers);
 
-            restTemplate.postForEntity(url, request, String.class);
+            qdrantRestTemplate.postForEntity(url, request, String.class);
             log.info("Knowledge base cleared successfully from {}", knowledgeCollection);
         } catch (Exception e) {
             log.error("Failed to clear knowledge base", e);
@@ -179,68 +164,61 @@ public class DocumentIndexServiceImpl implements DocumentIndexService {
     }
 
     private void indexToQdrant(List<KnowledgeDoc> documents) throws Exception {
-        try (QdrantClient client =
-                new QdrantClient(
-                        QdrantGrpcClient.newBuilder(qdrantHost, qdrantGrpcPort, false).build())) {
-
-            List<PointStruct> points = new ArrayList<>();
-
-            for (KnowledgeDoc doc : documents) {
-                // Chunking logic
-                List<String> chunks = splitText(doc.content);
-                int totalChunks = chunks.size();
-
-                for (int i = 0; i < totalChunks; i++) {
-                    String chunkContent = chunks.get(i);
-                    float[] embedding = embeddingModel.embed(chunkContent);
-
-                    // Create deterministic UUID for chunk: filename + chunkIndex
-                    String chunkId =
-                            java.util
-                                    .UUID
-                                    .nameUUIDFromBytes(
-                                            (doc.metadata.get("source") + "_" + i)
-                                                    .getBytes(
-                                                            java.nio.charset.StandardCharsets
-                                                                    .UTF_8))
-                                    .toString();
-
-                    // Clone metadata and add chunk info
-                    Map<String, Object> chunkMetadata = new HashMap<>(doc.metadata);
-                    chunkMetadata.put("chunk_index", i);
-                    chunkMetadata.put("total_chunks", totalChunks);
-                    chunkMetadata.put("content", chunkContent); // Store chunk content in payload
-
-                    PointStruct point =
-                            PointStruct.newBuilder()
-                                    .setId(
-                                            io.qdrant.client.grpc.Points.PointId.newBuilder()
-                                                    .setUuid(chunkId)
-                                                    .build())
-                                    .setVectors(
-                                            io.qdrant.client.grpc.Points.Vectors.newBuilder()
-                                                    .setVector(
-                                                            io.qdrant.client.grpc.Points.Vector
-                                                                    .newBuilder()
-                                                                    .addAllData(
-                                                                            toFloatList(embedding))
-                                                                    .build())
-                                                    .build())
-                                    .putAllPayload(toPayload(chunkMetadata))
-                                    .build();
-
-                    points.add(point);
-                }
+        List<PointStruct> points = new ArrayList<>();
+
+        for (KnowledgeDoc doc : documents) {
+            // Chunking logic
+            List<String> chunks = splitText(doc.content);
+            int totalChunks = chunks.size();
+            List<float[]> embeddings = embeddingCache.embedAll(chunks);
+
+            for (int i = 0; i < totalChunks; i++) {
+                String chunkContent = chunks.get(i);
+                float[] embedding = embeddings.get(i);
+
+                // Create deterministic UUID for chunk: filename + chunkIndex
+                String chunkId =
+                        java.util
+                                .UUID
+                                .nameUUIDFromBytes(
+                                        (doc.metadata.get("source") + "_" + i)
+                                                .getBytes(java.nio.charset.StandardCharsets.UTF_8))
+                                .toString();
+
+                // Clone metadata and add chunk info
+                Map<String, Object> chunkMetadata = new HashMap<>(doc.metadata);
+                chunkMetadata.put("chunk_index", i);
+                chunkMetadata.put("total_chunks", totalChunks);
+                chunkMetadata.put("content", chunkContent); // Store chunk content in payload
+
+                PointStruct point =
+                        PointStruct.newBuilder()
+                                .setId(
+                                        io.qdrant.client.grpc.Points.PointId.newBuilder()
+                                                .setUuid(chunkId)
+                                                .build())
+                                .setVectors(
+                                        io.qdrant.client.grpc.Points.Vectors.newBuilder()
+                                                .setVector(
+                                                        io.qdrant.client.grpc.Points.Vector
+                                                                .newBuilder()
+                                                                .addAllData(toFloatList(embedding))
+                                                                .build())
+                                                .build())
+                                .putAllPayload(toPayload(chunkMetadata))
+                                .build();
+
+                points.add(point);
             }
+        }
 
-            if (!points.isEmpty()) {
-                log.info(
-                        "Generated {} chunks (vectors) for {} knowledge documents",
-                        points.size(),
-                        documents.size());
-                // Upsert in batches if too large (optional, but good practice)
-                client.upsertAsync(knowledgeCollection, points).get();
-            }
+        if (!points.isEmpty()) {
+            log.info(
+                    "Generated {} chunks (vectors) for {} knowledge documents",
+                    points.size(),
+                    documents.size());
+            // Upsert in batches if too large (optional, but good practice)
+            qdrantClient.upsertAsync(knowledgeCollection, points).get();
         }
     }
 
@@ -5,7 +5,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
-import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -19,10 +18,10 @@ import com.per.category.entity.Category;
 import com.per.category.repository.CategoryRepository;
 import com.per.common.exception.ApiErrorCode;
 import com.per.common.exception.ApiException;
+import com.per.rag.service.EmbeddingCache;
 import com.per.rag.service.EntityVectorService;
 
 import io.qdrant.client.QdrantClient;
-import io.qdrant.client.QdrantGrpcClient;
 import io.qdrant.client.grpc.Points.PointStruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,47 +34,28 @@ public class EntityVectorServiceImpl implements EntityVectorService {
 
     private final BrandRepository brandRepository;
     private final CategoryRepository categoryRepository;
-    private final EmbeddingModel embeddingModel;
-    private final RestTemplate restTemplate;
+    private final EmbeddingCache embeddingCache;
+    private final RestTemplate qdrantRestTemplate;
+    private final QdrantClient qdrantClient;
     private final ObjectMapper objectMapper;
 
-    @Value("${spring.ai.vectorstore.qdrant.host}")
-    private String qdrantHost;
-
-    @Value("${spring.ai.vectorstore.qdrant.port}")
-    private int qdrantGrpcPort;
-
     @Value("${app.rag.qdrant.collections.brand:brand_vectors}")
     private String brandCollection;
 
     @Value("${app.rag.qdrant.collections.category:category_vectors}")
     private String categoryCollection;
 
-    private int getHttpPort() {
-        return qdrantGrpcPort - 1;
-    }
-
-    private String getQdrantBaseUrl() {
-        return "http://" + qdrantHost + ":" + getHttpPort();
-    }
-
     @Override
     public void indexAllBrands() {
         try {
             List<Brand> brands = brandRepository.findAll();
             log.info("Indexing {} brands into collection: {}", brands.size(), brandCollection);
 
-            try (QdrantClient client =
-                    new QdrantClient(
-                            QdrantGrpcClient.newBuilder(qdrantHost, qdrantGrpcPort, false)
-                                    .build())) {
-
-                for (Brand brand : brands) {
-                    if (!Boolean.TRUE.equals(brand.isActive())) {
-                        continue;
-                    }
-                    indexBrandInternal(client, brand);
+            for (Brand brand : brands) {
+                if (!Boolean.TRUE.equals(brand.isActive())) {
+                    continue;
                 }
+                indexBrandInternal(brand);
             }
 
             log.info("Successfully indexed {} active brands", brands.size());
@@ -94,17 +74,11 @@ public class EntityVectorServiceImpl implements EntityVectorService {
                     categories.size(),
                     categoryCollection);
 
-            try (QdrantClient client =
-                    new QdrantClient(
-                            QdrantGrpcClient.newBuilder(qdrantHost, qdrantGrpcPort, false)
-                                    .build())) {
-
-                for (Category category : categories) {
-                    if (!Boolean.TRUE.equals(category.isActive())) {
-                        continue;
-                    }
-                    indexCategoryInternal(client, category);
+            for (Category category : categories) {
+                if (!Boolean.TRUE.equals(category.isActive())) {
+                    continue;
                 }
+                indexCategoryInternal(category);
             }
 
             log.info("Successfully indexed {} active categories", categories.size());
@@ -127,12 +101,7 @@ public class EntityVectorServiceImpl implements EntityVectorService {
                                                     ApiErrorCode.BRAND_NOT_FOUND,
                                                     "Brand not found"));
 
-            try (QdrantClient client =
-                    new QdrantClient(
-                            QdrantGrpcClient.newBuilder(qdrantHost, qdrantGrpcPort, false)
-                                    .build())) {
-                indexBrandInternal(client, brand);
-            }
+            indexBrandInternal(brand);
 
             log.info("Successfully indexed brand: {}", brand.getName());
         } catch (Exception e) {
@@ -153,12 +122,7 @@ public class EntityVectorServiceImpl implements EntityVectorService {
                                                     ApiErrorCode.CATEGORY_NOT_FOUND,
                                                     "Category not found"));
 
-            try (QdrantClient client =
-                    new QdrantClient(
-                            QdrantGrpcClient.newBuilder(qdrantHost, qdrantGrpcPort, false)
-                                    .build())) {
-                indexCategoryInternal(client, category);
-            }
+            indexCategoryInternal(category);
 
             log.info("Successfully indexed category: {}", category.getName());
         } catch (Exception e) {
@@ -170,8 +134,8 @@ public class EntityVectorServiceImpl implements EntityVectorService {
     @Override
     public Map<String, Object> getCollectionStatus(String collectionName) {
         try {
-            String url = getQdrantBaseUrl() + "/collections/" + collectionName;
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+            ResponseEntity<String> response =
+                    qdrantRestTemplate.getForEntity("/collections/" + collectionName, String.class);
 
             JsonNode root = objectMapper.readTree(response.getBody());
             JsonNode result = root.path("result");
@@ -202,9 +166,9 @@ public class EntityVectorServiceImpl implements EntityVectorService {
         return pointsCount == 0;
     }
 
-    private void indexBrandInternal(QdrantClient client, Brand brand) throws Exception {
+    private void indexBrandInternal(Brand brand) throws Exception {
         String content = buildBrandContent(brand);
-        float[] embedding = embeddingModel.embed(content);
+        float[] embedding = embeddingCache.embed(content);
 
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("type", "brand");
@@ -227,12 +191,12 @@ public class EntityVectorServiceImpl implements EntityVectorService {
                         .putAllPayload(toPayload(metadata))
                         .build();
 
-        client.upsertAsync(brandCollection, List.of(point)).get();
+        qdrantClient.upsertAsync(brandCollection, List.of(point)).get();
     }
 
-    private void indexCategoryInternal(QdrantClient client, Category category) throws Exception {
+    private void indexCategoryInternal(Category category) throws Exception {
         String content = buildCategoryContent(category);
-        float[] embedding = embeddingModel.embed(content);
+        float[] embedding = embeddingCache.embed(content);
 
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("type", "category");
@@ -255,7 +219,7 @@ public class EntityVectorServiceImpl implements EntityVectorService {
                         .putAllPayload(toPayload(metadata))
                         .build();
 
-        client.upsertAsync(categoryCollection, List.of(point)).get();
+        qdrantClient.upsertAsync(categoryCollection, List.of(point)).get();
     }
 
     private String buildBrandContent(Brand brand) {
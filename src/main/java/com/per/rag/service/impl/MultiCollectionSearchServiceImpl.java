@@ -1,13 +1,16 @@
 package com.per.rag.service.impl;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.ai.document.Document;
-import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -17,29 +20,39 @@ import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.per.rag.service.EmbeddingCache;
 import com.per.rag.service.MultiCollectionSearchService;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Implementation of multi-collection search across Qdrant. Searches brand, category, product, and
  * knowledge collections independently.
+ *
+ * <p>{@link #searchAll} embeds the query once and searches the four collections concurrently on the
+ * application task executor (virtual threads). A collection that fails or does not answer within
+ * {@code app.rag.search.collection-timeout} contributes no documents instead of failing the whole
+ * search. Stage timings: {@code rag.search.embed}, {@code
+ * rag.search.collection{collection,outcome}} and {@code rag.search.all}; timeouts are counted in
+ * {@code rag.search.timeouts{collection}}.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MultiCollectionSearchServiceImpl implements MultiCollectionSearchService {
 
-    private final EmbeddingModel embeddingModel;
-    private final RestTemplate restTemplate;
+    private final EmbeddingCache embeddingCache;
+    private final RestTemplate qdrantRestTemplate;
     private final ObjectMapper objectMapper;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+    private final MeterRegistry meterRegistry;
 
-    @Value("${spring.ai.vectorstore.qdrant.host:qdrant}")
-    private String qdrantHost;
-
-    @Value("${spring.ai.vectorstore.qdrant.port:6334}")
-    private int qdrantGrpcPort;
+    @Value("${app.rag.search.collection-timeout:2s}")
+    private Duration collectionTimeout;
 
     @Value("${app.rag.qdrant.collections.product:product_vectors}")
     private String productCollection;
@@ -53,10 +66,6 @@ public class MultiCollectionSearchServiceImpl implements MultiCollectionSearchSe
     @Value("${app.rag.qdrant.collections.knowledge:knowledge_vectors}")
     private String knowledgeCollection;
 
-    private String getQdrantBaseUrl() {
-        return "http://" + qdrantHost + ":6333";
-    }
-
     @Override
     public List<Document> searchBrands(String query, int topK, double threshold) {
         return searchCollection(brandCollection, query, topK, threshold);
@@ -79,29 +88,85 @@ public class MultiCollectionSearchServiceImpl implements MultiCollectionSearchSe
 
     @Override
     public MultiSearchResult searchAll(String query, int topK, double threshold) {
-        List<Document> brands = searchBrands(query, topK, threshold);
-        List<Document> categories = searchCategories(query, topK, threshold);
-        List<Document> products = searchProducts(query, topK, threshold);
-        List<Document> knowledge = searchKnowledge(query, topK, threshold);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        float[] queryVector = embed(query);
+        if (queryVector == null) {
+            return new MultiSearchResult(List.of(), List.of(), List.of(), List.of());
+        }
+
+        CompletableFuture<List<Document>> brands =
+                searchAsync(brandCollection, queryVector, topK, threshold);
+        CompletableFuture<List<Document>> categories =
+                searchAsync(categoryCollection, queryVector, topK, threshold);
+        CompletableFuture<List<Document>> products =
+                searchAsync(productCollection, queryVector, topK, threshold);
+        CompletableFuture<List<Document>> knowledge =
+                searchAsync(knowledgeCollection, queryVector, topK, threshold);
+        MultiSearchResult result =
+                new MultiSearchResult(
+                        brands.join(), categories.join(), products.join(), knowledge.join());
+        sample.stop(Timer.builder("rag.search.all").register(meterRegistry));
 
         log.debug(
                 "Multi-search results - brands:{}, categories:{}, products:{}, knowledge:{}",
-                brands.size(),
-                categories.size(),
-                products.size(),
-                knowledge.size());
+                result.brands().size(),
+                result.categories().size(),
+                result.products().size(),
+                result.knowledge().size());
 
-        return new MultiSearchResult(brands, categories, products, knowledge);
+        return result;
     }
 
     private List<Document> searchCollection(
             String collectionName, String query, int topK, double threshold) {
-        List<Document> results = new ArrayList<>();
+        float[] queryVector = embed(query);
+        return queryVector == null
+                ? List.of()
+                : searchCollection(collectionName, queryVector, topK, threshold);
+    }
 
+    /** Returns the query embedding, or {@code null} if the embedding model failed. */
+    private float[] embed(String query) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            float[] queryVector = embeddingModel.embed(query);
+            return embeddingCache.embed(query);
+        } catch (Exception e) {
+            log.warn("Failed to embed search query: {}", e.getMessage());
+            return null;
+        } finally {
+            sample.stop(Timer.builder("rag.search.embed").register(meterRegistry));
+        }
+    }
+
+    private CompletableFuture<List<Document>> searchAsync(
+            String collectionName, float[] queryVector, int topK, double threshold) {
+        return CompletableFuture.supplyAsync(
+                        () -> searchCollection(collectionName, queryVector, topK, threshold),
+                        applicationTaskExecutor)
+                .orTimeout(collectionTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(
+                        e -> {
+                            // The HTTP call is not interrupted, only its result is dropped
+                            Counter.builder("rag.search.timeouts")
+                                    .tag("collection", collectionName)
+                                    .register(meterRegistry)
+                                    .increment();
+                            log.warn(
+                                    "Search of collection {} did not complete within {}",
+                                    collectionName,
+                                    collectionTimeout);
+                            return List.of();
+                        });
+    }
 
-            String url = getQdrantBaseUrl() + "/collections/" + collectionName + "/points/search";
+    private List<Document> searchCollection(
+            String collectionName, float[] queryVector, int topK, double threshold) {
+        List<Document> results = new ArrayList<>();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+
+        try {
+            String url = "/collections/" + collectionName + "/points/search";
 
             Map<String, Object> searchRequest = new HashMap<>();
             searchRequest.put("vector", toFloatList(queryVector));
@@ -115,7 +180,7 @@ public class MultiCollectionSearchServiceImpl implements MultiCollectionSearchSe
                     new HttpEntity<>(objectMapper.writeValueAsString(searchRequest), headers);
 
             ResponseEntity<String> response =
-                    restTemplate.postForEntity(url, request, String.class);
+                    qdrantRestTemplate.postForEntity(url, request, String.class);
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 JsonNode root = objectMapper.readTree(response.getBody());
@@ -147,7 +212,14 @@ public class MultiCollectionSearchServiceImpl implements MultiCollectionSearchSe
                 }
             }
         } catch (Exception e) {
+            outcome = "error";
             log.warn("Failed to search collection {}: {}", collectionName, e.getMessage());
+        } finally {
+            sample.stop(
+                    Timer.builder("rag.search.collection")
+                            .tag("collection", collectionName)
+                            .tag("outcome", outcome)
+                            .register(meterRegistry));
         }
 
         return results;
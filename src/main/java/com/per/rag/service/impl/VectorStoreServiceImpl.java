@@ -1,17 +1,23 @@
 package com.per.rag.service.impl;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.springframework.ai.document.Document;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -28,6 +34,7 @@ import com.per.product.entity.Product;
 import com.per.product.entity.ProductVariant;
 import com.per.product.repository.ProductRepository;
 import com.per.product.repository.ProductVariantRepository;
+import com.per.rag.dto.ProductVectorVersion;
 import com.per.rag.service.VectorStoreService;
 
 import lombok.RequiredArgsConstructor;
@@ -38,20 +45,19 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class VectorStoreServiceImpl implements VectorStoreService {
 
+    private static final UUID MIN_ID = new UUID(0, 0);
+
     private final ProductRepository productRepository;
     private final ProductVariantRepository productVariantRepository;
     private final VectorStore vectorStore;
-    private final RestTemplate restTemplate;
+    private final RestTemplate qdrantRestTemplate;
     private final ObjectMapper objectMapper;
 
-    @Value("${spring.ai.vectorstore.qdrant.host:qdrant}")
-    private String qdrantHost;
-
-    @Value("${spring.ai.vectorstore.qdrant.port:6334}")
-    private int qdrantGrpcPort;
+    @Value("${app.rag.qdrant.scroll-page-size:1000}")
+    private int scrollPageSize;
 
-    @Value("${spring.ai.vectorstore.qdrant.collection-name:product_vectors}")
-    private String collectionName;
+    @Value("${app.rag.qdrant.upsert-batch-size:100}")
+    private int upsertBatchSize;
 
     @Value("${app.rag.qdrant.collections.product:product_vectors}")
     private String productCollection;
@@ -65,40 +71,29 @@ public class VectorStoreServiceImpl implements VectorStoreService {
     @Value("${app.rag.qdrant.collections.knowledge:knowledge_vectors}")
     private String knowledgeCollection;
 
-    /** Qdrant HTTP API port (gRPC port - 1) */
-    private int getHttpPort() {
-        return 6333; // HTTP API is always on 6333
-    }
-
-    private String getQdrantBaseUrl() {
-        return "http://" + qdrantHost + ":" + getHttpPort();
-    }
-
     @Override
-    @Transactional
     public int indexAllProducts() {
         try {
             log.info("Starting full product indexing for RAG");
-            List<Product> products = productRepository.findAll();
-
-            List<Document> documents = new ArrayList<>();
-            for (Product product : products) {
-                if (!product.isActive()) {
-                    continue;
+            int indexed = 0;
+            UUID afterId = MIN_ID;
+            while (true) {
+                List<UUID> ids =
+                        productRepository.findActiveIdsAfter(
+                                afterId, PageRequest.of(0, upsertBatchSize));
+                if (ids.isEmpty()) {
+                    break;
                 }
-                List<ProductVariant> variants =
-                        productVariantRepository.findByProductId(product.getId());
-                documents.add(buildDocument(product, variants));
+                indexed += upsertProducts(ids, new ArrayList<>());
+                afterId = ids.get(ids.size() - 1);
             }
 
-            if (!documents.isEmpty()) {
-                vectorStore.add(documents);
-                log.info("Indexed {} products successfully", documents.size());
-                return documents.size();
-            } else {
+            if (indexed == 0) {
                 log.warn("No active products found to index");
-                return 0;
+            } else {
+                log.info("Indexed {} products successfully", indexed);
             }
+            return indexed;
         } catch (Exception e) {
             log.error("Failed to index products", e);
             throw new ApiException(ApiErrorCode.RAG_INDEXING_FAILED, "Failed to index products", e);
@@ -137,6 +132,61 @@ public class VectorStoreServiceImpl implements VectorStoreService {
         }
     }
 
+    @Override
+    public void syncProducts(Collection<UUID> upsertIds, Collection<UUID> deleteIds) {
+        List<String> deletes = new ArrayList<>(deleteIds.stream().map(UUID::toString).toList());
+        int upserted = 0;
+        for (List<UUID> chunk : chunks(List.copyOf(upsertIds))) {
+            upserted += upsertProducts(chunk, deletes);
+        }
+        for (List<String> chunk : chunks(deletes)) {
+            vectorStore.delete(chunk);
+        }
+        log.info("Synced product vectors: {} upserted, {} deleted", upserted, deletes.size());
+    }
+
+    /**
+     * Embeds and upserts the active products among {@code ids} in one vector store write, with
+     * products and variants loaded in one query each. Ids of missing or inactive products are added
+     * to {@code deletes}.
+     *
+     * @return number of products upserted
+     */
+    private int upsertProducts(List<UUID> ids, List<String> deletes) {
+        List<Product> products = productRepository.findAllByIdInWithRelations(ids);
+        Map<UUID, List<ProductVariant>> variants =
+                productVariantRepository
+                        .findByProductIdIn(products.stream().map(Product::getId).toList())
+                        .stream()
+                        .collect(Collectors.groupingBy(v -> v.getProduct().getId()));
+
+        Set<UUID> found = new HashSet<>();
+        List<Document> documents = new ArrayList<>();
+        for (Product product : products) {
+            found.add(product.getId());
+            if (product.isActive()) {
+                documents.add(
+                        buildDocument(product, variants.getOrDefault(product.getId(), List.of())));
+            } else {
+                deletes.add(product.getId().toString());
+            }
+        }
+        ids.stream().filter(id -> !found.contains(id)).map(UUID::toString).forEach(deletes::add);
+
+        if (!documents.isEmpty()) {
+            vectorStore.add(documents);
+        }
+        return documents.size();
+    }
+
+    private <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += upsertBatchSize) {
+            chunks.add(items.subList(from, Math.min(from + upsertBatchSize, items.size())));
+        }
+        return chunks;
+    }
+
     @Override
     public List<Document> searchSimilar(String query, int topK, double threshold) {
         try {
@@ -196,6 +246,15 @@ public class VectorStoreServiceImpl implements VectorStoreService {
             content.append("Occasion: ").append(product.getOccasion()).append("\n");
         }
 
+        // Metadata
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("productId", product.getId().toString());
+        metadata.put("productName", product.getName());
+        metadata.put("brandName", product.getBrand().getName());
+        metadata.put("categoryName", product.getCategory().getName());
+        // Row version for the index reconciliation; Qdrant payloads take no long values
+        metadata.put("updatedAt", product.getUpdatedAt().toString());
+
         // Variant info
         if (!variants.isEmpty()) {
             BigDecimal minPrice =
@@ -208,6 +267,8 @@ public class VectorStoreServiceImpl implements VectorStoreService {
                             .map(ProductVariant::getPrice)
                             .max(BigDecimal::compareTo)
                             .orElse(BigDecimal.ZERO);
+            metadata.put("minPrice", minPrice.doubleValue());
+            metadata.put("maxPrice", maxPrice.doubleValue());
 
             content.append("Price Range: ")
                     .append(minPrice)
@@ -227,13 +288,6 @@ public class VectorStoreServiceImpl implements VectorStoreService {
             }
         }
 
-        // Metadata
-        Map<String, Object> metadata = new HashMap<>();
-        metadata.put("productId", product.getId().toString());
-        metadata.put("productName", product.getName());
-        metadata.put("brandName", product.getBrand().getName());
-        metadata.put("categoryName", product.getCategory().getName());
-
         return new Document(product.getId().toString(), content.toString(), metadata);
     }
 
@@ -243,7 +297,7 @@ public class VectorStoreServiceImpl implements VectorStoreService {
             log.info("Deleting documents with metadata {}={}", key, value);
 
             // Use Qdrant's delete by filter API
-            String url = getQdrantBaseUrl() + "/collections/" + collectionName + "/points/delete";
+            String url = "/collections/" + productCollection + "/points/delete";
 
             // Build filter payload for Qdrant
             String payload =
@@ -268,7 +322,7 @@ public class VectorStoreServiceImpl implements VectorStoreService {
             HttpEntity<String> request = new HttpEntity<>(payload, headers);
 
             ResponseEntity<String> response =
-                    restTemplate.postForEntity(url, request, String.class);
+                    qdrantRestTemplate.postForEntity(url, request, String.class);
 
             if (response.getStatusCode().is2xxSuccessful()) {
                 log.info("Successfully deleted documents with metadata {}={}", key, value);
@@ -282,6 +336,58 @@ public class VectorStoreServiceImpl implements VectorStoreService {
         }
     }
 
+    @Override
+    public void forEachProductVectorVersion(Consumer<ProductVectorVersion> consumer) {
+        String url = "/collections/" + productCollection + "/points/scroll";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        try {
+            JsonNode offset = null;
+            do {
+                // Knowledge documents share the collection; only points with a productId count
+                Map<String, Object> body = new HashMap<>();
+                body.put("limit", scrollPageSize);
+                body.put("with_payload", List.of("productId", "updatedAt", "minPrice", "maxPrice"));
+                body.put("with_vector", false);
+                body.put(
+                        "filter",
+                        Map.of(
+                                "must_not",
+                                List.of(Map.of("is_empty", Map.of("key", "productId")))));
+                if (offset != null) {
+                    body.put("offset", offset);
+                }
+
+                ResponseEntity<String> response =
+                        qdrantRestTemplate.postForEntity(
+                                url,
+                                new HttpEntity<>(objectMapper.writeValueAsString(body), headers),
+                                String.class);
+                JsonNode result = objectMapper.readTree(response.getBody()).path("result");
+                for (JsonNode point : result.path("points")) {
+                    consumer.accept(toVectorVersion(point.path("payload")));
+                }
+                offset = result.path("next_page_offset");
+            } while (!offset.isMissingNode() && !offset.isNull());
+        } catch (Exception e) {
+            log.error("Failed to scroll product vectors", e);
+            throw new ApiException(
+                    ApiErrorCode.RAG_SEARCH_FAILED, "Failed to scroll product vectors", e);
+        }
+    }
+
+    private static ProductVectorVersion toVectorVersion(JsonNode payload) {
+        JsonNode updatedAt = payload.path("updatedAt");
+        JsonNode minPrice = payload.path("minPrice");
+        JsonNode maxPrice = payload.path("maxPrice");
+        return new ProductVectorVersion(
+                UUID.fromString(payload.path("productId").asText()),
+                updatedAt.isTextual() ? Instant.parse(updatedAt.asText()) : null,
+                minPrice.isNumber() ? minPrice.asDouble() : null,
+                maxPrice.isNumber() ? maxPrice.asDouble() : null);
+    }
+
     @Override
     public Map<String, Object> getKnowledgeStatus() {
         try {
@@ -319,9 +425,9 @@ public class VectorStoreServiceImpl implements VectorStoreService {
 
     private int getCollectionPointCount(String collection) {
         try {
-            String collectionUrl = getQdrantBaseUrl() + "/collections/" + collection;
+            String collectionUrl = "/collections/" + collection;
             ResponseEntity<String> response =
-                    restTemplate.getForEntity(collectionUrl, String.class);
+                    qdrantRestTemplate.getForEntity(collectionUrl, String.class);
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 JsonNode root = objectMapper.readTree(response.getBody());
@@ -0,0 +1,42 @@
+package com.per.search.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.per.common.ApiConstants;
+import com.per.common.base.BaseController;
+import com.per.common.response.ApiResponse;
+import com.per.common.response.ApiSuccessCode;
+import com.per.search.dto.response.GlobalSearchResponse;
+import com.per.search.service.GlobalSearchService;
+
+import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping(ApiConstants.Search.ROOT)
+@RequiredArgsConstructor
+@Tag(name = "Search", description = "Unified Search APIs")
+public class SearchController extends BaseController {
+
+    private final GlobalSearchService globalSearchService;
+
+    @GetMapping(ApiConstants.Search.ALL)
+    @RateLimiter(name = "highTraffic", fallbackMethod = "rateLimit")
+    @Operation(
+            summary = "Search all catalog entities",
+            description =
+                    "Top hits for products, brands, categories and origins in one multi search"
+                            + " request")
+    public ResponseEntity<ApiResponse<GlobalSearchResponse>> searchAll(
+            @RequestParam("query") String query,
+            @RequestParam(value = "size", defaultValue = "5") int size) {
+        GlobalSearchResponse data = globalSearchService.search(query, size);
+        return ResponseEntity.ok(ApiResponse.success(ApiSuccessCode.SEARCH_SUCCESS, data));
+    }
+}
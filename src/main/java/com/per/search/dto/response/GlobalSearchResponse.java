@@ -0,0 +1,24 @@
+package com.per.search.dto.response;
+
+import com.per.brand.document.BrandDocument;
+import com.per.category.document.CategoryDocument;
+import com.per.made_in.document.MadeInDocument;
+import com.per.product.dto.response.ProductSearchResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Results of the global search box, grouped by entity type. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GlobalSearchResponse {
+
+    private SearchGroup<ProductSearchResponse> products;
+    private SearchGroup<BrandDocument> brands;
+    private SearchGroup<CategoryDocument> categories;
+    private SearchGroup<MadeInDocument> madeIn;
+}
@@ -0,0 +1,19 @@
+package com.per.search.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Top hits of one entity type in a unified search, with the total number of matches. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchGroup<T> {
+
+    private long total;
+    private List<T> items;
+}
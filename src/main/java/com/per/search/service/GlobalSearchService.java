@@ -0,0 +1,16 @@
+package com.per.search.service;
+
+import com.per.search.dto.response.GlobalSearchResponse;
+
+/** Searches products, brands, categories and origins at once for the global search box. */
+public interface GlobalSearchService {
+
+    /**
+     * Runs the per-entity searches as one Elasticsearch multi search request.
+     *
+     * @param query the full-text search term
+     * @param size number of top hits per entity type
+     * @return top hits grouped by entity type
+     */
+    GlobalSearchResponse search(String query, int size);
+}
@@ -0,0 +1,96 @@
+package com.per.search.service.impl;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.stereotype.Service;
+
+import com.per.brand.document.BrandDocument;
+import com.per.brand.service.BrandSearchService;
+import com.per.category.document.CategoryDocument;
+import com.per.category.service.CategorySearchService;
+import com.per.made_in.document.MadeInDocument;
+import com.per.made_in.service.MadeInSearchService;
+import com.per.product.document.ProductDocument;
+import com.per.product.mapper.ProductDocumentMapper;
+import com.per.product.service.ProductSearchService;
+import com.per.search.dto.response.GlobalSearchResponse;
+import com.per.search.dto.response.SearchGroup;
+import com.per.search.service.GlobalSearchService;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Sends the product, brand, category and origin queries in a single {@code _msearch} request
+ * instead of one search round trip per index. Each query is the one its own search endpoint uses,
+ * so the ranking matches the per-entity results.
+ */
+@Service
+@RequiredArgsConstructor
+public class GlobalSearchServiceImpl implements GlobalSearchService {
+
+    static final int MAX_SIZE = 20;
+
+    private static final List<Class<?>> DOCUMENT_CLASSES =
+            List.of(
+                    ProductDocument.class,
+                    BrandDocument.class,
+                    CategoryDocument.class,
+                    MadeInDocument.class);
+
+    private final ElasticsearchOperations esOperations;
+    private final ProductSearchService productSearchService;
+    private final BrandSearchService brandSearchService;
+    private final CategorySearchService categorySearchService;
+    private final MadeInSearchService madeInSearchService;
+    private final ProductDocumentMapper productDocumentMapper;
+
+    @Override
+    public GlobalSearchResponse search(String query, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_SIZE));
+        List<NativeQuery> queries =
+                List.of(
+                        topHits(productSearchService.searchQuery(query), limit),
+                        topHits(brandSearchService.searchQuery(query), limit),
+                        topHits(categorySearchService.searchQuery(query), limit),
+                        topHits(madeInSearchService.searchQuery(query), limit));
+
+        // Responses come back in the order of the queries
+        List<SearchHits<?>> results = esOperations.multiSearch(queries, DOCUMENT_CLASSES);
+
+        return GlobalSearchResponse.builder()
+                .products(
+                        group(
+                                results.get(0),
+                                ProductDocument.class,
+                                productDocumentMapper::toSearchResponse))
+                .brands(group(results.get(1), BrandDocument.class, Function.identity()))
+                .categories(group(results.get(2), CategoryDocument.class, Function.identity()))
+                .madeIn(group(results.get(3), MadeInDocument.class, Function.identity()))
+                .build();
+    }
+
+    private NativeQuery topHits(Query query, int limit) {
+        return NativeQuery.builder()
+                .withQuery(query)
+                .withPageable(PageRequest.of(0, limit))
+                .build();
+    }
+
+    private <D, T> SearchGroup<T> group(
+            SearchHits<?> hits, Class<D> documentClass, Function<D, T> mapper) {
+        List<T> items =
+                hits.getSearchHits().stream()
+                        .map(SearchHit::getContent)
+                        .map(documentClass::cast)
+                        .map(mapper)
+                        .toList();
+        return SearchGroup.<T>builder().total(hits.getTotalHits()).items(items).build();
+    }
+}
@@ -24,6 +24,7 @@ import com.per.common.ApiConstants;
 import com.per.common.base.BaseController;
 import com.per.common.response.ApiResponse;
 import com.per.common.response.ApiSuccessCode;
+import com.per.common.response.CursorPageResponse;
 import com.per.common.response.PageResponse;
 import com.per.user.dto.request.UserCreateRequest;
 import com.per.user.dto.request.UserUpdateRequest;
@@ -31,6 +32,7 @@ import com.per.user.dto.response.UserResponse;
 import com.per.user.service.UserService;
 
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 
@@ -53,6 +55,18 @@ public class UserController extends BaseController {
         return ResponseEntity.ok(ApiResponse.success(ApiSuccessCode.USER_SEARCH_SUCCESS, response));
     }
 
+    @GetMapping(ApiConstants.User.CURSOR)
+    @RateLimiter(name = "mediumTraffic", fallbackMethod = "rateLimit")
+    @Operation(
+            summary = "List users by cursor",
+            description = "Keyset pagination, newest first; no total count")
+    public ResponseEntity<ApiResponse<CursorPageResponse<UserResponse>>> scrollUsers(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        CursorPageResponse<UserResponse> response = userService.scrollUsers(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(ApiSuccessCode.USER_LIST_SUCCESS, response));
+    }
+
     @GetMapping(ApiConstants.User.GET)
     @RateLimiter(name = "mediumTraffic", fallbackMethod = "rateLimit")
     public ResponseEntity<ApiResponse<UserResponse>> getUser(@PathVariable("id") UUID id) {
@@ -1,5 +1,8 @@
 package com.per.user.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -37,4 +40,43 @@ public interface UserAdminRepository extends JpaRepository<User, UUID> {
 
     @EntityGraph(attributePaths = "roles")
     Page<User> findAllBy(Pageable pageable);
+
+    // Keyset pagination, newest first (see CursorPageResponse). The page of ids is cut in SQL and
+    // the users are then loaded with their roles: fetching the collection in the keyset query
+    // itself would make Hibernate apply the limit in memory.
+    default List<User> findFirstPage(Pageable limit) {
+        List<UUID> ids = findFirstPageIds(limit);
+        return ids.isEmpty() ? List.of() : findWithRolesByIdIn(ids);
+    }
+
+    default List<User> findPageAfter(Instant createdAt, UUID id, Pageable limit) {
+        List<UUID> ids = findPageIdsAfter(createdAt, id, limit);
+        return ids.isEmpty() ? List.of() : findWithRolesByIdIn(ids);
+    }
+
+    @Query(
+            """
+			SELECT u.id FROM User u
+			ORDER BY u.createdAt DESC, u.id DESC
+			""")
+    List<UUID> findFirstPageIds(Pageable limit);
+
+    @Query(
+            """
+			SELECT u.id FROM User u
+			WHERE u.createdAt <= :createdAt
+			AND (u.createdAt < :createdAt OR u.id < :id)
+			ORDER BY u.createdAt DESC, u.id DESC
+			""")
+    List<UUID> findPageIdsAfter(
+            @Param("createdAt") Instant createdAt, @Param("id") UUID id, Pageable limit);
+
+    @EntityGraph(attributePaths = "roles")
+    @Query(
+            """
+			SELECT u FROM User u
+			WHERE u.id IN :ids
+			ORDER BY u.createdAt DESC, u.id DESC
+			""")
+    List<User> findWithRolesByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -4,6 +4,7 @@ import java.util.UUID;
 
 import org.springframework.data.domain.Pageable;
 
+import com.per.common.response.CursorPageResponse;
 import com.per.common.response.PageResponse;
 import com.per.user.dto.request.UserCreateRequest;
 import com.per.user.dto.request.UserUpdateRequest;
@@ -13,6 +14,8 @@ public interface UserService {
 
     PageResponse<UserResponse> getUsers(String query, Pageable pageable);
 
+    CursorPageResponse<UserResponse> scrollUsers(String cursor, int size);
+
     UserResponse getUser(UUID id);
 
     UserResponse createUser(UserCreateRequest request);
@@ -1,6 +1,7 @@
 package com.per.user.service.impl;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -15,7 +16,9 @@ import com.per.auth.entity.Role;
 import com.per.auth.entity.RoleType;
 import com.per.common.exception.ApiErrorCode;
 import com.per.common.exception.ApiException;
+import com.per.common.response.CursorPageResponse;
 import com.per.common.response.PageResponse;
+import com.per.common.response.SeekCursor;
 import com.per.user.dto.request.UserCreateRequest;
 import com.per.user.dto.request.UserUpdateRequest;
 import com.per.user.dto.response.UserResponse;
@@ -50,6 +53,19 @@ public class UserServiceImpl implements UserService {
         return PageResponse.from(page.map(UserMapper::toResponse));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserResponse> scrollUsers(String cursor, int size) {
+        SeekCursor after = SeekCursor.decode(cursor);
+        Pageable limit = CursorPageResponse.limit(size);
+        List<User> rows =
+                after == null
+                        ? userRepository.findFirstPage(limit)
+                        : userRepository.findPageAfter(after.createdAt(), after.id(), limit);
+        return CursorPageResponse.from(
+                rows, size, UserMapper::toResponse, User::getCreatedAt, User::getId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public UserResponse getUser(UUID id) {
@@ -0,0 +1,6 @@
+-- Keyset pagination seeks on (created_at DESC, id DESC); see CursorPageResponse
+CREATE INDEX idx_product_created_at_id ON public.product USING btree (created_at DESC, id DESC);
+CREATE INDEX idx_brand_created_at_id ON public.brand USING btree (created_at DESC, id DESC);
+CREATE INDEX idx_category_created_at_id ON public.category USING btree (created_at DESC, id DESC);
+CREATE INDEX idx_made_id_created_at_id ON public.made_id USING btree (created_at DESC, id DESC);
+CREATE INDEX idx_users_created_at_id ON public.users USING btree (created_at DESC, id DESC);
@@ -0,0 +1,3 @@
+-- Variant CDC events are keyed by product_id (message.key.columns in the Debezium connector), so
+-- delete events must carry the whole old row, not only the primary key
+ALTER TABLE public.product_variant REPLICA IDENTITY FULL;
@@ -0,0 +1,177 @@
+package com.per.common.config.cache;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.per.common.response.PageResponse;
+import com.per.product.dto.response.ProductDetailResponse;
+import com.per.product.dto.response.ProductResponse;
+import com.per.product.dto.response.ProductVariantResponse;
+import com.per.product.enums.FragranceFamily;
+import com.per.product.enums.Gender;
+
+/**
+ * Compares the JSON and Smile/LZ4 cache codecs on the payloads the product caches actually store.
+ * Not part of the test suite; run manually (see docs/cache).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheValueSerializerBenchmark {
+
+    @Param({"json", "smile", "smile-lz4"})
+    private String codec;
+
+    @Param({"detail", "page"})
+    private String payload;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        serializer = serializer(codec);
+        value = "detail".equals(payload) ? productDetail() : productPage();
+        encoded = serializer.serialize(value);
+        System.out.printf(
+                "%n[size] codec=%s payload=%s bytes=%d%n", codec, payload, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                        new OptionsBuilder()
+                                .include(CacheValueSerializerBenchmark.class.getSimpleName())
+                                .build())
+                .run();
+    }
+
+    private static RedisSerializer<Object> serializer(String codec) {
+        return switch (codec) {
+            case "json" -> CacheValueSerializers.json();
+            case "smile" -> CacheValueSerializers.smile(Integer.MAX_VALUE);
+            case "smile-lz4" -> CacheValueSerializers.smile(1024);
+            default -> throw new IllegalArgumentException("Unknown codec: " + codec);
+        };
+    }
+
+    /** Shape of a {@code product} cache entry: detail with a typical set of variants. */
+    private static ProductDetailResponse productDetail() {
+        List<ProductVariantResponse> variants = new ArrayList<>();
+        for (int volume : new int[] {30, 50, 100, 200}) {
+            variants.add(
+                    ProductVariantResponse.builder()
+                            .id(UUID.randomUUID())
+                            .variantSku("BDC-EDP-" + volume)
+                            .volumeMl(BigDecimal.valueOf(volume))
+                            .packageType("Bottle")
+                            .price(BigDecimal.valueOf(volume * 1.35).setScale(2))
+                            .compareAtPrice(BigDecimal.valueOf(volume * 1.6).setScale(2))
+                            .currencyCode("USD")
+                            .stockQuantity(120)
+                            .lowStockThreshold(10)
+                            .imagePublicId("per/products/bdc-" + volume)
+                            .imageUrl(
+                                    "https://res.cloudinary.com/per/image/upload/per/products/bdc-"
+                                            + volume
+                                            + ".jpg")
+                            .active(true)
+                            .createdAt(Instant.now())
+                            .updatedAt(Instant.now())
+                            .build());
+        }
+
+        return ProductDetailResponse.builder()
+                .id(UUID.randomUUID())
+                .brandId(UUID.randomUUID())
+                .categoryId(UUID.randomUUID())
+                .madeInId(UUID.randomUUID())
+                .name("Bleu de Chanel Eau de Parfum")
+                .shortDescription("A woody aromatic fragrance for the modern man.")
+                .description(
+                        "Bleu de Chanel Eau de Parfum opens with fresh citrus and grapefruit,"
+                                + " moves into a heart of ginger, nutmeg and jasmine, and settles"
+                                + " on a base of sandalwood, cedar, labdanum and incense. Intense"
+                                + " yet refined, it is built for all-day wear.")
+                .launchYear(2014)
+                .imagePublicId("per/products/bdc")
+                .imageUrl("https://res.cloudinary.com/per/image/upload/per/products/bdc.jpg")
+                .fragranceFamily(FragranceFamily.values()[0])
+                .gender(Gender.values()[0])
+                .active(true)
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .variants(variants)
+                .build();
+    }
+
+    /** Shape of a {@code products} cache entry: one default-sized listing page. */
+    private static PageResponse<ProductResponse> productPage() {
+        List<ProductResponse> content = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            content.add(
+                    ProductResponse.builder()
+                            .id(UUID.randomUUID())
+                            .brandId(UUID.randomUUID())
+                            .categoryId(UUID.randomUUID())
+                            .madeInId(UUID.randomUUID())
+                            .name("Fragrance " + i)
+                            .shortDescription("A woody aromatic fragrance for the modern man.")
+                            .imageUrl(
+                                    "https://res.cloudinary.com/per/image/upload/per/products/p"
+                                            + i
+                                            + ".jpg")
+                            .launchYear(2010 + i % 10)
+                            .fragranceFamily(FragranceFamily.values()[0])
+                            .gender(Gender.values()[0])
+                            .active(true)
+                            .createdAt(Instant.now())
+                            .updatedAt(Instant.now())
+                            .build());
+        }
+
+        return PageResponse.<ProductResponse>builder()
+                .content(content)
+                .page(0)
+                .size(20)
+                .totalElements(240)
+                .totalPages(12)
+                .first(true)
+                .last(false)
+                .empty(false)
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.per.common.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GenerationalCache Unit Tests")
+class GenerationalCacheTest {
+
+    private static final String KEY = "list:all:p0:s20";
+
+    @Mock private CacheGenerationTracker generationTracker;
+
+    @Mock private CacheInvalidationPublisher invalidationPublisher;
+
+    private ConcurrentMapCache delegate;
+    private GenerationalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCache(CacheNames.PRODUCTS);
+        cache = new GenerationalCache(delegate, generationTracker, invalidationPublisher);
+    }
+
+    @Test
+    @DisplayName("Should embed current generation in stored keys")
+    void shouldEmbedCurrentGenerationInStoredKeys() {
+        // Given
+        when(generationTracker.current(CacheNames.PRODUCTS)).thenReturn(3L);
+
+        // When
+        cache.put(KEY, "page");
+
+        // Then
+        assertThat(delegate.get("v3:" + KEY)).isNotNull();
+        assertThat(cache.get(KEY).get()).isEqualTo("page");
+    }
+
+    @Test
+    @DisplayName("Should bump generation on clear without deleting keys")
+    void shouldBumpGenerationOnClearWithoutDeletingKeys() {
+        // Given
+        when(generationTracker.current(CacheNames.PRODUCTS)).thenReturn(3L, 4L);
+        cache.put(KEY, "page");
+
+        // When
+        cache.clear();
+
+        // Then
+        verify(generationTracker).increment(CacheNames.PRODUCTS);
+        verify(invalidationPublisher).publishClear(CacheNames.PRODUCTS);
+        assertThat(delegate.get("v3:" + KEY)).isNotNull();
+        assertThat(cache.get(KEY)).isNull();
+    }
+}
@@ -0,0 +1,137 @@
+package com.per.common.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.per.common.response.PageResponse;
+import com.per.product.dto.response.ProductDetailResponse;
+import com.per.product.dto.response.ProductVariantResponse;
+
+@DisplayName("SmileLz4RedisSerializer Unit Tests")
+class SmileLz4RedisSerializerTest {
+
+    private final RedisSerializer<Object> serializer = CacheValueSerializers.smile(1024);
+
+    @Test
+    @DisplayName("Should round-trip small value without compression")
+    void shouldRoundTripSmallValueWithoutCompression() {
+        // Given
+        ProductDetailResponse product = product(0);
+
+        // When
+        byte[] bytes = serializer.serialize(product);
+        Object result = serializer.deserialize(bytes);
+
+        // Then
+        assertThat(bytes[0]).isEqualTo((byte) ':');
+        assertThat(result).isInstanceOf(ProductDetailResponse.class);
+        assertThat(((ProductDetailResponse) result).getName()).isEqualTo(product.getName());
+    }
+
+    @Test
+    @DisplayName("Should compress value above threshold")
+    void shouldCompressValueAboveThreshold() {
+        // Given
+        PageResponse<ProductDetailResponse> page = page(20);
+
+        // When
+        byte[] bytes = serializer.serialize(page);
+        Object result = serializer.deserialize(bytes);
+
+        // Then
+        assertThat(bytes[0]).isEqualTo((byte) 0x00);
+        assertThat(bytes.length).isLessThan(CacheValueSerializers.json().serialize(page).length);
+        assertThat(((PageResponse<?>) result).getContent()).hasSize(20);
+    }
+
+    @Test
+    @DisplayName("Should reject corrupt or truncated compressed entries")
+    void shouldRejectCorruptCompressedEntries() {
+        // Given
+        byte[] bytes = serializer.serialize(page(20));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length / 2);
+        byte[] oversized = bytes.clone();
+        ByteBuffer.wrap(oversized, 1, Integer.BYTES).putInt(Integer.MAX_VALUE);
+        byte[] negative = bytes.clone();
+        ByteBuffer.wrap(negative, 1, Integer.BYTES).putInt(-1);
+
+        // When / Then
+        for (byte[] corrupt : List.of(truncated, oversized, negative)) {
+            assertThatThrownBy(() -> serializer.deserialize(corrupt))
+                    .isInstanceOf(SerializationException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Should read entries written by JSON codec")
+    void shouldReadEntriesWrittenByJsonCodec() {
+        // Given
+        ProductDetailResponse product = product(1);
+        byte[] json = CacheValueSerializers.json().serialize(product);
+
+        // When
+        Object result = serializer.deserialize(json);
+
+        // Then
+        assertThat(result).isInstanceOf(ProductDetailResponse.class);
+        assertThat(((ProductDetailResponse) result).getVariants()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should round-trip refreshable envelope")
+    void shouldRoundTripRefreshableEnvelope() {
+        // Given
+        RefreshableValue envelope = new RefreshableValue(product(2), 1_000L, 601_000L);
+
+        // When
+        Object result = serializer.deserialize(serializer.serialize(envelope));
+
+        // Then
+        assertThat(result).isInstanceOf(RefreshableValue.class);
+        assertThat(((RefreshableValue) result).getValue())
+                .isInstanceOf(ProductDetailResponse.class);
+        assertThat(((RefreshableValue) result).getStaleAt()).isEqualTo(601_000L);
+    }
+
+    private PageResponse<ProductDetailResponse> page(int size) {
+        return PageResponse.<ProductDetailResponse>builder()
+                .content(IntStream.range(0, size).mapToObj(i -> product(3)).toList())
+                .size(size)
+                .totalElements(size)
+                .build();
+    }
+
+    private ProductDetailResponse product(int variantCount) {
+        return ProductDetailResponse.builder()
+                .id(UUID.randomUUID())
+                .name("Bleu de Chanel")
+                .description("Woody aromatic fragrance")
+                .active(true)
+                .createdAt(Instant.now())
+                .variants(
+                        IntStream.range(0, variantCount)
+                                .mapToObj(
+                                        i ->
+                                                ProductVariantResponse.builder()
+                                                        .id(UUID.randomUUID())
+                                                        .variantSku("BDC-" + i)
+                                                        .price(new BigDecimal("129.00"))
+                                                        .currencyCode("USD")
+                                                        .build())
+                                .toList())
+                .build();
+    }
+}
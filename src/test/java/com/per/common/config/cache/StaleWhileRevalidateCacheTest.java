@@ -0,0 +1,139 @@
+package com.per.common.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import com.per.common.config.cache.TwoLevelCacheManager.RefreshSpec;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StaleWhileRevalidateCache Unit Tests")
+class StaleWhileRevalidateCacheTest {
+
+    private static final Duration FRESH_FOR = Duration.ofMinutes(10);
+
+    @Mock private CacheRefreshCoordinator refreshCoordinator;
+
+    @Mock private CacheInvalidationPublisher invalidationPublisher;
+
+    @Mock private CacheRefreshLoader refreshLoader;
+
+    private ConcurrentMapCache delegate;
+    private StaleWhileRevalidateCache cache;
+    private UUID key;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCache(CacheNames.PRODUCT);
+        cache =
+                new StaleWhileRevalidateCache(
+                        delegate,
+                        new RefreshSpec(FRESH_FOR, 0.8, 3, 100),
+                        refreshLoader,
+                        refreshCoordinator,
+                        invalidationPublisher);
+        key = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should load and wrap value on miss")
+    void shouldLoadAndWrapValueOnMiss() {
+        // When
+        String result = cache.get(key, () -> "v1");
+
+        // Then
+        assertThat(result).isEqualTo("v1");
+        assertThat(delegate.get(key).get()).isInstanceOf(RefreshableValue.class);
+        assertThat(cache.get(key).get()).isEqualTo("v1");
+        verify(refreshCoordinator, never()).refreshAsync(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should serve stale value and refresh in background through the refresh loader")
+    @SuppressWarnings("unchecked")
+    void shouldServeStaleValueAndRefreshInBackground() throws Exception {
+        // Given
+        long now = System.currentTimeMillis();
+        delegate.put(key, new RefreshableValue("old", now - 700_000, now - 100_000));
+        when(refreshLoader.load(key)).thenReturn("new");
+        Callable<String> requestLoader =
+                () -> {
+                    throw new AssertionError("the request's value loader must not be reused");
+                };
+
+        // When
+        String result = cache.get(key, requestLoader);
+
+        // Then
+        assertThat(result).isEqualTo("old");
+        ArgumentCaptor<Callable<?>> refresh = ArgumentCaptor.forClass(Callable.class);
+        verify(refreshCoordinator).refreshAsync(eq(CacheNames.PRODUCT), eq(key), refresh.capture());
+
+        refresh.getValue().call();
+        assertThat(cache.get(key).get()).isEqualTo("new");
+        verify(invalidationPublisher).publishEvict(CacheNames.PRODUCT, key.toString());
+    }
+
+    @Test
+    @DisplayName("Should refresh hot entry ahead of expiry")
+    void shouldRefreshHotEntryAheadOfExpiry() {
+        // Given: 90% of the fresh window has passed
+        long now = System.currentTimeMillis();
+        delegate.put(key, new RefreshableValue("v1", now - 540_000, now + 60_000));
+
+        // When
+        cache.get(key, () -> "v2");
+        cache.get(key, () -> "v2");
+
+        // Then
+        verify(refreshCoordinator, never()).refreshAsync(any(), any(), any());
+
+        cache.get(key, () -> "v2");
+        verify(refreshCoordinator).refreshAsync(eq(CacheNames.PRODUCT), eq(key), any());
+    }
+
+    @Test
+    @DisplayName("Should not refresh fresh entry")
+    void shouldNotRefreshFreshEntry() {
+        // Given
+        cache.put(key, "v1");
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            cache.get(key, () -> "v2");
+        }
+
+        // Then
+        verify(refreshCoordinator, never()).refreshAsync(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should serve and replace entry written without envelope")
+    void shouldServeAndReplaceEntryWrittenWithoutEnvelope() {
+        // Given
+        delegate.put(key, "legacy");
+
+        // When
+        String result = cache.get(key, () -> "v1");
+
+        // Then
+        assertThat(result).isEqualTo("legacy");
+        verify(refreshCoordinator).refreshAsync(eq(CacheNames.PRODUCT), eq(key), any());
+    }
+}
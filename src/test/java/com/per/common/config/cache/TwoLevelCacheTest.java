@@ -0,0 +1,143 @@
+package com.per.common.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TwoLevelCache Unit Tests")
+class TwoLevelCacheTest {
+
+    @Mock private CacheInvalidationPublisher invalidationPublisher;
+
+    private ConcurrentMapCache remoteCache;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remoteCache = new ConcurrentMapCache(CacheNames.PRODUCT);
+        cache =
+                new TwoLevelCache(
+                        CacheNames.PRODUCT,
+                        Caffeine.newBuilder().maximumSize(100).build(),
+                        remoteCache,
+                        invalidationPublisher);
+    }
+
+    @Nested
+    @DisplayName("Read Tests")
+    class ReadTests {
+
+        @Test
+        @DisplayName("Should serve from L1 after first L2 hit")
+        void shouldServeFromLocalAfterFirstRemoteHit() {
+            // Given
+            UUID key = UUID.randomUUID();
+            remoteCache.put(key, "v1");
+
+            // When
+            cache.get(key);
+            remoteCache.evict(key);
+
+            // Then
+            assertThat(cache.get(key)).isNotNull();
+            assertThat(cache.get(key).get()).isEqualTo("v1");
+        }
+
+        @Test
+        @DisplayName("Should invoke loader once for repeated sync reads")
+        void shouldInvokeLoaderOnceForRepeatedSyncReads() {
+            // Given
+            UUID key = UUID.randomUUID();
+            AtomicInteger loads = new AtomicInteger();
+
+            // When
+            cache.get(key, () -> "loaded-" + loads.incrementAndGet());
+            String result = cache.get(key, () -> "loaded-" + loads.incrementAndGet());
+
+            // Then
+            assertThat(result).isEqualTo("loaded-1");
+            assertThat(loads).hasValue(1);
+            assertThat(remoteCache.get(key)).isNotNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation Tests")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("Should evict both tiers and broadcast")
+        void shouldEvictBothTiersAndBroadcast() {
+            // Given
+            UUID key = UUID.randomUUID();
+            remoteCache.put(key, "v1");
+            cache.get(key);
+
+            // When
+            cache.evict(key);
+
+            // Then
+            assertThat(cache.get(key)).isNull();
+            assertThat(remoteCache.get(key)).isNull();
+            verify(invalidationPublisher).publishEvict(CacheNames.PRODUCT, key.toString());
+        }
+
+        @Test
+        @DisplayName("Should broadcast a put so that other nodes drop their old L1 copy")
+        void shouldBroadcastPut() {
+            // Given
+            UUID key = UUID.randomUUID();
+
+            // When
+            cache.put(key, "v1");
+
+            // Then
+            assertThat(cache.get(key).get()).isEqualTo("v1");
+            assertThat(remoteCache.get(key).get()).isEqualTo("v1");
+            verify(invalidationPublisher).publishEvict(CacheNames.PRODUCT, key.toString());
+        }
+
+        @Test
+        @DisplayName("Should drop only L1 on remote eviction")
+        void shouldDropOnlyLocalOnRemoteEviction() {
+            // Given
+            UUID key = UUID.randomUUID();
+            cache.put(key, "v1");
+            remoteCache.put(key, "v2");
+
+            // When
+            cache.evictLocal(key.toString());
+
+            // Then
+            assertThat(cache.get(key).get()).isEqualTo("v2");
+        }
+
+        @Test
+        @DisplayName("Should clear both tiers and broadcast")
+        void shouldClearBothTiersAndBroadcast() {
+            // Given
+            cache.put("list:all:p0:s20", "page");
+
+            // When
+            cache.clear();
+
+            // Then
+            assertThat(cache.get("list:all:p0:s20")).isNull();
+            verify(invalidationPublisher).publishClear(CacheNames.PRODUCT);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.per.common.config.elasticsearch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.index.AliasData;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.Query;
+
+import com.per.brand.document.BrandDocument;
+import com.per.common.config.elasticsearch.AliasedIndexManager.FillResult;
+import com.per.common.exception.ApiErrorCode;
+import com.per.common.exception.ApiException;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AliasedIndexManager Unit Tests")
+class AliasedIndexManagerTest {
+
+    private static final String ALIAS = "brands";
+    private static final String OLD_INDEX = "brands_20260101000000000";
+
+    @Mock private ElasticsearchOperations elasticsearchOperations;
+
+    @Mock private IndexOperations classOps;
+
+    @Mock private IndexOperations aliasOps;
+
+    @Mock private IndexOperations newIndexOps;
+
+    @Mock private IndexOperations oldIndexOps;
+
+    private AliasedIndexManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new AliasedIndexManager(elasticsearchOperations);
+
+        when(elasticsearchOperations.getIndexCoordinatesFor(BrandDocument.class))
+                .thenReturn(IndexCoordinates.of(ALIAS));
+        when(elasticsearchOperations.indexOps(BrandDocument.class)).thenReturn(classOps);
+        when(classOps.createSettings(BrandDocument.class)).thenReturn(new Settings());
+        when(classOps.createMapping(BrandDocument.class)).thenReturn(Document.create());
+        when(elasticsearchOperations.indexOps(any(IndexCoordinates.class)))
+                .thenAnswer(
+                        invocation -> {
+                            String name =
+                                    invocation.<IndexCoordinates>getArgument(0).getIndexName();
+                            if (name.equals(ALIAS)) {
+                                return aliasOps;
+                            }
+                            return name.equals(OLD_INDEX) ? oldIndexOps : newIndexOps;
+                        });
+    }
+
+    @Test
+    @DisplayName("Should fill new index, swap alias atomically and delete old index")
+    void shouldFillNewIndexSwapAliasAndDeleteOldIndex() {
+        // Given
+        when(aliasOps.getAliasesForIndex(ALIAS + "_*"))
+                .thenReturn(Map.of(OLD_INDEX, Set.of(aliasData())));
+        indexedIds();
+        AtomicReference<String> filled = new AtomicReference<>();
+
+        // When
+        long written =
+                manager.rebuild(
+                        BrandDocument.class,
+                        index -> {
+                            filled.set(index.getIndexName());
+                            return new FillResult(7, 7, 0);
+                        },
+                        (index, since) -> new FillResult(0, 0, 0),
+                        ids -> ids);
+
+        // Then
+        assertThat(written).isEqualTo(7);
+        assertThat(filled.get()).startsWith(ALIAS + "_").isNotEqualTo(OLD_INDEX);
+        verify(newIndexOps).create(anyMap(), any(Document.class));
+
+        ArgumentCaptor<AliasActions> actions = ArgumentCaptor.forClass(AliasActions.class);
+        verify(newIndexOps).alias(actions.capture());
+        assertThat(actions.getValue().getActions())
+                .satisfiesExactly(
+                        add -> {
+                            assertThat(add).isInstanceOf(AliasAction.Add.class);
+                            assertThat(add.getParameters().getIndices())
+                                    .containsExactly(filled.get());
+                        },
+                        remove -> {
+                            assertThat(remove).isInstanceOf(AliasAction.Remove.class);
+                            assertThat(remove.getParameters().getIndices())
+                                    .containsExactly(OLD_INDEX);
+                        });
+        verify(oldIndexOps).delete();
+    }
+
+    @Test
+    @DisplayName("Should drop new index and keep alias when filling fails")
+    void shouldDropNewIndexAndKeepAliasWhenFillingFails() {
+        // When & Then
+        assertThatThrownBy(
+                        () ->
+                                manager.rebuild(
+                                        BrandDocument.class,
+                                        index -> {
+                                            throw new IllegalStateException("bulk failed");
+                                        },
+                                        (index, since) -> new FillResult(0, 0, 0),
+                                        ids -> ids))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(newIndexOps).delete();
+        verify(newIndexOps, never()).alias(any());
+        verify(oldIndexOps, never()).delete();
+    }
+
+    @Test
+    @DisplayName("Should drop new index and keep alias when documents failed or are missing")
+    void shouldDropNewIndexAndKeepAliasWhenFillIsIncomplete() {
+        for (FillResult incomplete : List.of(new FillResult(10, 9, 1), new FillResult(10, 0, 0))) {
+            // When & Then
+            assertThatThrownBy(
+                            () ->
+                                    manager.rebuild(
+                                            BrandDocument.class,
+                                            index -> incomplete,
+                                            (index, since) -> new FillResult(0, 0, 0),
+                                            ids -> ids))
+                    .isInstanceOf(ApiException.class)
+                    .extracting("errorCode")
+                    .isEqualTo(ApiErrorCode.SEARCH_REINDEX_INCOMPLETE);
+        }
+
+        verify(newIndexOps, times(2)).delete();
+        verify(newIndexOps, never()).alias(any());
+        verify(oldIndexOps, never()).delete();
+    }
+
+    @Test
+    @DisplayName("Should catch up with changed and deleted rows before swapping the alias")
+    void shouldCatchUpWithChangedAndDeletedRowsBeforeSwap() {
+        // Given
+        UUID kept = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        when(aliasOps.getAliasesForIndex(ALIAS + "_*"))
+                .thenReturn(Map.of(OLD_INDEX, Set.of(aliasData())));
+        indexedIds(kept, deleted);
+        Instant beforeRebuild = Instant.now();
+        AtomicReference<Instant> caughtUpSince = new AtomicReference<>();
+
+        // When
+        manager.rebuild(
+                BrandDocument.class,
+                index -> new FillResult(2, 2, 0),
+                (index, since) -> {
+                    caughtUpSince.set(since);
+                    return new FillResult(1, 1, 0);
+                },
+                ids -> ids.stream().filter(kept::equals).toList());
+
+        // Then
+        assertThat(caughtUpSince.get()).isBefore(beforeRebuild);
+        InOrder order = inOrder(elasticsearchOperations, newIndexOps);
+        order.verify(elasticsearchOperations)
+                .delete(eq(deleted.toString()), any(IndexCoordinates.class));
+        order.verify(newIndexOps).alias(any());
+        verify(elasticsearchOperations, never())
+                .delete(eq(kept.toString()), any(IndexCoordinates.class));
+    }
+
+    @Test
+    @DisplayName("Should drop new index and keep alias when the catch-up is incomplete")
+    void shouldDropNewIndexAndKeepAliasWhenCatchUpIsIncomplete() {
+        // When & Then
+        assertThatThrownBy(
+                        () ->
+                                manager.rebuild(
+                                        BrandDocument.class,
+                                        index -> new FillResult(2, 2, 0),
+                                        (index, since) -> new FillResult(1, 0, 1),
+                                        ids -> ids))
+                .isInstanceOf(ApiException.class)
+                .extracting("errorCode")
+                .isEqualTo(ApiErrorCode.SEARCH_REINDEX_INCOMPLETE);
+
+        verify(newIndexOps).delete();
+        verify(newIndexOps, never()).alias(any());
+        verify(oldIndexOps, never()).delete();
+    }
+
+    @Test
+    @DisplayName("Should replace legacy concrete index in the same alias call")
+    void shouldReplaceLegacyConcreteIndexInSameAliasCall() {
+        // Given
+        when(aliasOps.getAliasesForIndex(ALIAS + "_*")).thenReturn(Map.of());
+        when(aliasOps.exists()).thenReturn(true);
+        indexedIds();
+
+        // When
+        manager.rebuild(
+                BrandDocument.class,
+                index -> new FillResult(0, 0, 0),
+                (index, since) -> new FillResult(0, 0, 0),
+                ids -> ids);
+
+        // Then
+        verify(newIndexOps)
+                .alias(
+                        argThat(
+                                actions ->
+                                        actions.getActions().stream()
+                                                .anyMatch(
+                                                        a ->
+                                                                a instanceof AliasAction.RemoveIndex
+                                                                        && a.getParameters()
+                                                                                .getIndices()[0]
+                                                                                .equals(ALIAS))));
+    }
+
+    /** Stubs the scan of the new index for documents whose rows were deleted. */
+    @SuppressWarnings("unchecked")
+    private void indexedIds(UUID... ids) {
+        Iterator<UUID> remaining = List.of(ids).iterator();
+        SearchHitsIterator<BrandDocument> hits = mock(SearchHitsIterator.class);
+        when(hits.hasNext()).thenAnswer(invocation -> remaining.hasNext());
+        if (ids.length > 0) {
+            when(hits.next())
+                    .thenAnswer(
+                            invocation -> {
+                                SearchHit<BrandDocument> hit = mock(SearchHit.class);
+                                when(hit.getId()).thenReturn(remaining.next().toString());
+                                return hit;
+                            });
+        }
+        when(elasticsearchOperations.searchForStream(
+                        any(Query.class), eq(BrandDocument.class), any(IndexCoordinates.class)))
+                .thenReturn(hits);
+    }
+
+    private AliasData aliasData() {
+        return AliasData.of(ALIAS, null, null, null, null, null);
+    }
+}
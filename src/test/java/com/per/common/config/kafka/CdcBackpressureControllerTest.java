@@ -0,0 +1,148 @@
+package com.per.common.config.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("CdcBackpressureController Unit Tests")
+class CdcBackpressureControllerTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock private KafkaListenerEndpointRegistry listenerRegistry;
+    @Mock private MessageListenerContainer cdcContainer;
+    @Mock private MessageListenerContainer emailContainer;
+    @Mock private Clock clock;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CdcBackpressureController controller;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        controller = new CdcBackpressureController(listenerRegistry, meterRegistry, clock);
+        ReflectionTestUtils.setField(controller, "enabled", true);
+        ReflectionTestUtils.setField(controller, "latencyHigh", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(controller, "latencyLow", Duration.ofMillis(500));
+        ReflectionTestUtils.setField(controller, "errorRateHigh", 0.2);
+        ReflectionTestUtils.setField(controller, "errorRateLow", 0.05);
+        ReflectionTestUtils.setField(controller, "minSamples", 10L);
+        ReflectionTestUtils.setField(controller, "basePause", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(controller, "maxPause", Duration.ofMinutes(2));
+
+        when(cdcContainer.getContainerProperties())
+                .thenReturn(new ContainerProperties(KafkaTopicNames.CDC_PRODUCTS_TOPIC));
+        when(emailContainer.getContainerProperties())
+                .thenReturn(new ContainerProperties(KafkaTopicNames.EMAIL_SEND_TOPIC));
+        when(listenerRegistry.getAllListenerContainers())
+                .thenReturn(List.of(cdcContainer, emailContainer));
+        when(clock.instant()).thenReturn(NOW);
+    }
+
+    @Test
+    @DisplayName("Should pause only CDC containers when index latency is above the high mark")
+    void shouldPauseCdcContainersOnHighLatency() {
+        // Given
+        recordIndexed(10, Duration.ofSeconds(3));
+
+        // When
+        controller.evaluate();
+
+        // Then
+        assertThat(controller.isPaused()).isTrue();
+        verify(cdcContainer).pause();
+        verify(emailContainer, never()).pause();
+        assertThat(meterRegistry.counter("cdc.backpressure.pauses", "reason", "latency").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should pause when the error rate is above the high mark")
+    void shouldPauseOnHighErrorRate() {
+        // Given
+        recordIndexed(8, Duration.ofMillis(100));
+        meterRegistry
+                .counter("cdc.retries", "topic", KafkaTopicNames.CDC_PRODUCTS_TOPIC)
+                .increment(4);
+
+        // When
+        controller.evaluate();
+
+        // Then
+        assertThat(controller.isPaused()).isTrue();
+        assertThat(meterRegistry.counter("cdc.backpressure.pauses", "reason", "errors").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not act on a window with too few outcomes")
+    void shouldIgnoreWindowBelowMinSamples() {
+        // Given
+        recordIndexed(3, Duration.ofSeconds(5));
+
+        // When
+        controller.evaluate();
+
+        // Then
+        assertThat(controller.isPaused()).isFalse();
+        verify(cdcContainer, never()).pause();
+    }
+
+    @Test
+    @DisplayName("Should resume after the cooldown and double it when the sink is still slow")
+    void shouldResumeAfterCooldownAndBackOffWhenStillSlow() {
+        // Given
+        recordIndexed(10, Duration.ofSeconds(3));
+        controller.evaluate();
+
+        // When
+        when(clock.instant()).thenReturn(NOW.plusSeconds(5));
+        controller.evaluate();
+        boolean pausedBeforeCooldown = controller.isPaused();
+        when(clock.instant()).thenReturn(NOW.plusSeconds(10));
+        controller.evaluate();
+        boolean pausedAfterCooldown = controller.isPaused();
+        recordIndexed(10, Duration.ofSeconds(3));
+        controller.evaluate();
+
+        // Then
+        assertThat(pausedBeforeCooldown).isTrue();
+        assertThat(pausedAfterCooldown).isFalse();
+        verify(cdcContainer).resume();
+        verify(cdcContainer, times(2)).pause();
+        assertThat(ReflectionTestUtils.getField(controller, "resumeAt"))
+                .isEqualTo(NOW.plusSeconds(30));
+    }
+
+    private void recordIndexed(int count, Duration latency) {
+        for (int i = 0; i < count; i++) {
+            meterRegistry
+                    .timer("cdc.index.latency", "topic", KafkaTopicNames.CDC_PRODUCTS_TOPIC)
+                    .record(latency);
+        }
+    }
+}
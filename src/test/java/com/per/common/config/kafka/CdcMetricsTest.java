@@ -0,0 +1,116 @@
+package com.per.common.config.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.per.common.event.cdc.BrandCdcPayload;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("CdcMetrics Unit Tests")
+class CdcMetricsTest {
+
+    private static final String TOPIC = KafkaTopicNames.CDC_BRANDS_TOPIC;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CdcMetrics cdcMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cdcMetrics = new CdcMetrics(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should record commit-to-consume lag and freshness by source topic and op")
+    void shouldRecordLagAndFreshnessBySourceTopicAndOp() {
+        // Given
+        BrandCdcPayload payload = new BrandCdcPayload();
+        payload.setOp("u");
+        payload.setSourceTsMs(System.currentTimeMillis() - 2_000);
+
+        // When
+        cdcMetrics.consumed(TOPIC + "-retry-0", payload);
+        Timer.Sample sample = cdcMetrics.startIndexing();
+        cdcMetrics.indexed(TOPIC + "-retry-0", sample, List.of(payload));
+
+        // Then
+        Timer lag = meterRegistry.get("cdc.consume.lag").tags("topic", TOPIC, "op", "u").timer();
+        assertThat(lag.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(2_000);
+        assertThat(meterRegistry.get("cdc.freshness").tags("topic", TOPIC).timer().count())
+                .isEqualTo(1);
+        assertThat(
+                        meterRegistry
+                                .get("cdc.index.latency")
+                                .tags("topic", TOPIC, "op", "u")
+                                .timer()
+                                .count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.counter("cdc.retries", "topic", TOPIC).count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should record one index latency sample per write, tagged mixed for mixed ops")
+    void shouldRecordOneIndexLatencySamplePerWrite() {
+        // Given
+        BrandCdcPayload update = new BrandCdcPayload();
+        update.setOp("u");
+        BrandCdcPayload delete = new BrandCdcPayload();
+        delete.setOp("d");
+
+        // When
+        cdcMetrics.indexed(TOPIC, cdcMetrics.startIndexing(), List.of(update, delete));
+
+        // Then
+        assertThat(meterRegistry.find("cdc.index.latency").timers()).hasSize(1);
+        assertThat(
+                        meterRegistry
+                                .get("cdc.index.latency")
+                                .tags("topic", TOPIC, "op", "mixed")
+                                .timer()
+                                .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count batch redeliveries and dead-lettered records by source topic")
+    void shouldCountRetriesAndDeadLetters() {
+        // Given
+        ConsumerRecord<String, String> record =
+                new ConsumerRecord<>(KafkaTopicNames.CDC_PRODUCTS_TOPIC, 0, 0L, "key", "value");
+        RuntimeException failure = new IllegalStateException("index unavailable");
+
+        // When
+        cdcMetrics.failedDelivery(record, failure, 1);
+        cdcMetrics.failedDelivery(record, failure, 2);
+        cdcMetrics.recovered(record, failure);
+
+        // Then
+        assertThat(
+                        meterRegistry
+                                .counter("cdc.retries", "topic", KafkaTopicNames.CDC_PRODUCTS_TOPIC)
+                                .count())
+                .isEqualTo(2);
+        assertThat(
+                        meterRegistry
+                                .counter("cdc.dlt", "topic", KafkaTopicNames.CDC_PRODUCTS_TOPIC)
+                                .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should map retry and DLT topics to their source topic")
+    void shouldMapRetryAndDltTopicsToSourceTopic() {
+        assertThat(CdcMetrics.sourceTopic(TOPIC + "-retry-1")).isEqualTo(TOPIC);
+        assertThat(CdcMetrics.sourceTopic(TOPIC + KafkaTopicNames.CDC_DLT_SUFFIX)).isEqualTo(TOPIC);
+        assertThat(CdcMetrics.sourceTopic(TOPIC)).isEqualTo(TOPIC);
+    }
+}
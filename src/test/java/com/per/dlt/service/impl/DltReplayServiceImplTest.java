@@ -0,0 +1,205 @@
+package com.per.dlt.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.per.common.config.kafka.KafkaTopicNames;
+import com.per.common.exception.ApiErrorCode;
+import com.per.common.exception.ApiException;
+import com.per.dlt.dto.request.DltReplayRequest;
+import com.per.dlt.dto.response.DltReplayJobResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DltReplayService Unit Tests")
+class DltReplayServiceImplTest {
+
+    private static final String DLT_TOPIC =
+            KafkaTopicNames.CDC_PRODUCTS_TOPIC + KafkaTopicNames.CDC_DLT_SUFFIX;
+    private static final TopicPartition PARTITION = new TopicPartition(DLT_TOPIC, 0);
+    private static final long T0 = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+
+    @Mock private ConsumerFactory<byte[], byte[]> consumerFactory;
+    @Mock private KafkaTemplate<byte[], byte[]> kafkaTemplate;
+
+    @Captor private ArgumentCaptor<ProducerRecord<byte[], byte[]>> sent;
+
+    private MockConsumer<byte[], byte[]> consumer;
+    private SimpleMeterRegistry meterRegistry;
+    private DltReplayServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.updatePartitions(
+                DLT_TOPIC, List.of(new PartitionInfo(DLT_TOPIC, 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+
+        meterRegistry = new SimpleMeterRegistry();
+        service =
+                new DltReplayServiceImpl(
+                        consumerFactory,
+                        kafkaTemplate,
+                        new TaskExecutorAdapter(Runnable::run),
+                        meterRegistry,
+                        Clock.systemUTC());
+        ReflectionTestUtils.setField(service, "defaultRatePerSecond", 1000);
+        ReflectionTestUtils.setField(service, "maxRecords", 100);
+        ReflectionTestUtils.setField(service, "sendTimeout", Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Should republish the last record of each key to the source topic")
+    void shouldCoalesceByKeyAndRepublishToSourceTopic() {
+        // Given
+        givenDeadLetters(
+                record(0, "{\"id\":\"a\"}", "a-v1", T0),
+                record(1, "{\"id\":\"b\"}", "b-v1", T0),
+                record(2, "{\"id\":\"a\"}", "a-v2", T0));
+        when(kafkaTemplate.send(ArgumentMatchers.<ProducerRecord<byte[], byte[]>>any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        DltReplayJobResponse started = service.startReplay(request());
+        DltReplayJobResponse job = service.getJob(started.getJobId());
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo("COMPLETED");
+        assertThat(job.getScanned()).isEqualTo(3);
+        assertThat(job.getCoalesced()).isEqualTo(1);
+        assertThat(job.getReplayed()).isEqualTo(2);
+        verify(kafkaTemplate, atLeastOnce()).send(sent.capture());
+        assertThat(sent.getAllValues())
+                .extracting(r -> r.topic(), r -> new String(r.value(), StandardCharsets.UTF_8))
+                .containsExactly(
+                        tuple(KafkaTopicNames.CDC_PRODUCTS_TOPIC, "b-v1"),
+                        tuple(KafkaTopicNames.CDC_PRODUCTS_TOPIC, "a-v2"));
+        assertThat(sent.getValue().headers().lastHeader("kafka_dlt-exception-message")).isNull();
+        assertThat(
+                        meterRegistry
+                                .counter(
+                                        "dlt.replay.records",
+                                        "topic",
+                                        DLT_TOPIC,
+                                        "outcome",
+                                        "replayed")
+                                .count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should only count matching records in a dry run")
+    void shouldFilterByTimeAndEntityInDryRun() {
+        // Given
+        givenDeadLetters(
+                record(0, "{\"id\":\"a\"}", "a-v1", T0),
+                record(1, "{\"id\":\"b\"}", "b-v1", T0 + 1_000),
+                record(2, "{\"id\":\"a\"}", "a-v2", T0 + 60_000));
+        DltReplayRequest request = request();
+        request.setTo(Instant.ofEpochMilli(T0 + 30_000));
+        request.setEntityIds(List.of("a"));
+        request.setDryRun(true);
+
+        // When
+        DltReplayJobResponse job = service.getJob(service.startReplay(request).getJobId());
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo("COMPLETED");
+        assertThat(job.getScanned()).isEqualTo(3);
+        assertThat(job.getMatched()).isEqualTo(1);
+        assertThat(job.getReplayed()).isZero();
+        verify(kafkaTemplate, never()).send(ArgumentMatchers.<ProducerRecord<byte[], byte[]>>any());
+    }
+
+    @Test
+    @DisplayName("Should reject a topic that is not a known dead letter topic")
+    void shouldRejectUnknownTopic() {
+        // Given
+        DltReplayRequest request = request();
+        request.setTopic(KafkaTopicNames.CDC_PRODUCTS_TOPIC);
+
+        // When & Then
+        assertThatThrownBy(() -> service.startReplay(request))
+                .isInstanceOf(ApiException.class)
+                .extracting("errorCode")
+                .isEqualTo(ApiErrorCode.DLT_TOPIC_NOT_SUPPORTED);
+    }
+
+    @SafeVarargs
+    private void givenDeadLetters(ConsumerRecord<byte[], byte[]>... records) {
+        consumer.updateEndOffsets(Map.of(PARTITION, (long) records.length));
+        consumer.schedulePollTask(
+                () -> {
+                    for (ConsumerRecord<byte[], byte[]> record : records) {
+                        consumer.addRecord(record);
+                    }
+                });
+        when(consumerFactory.createConsumer(any(), any(), any())).thenReturn(consumer);
+    }
+
+    private static ConsumerRecord<byte[], byte[]> record(
+            long offset, String key, String value, long timestamp) {
+        ConsumerRecord<byte[], byte[]> record =
+                new ConsumerRecord<>(
+                        DLT_TOPIC,
+                        0,
+                        offset,
+                        timestamp,
+                        TimestampType.CREATE_TIME,
+                        0,
+                        0,
+                        key.getBytes(StandardCharsets.UTF_8),
+                        value.getBytes(StandardCharsets.UTF_8),
+                        new RecordHeaders(),
+                        Optional.empty());
+        record.headers()
+                .add(
+                        "kafka_dlt-exception-message",
+                        "index unavailable".getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    private static DltReplayRequest request() {
+        DltReplayRequest request = new DltReplayRequest();
+        request.setTopic(DLT_TOPIC);
+        return request;
+    }
+}
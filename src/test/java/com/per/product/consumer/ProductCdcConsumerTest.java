@@ -0,0 +1,170 @@
+package com.per.product.consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.per.common.config.kafka.CdcMetrics;
+import com.per.common.config.kafka.KafkaTopicNames;
+import com.per.common.event.cdc.ProductCdcPayload;
+import com.per.common.event.cdc.ProductVariantCdcPayload;
+import com.per.product.service.ProductCdcIndexService;
+import com.per.product.service.ProductIndexLookupCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductCdcConsumer Unit Tests")
+class ProductCdcConsumerTest {
+
+    private static final UUID PRODUCT_A = UUID.randomUUID();
+    private static final UUID PRODUCT_B = UUID.randomUUID();
+
+    @Mock private ProductCdcIndexService productCdcIndexService;
+    @Mock private ProductIndexLookupCache productIndexLookupCache;
+
+    @Captor private ArgumentCaptor<Collection<ProductCdcPayload>> changes;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductCdcConsumer productCdcConsumer;
+    private ProductVariantCdcConsumer productVariantCdcConsumer;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        meterRegistry = new SimpleMeterRegistry();
+        CdcMetrics cdcMetrics = new CdcMetrics(meterRegistry);
+        productCdcConsumer =
+                new ProductCdcConsumer(productCdcIndexService, objectMapper, cdcMetrics);
+        productVariantCdcConsumer =
+                new ProductVariantCdcConsumer(
+                        productCdcIndexService, productIndexLookupCache, objectMapper, cdcMetrics);
+    }
+
+    @Test
+    @DisplayName("Should write each product once per batch with its latest change")
+    void shouldCoalesceRecordsByProductWithLatestChangeWinning() {
+        // Given
+        List<ConsumerRecord<String, String>> records =
+                List.of(
+                        productRecord(0, PRODUCT_A, "u", false),
+                        productRecord(1, PRODUCT_B, "u", false),
+                        productRecord(2, PRODUCT_A, "u", false),
+                        productRecord(3, PRODUCT_B, "d", true));
+        when(productCdcIndexService.syncProductChanges(anyCollection())).thenReturn(Set.of());
+
+        // When
+        productCdcConsumer.consume(records);
+
+        // Then
+        verify(productCdcIndexService).syncProductChanges(changes.capture());
+        assertThat(changes.getValue())
+                .extracting(ProductCdcPayload::getId, ProductCdcPayload::isDeleted)
+                .containsExactly(
+                        tuple(PRODUCT_A.toString(), false), tuple(PRODUCT_B.toString(), true));
+    }
+
+    @Test
+    @DisplayName("Should update parent price range once for many variant changes")
+    void shouldUpdateParentPriceRangeOnceForManyVariantChanges() {
+        // Given
+        List<ConsumerRecord<String, String>> records =
+                List.of(
+                        variantRecord(0, PRODUCT_A, "u"),
+                        variantRecord(1, PRODUCT_A, "u"),
+                        variantRecord(2, PRODUCT_A, "d"));
+        when(productCdcIndexService.syncVariantPrices(anyCollection())).thenReturn(Set.of());
+
+        // When
+        productVariantCdcConsumer.consume(records);
+
+        // Then
+        verify(productIndexLookupCache, times(3))
+                .applyVariant(eq(PRODUCT_A), any(ProductVariantCdcPayload.class));
+        verify(productCdcIndexService).syncVariantPrices(Set.of(PRODUCT_A));
+    }
+
+    @Test
+    @DisplayName("Should report the first record of a product whose write was rejected")
+    void shouldReportFirstRecordOfRejectedProduct() {
+        // Given
+        List<ConsumerRecord<String, String>> records =
+                List.of(
+                        productRecord(0, PRODUCT_A, "u", false),
+                        productRecord(1, PRODUCT_B, "u", false),
+                        productRecord(2, PRODUCT_B, "u", false));
+        when(productCdcIndexService.syncProductChanges(anyCollection()))
+                .thenReturn(Set.of(PRODUCT_B));
+
+        // When & Then
+        assertThatThrownBy(() -> productCdcConsumer.consume(records))
+                .isInstanceOf(BatchListenerFailedException.class)
+                .satisfies(
+                        e ->
+                                assertThat(((BatchListenerFailedException) e).getRecord())
+                                        .isSameAs(records.get(1)));
+    }
+
+    @Test
+    @DisplayName("Should apply readable records and report an unreadable one")
+    void shouldApplyReadableRecordsAndReportUnreadableOne() {
+        // Given
+        List<ConsumerRecord<String, String>> records =
+                List.of(
+                        productRecord(0, PRODUCT_A, "u", false),
+                        new ConsumerRecord<>(KafkaTopicNames.CDC_PRODUCTS_TOPIC, 0, 1, "k", "{"));
+        when(productCdcIndexService.syncProductChanges(anyCollection())).thenReturn(Set.of());
+
+        // When & Then
+        assertThatThrownBy(() -> productCdcConsumer.consume(records))
+                .isInstanceOf(BatchListenerFailedException.class)
+                .satisfies(
+                        e ->
+                                assertThat(((BatchListenerFailedException) e).getRecord())
+                                        .isSameAs(records.get(1)));
+        verify(productCdcIndexService).syncProductChanges(changes.capture());
+        assertThat(changes.getValue())
+                .extracting(ProductCdcPayload::getId)
+                .containsExactly(PRODUCT_A.toString());
+    }
+
+    private ConsumerRecord<String, String> productRecord(
+            long offset, UUID productId, String op, boolean deleted) {
+        String value =
+                "{\"id\":\"%s\",\"__op\":\"%s\",\"__deleted\":%s}"
+                        .formatted(productId, op, deleted);
+        return new ConsumerRecord<>(
+                KafkaTopicNames.CDC_PRODUCTS_TOPIC, 0, offset, productId.toString(), value);
+    }
+
+    private ConsumerRecord<String, String> variantRecord(long offset, UUID productId, String op) {
+        String value =
+                "{\"id\":\"%s\",\"product_id\":\"%s\",\"__op\":\"%s\"}"
+                        .formatted(UUID.randomUUID(), productId, op);
+        return new ConsumerRecord<>(
+                KafkaTopicNames.CDC_PRODUCT_VARIANTS_TOPIC, 0, offset, "k", value);
+    }
+}
@@ -0,0 +1,260 @@
+package com.per.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.per.common.config.kafka.KafkaTopicNames;
+import com.per.common.event.ProductCascadeEvent;
+import com.per.product.repository.ProductRepository;
+import com.per.product.service.ProductCascadeReindexScheduler.Parent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductCascadeReindexScheduler Unit Tests")
+class ProductCascadeReindexSchedulerTest {
+
+    private static final UUID BRAND_ID = UUID.randomUUID();
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+    private static final ProductCascadeEvent BRAND_CHANGED =
+            new ProductCascadeEvent(Parent.BRAND, BRAND_ID.toString());
+    private static final String DEAD_LETTER_TOPIC =
+            KafkaTopicNames.PRODUCT_CASCADE_TOPIC + KafkaTopicNames.CDC_DLT_SUFFIX;
+
+    @Mock private TaskScheduler taskScheduler;
+    @Mock private ProductRepository productRepository;
+    @Mock private ProductCdcIndexService productCdcIndexService;
+    @Mock private KafkaTemplate<String, Object> kafkaTemplate;
+    @Mock private Acknowledgment first;
+    @Mock private Acknowledgment second;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductCascadeReindexScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler =
+                new ProductCascadeReindexScheduler(
+                        taskScheduler,
+                        productRepository,
+                        productCdcIndexService,
+                        kafkaTemplate,
+                        meterRegistry);
+        ReflectionTestUtils.setField(scheduler, "debounceWindow", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(scheduler, "chunkSize", 2);
+        ReflectionTestUtils.setField(scheduler, "maxAttempts", 3);
+    }
+
+    @Test
+    @DisplayName("Should publish a request and return once the broker has it")
+    void shouldPublishRequestKeyedByParentId() {
+        // Given
+        when(kafkaTemplate.send(
+                        KafkaTopicNames.PRODUCT_CASCADE_TOPIC, BRAND_ID.toString(), BRAND_CHANGED))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        scheduler.request(Parent.BRAND, BRAND_ID);
+
+        // Then
+        verify(kafkaTemplate)
+                .send(KafkaTopicNames.PRODUCT_CASCADE_TOPIC, BRAND_ID.toString(), BRAND_CHANGED);
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should schedule one run for repeated changes of the same parent")
+    void shouldDebounceRepeatedChangesOfSameParent() {
+        // When
+        scheduler.schedule(BRAND_CHANGED, first);
+        scheduler.schedule(BRAND_CHANGED, second);
+        scheduler.schedule(BRAND_CHANGED, second);
+
+        // Then
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        assertThat(meterRegistry.counter("cdc.cascade.debounced", "parent", "brand").count())
+                .isEqualTo(2);
+        verify(productCdcIndexService, never()).syncProducts(anyCollection(), anyCollection());
+        verify(first, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Should re-index affected products chunk by chunk when the run fires")
+    void shouldReindexAffectedProductsInChunks() {
+        // Given
+        UUID p1 = new UUID(0L, 1L);
+        UUID p2 = new UUID(0L, 2L);
+        UUID p3 = new UUID(0L, 3L);
+        PageRequest limit = PageRequest.of(0, 2);
+        when(productRepository.findIdsByBrandIdAfter(BRAND_ID, FIRST_ID, limit))
+                .thenReturn(List.of(p1, p2));
+        when(productRepository.findIdsByBrandIdAfter(BRAND_ID, p2, limit)).thenReturn(List.of(p3));
+        when(productCdcIndexService.syncProducts(anyCollection(), anyCollection()))
+                .thenReturn(Set.of());
+
+        scheduler.schedule(BRAND_CHANGED, first);
+        scheduler.schedule(BRAND_CHANGED, second);
+
+        // When
+        capturedRun().run();
+
+        // Then
+        verify(productCdcIndexService).syncProducts(List.of(p1, p2), List.of());
+        verify(productCdcIndexService).syncProducts(List.of(p3), List.of());
+        verify(first).acknowledge();
+        verify(second).acknowledge();
+        verify(kafkaTemplate, never()).send(eq(DEAD_LETTER_TOPIC), any(), any());
+        assertThat(
+                        meterRegistry
+                                .counter(
+                                        "cdc.cascade.products",
+                                        "parent",
+                                        "brand",
+                                        "outcome",
+                                        "indexed")
+                                .count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should schedule a new run for a change that arrives after the run started")
+    void shouldScheduleNewRunForChangeAfterRunStarted() {
+        // Given
+        when(productRepository.findIdsByBrandIdAfter(BRAND_ID, FIRST_ID, PageRequest.of(0, 2)))
+                .thenReturn(List.of());
+        scheduler.schedule(BRAND_CHANGED, first);
+        capturedRun().run();
+
+        // When
+        scheduler.schedule(BRAND_CHANGED, second);
+
+        // Then
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should retry a failed run from the chunk that failed")
+    void shouldRetryFailedRunFromFailedChunk() {
+        // Given
+        UUID p1 = new UUID(0L, 1L);
+        UUID p2 = new UUID(0L, 2L);
+        PageRequest limit = PageRequest.of(0, 2);
+        when(productRepository.findIdsByBrandIdAfter(BRAND_ID, FIRST_ID, limit))
+                .thenReturn(List.of(p1, p2));
+        when(productRepository.findIdsByBrandIdAfter(BRAND_ID, p2, limit))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(List.of());
+        when(productCdcIndexService.syncProducts(anyCollection(), anyCollection()))
+                .thenReturn(Set.of());
+
+        // When
+        scheduler.schedule(BRAND_CHANGED, first);
+        capturedRun().run();
+        verify(first, never()).acknowledge();
+        capturedRun().run();
+
+        // Then
+        verify(productCdcIndexService).syncProducts(List.of(p1, p2), List.of());
+        verify(productRepository, times(2)).findIdsByBrandIdAfter(BRAND_ID, p2, limit);
+        verify(first).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Should dead-letter and acknowledge a run that exhausted its attempts")
+    void shouldDeadLetterExhaustedRun() {
+        // Given
+        when(productRepository.findIdsByBrandIdAfter(BRAND_ID, FIRST_ID, PageRequest.of(0, 2)))
+                .thenThrow(new IllegalStateException("database unavailable"));
+        when(kafkaTemplate.send(DEAD_LETTER_TOPIC, BRAND_ID.toString(), BRAND_CHANGED))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        scheduler.schedule(BRAND_CHANGED, first);
+
+        // When
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            capturedRun().run();
+        }
+
+        // Then
+        verify(taskScheduler, times(3)).schedule(any(Runnable.class), any(Instant.class));
+        verify(kafkaTemplate).send(DEAD_LETTER_TOPIC, BRAND_ID.toString(), BRAND_CHANGED);
+        verify(first).acknowledge();
+        assertThat(meterRegistry.counter("cdc.cascade.dlt", "parent", "brand").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should dead-letter a run whose products were partly rejected")
+    void shouldDeadLetterRunWithRejectedProducts() {
+        // Given
+        UUID p1 = new UUID(0L, 1L);
+        when(productRepository.findIdsByBrandIdAfter(BRAND_ID, FIRST_ID, PageRequest.of(0, 2)))
+                .thenReturn(List.of(p1));
+        when(productCdcIndexService.syncProducts(anyCollection(), anyCollection()))
+                .thenReturn(Set.of(p1));
+        when(kafkaTemplate.send(DEAD_LETTER_TOPIC, BRAND_ID.toString(), BRAND_CHANGED))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        scheduler.schedule(BRAND_CHANGED, first);
+
+        // When
+        capturedRun().run();
+
+        // Then
+        verify(kafkaTemplate).send(DEAD_LETTER_TOPIC, BRAND_ID.toString(), BRAND_CHANGED);
+        verify(first).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Should leave the request unacknowledged when dead-lettering fails")
+    void shouldNotAcknowledgeWhenDeadLetteringFails() {
+        // Given
+        UUID p1 = new UUID(0L, 1L);
+        when(productRepository.findIdsByBrandIdAfter(BRAND_ID, FIRST_ID, PageRequest.of(0, 2)))
+                .thenReturn(List.of(p1));
+        when(productCdcIndexService.syncProducts(anyCollection(), anyCollection()))
+                .thenReturn(Set.of(p1));
+        when(kafkaTemplate.send(DEAD_LETTER_TOPIC, BRAND_ID.toString(), BRAND_CHANGED))
+                .thenReturn(
+                        CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        scheduler.schedule(BRAND_CHANGED, first);
+
+        // When
+        capturedRun().run();
+
+        // Then
+        verify(first, never()).acknowledge();
+    }
+
+    private Runnable capturedRun() {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, atLeastOnce()).schedule(task.capture(), any(Instant.class));
+        return task.getValue();
+    }
+}
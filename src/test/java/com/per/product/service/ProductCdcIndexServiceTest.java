@@ -0,0 +1,286 @@
+package com.per.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.BulkFailureException.FailureDetails;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.per.brand.entity.Brand;
+import com.per.category.entity.Category;
+import com.per.common.event.cdc.CdcPayload;
+import com.per.common.event.cdc.ProductCdcPayload;
+import com.per.product.document.ProductDocument;
+import com.per.product.entity.Product;
+import com.per.product.entity.ProductVariant;
+import com.per.product.mapper.ProductDocumentMapper;
+import com.per.product.repository.ProductRepository;
+import com.per.product.repository.ProductVariantRepository;
+import com.per.rag.service.QdrantCdcService;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.VersionType;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.DeleteOperation;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductCdcIndexService Unit Tests")
+class ProductCdcIndexServiceTest {
+
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+    private static final UUID BRAND_ID = UUID.randomUUID();
+    private static final UUID CATEGORY_ID = UUID.randomUUID();
+    private static final long LSN = 24_023_128L;
+    private static final long DB_LSN = 24_100_000L;
+
+    @Mock private ProductRepository productRepository;
+    @Mock private ProductVariantRepository variantRepository;
+    @Mock private QdrantCdcService qdrantCdcService;
+    @Mock private ElasticsearchOperations elasticsearchOperations;
+    @Mock private ElasticsearchClient elasticsearchClient;
+    @Mock private ProductIndexLookupCache lookupCache;
+
+    @Captor private ArgumentCaptor<List<IndexQuery>> indexQueries;
+    @Captor private ArgumentCaptor<List<UpdateQuery>> updateQueries;
+    @Captor private ArgumentCaptor<BulkRequest> bulkRequest;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductCdcIndexService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service =
+                new ProductCdcIndexService(
+                        productRepository,
+                        variantRepository,
+                        new ProductDocumentMapper(),
+                        qdrantCdcService,
+                        elasticsearchOperations,
+                        elasticsearchClient,
+                        lookupCache,
+                        meterRegistry);
+        ReflectionTestUtils.setField(service, "indexFromPayload", true);
+    }
+
+    @Test
+    @DisplayName("Should index a product from its change event with prices read from the database")
+    void shouldIndexProductFromPayload() {
+        // Given
+        when(lookupCache.brandName(BRAND_ID)).thenReturn("Dior");
+        when(lookupCache.categoryName(CATEGORY_ID)).thenReturn("Eau de Parfum");
+        when(variantRepository.findByProductIdIn(List.of(PRODUCT_ID)))
+                .thenReturn(List.of(variant("120.00"), variant("80.00")));
+
+        // When
+        Set<UUID> failed = service.syncProductChanges(List.of(payload("Sauvage")));
+
+        // Then
+        assertThat(failed).isEmpty();
+        verify(elasticsearchOperations)
+                .bulkIndex(indexQueries.capture(), eq(ProductDocument.class));
+        IndexQuery indexQuery = indexQueries.getValue().get(0);
+        assertThat(indexQuery.getVersion()).isEqualTo(LSN);
+        ProductDocument document = (ProductDocument) indexQuery.getObject();
+        assertThat(document.getName()).isEqualTo("Sauvage");
+        assertThat(document.getBrandName()).isEqualTo("Dior");
+        assertThat(document.getCategoryName()).isEqualTo("Eau de Parfum");
+        assertThat(document.getMinPrice()).isEqualTo(80.0);
+        assertThat(document.getMaxPrice()).isEqualTo(120.0);
+        verify(productRepository, never()).findAllByIdInWithRelations(anyCollection());
+        verify(lookupCache, never()).variantPrices(any());
+        verify(qdrantCdcService).syncProducts(Set.of(PRODUCT_ID), Set.of());
+    }
+
+    @Test
+    @DisplayName("Should skip a stale event without reporting it as failed")
+    void shouldSkipStaleEventOnVersionConflict() {
+        // Given
+        when(lookupCache.brandName(BRAND_ID)).thenReturn("Dior");
+        when(lookupCache.categoryName(CATEGORY_ID)).thenReturn("Eau de Parfum");
+        doThrow(
+                        new BulkFailureException(
+                                "version conflict",
+                                Map.of(
+                                        PRODUCT_ID.toString(),
+                                        new FailureDetails(
+                                                409, "version_conflict_engine_exception"))))
+                .when(elasticsearchOperations)
+                .bulkIndex(anyList(), eq(ProductDocument.class));
+
+        // When
+        Set<UUID> failed = service.syncProductChanges(List.of(payload("Sauvage")));
+
+        // Then
+        assertThat(failed).isEmpty();
+        assertThat(meterRegistry.counter("cdc.index.stale").count()).isEqualTo(1);
+        verify(qdrantCdcService).syncProducts(Set.of(), Set.of());
+    }
+
+    @Test
+    @DisplayName("Should load the product from the database when a TOASTed column is missing")
+    void shouldFallBackToDatabaseForUnavailableColumn() {
+        // Given
+        ProductCdcPayload payload = payload("Sauvage");
+        payload.setDescription(CdcPayload.UNAVAILABLE_VALUE);
+        when(productRepository.findAllByIdInWithRelations(List.of(PRODUCT_ID)))
+                .thenReturn(List.of());
+
+        // When
+        service.syncProductChanges(List.of(payload));
+
+        // Then
+        verify(productRepository).findAllByIdInWithRelations(List.of(PRODUCT_ID));
+        verify(lookupCache, never()).brandName(any());
+    }
+
+    @Test
+    @DisplayName(
+            "Should version products loaded from the database with the WAL position read first")
+    void shouldVersionDatabaseWritesWithWalPosition() {
+        // Given
+        when(productRepository.currentWalLsn()).thenReturn(DB_LSN);
+        when(productRepository.findAllByIdInWithRelations(List.of(PRODUCT_ID)))
+                .thenReturn(List.of(product()));
+
+        // When
+        Set<UUID> failed = service.syncProducts(List.of(PRODUCT_ID), List.of());
+
+        // Then
+        assertThat(failed).isEmpty();
+        InOrder order = inOrder(productRepository);
+        order.verify(productRepository).currentWalLsn();
+        order.verify(productRepository).findAllByIdInWithRelations(List.of(PRODUCT_ID));
+        verify(elasticsearchOperations)
+                .bulkIndex(indexQueries.capture(), eq(ProductDocument.class));
+        assertThat(indexQueries.getValue().get(0).getVersion()).isEqualTo(DB_LSN);
+        verify(qdrantCdcService).syncProducts(Set.of(PRODUCT_ID), List.of());
+    }
+
+    @Test
+    @DisplayName("Should delete with the event's WAL position and skip a stale delete")
+    void shouldVersionDeletesAndSkipStaleOnes() throws Exception {
+        // Given
+        ProductCdcPayload payload = payload("Sauvage");
+        payload.setOp("d");
+        payload.setDeleted(true);
+        when(elasticsearchOperations.getIndexCoordinatesFor(ProductDocument.class))
+                .thenReturn(IndexCoordinates.of("products"));
+        BulkResponseItem conflict =
+                BulkResponseItem.of(
+                        item ->
+                                item.operationType(OperationType.Delete)
+                                        .index("products")
+                                        .id(PRODUCT_ID.toString())
+                                        .status(409)
+                                        .error(e -> e.type("version_conflict_engine_exception")));
+        when(elasticsearchClient.bulk(any(BulkRequest.class)))
+                .thenReturn(BulkResponse.of(r -> r.errors(true).took(1).items(conflict)));
+
+        // When
+        Set<UUID> failed = service.syncProductChanges(List.of(payload));
+
+        // Then
+        assertThat(failed).isEmpty();
+        verify(elasticsearchClient).bulk(bulkRequest.capture());
+        DeleteOperation delete = bulkRequest.getValue().operations().get(0).delete();
+        assertThat(delete.id()).isEqualTo(PRODUCT_ID.toString());
+        assertThat(delete.version()).isEqualTo(LSN);
+        assertThat(delete.versionType()).isEqualTo(VersionType.External);
+        assertThat(meterRegistry.counter("cdc.index.stale").count()).isEqualTo(1);
+        verify(lookupCache).evictProduct(PRODUCT_ID);
+        verify(qdrantCdcService).syncProducts(Set.of(), Set.of(PRODUCT_ID));
+    }
+
+    @Test
+    @DisplayName("Should index in full a product whose price update found no document")
+    void shouldIndexInFullWhenPriceUpdateIsRejected() {
+        // Given
+        when(lookupCache.variantPrices(PRODUCT_ID))
+                .thenReturn(Map.of(UUID.randomUUID(), new BigDecimal("50.00")));
+        doThrow(
+                        new BulkFailureException(
+                                "document missing",
+                                Map.of(
+                                        PRODUCT_ID.toString(),
+                                        new FailureDetails(404, "document_missing_exception"))))
+                .when(elasticsearchOperations)
+                .bulkUpdate(anyList(), eq(ProductDocument.class));
+        when(productRepository.findAllByIdInWithRelations(List.of(PRODUCT_ID)))
+                .thenReturn(List.of());
+
+        // When
+        service.syncVariantPrices(List.of(PRODUCT_ID));
+
+        // Then
+        verify(elasticsearchOperations)
+                .bulkUpdate(updateQueries.capture(), eq(ProductDocument.class));
+        assertThat(updateQueries.getValue().get(0).getDocument())
+                .containsEntry("minPrice", 50.0)
+                .containsEntry("maxPrice", 50.0);
+        verify(productRepository).findAllByIdInWithRelations(List.of(PRODUCT_ID));
+        verify(qdrantCdcService).syncProducts(Set.of(), List.of());
+    }
+
+    private static Product product() {
+        return Product.builder()
+                .id(PRODUCT_ID)
+                .name("Sauvage")
+                .brand(Brand.builder().id(BRAND_ID).name("Dior").build())
+                .category(Category.builder().id(CATEGORY_ID).name("Eau de Parfum").build())
+                .active(true)
+                .build();
+    }
+
+    private static ProductVariant variant(String price) {
+        return ProductVariant.builder()
+                .id(UUID.randomUUID())
+                .product(Product.builder().id(PRODUCT_ID).build())
+                .price(new BigDecimal(price))
+                .build();
+    }
+
+    private ProductCdcPayload payload(String name) {
+        ProductCdcPayload payload = new ProductCdcPayload();
+        payload.setId(PRODUCT_ID.toString());
+        payload.setName(name);
+        payload.setBrandId(BRAND_ID.toString());
+        payload.setCategoryId(CATEGORY_ID.toString());
+        payload.setIsActive(true);
+        payload.setOp("u");
+        payload.setSourceLsn(LSN);
+        return payload;
+    }
+}
@@ -0,0 +1,294 @@
+package com.per.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.data.elasticsearch.core.AggregationsContainer;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.per.product.document.ProductDocument;
+import com.per.product.dto.ProductIndexState;
+import com.per.product.repository.ProductRepository;
+import com.per.rag.dto.ProductVectorVersion;
+import com.per.rag.service.VectorStoreService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductIndexReconciler Unit Tests")
+class ProductIndexReconcilerTest {
+
+    private static final Instant UPDATED_AT = Instant.parse("2026-01-01T00:00:00.123456Z");
+
+    private static final UUID IN_SYNC = UUID.fromString("1a000000-0000-0000-0000-000000000001");
+    private static final UUID STALE = UUID.fromString("2b000000-0000-0000-0000-000000000002");
+    private static final UUID MISSING = UUID.fromString("3c000000-0000-0000-0000-000000000003");
+    private static final UUID ORPHAN = UUID.fromString("4d000000-0000-0000-0000-000000000004");
+    private static final UUID INACTIVE = UUID.fromString("5e000000-0000-0000-0000-000000000005");
+
+    @Mock private ProductRepository productRepository;
+    @Mock private ProductCdcIndexService productCdcIndexService;
+    @Mock private VectorStoreService vectorStoreService;
+    @Mock private ElasticsearchOperations elasticsearchOperations;
+    @Mock private StringRedisTemplate redisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductIndexReconciler reconciler;
+    private List<ProductIndexState> rows;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reconciler =
+                new ProductIndexReconciler(
+                        productRepository,
+                        productCdcIndexService,
+                        vectorStoreService,
+                        elasticsearchOperations,
+                        redisTemplate,
+                        new TaskExecutorAdapter(Runnable::run),
+                        meterRegistry);
+        ReflectionTestUtils.setField(reconciler, "reconcileVectors", true);
+        ReflectionTestUtils.setField(reconciler, "rangePrefixLength", 2);
+        ReflectionTestUtils.setField(reconciler, "chunkSize", 100);
+        ReflectionTestUtils.setField(reconciler, "concurrency", 2);
+        ReflectionTestUtils.setField(reconciler, "lockTtl", Duration.ofMinutes(30));
+
+        rows =
+                List.of(
+                        state(IN_SYNC, true),
+                        state(STALE, true),
+                        state(MISSING, true),
+                        state(INACTIVE, false));
+    }
+
+    @Test
+    @DisplayName("Should reindex missing and stale documents and delete orphans in drifted ranges")
+    void shouldRepairOnlyMismatchedSearchRanges() {
+        // Given
+        givenSearchIndex(
+                document(IN_SYNC, UPDATED_AT, true),
+                document(STALE, UPDATED_AT.minusSeconds(60), true),
+                document(ORPHAN, UPDATED_AT, true),
+                document(INACTIVE, UPDATED_AT, false));
+        givenVectors(vector(IN_SYNC), vector(STALE), vector(MISSING));
+        givenProductRows();
+        when(productCdcIndexService.syncProducts(anyCollection(), anyCollection()))
+                .thenReturn(Set.of());
+
+        // When
+        reconciler.reconcile();
+
+        // Then
+        verify(productRepository, never())
+                .findIndexStatesBetween(eq(rangeStart("1a")), any(UUID.class));
+        verify(productCdcIndexService).syncProducts(List.of(STALE), List.of());
+        verify(productCdcIndexService).syncProducts(List.of(MISSING), List.of());
+        verify(productCdcIndexService).syncProducts(List.of(), List.of(ORPHAN));
+        verify(vectorStoreService, never()).indexProduct(any());
+        assertThat(counter("reconcile.ranges.mismatched", "store", "elasticsearch")).isEqualTo(3);
+        assertThat(counter("reconcile.ranges.mismatched", "store", "qdrant")).isZero();
+        assertThat(drift("elasticsearch", "stale")).isEqualTo(1);
+        assertThat(drift("elasticsearch", "missing")).isEqualTo(1);
+        assertThat(drift("elasticsearch", "orphaned")).isEqualTo(1);
+        assertThat(counter("reconcile.repairs", "store", "elasticsearch", "outcome", "repaired"))
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should re-embed missing vectors and delete vectors of inactive products")
+    void shouldRepairVectorsOfActiveProductsOnly() {
+        // Given
+        givenSearchIndex(
+                document(IN_SYNC, UPDATED_AT, true),
+                document(STALE, UPDATED_AT, true),
+                document(MISSING, UPDATED_AT, true),
+                document(INACTIVE, UPDATED_AT, false));
+        givenVectors(vector(IN_SYNC), vector(STALE), vector(INACTIVE));
+        givenProductRows();
+
+        // When
+        reconciler.reconcile();
+
+        // Then
+        verify(vectorStoreService).indexProduct(MISSING);
+        verify(vectorStoreService).deleteByMetadata("productId", INACTIVE.toString());
+        verify(productCdcIndexService, never()).syncProducts(anyCollection(), anyCollection());
+        assertThat(drift("qdrant", "missing")).isEqualTo(1);
+        assertThat(drift("qdrant", "orphaned")).isEqualTo(1);
+        assertThat(counter("reconcile.repairs", "store", "qdrant", "outcome", "repaired"))
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should compare timestamps at the millisecond precision of the indexes")
+    void shouldIgnoreSubMillisecondDifferences() {
+        assertThat(
+                        ProductIndexReconciler.fingerprint(
+                                IN_SYNC, UPDATED_AT, true, 1_500_000.0, 2_000_000.0))
+                .isEqualTo(
+                        ProductIndexReconciler.fingerprint(
+                                IN_SYNC,
+                                Instant.ofEpochMilli(UPDATED_AT.toEpochMilli()),
+                                true,
+                                1_500_000.0,
+                                2_000_000.0))
+                .isNotEqualTo(
+                        ProductIndexReconciler.fingerprint(
+                                IN_SYNC, UPDATED_AT, true, 1_500_000.0, 2_100_000.0));
+    }
+
+    private void givenSearchIndex(ProductDocument... documents) {
+        when(elasticsearchOperations.searchForStream(any(Query.class), eq(ProductDocument.class)))
+                .thenAnswer(invocation -> new ListHitsIterator(List.of(documents)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenVectors(ProductVectorVersion... vectors) {
+        doAnswer(
+                        invocation -> {
+                            List.of(vectors)
+                                    .forEach(
+                                            invocation.<Consumer<ProductVectorVersion>>getArgument(
+                                                    0));
+                            return null;
+                        })
+                .when(vectorStoreService)
+                .forEachProductVectorVersion(any(Consumer.class));
+    }
+
+    private void givenProductRows() {
+        when(productRepository.findIndexStatesAfter(any(), any())).thenReturn(rows);
+        when(productRepository.findIndexStatesBetween(any(UUID.class), any(UUID.class)))
+                .thenAnswer(
+                        invocation -> {
+                            String range =
+                                    invocation.<UUID>getArgument(0).toString().substring(0, 2);
+                            List<ProductIndexState> inRange = new ArrayList<>();
+                            rows.stream()
+                                    .filter(row -> row.id().toString().startsWith(range))
+                                    .forEach(inRange::add);
+                            return inRange;
+                        });
+    }
+
+    private double counter(String name, String... tags) {
+        return meterRegistry.counter(name, tags).count();
+    }
+
+    private double drift(String store, String kind) {
+        return counter("reconcile.drift", "store", store, "kind", kind);
+    }
+
+    private static UUID rangeStart(String range) {
+        return UUID.fromString(range + "000000-0000-0000-0000-000000000000");
+    }
+
+    private static ProductIndexState state(UUID id, boolean active) {
+        return new ProductIndexState(
+                id, UPDATED_AT, active, new BigDecimal("1500000.00"), new BigDecimal("2000000.00"));
+    }
+
+    private static ProductDocument document(UUID id, Instant updatedAt, boolean active) {
+        return ProductDocument.builder()
+                .id(id.toString())
+                .updatedAt(Instant.ofEpochMilli(updatedAt.toEpochMilli()))
+                .isActive(active)
+                .minPrice(1_500_000.0)
+                .maxPrice(2_000_000.0)
+                .build();
+    }
+
+    private static ProductVectorVersion vector(UUID id) {
+        return new ProductVectorVersion(id, UPDATED_AT, 1_500_000.0, 2_000_000.0);
+    }
+
+    /** Stream of search hits over a fixed list of documents. */
+    private static final class ListHitsIterator implements SearchHitsIterator<ProductDocument> {
+
+        private final Iterator<ProductDocument> documents;
+
+        ListHitsIterator(List<ProductDocument> documents) {
+            this.documents = documents.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return documents.hasNext();
+        }
+
+        @Override
+        public SearchHit<ProductDocument> next() {
+            ProductDocument document = documents.next();
+            return new SearchHit<>(
+                    "products",
+                    document.getId(),
+                    null,
+                    1.0f,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    document);
+        }
+
+        @Override
+        public void close() {}
+
+        @Override
+        public AggregationsContainer<?> getAggregations() {
+            return null;
+        }
+
+        @Override
+        public float getMaxScore() {
+            return 1.0f;
+        }
+
+        @Override
+        public Duration getExecutionDuration() {
+            return Duration.ZERO;
+        }
+
+        @Override
+        public long getTotalHits() {
+            return 0;
+        }
+
+        @Override
+        public TotalHitsRelation getTotalHitsRelation() {
+            return TotalHitsRelation.EQUAL_TO;
+        }
+    }
+}
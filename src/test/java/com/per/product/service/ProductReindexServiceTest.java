@@ -0,0 +1,237 @@
+package com.per.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.per.brand.entity.Brand;
+import com.per.category.entity.Category;
+import com.per.product.document.ProductDocument;
+import com.per.product.entity.Product;
+import com.per.product.mapper.ProductDocumentMapper;
+import com.per.product.repository.ProductRepository;
+import com.per.product.repository.ProductVariantRepository;
+import com.per.product.service.ProductReindexService.ReindexResult;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.ElasticsearchIndicesClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductReindexService Unit Tests")
+class ProductReindexServiceTest {
+
+    private static final IndexCoordinates INDEX = IndexCoordinates.of("products");
+
+    @Mock private ProductRepository productRepository;
+
+    @Mock private ProductVariantRepository variantRepository;
+
+    @Mock private ProductDocumentMapper documentMapper;
+
+    @Mock private ElasticsearchOperations elasticsearchOperations;
+
+    @Mock private ElasticsearchClient elasticsearchClient;
+
+    @Mock private ElasticsearchIndicesClient indicesClient;
+
+    @Mock private IndexOperations indexOperations;
+
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private ProductReindexService reindexService;
+
+    private Product first;
+    private Product second;
+    private Product third;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reindexService =
+                new ProductReindexService(
+                        productRepository,
+                        variantRepository,
+                        documentMapper,
+                        elasticsearchOperations,
+                        elasticsearchClient,
+                        transactionManager,
+                        new TaskExecutorAdapter(Runnable::run),
+                        meterRegistry);
+        ReflectionTestUtils.setField(reindexService, "chunkSize", 2);
+        ReflectionTestUtils.setField(reindexService, "maxInFlightBulks", 2);
+        ReflectionTestUtils.setField(reindexService, "refreshInterval", "1s");
+
+        first = product();
+        second = product();
+        third = product();
+
+        when(productRepository.count()).thenReturn(3L);
+        when(productRepository.findChunkWithRelations(PageRequest.of(0, 2)))
+                .thenReturn(List.of(first, second));
+        when(productRepository.findChunkAfterWithRelations(second.getId(), PageRequest.of(0, 2)))
+                .thenReturn(List.of(third));
+        when(variantRepository.findByProductIdIn(anyList())).thenReturn(List.of());
+        when(documentMapper.toDocument(any(Product.class), anyList()))
+                .thenAnswer(
+                        invocation ->
+                                ProductDocument.builder()
+                                        .id(invocation.<Product>getArgument(0).getId().toString())
+                                        .build());
+        when(elasticsearchClient.indices()).thenReturn(indicesClient);
+        when(elasticsearchOperations.indexOps(INDEX)).thenReturn(indexOperations);
+    }
+
+    @Test
+    @DisplayName("Should stream products in chunks with one bulk request per chunk")
+    @SuppressWarnings("unchecked")
+    void shouldStreamProductsInChunksWithOneBulkRequestPerChunk() throws Exception {
+        // Given
+        when(productRepository.currentWalLsn()).thenReturn(100L, 200L);
+        ArgumentCaptor<List<IndexQuery>> bulks = ArgumentCaptor.forClass(List.class);
+
+        // When
+        ReindexResult result = reindexService.reindex(INDEX);
+
+        // Then
+        assertThat(result).isEqualTo(new ReindexResult(3, 3, 0));
+        assertThat(result.isComplete()).isTrue();
+        verify(variantRepository, times(2)).findByProductIdIn(anyList());
+        verify(elasticsearchOperations, times(2)).bulkIndex(bulks.capture(), eq(INDEX));
+        assertThat(bulks.getAllValues().get(0))
+                .extracting(IndexQuery::getVersion)
+                .containsExactly(100L, 100L);
+        assertThat(bulks.getAllValues().get(1))
+                .extracting(IndexQuery::getVersion)
+                .containsExactly(200L);
+        verify(indicesClient, times(2)).putSettings(any(Function.class));
+        verify(indexOperations).refresh();
+        assertThat(
+                        meterRegistry
+                                .get("search.reindex.documents")
+                                .tag("outcome", "indexed")
+                                .counter()
+                                .count())
+                .isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should count rejected documents and restore refresh interval")
+    @SuppressWarnings("unchecked")
+    void shouldCountRejectedDocumentsAndRestoreRefreshInterval() throws Exception {
+        // Given
+        when(elasticsearchOperations.bulkIndex(anyList(), eq(INDEX)))
+                .thenThrow(
+                        new BulkFailureException(
+                                "rejected",
+                                Map.of(
+                                        first.getId().toString(),
+                                        new BulkFailureException.FailureDetails(429, "rejected"))))
+                .thenReturn(List.of());
+
+        // When
+        ReindexResult result = reindexService.reindex(INDEX);
+
+        // Then
+        assertThat(result).isEqualTo(new ReindexResult(3, 2, 1));
+        assertThat(result.isComplete()).isFalse();
+        verify(indicesClient, times(2)).putSettings(any(Function.class));
+        verify(indexOperations).refresh();
+        assertThat(
+                        meterRegistry
+                                .get("search.reindex.documents")
+                                .tag("outcome", "failed")
+                                .counter()
+                                .count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should report a chunk whose bulk request failed as a whole")
+    void shouldReportFailedBulkRequest() {
+        // Given
+        when(elasticsearchOperations.bulkIndex(anyList(), eq(INDEX)))
+                .thenThrow(new IllegalStateException("es_rejected_execution_exception"))
+                .thenReturn(List.of());
+
+        // When
+        ReindexResult result = reindexService.reindex(INDEX);
+
+        // Then
+        assertThat(result).isEqualTo(new ReindexResult(3, 1, 2));
+        assertThat(result.isComplete()).isFalse();
+        verify(indexOperations).refresh();
+    }
+
+    @Test
+    @DisplayName("Should catch up changed products with a later version, tolerating conflicts")
+    @SuppressWarnings("unchecked")
+    void shouldCatchUpChangedProductsToleratingConflicts() {
+        // Given
+        Instant since = Instant.now();
+        when(productRepository.currentWalLsn()).thenReturn(100L, 200L, 300L);
+        when(productRepository.findIdsChangedSince(since))
+                .thenReturn(List.of(first.getId(), third.getId()));
+        when(productRepository.findAllByIdInWithRelations(List.of(first.getId(), third.getId())))
+                .thenReturn(List.of(first, third));
+        when(elasticsearchOperations.bulkIndex(anyList(), eq(INDEX)))
+                .thenReturn(List.of())
+                .thenReturn(List.of())
+                .thenThrow(
+                        new BulkFailureException(
+                                "conflict",
+                                Map.of(
+                                        first.getId().toString(),
+                                        new BulkFailureException.FailureDetails(409, "conflict"))));
+        reindexService.reindex(INDEX);
+        ArgumentCaptor<List<IndexQuery>> bulks = ArgumentCaptor.forClass(List.class);
+
+        // When
+        ReindexResult result = reindexService.catchUp(INDEX, since);
+
+        // Then
+        assertThat(result).isEqualTo(new ReindexResult(2, 2, 0));
+        assertThat(result.isComplete()).isTrue();
+        verify(elasticsearchOperations, times(3)).bulkIndex(bulks.capture(), eq(INDEX));
+        assertThat(bulks.getAllValues().get(2))
+                .extracting(IndexQuery::getVersion)
+                .containsExactly(300L, 300L);
+    }
+
+    private Product product() {
+        return Product.builder()
+                .id(UUID.randomUUID())
+                .brand(Brand.builder().id(UUID.randomUUID()).name("Chanel").build())
+                .category(Category.builder().id(UUID.randomUUID()).name("Eau de Parfum").build())
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.per.product.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import com.per.brand.entity.Brand;
+import com.per.brand.repository.BrandRepository;
+import com.per.category.entity.Category;
+import com.per.category.repository.CategoryRepository;
+import com.per.common.config.cache.CacheEvictionHelper;
+import com.per.common.config.cache.CacheNames;
+import com.per.common.config.cache.CacheRefreshLoader;
+import com.per.made_in.entity.MadeIn;
+import com.per.made_in.repository.MadeInRepository;
+import com.per.product.dto.response.ProductDetailResponse;
+import com.per.product.entity.Product;
+import com.per.product.mapper.ProductMapperImpl;
+import com.per.product.mapper.ProductVariantMapperImpl;
+import com.per.product.repository.ProductRepository;
+import com.per.product.repository.ProductVariantRepository;
+
+/**
+ * Background refreshes of the product detail cache run after the request has returned; they must
+ * still go through the service proxy and its read-only transaction.
+ */
+@SpringJUnitConfig(ProductDetailRefreshLoaderTest.Config.class)
+@DisplayName("Product detail refresh loader")
+class ProductDetailRefreshLoaderTest {
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import({ProductServiceImpl.class, ProductMapperImpl.class, ProductVariantMapperImpl.class})
+    static class Config {}
+
+    @MockitoBean private PlatformTransactionManager transactionManager;
+    @MockitoBean private ProductRepository productRepository;
+    @MockitoBean private ProductVariantRepository productVariantRepository;
+    @MockitoBean private BrandRepository brandRepository;
+    @MockitoBean private CategoryRepository categoryRepository;
+    @MockitoBean private MadeInRepository madeInRepository;
+    @MockitoBean private CacheEvictionHelper cacheEvictionHelper;
+
+    @Autowired private ObjectProvider<CacheRefreshLoader> refreshLoaders;
+
+    @Test
+    @DisplayName("Should reload a product detail through the proxy in a read-only transaction")
+    void shouldReloadThroughProxyInReadOnlyTransaction() {
+        // Given
+        UUID productId = UUID.randomUUID();
+        Product product =
+                Product.builder()
+                        .id(productId)
+                        .name("Sauvage")
+                        .brand(Brand.builder().id(UUID.randomUUID()).name("Dior").build())
+                        .category(Category.builder().id(UUID.randomUUID()).name("EDT").build())
+                        .madeIn(MadeIn.builder().id(UUID.randomUUID()).name("France").build())
+                        .build();
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+        when(productVariantRepository.findByProductId(productId)).thenReturn(List.of());
+        CacheRefreshLoader loader =
+                refreshLoaders
+                        .orderedStream()
+                        .filter(l -> CacheNames.PRODUCT.equals(l.cacheName()))
+                        .findFirst()
+                        .orElseThrow();
+
+        // When
+        Object detail = loader.load(productId);
+
+        // Then
+        assertThat(AopUtils.isAopProxy(loader)).isTrue();
+        assertThat(detail).isInstanceOf(ProductDetailResponse.class);
+        assertThat(((ProductDetailResponse) detail).getName()).isEqualTo("Sauvage");
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+}
@@ -0,0 +1,162 @@
+package com.per.product.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.per.brand.entity.Brand;
+import com.per.category.entity.Category;
+import com.per.common.config.cache.CacheEvictionHelper;
+import com.per.common.response.CursorPageResponse;
+import com.per.common.response.PageResponse;
+import com.per.made_in.entity.MadeIn;
+import com.per.product.dto.response.ProductDetailResponse;
+import com.per.product.dto.response.ProductResponse;
+import com.per.product.entity.Product;
+import com.per.product.entity.ProductVariant;
+import com.per.product.mapper.ProductMapperImpl;
+import com.per.product.mapper.ProductVariantMapperImpl;
+
+/**
+ * Guards the product read paths against N+1 loads by counting prepared statements through Hibernate
+ * statistics, and checks the name search of the list page. Runs against in-memory H2 in PostgreSQL
+ * mode.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:product-reads;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+            "spring.datasource.driver-class-name=org.h2.Driver",
+            "spring.flyway.enabled=false",
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            "spring.jpa.properties.hibernate.generate_statistics=true"
+        })
+@Import({ProductServiceImpl.class, ProductMapperImpl.class, ProductVariantMapperImpl.class})
+@DisplayName("Product read path query count")
+class ProductReadQueryCountTest {
+
+    private static final int PRODUCT_COUNT = 5;
+
+    @Autowired private TestEntityManager entityManager;
+
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @Autowired private ProductServiceImpl productService;
+
+    @MockitoBean private CacheEvictionHelper cacheEvictionHelper;
+
+    private Statistics statistics;
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        Brand brand = entityManager.persist(Brand.builder().name("Chanel").build());
+        Category category = entityManager.persist(Category.builder().name("Eau de Parfum").build());
+        MadeIn madeIn =
+                entityManager.persist(
+                        MadeIn.builder().name("France").isoCode("FR").region("Europe").build());
+
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product =
+                    entityManager.persist(
+                            Product.builder()
+                                    .name("Product " + i)
+                                    .brand(brand)
+                                    .category(category)
+                                    .madeIn(madeIn)
+                                    .build());
+            for (int v = 0; v < 3; v++) {
+                entityManager.persist(
+                        ProductVariant.builder()
+                                .product(product)
+                                .variantSku("SKU-" + i + "-" + v)
+                                .volumeMl(BigDecimal.valueOf(50))
+                                .price(BigDecimal.valueOf(100))
+                                .build());
+            }
+            productId = product.getId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should load a product list page with one query")
+    void shouldLoadProductListPageWithOneQuery() {
+        // When
+        PageResponse<ProductResponse> page =
+                productService.getProducts(
+                        null, PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        // Then
+        assertThat(page.getContent()).hasSize(PRODUCT_COUNT);
+        assertThat(page.getContent()).allSatisfy(p -> assertThat(p.getBrandId()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should match LIKE wildcards in a name search literally")
+    void shouldMatchWildcardsInNameSearchLiterally() {
+        // Given
+        PageRequest pageable = PageRequest.of(0, 20);
+
+        // When
+        PageResponse<ProductResponse> spaced = productService.getProducts("t 0", pageable);
+        PageResponse<ProductResponse> underscore = productService.getProducts("t_0", pageable);
+        PageResponse<ProductResponse> percent = productService.getProducts("uct%0", pageable);
+
+        // Then
+        assertThat(spaced.getContent())
+                .extracting(ProductResponse::getName)
+                .containsExactly("Product 0");
+        assertThat(underscore.getContent()).isEmpty();
+        assertThat(percent.getContent()).isEmpty();
+        assertThat(percent.getTotalElements()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should load a product cursor page with one query")
+    void shouldLoadProductCursorPageWithOneQuery() {
+        // When
+        CursorPageResponse<ProductResponse> page = productService.scrollProducts(null, 3);
+
+        // Then
+        assertThat(page.getContent()).hasSize(3);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should load a product detail with at most two queries")
+    void shouldLoadProductDetailWithAtMostTwoQueries() {
+        // When
+        ProductDetailResponse detail = productService.getProduct(productId);
+
+        // Then
+        assertThat(detail.getVariants()).hasSize(3);
+        assertThat(detail.getBrandId()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+}
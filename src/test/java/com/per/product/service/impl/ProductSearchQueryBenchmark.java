@@ -0,0 +1,315 @@
+package com.per.product.service.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+
+import com.per.product.document.ProductDocument;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.JsonData;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+
+/**
+ * Compares the previous wildcard-based product query with the edge-n-gram query of {@link
+ * ProductSearchServiceImpl#fullTextQuery(String)} on a synthetic catalog. Reports server-side
+ * latency ({@code took}) percentiles, precision@10 and the zero-result rate per query shape. Needs
+ * a running Elasticsearch; not part of the test suite, run manually (see docs/elasticsearch).
+ *
+ * <p>Arguments: {@code [elasticsearchUrl] [documentCount]}, defaults {@code http://localhost:9200}
+ * and {@code 50000}.
+ */
+public class ProductSearchQueryBenchmark {
+
+    private static final IndexCoordinates INDEX = IndexCoordinates.of("products_benchmark");
+    private static final int QUERIES_PER_SHAPE = 300;
+    private static final int MEASURED_RUNS = 5;
+
+    private static final String[] BRANDS = {
+        "Chanel",
+        "Dior",
+        "Guerlain",
+        "Hermes",
+        "Creed",
+        "Tom Ford",
+        "Byredo",
+        "Le Labo",
+        "Maison Margiela",
+        "Yves Saint Laurent",
+        "Givenchy",
+        "Armani"
+    };
+    private static final String[] FIRST_WORDS = {
+        "Bleu",
+        "Rose",
+        "Oud",
+        "Santal",
+        "Ambre",
+        "Vetiver",
+        "Iris",
+        "Neroli",
+        "Jasmin",
+        "Tabac",
+        "Cuir",
+        "Musc",
+        "Vanille",
+        "Bergamote",
+        "Patchouli",
+        "Encens",
+        "Fleur",
+        "Bois",
+        "Cedre",
+        "Lavande"
+    };
+    private static final String[] SECOND_WORDS = {
+        "Noir",
+        "Intense",
+        "Absolu",
+        "Sauvage",
+        "Imperial",
+        "Royal",
+        "Mystique",
+        "Nocturne",
+        "Eternel",
+        "Celeste",
+        "Sacre",
+        "Velours",
+        "Lumiere",
+        "Poudre",
+        "Secret"
+    };
+    private static final String[] EDITIONS = {"", "", "", "Extreme", "Privee", "Elixir", "Edition"};
+
+    private final ElasticsearchClient client;
+    private final Map<String, String> namesById = new HashMap<>();
+
+    ProductSearchQueryBenchmark(ElasticsearchClient client) {
+        this.client = client;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String url = args.length > 0 ? args[0] : "http://localhost:9200";
+        int documents = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+
+        try (RestClient restClient = RestClient.builder(HttpHost.create(url)).build()) {
+            ElasticsearchClient client =
+                    new ElasticsearchClient(
+                            new RestClientTransport(restClient, new JacksonJsonpMapper()));
+            ProductSearchQueryBenchmark benchmark = new ProductSearchQueryBenchmark(client);
+            benchmark.load(new ElasticsearchTemplate(client), documents);
+            try {
+                benchmark.run();
+            } finally {
+                client.indices().delete(d -> d.index(INDEX.getIndexName()));
+            }
+        }
+    }
+
+    private void load(ElasticsearchTemplate template, int documents) {
+        IndexOperations indexOps = template.indexOps(INDEX);
+        if (indexOps.exists()) {
+            indexOps.delete();
+        }
+        IndexOperations classOps = template.indexOps(ProductDocument.class);
+        indexOps.create(
+                classOps.createSettings(ProductDocument.class),
+                classOps.createMapping(ProductDocument.class));
+
+        Random random = new Random(42);
+        List<ProductDocument> batch = new ArrayList<>();
+        for (int i = 0; i < documents; i++) {
+            String name =
+                    (pick(random, FIRST_WORDS)
+                                    + " "
+                                    + pick(random, SECOND_WORDS)
+                                    + " "
+                                    + pick(random, EDITIONS))
+                            .trim();
+            String id = UUID.randomUUID().toString();
+            namesById.put(id, name);
+            batch.add(
+                    ProductDocument.builder()
+                            .id(id)
+                            .name(name)
+                            .brandName(pick(random, BRANDS))
+                            .shortDescription("A " + name.toLowerCase(Locale.ROOT) + " fragrance")
+                            .isActive(true)
+                            .build());
+            if (batch.size() == 1000) {
+                template.save(batch, INDEX);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            template.save(batch, INDEX);
+        }
+        indexOps.refresh();
+        System.out.printf("Indexed %d products into %s%n", documents, INDEX.getIndexName());
+    }
+
+    private void run() throws IOException {
+        Random random = new Random(7);
+        List<String> names = new ArrayList<>(namesById.values());
+
+        Map<String, List<QueryCase>> shapes = new HashMap<>();
+        for (int i = 0; i < QUERIES_PER_SHAPE; i++) {
+            String name = names.get(random.nextInt(names.size()));
+            String[] words = name.toLowerCase(Locale.ROOT).split(" ");
+
+            String prefix = words[0].substring(0, 3);
+            shapes.computeIfAbsent("prefix (3 chars)", k -> new ArrayList<>())
+                    .add(new QueryCase(prefix, n -> startsAnyWord(n, prefix)));
+
+            String partial = words[0] + " " + words[1].substring(0, 2);
+            shapes.computeIfAbsent("word + partial word", k -> new ArrayList<>())
+                    .add(
+                            new QueryCase(
+                                    partial,
+                                    n ->
+                                            startsAnyWord(n, words[0])
+                                                    && startsAnyWord(n, words[1].substring(0, 2))));
+
+            String typo = swapAdjacent(name.toLowerCase(Locale.ROOT), random);
+            shapes.computeIfAbsent("full name with typo", k -> new ArrayList<>())
+                    .add(new QueryCase(typo, n -> n.equalsIgnoreCase(name)));
+        }
+
+        System.out.printf(
+                "%-22s %-9s %9s %9s %9s %12s%n",
+                "shape", "query", "p50 ms", "p95 ms", "max ms", "prec@10 / 0%");
+        for (Map.Entry<String, List<QueryCase>> shape : shapes.entrySet()) {
+            report(shape.getKey(), "wildcard", shape.getValue(), this::legacyQuery);
+            report(
+                    shape.getKey(),
+                    "ngram",
+                    shape.getValue(),
+                    ProductSearchServiceImpl::fullTextQuery);
+        }
+    }
+
+    private void report(
+            String shape, String label, List<QueryCase> cases, Function<String, Query> builder)
+            throws IOException {
+        // Warm up caches and JIT on both sides
+        for (QueryCase queryCase : cases) {
+            search(builder.apply(queryCase.text()));
+        }
+
+        List<Long> took = new ArrayList<>();
+        double precision = 0;
+        int empty = 0;
+        for (QueryCase queryCase : cases) {
+            Query query = builder.apply(queryCase.text());
+            SearchResponse<JsonData> response = null;
+            for (int run = 0; run < MEASURED_RUNS; run++) {
+                response = search(query);
+                took.add(response.took());
+            }
+
+            List<Hit<JsonData>> hits = response.hits().hits();
+            if (hits.isEmpty()) {
+                empty++;
+                continue;
+            }
+            long relevant =
+                    hits.stream()
+                            .map(h -> namesById.get(h.id()))
+                            .filter(queryCase.relevant())
+                            .count();
+            precision += (double) relevant / hits.size();
+        }
+
+        long[] sorted = took.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf(
+                "%-22s %-9s %9d %9d %9d %6.2f / %2d%%%n",
+                shape,
+                label,
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.95),
+                sorted[sorted.length - 1],
+                precision / cases.size(),
+                empty * 100 / cases.size());
+    }
+
+    private SearchResponse<JsonData> search(Query text) throws IOException {
+        Query active = Query.of(q -> q.term(t -> t.field("isActive").value(true)));
+        Query query = Query.of(q -> q.bool(b -> b.must(text).filter(active)));
+        return client.search(
+                s ->
+                        s.index(INDEX.getIndexName())
+                                .query(query)
+                                .size(10)
+                                .source(src -> src.fetch(false)),
+                JsonData.class);
+    }
+
+    /** The full-text part of the product query before the n-gram sub-fields existed. */
+    private Query legacyQuery(String query) {
+        String lowerQuery = query.toLowerCase();
+        String wildcardQuery = lowerQuery + "*";
+        BoolQuery.Builder boolQuery = new BoolQuery.Builder();
+        boolQuery.should(s -> s.prefix(p -> p.field("name").value(lowerQuery).boost(4.0f)));
+        boolQuery.should(s -> s.wildcard(w -> w.field("name").value(wildcardQuery).boost(3.0f)));
+        boolQuery.should(
+                s -> s.wildcard(w -> w.field("brandName").value(wildcardQuery).boost(2.0f)));
+        boolQuery.should(
+                s ->
+                        s.multiMatch(
+                                mm ->
+                                        mm.query(query)
+                                                .fields(
+                                                        "name^3",
+                                                        "shortDescription^2",
+                                                        "description",
+                                                        "brandName^2",
+                                                        "categoryName")
+                                                .fuzziness("AUTO")));
+        boolQuery.should(s -> s.wildcard(w -> w.field("shortDescription").value(wildcardQuery)));
+        boolQuery.minimumShouldMatch("1");
+        return boolQuery.build()._toQuery();
+    }
+
+    private static boolean startsAnyWord(String name, String prefix) {
+        return name != null
+                && Arrays.stream(name.toLowerCase(Locale.ROOT).split(" "))
+                        .anyMatch(w -> w.startsWith(prefix));
+    }
+
+    private static String swapAdjacent(String text, Random random) {
+        int i = 1 + random.nextInt(text.length() - 2);
+        char[] chars = text.toCharArray();
+        char c = chars[i];
+        chars[i] = chars[i + 1];
+        chars[i + 1] = c;
+        return new String(chars);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private record QueryCase(String text, Predicate<String> relevant) {}
+}
@@ -0,0 +1,322 @@
+package com.per.product.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.convert.MappingElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.index.MappingBuilder;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.per.common.config.elasticsearch.AliasedIndexManager;
+import com.per.common.exception.ApiErrorCode;
+import com.per.common.exception.ApiException;
+import com.per.common.response.CursorPageResponse;
+import com.per.common.response.SearchAfterCursor;
+import com.per.product.document.ProductDocument;
+import com.per.product.dto.request.ProductSearchRequest;
+import com.per.product.dto.response.ProductSearchPageResponse;
+import com.per.product.dto.response.ProductSearchResponse;
+import com.per.product.enums.Gender;
+import com.per.product.mapper.ProductDocumentMapper;
+import com.per.product.service.ProductReindexService;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.RangeBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+
+@DisplayName("ProductSearchService Unit Tests")
+class ProductSearchServiceImplTest {
+
+    @Nested
+    @DisplayName("Full Text Query Tests")
+    class FullTextQueryTests {
+
+        @Test
+        @DisplayName("Should match prefixes through n-gram sub-fields without wildcards")
+        void shouldMatchPrefixesThroughNgramSubFieldsWithoutWildcards() {
+            // When
+            Query query = ProductSearchServiceImpl.fullTextQuery("Bleu de Ch");
+
+            // Then
+            String json = query.toString();
+            assertThat(json)
+                    .contains("name.prefix", "brandName.prefix", "shortDescription.prefix")
+                    .contains("name.keyword")
+                    .doesNotContain("wildcard");
+        }
+
+        @Test
+        @DisplayName("Should map n-gram and keyword sub-fields on product document")
+        void shouldMapNgramAndKeywordSubFieldsOnProductDocument() {
+            // Given
+            MappingBuilder mappingBuilder =
+                    new MappingBuilder(
+                            new MappingElasticsearchConverter(
+                                    new SimpleElasticsearchMappingContext()));
+
+            // When
+            String mapping = mappingBuilder.buildPropertyMapping(ProductDocument.class);
+
+            // Then
+            assertThat(mapping)
+                    .contains("\"prefix\":{\"type\":\"text\",\"analyzer\":\"autocomplete\"")
+                    .contains("\"search_analyzer\":\"autocomplete_search\"")
+                    .contains("\"normalizer\":\"lowercase_normalizer\"")
+                    // search_after tiebreaker sorts on it
+                    .contains("\"id\":{\"type\":\"keyword\"");
+        }
+    }
+
+    @Nested
+    @DisplayName("Facet Tests")
+    class FacetTests {
+
+        private ElasticsearchOperations esOperations;
+        private ProductSearchServiceImpl service;
+
+        @BeforeEach
+        @SuppressWarnings("unchecked")
+        void setUp() {
+            esOperations = mock(ElasticsearchOperations.class);
+            service =
+                    new ProductSearchServiceImpl(
+                            esOperations,
+                            mock(AliasedIndexManager.class),
+                            mock(ProductReindexService.class),
+                            new ProductDocumentMapper());
+            ReflectionTestUtils.setField(service, "priceBreaks", List.of(1_000_000d, 3_000_000d));
+
+            SearchHits<ProductDocument> hits = mock(SearchHits.class);
+            when(hits.getSearchHits()).thenReturn(List.of());
+            when(hits.getTotalHits()).thenReturn(0L);
+            ElasticsearchAggregations aggregations =
+                    new ElasticsearchAggregations(
+                            Map.of(
+                                    ProductSearchServiceImpl.FACET_GENDER,
+                                    filtered(genderAggregate()),
+                                    ProductSearchServiceImpl.FACET_PRICE,
+                                    filtered(priceAggregate())));
+            doReturn(aggregations).when(hits).getAggregations();
+            when(esOperations.search(any(NativeQuery.class), eq(ProductDocument.class)))
+                    .thenReturn(hits);
+        }
+
+        @Test
+        @DisplayName("Should post-filter hits and exclude each facet's own filter from its counts")
+        void shouldPostFilterHitsAndExcludeOwnFilterFromFacetCounts() {
+            // Given
+            UUID brandId = UUID.randomUUID();
+            ProductSearchRequest request =
+                    ProductSearchRequest.builder().brandId(brandId).gender(Gender.MALE).build();
+
+            // When
+            service.search(request, PageRequest.of(0, 20));
+
+            // Then
+            ArgumentCaptor<NativeQuery> captor = ArgumentCaptor.forClass(NativeQuery.class);
+            verify(esOperations).search(captor.capture(), eq(ProductDocument.class));
+            NativeQuery query = captor.getValue();
+
+            assertThat(query.getFilter().toString()).contains("brandId", "gender");
+            assertThat(query.getQuery().toString()).doesNotContain("brandId");
+
+            Map<String, Aggregation> aggregations = query.getAggregations();
+            assertThat(aggregations)
+                    .containsKeys(
+                            ProductSearchServiceImpl.FACET_BRAND,
+                            ProductSearchServiceImpl.FACET_GENDER,
+                            ProductSearchServiceImpl.FACET_PRICE);
+            String brandFacet = aggregations.get(ProductSearchServiceImpl.FACET_BRAND).toString();
+            assertThat(brandFacet).contains("gender").doesNotContain(brandId.toString());
+            String genderFacet = aggregations.get(ProductSearchServiceImpl.FACET_GENDER).toString();
+            assertThat(genderFacet).contains(brandId.toString()).doesNotContain("\"MALE\"");
+        }
+
+        @Test
+        @DisplayName("Should read term and price facet buckets from the same response")
+        void shouldReadTermAndPriceFacetBuckets() {
+            // When
+            ProductSearchPageResponse response =
+                    service.search(new ProductSearchRequest(), PageRequest.of(0, 20));
+
+            // Then
+            assertThat(response.getPage().getContent()).isEmpty();
+            assertThat(response.getFacets().get(ProductSearchServiceImpl.FACET_GENDER))
+                    .singleElement()
+                    .satisfies(
+                            bucket -> {
+                                assertThat(bucket.getKey()).isEqualTo("MALE");
+                                assertThat(bucket.getCount()).isEqualTo(4);
+                            });
+            assertThat(response.getFacets().get(ProductSearchServiceImpl.FACET_PRICE))
+                    .singleElement()
+                    .satisfies(
+                            bucket -> {
+                                assertThat(bucket.getTo()).isEqualTo(1_000_000d);
+                                assertThat(bucket.getCount()).isEqualTo(2);
+                            });
+        }
+
+        private Aggregate genderAggregate() {
+            StringTermsBucket bucket = StringTermsBucket.of(b -> b.key("MALE").docCount(4L));
+            return Aggregate.of(
+                    a ->
+                            a.sterms(
+                                    t ->
+                                            t.sumOtherDocCount(0L)
+                                                    .buckets(b -> b.array(List.of(bucket)))));
+        }
+
+        private Aggregate priceAggregate() {
+            RangeBucket bucket =
+                    RangeBucket.of(b -> b.key("*-1000000.0").to(1_000_000d).docCount(2L));
+            return Aggregate.of(a -> a.range(r -> r.buckets(b -> b.array(List.of(bucket)))));
+        }
+
+        private Aggregate filtered(Aggregate values) {
+            return Aggregate.of(a -> a.filter(f -> f.docCount(10L).aggregations("values", values)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Cursor Scan Tests")
+    class CursorScanTests {
+
+        private ElasticsearchOperations esOperations;
+        private ProductSearchServiceImpl service;
+
+        @BeforeEach
+        void setUp() {
+            esOperations = mock(ElasticsearchOperations.class);
+            service =
+                    new ProductSearchServiceImpl(
+                            esOperations,
+                            mock(AliasedIndexManager.class),
+                            mock(ProductReindexService.class),
+                            new ProductDocumentMapper());
+            ReflectionTestUtils.setField(service, "pointInTimeKeepAlive", Duration.ofMinutes(2));
+        }
+
+        @Test
+        @DisplayName("Should open point-in-time and return cursor of last hit on first page")
+        void shouldOpenPointInTimeAndReturnCursorOfLastHit() {
+            // Given
+            when(esOperations.getIndexCoordinatesFor(ProductDocument.class))
+                    .thenReturn(IndexCoordinates.of("products"));
+            when(esOperations.openPointInTime(
+                            IndexCoordinates.of("products"), Duration.ofMinutes(2)))
+                    .thenReturn("pit-1");
+            stubHits("pit-2", hit("a", 1.5, "a"), hit("b", 1.2, "b"), hit("c", 1.0, "c"));
+
+            // When
+            CursorPageResponse<ProductSearchResponse> page =
+                    service.scroll(ProductSearchRequest.builder().query("bleu").build(), null, 2);
+
+            // Then
+            assertThat(page.getContent())
+                    .extracting(ProductSearchResponse::getId)
+                    .containsExactly("a", "b");
+            assertThat(page.isHasNext()).isTrue();
+            SearchAfterCursor next = SearchAfterCursor.decode(page.getNextCursor());
+            assertThat(next.pointInTimeId()).isEqualTo("pit-2");
+            assertThat(next.searchAfter()).containsExactly(1.2, "b");
+
+            NativeQuery query = capturedQuery();
+            assertThat(query.getPointInTime().id()).isEqualTo("pit-1");
+            assertThat(query.getPageable().getPageSize()).isEqualTo(3);
+            assertThat(query.getSortOptions())
+                    .extracting(Object::toString)
+                    .satisfiesExactly(
+                            score -> assertThat(score).contains("_score"),
+                            id -> assertThat(id).contains("\"id\""));
+            assertThat(query.getSearchAfter()).isNull();
+            verify(esOperations, never()).closePointInTime(any());
+        }
+
+        @Test
+        @DisplayName("Should continue after cursor and close point-in-time on last page")
+        void shouldContinueAfterCursorAndClosePointInTimeOnLastPage() {
+            // Given
+            String cursor = new SearchAfterCursor("pit-2", List.of("b")).encode();
+            stubHits("pit-2", hit("c", null, "c"));
+
+            // When
+            CursorPageResponse<ProductSearchResponse> page =
+                    service.scroll(new ProductSearchRequest(), cursor, 2);
+
+            // Then
+            assertThat(page.getContent()).hasSize(1);
+            assertThat(page.isHasNext()).isFalse();
+            assertThat(page.getNextCursor()).isNull();
+
+            NativeQuery query = capturedQuery();
+            assertThat(query.getPointInTime().id()).isEqualTo("pit-2");
+            assertThat(query.getSearchAfter()).containsExactly("b");
+            assertThat(query.getSortOptions()).hasSize(1);
+            verify(esOperations, never()).openPointInTime(any(), any());
+            verify(esOperations).closePointInTime("pit-2");
+        }
+
+        @Test
+        @DisplayName("Should reject malformed cursor")
+        void shouldRejectMalformedCursor() {
+            // When & Then
+            assertThatThrownBy(() -> service.scroll(new ProductSearchRequest(), "not-a-cursor", 20))
+                    .isInstanceOf(ApiException.class)
+                    .extracting("errorCode")
+                    .isEqualTo(ApiErrorCode.INVALID_CURSOR);
+        }
+
+        @SafeVarargs
+        @SuppressWarnings("unchecked")
+        private void stubHits(String pointInTimeId, SearchHit<ProductDocument>... hits) {
+            SearchHits<ProductDocument> searchHits = mock(SearchHits.class);
+            when(searchHits.getSearchHits()).thenReturn(List.of(hits));
+            when(searchHits.getPointInTimeId()).thenReturn(pointInTimeId);
+            when(esOperations.search(any(NativeQuery.class), eq(ProductDocument.class)))
+                    .thenReturn(searchHits);
+        }
+
+        @SuppressWarnings("unchecked")
+        private SearchHit<ProductDocument> hit(String id, Double score, String sortId) {
+            SearchHit<ProductDocument> hit = mock(SearchHit.class);
+            when(hit.getContent()).thenReturn(ProductDocument.builder().id(id).build());
+            List<Object> sortValues = score == null ? List.of(sortId) : List.of(score, sortId);
+            when(hit.getSortValues()).thenReturn(sortValues);
+            return hit;
+        }
+
+        private NativeQuery capturedQuery() {
+            ArgumentCaptor<NativeQuery> captor = ArgumentCaptor.forClass(NativeQuery.class);
+            verify(esOperations).search(captor.capture(), eq(ProductDocument.class));
+            return captor.getValue();
+        }
+    }
+}
@@ -8,6 +8,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Optional;
@@ -34,7 +35,9 @@ import com.per.category.repository.CategoryRepository;
 import com.per.common.config.cache.CacheEvictionHelper;
 import com.per.common.exception.ApiErrorCode;
 import com.per.common.exception.ApiException;
+import com.per.common.response.CursorPageResponse;
 import com.per.common.response.PageResponse;
+import com.per.common.response.SeekCursor;
 import com.per.made_in.entity.MadeIn;
 import com.per.made_in.repository.MadeInRepository;
 import com.per.product.dto.request.ProductCreateRequest;
@@ -106,6 +109,65 @@ class ProductServiceImplTest {
                         .build();
     }
 
+    @Nested
+    @DisplayName("Scroll Products Tests")
+    class ScrollProductsTests {
+
+        @Test
+        @DisplayName("Should return first page with next cursor when more rows exist")
+        void shouldReturnFirstPageWithNextCursorWhenMoreRowsExist() {
+            // Given
+            Instant createdAt = Instant.parse("2026-01-01T00:00:00Z");
+            ProductResponse newest =
+                    ProductResponse.builder().id(productId).createdAt(createdAt).build();
+            ProductResponse older =
+                    ProductResponse.builder()
+                            .id(UUID.randomUUID())
+                            .createdAt(createdAt.minusSeconds(60))
+                            .build();
+
+            when(productRepository.findFirstPage(PageRequest.of(0, 2)))
+                    .thenReturn(java.util.List.of(newest, older));
+
+            // When
+            CursorPageResponse<ProductResponse> result = productService.scrollProducts(null, 1);
+
+            // Then
+            assertThat(result.getContent()).hasSize(1);
+            assertThat(result.isHasNext()).isTrue();
+            assertThat(SeekCursor.decode(result.getNextCursor()))
+                    .isEqualTo(new SeekCursor(createdAt, productId));
+        }
+
+        @Test
+        @DisplayName("Should seek past cursor without next page on last page")
+        void shouldSeekPastCursorWithoutNextPageOnLastPage() {
+            // Given
+            SeekCursor cursor = new SeekCursor(Instant.parse("2026-01-01T00:00:00Z"), productId);
+            when(productRepository.findPageAfter(
+                            cursor.createdAt(), cursor.id(), PageRequest.of(0, 21)))
+                    .thenReturn(java.util.List.of());
+
+            // When
+            CursorPageResponse<ProductResponse> result =
+                    productService.scrollProducts(cursor.encode(), 20);
+
+            // Then
+            assertThat(result.getContent()).isEmpty();
+            assertThat(result.isHasNext()).isFalse();
+            assertThat(result.getNextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should throw exception when cursor is malformed")
+        void shouldThrowExceptionWhenCursorIsMalformed() {
+            // When & Then
+            assertThatThrownBy(() -> productService.scrollProducts("not-a-cursor", 20))
+                    .isInstanceOf(ApiException.class)
+                    .hasFieldOrPropertyWithValue("errorCode", ApiErrorCode.INVALID_CURSOR);
+        }
+    }
+
     @Nested
     @DisplayName("Get Products Tests")
     class GetProductsTests {
@@ -115,12 +177,11 @@ class ProductServiceImplTest {
         void shouldReturnPaginatedProductsWhenQueryIsNull() {
             // Given
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Product> productPage = new PageImpl<>(java.util.List.of(testProduct));
             ProductResponse productResponse =
                     ProductResponse.builder().id(productId).name("Test Product").build();
+            Page<ProductResponse> productPage = new PageImpl<>(java.util.List.of(productResponse));
 
-            when(productRepository.findAll(pageable)).thenReturn(productPage);
-            when(productMapper.toResponse(any(Product.class))).thenReturn(productResponse);
+            when(productRepository.findAllResponses(pageable)).thenReturn(productPage);
 
             // When
             PageResponse<ProductResponse> result = productService.getProducts(null, pageable);
@@ -129,7 +190,7 @@ class ProductServiceImplTest {
             assertThat(result).isNotNull();
             assertThat(result.getContent()).hasSize(1);
 
-            verify(productRepository).findAll(pageable);
+            verify(productRepository).findAllResponses(pageable);
         }
 
         @Test
@@ -138,20 +199,18 @@ class ProductServiceImplTest {
             // Given
             String query = "Test";
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Product> productPage = new PageImpl<>(java.util.List.of(testProduct));
             ProductResponse productResponse =
                     ProductResponse.builder().id(productId).name("Test Product").build();
+            Page<ProductResponse> productPage = new PageImpl<>(java.util.List.of(productResponse));
 
-            when(productRepository.findByNameContainingIgnoreCase(query, pageable))
-                    .thenReturn(productPage);
-            when(productMapper.toResponse(any(Product.class))).thenReturn(productResponse);
+            when(productRepository.searchResponsesByName(query, pageable)).thenReturn(productPage);
 
             // When
             PageResponse<ProductResponse> result = productService.getProducts(query, pageable);
 
             // Then
             assertThat(result).isNotNull();
-            verify(productRepository).findByNameContainingIgnoreCase(query, pageable);
+            verify(productRepository).searchResponsesByName(query, pageable);
         }
     }
 
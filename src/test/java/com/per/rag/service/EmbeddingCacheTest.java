@@ -0,0 +1,139 @@
+package com.per.rag.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmbeddingCache Unit Tests")
+class EmbeddingCacheTest {
+
+    private static final float[] WOODY = {0.1f, 0.2f};
+    private static final float[] FLORAL = {0.3f, 0.4f};
+
+    @Mock private EmbeddingDispatcher embeddingDispatcher;
+    @Mock private RedisTemplate<String, byte[]> redisTemplate;
+    @Mock private ValueOperations<String, byte[]> valueOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmbeddingCache embeddingCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        embeddingCache =
+                new EmbeddingCache(
+                        embeddingDispatcher,
+                        redisTemplate,
+                        meterRegistry,
+                        "text-embedding-3-small",
+                        true,
+                        100,
+                        Duration.ofDays(30));
+    }
+
+    @Test
+    @DisplayName("Should embed normalized text once and serve repeats from the local tier")
+    void shouldServeRepeatedTextFromLocalTier() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenAnswer(invocation -> nulls(invocation));
+        when(embeddingDispatcher.embed(List.of("woody perfume"))).thenReturn(List.of(WOODY));
+
+        // When
+        float[] first = embeddingCache.embed("woody   perfume\n");
+        float[] second = embeddingCache.embed(" woody perfume");
+
+        // Then
+        assertThat(first).isEqualTo(WOODY);
+        assertThat(second).isSameAs(first);
+        verify(embeddingDispatcher, times(1)).embed(anyList());
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+        assertThat(requests("model")).isEqualTo(1);
+        assertThat(requests("local")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should embed only texts missing from Redis, each distinct text once per batch")
+    void shouldEmbedOnlyRedisMisses() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList()))
+                .thenAnswer(
+                        invocation -> {
+                            List<byte[]> stored = nulls(invocation);
+                            stored.set(0, EmbeddingCache.encode(WOODY));
+                            return stored;
+                        });
+        when(embeddingDispatcher.embed(List.of("floral"))).thenReturn(List.of(FLORAL));
+
+        // When
+        List<float[]> vectors = embeddingCache.embedAll(List.of("woody", "floral", "floral "));
+
+        // Then
+        assertThat(vectors).containsExactly(WOODY, FLORAL, FLORAL);
+        verify(embeddingDispatcher, times(1)).embed(anyList());
+        assertThat(requests("redis")).isEqualTo(1);
+        assertThat(requests("model")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the model when Redis is unreachable")
+    void shouldFallBackToModelWhenRedisFails() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(embeddingDispatcher.embed(List.of("woody"))).thenReturn(List.of(WOODY));
+
+        // When
+        float[] vector = embeddingCache.embed("woody");
+
+        // Then
+        assertThat(vector).isEqualTo(WOODY);
+        assertThat(requests("model")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should round-trip vectors through the compact Redis encoding")
+    void shouldRoundTripEncoding() {
+        float[] vector = {1.5f, -0.25f, Float.MIN_VALUE};
+
+        byte[] encoded = EmbeddingCache.encode(vector);
+
+        assertThat(encoded).hasSize(vector.length * Float.BYTES);
+        assertThat(EmbeddingCache.decode(encoded)).containsExactly(vector);
+    }
+
+    private double requests(String tier) {
+        return meterRegistry.counter("rag.embedding.cache.requests", "tier", tier).count();
+    }
+
+    private static List<byte[]> nulls(InvocationOnMock invocation) {
+        List<String> keys = invocation.getArgument(0);
+        byte[][] values = new byte[keys.size()][];
+        return new ArrayList<>(Arrays.asList(values));
+    }
+}
@@ -0,0 +1,170 @@
+package com.per.rag.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import com.per.common.exception.ApiErrorCode;
+import com.per.common.exception.ApiException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("EmbeddingDispatcher Unit Tests")
+class EmbeddingDispatcherTest {
+
+    // A stub rather than a mock: callers hit it from several threads at once
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private final EmbeddingModel embeddingModel =
+            new EmbeddingModel() {
+                @Override
+                public EmbeddingResponse call(EmbeddingRequest request) {
+                    List<String> texts = request.getInstructions();
+                    batches.add(texts);
+                    List<Embedding> embeddings = new ArrayList<>();
+                    for (int i = 0; i < texts.size(); i++) {
+                        if (texts.get(i).equals("fail")) {
+                            throw new IllegalStateException("rate limited");
+                        }
+                        embeddings.add(new Embedding(new float[] {texts.get(i).length()}, i));
+                    }
+                    return new EmbeddingResponse(embeddings);
+                }
+
+                @Override
+                public float[] embed(Document document) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+    private EmbeddingDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should send concurrent callers as one batch and fan the vectors back out")
+    void shouldBatchConcurrentCallers() throws Exception {
+        // Given
+        dispatcher = startDispatcher(10, Duration.ofMillis(500), 100);
+        List<String> queries = List.of("a", "bb", "ccc", "bb");
+
+        // When
+        List<Future<List<float[]>>> results = submitTogether(queries);
+
+        // Then
+        for (int i = 0; i < queries.size(); i++) {
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS))
+                    .singleElement()
+                    .isEqualTo(new float[] {queries.get(i).length()});
+        }
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactlyInAnyOrder("a", "bb", "ccc");
+    }
+
+    @Test
+    @DisplayName("Should send a batch as soon as it is full without waiting for the latency window")
+    void shouldSendFullBatchImmediately() throws Exception {
+        // Given
+        dispatcher = startDispatcher(3, Duration.ofMinutes(1), 100);
+
+        // When
+        List<Future<List<float[]>>> results = submitTogether(List.of("a", "bb", "ccc"));
+
+        // Then
+        for (Future<List<float[]>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).hasSize(1);
+        }
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).hasSize(3);
+        assertThat(meterRegistry.summary("rag.embedding.batch.size").totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should reject callers when the queue is full")
+    void shouldRejectWhenQueueIsFull() {
+        // Given: no collector drains the queue
+        dispatcher = newDispatcher(10, Duration.ofMillis(5), 1);
+
+        // When / Then
+        assertThatThrownBy(() -> dispatcher.embed(List.of("a", "bb")))
+                .isInstanceOf(ApiException.class)
+                .extracting("errorCode")
+                .isEqualTo(ApiErrorCode.TOO_MANY_REQUESTS);
+        assertThat(meterRegistry.counter("rag.embedding.dispatcher.rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail every caller of a batch when the model call fails")
+    void shouldPropagateModelFailure() {
+        // Given
+        dispatcher = startDispatcher(10, Duration.ofMillis(5), 100);
+
+        // When / Then
+        assertThatThrownBy(() -> dispatcher.embed(List.of("fail")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("rate limited");
+    }
+
+    private List<Future<List<float[]>>> submitTogether(List<String> queries) {
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<List<float[]>>> results = new ArrayList<>();
+        for (String query : queries) {
+            results.add(
+                    callers.submit(
+                            () -> {
+                                ready.await();
+                                return dispatcher.embed(List.of(query));
+                            }));
+        }
+        ready.countDown();
+        return results;
+    }
+
+    private EmbeddingDispatcher startDispatcher(
+            int maxBatchSize, Duration maxLatency, int queueCapacity) {
+        EmbeddingDispatcher started = newDispatcher(maxBatchSize, maxLatency, queueCapacity);
+        started.start();
+        return started;
+    }
+
+    private EmbeddingDispatcher newDispatcher(
+            int maxBatchSize, Duration maxLatency, int queueCapacity) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("embed-");
+        executor.setVirtualThreads(true);
+        return new EmbeddingDispatcher(
+                embeddingModel,
+                executor,
+                meterRegistry,
+                true,
+                maxBatchSize,
+                maxLatency,
+                queueCapacity,
+                2);
+    }
+}
@@ -0,0 +1,155 @@
+package com.per.rag.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+
+import com.per.rag.dto.ProductVectorVersion;
+import com.per.rag.service.impl.EntityVectorServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("QdrantCdcService Unit Tests")
+class QdrantCdcServiceTest {
+
+    private static final UUID SAUVAGE = UUID.randomUUID();
+    private static final UUID BLEU = UUID.randomUUID();
+    private static final UUID AVENTUS = UUID.randomUUID();
+
+    // A stub rather than a mock: the worker thread calls it while the test thread queues changes
+    private final BlockingQueue<Sync> syncs = new LinkedBlockingQueue<>();
+    private final CountDownLatch firstSyncEntered = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstSync = new CountDownLatch(1);
+    private volatile boolean failFirstSync;
+    private final VectorStoreService vectorStoreService =
+            new VectorStoreService() {
+                private boolean first = true;
+
+                @Override
+                public void syncProducts(Collection<UUID> upsertIds, Collection<UUID> deleteIds) {
+                    boolean firstCall = first;
+                    first = false;
+                    if (firstCall) {
+                        firstSyncEntered.countDown();
+                        await(releaseFirstSync);
+                    }
+                    syncs.add(new Sync(Set.copyOf(upsertIds), Set.copyOf(deleteIds)));
+                    if (firstCall && failFirstSync) {
+                        throw new IllegalStateException("embedding provider unavailable");
+                    }
+                }
+
+                @Override
+                public int indexAllProducts() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void indexProduct(UUID productId) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public List<Document> searchSimilar(String query, int topK, double threshold) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void deleteByMetadata(String key, String value) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void forEachProductVectorVersion(Consumer<ProductVectorVersion> consumer) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public Map<String, Object> getKnowledgeStatus() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private QdrantCdcService service;
+
+    @BeforeEach
+    void setUp() {
+        service =
+                new QdrantCdcService(
+                        mock(EntityVectorServiceImpl.class),
+                        vectorStoreService,
+                        meterRegistry,
+                        true);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseFirstSync.countDown();
+        service.stop();
+    }
+
+    @Test
+    @DisplayName("Should return at once and coalesce changes queued while a sync runs")
+    void shouldHandOffAndCoalesceChanges() throws Exception {
+        // Given
+        service.syncProducts(List.of(SAUVAGE), List.of());
+        assertThat(firstSyncEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        service.syncProducts(List.of(BLEU), List.of());
+        service.syncProducts(List.of(AVENTUS), List.of(BLEU));
+        assertThat(meterRegistry.get("cdc.vectors.pending").gauge().value()).isEqualTo(2.0);
+        releaseFirstSync.countDown();
+
+        // Then
+        assertThat(syncs.poll(5, TimeUnit.SECONDS)).isEqualTo(new Sync(Set.of(SAUVAGE), Set.of()));
+        assertThat(syncs.poll(5, TimeUnit.SECONDS))
+                .isEqualTo(new Sync(Set.of(AVENTUS), Set.of(BLEU)));
+        assertThat(meterRegistry.get("cdc.vectors.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep syncing after a failed sync")
+    void shouldKeepSyncingAfterFailure() throws Exception {
+        // Given
+        failFirstSync = true;
+        service.syncProducts(List.of(SAUVAGE), List.of());
+        assertThat(firstSyncEntered.await(5, TimeUnit.SECONDS)).isTrue();
+        releaseFirstSync.countDown();
+        assertThat(syncs.poll(5, TimeUnit.SECONDS)).isEqualTo(new Sync(Set.of(SAUVAGE), Set.of()));
+
+        // When
+        service.syncProducts(List.of(), List.of(AVENTUS));
+
+        // Then
+        assertThat(syncs.poll(5, TimeUnit.SECONDS)).isEqualTo(new Sync(Set.of(), Set.of(AVENTUS)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Sync(Set<UUID> upsertIds, Set<UUID> deleteIds) {}
+}
@@ -0,0 +1,147 @@
+package com.per.rag.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.per.rag.service.EmbeddingCache;
+import com.per.rag.service.MultiCollectionSearchService.MultiSearchResult;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MultiCollectionSearchService Unit Tests")
+class MultiCollectionSearchServiceImplTest {
+
+    @Mock private EmbeddingCache embeddingCache;
+
+    private final Map<String, Callable<String>> collections = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    // A stub rather than a mock: the slow collection must not hold up the concurrent calls
+    private final RestTemplate qdrantRestTemplate =
+            new RestTemplate() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <T> ResponseEntity<T> postForEntity(
+                        String url, Object request, Class<T> responseType, Object... uriVariables) {
+                    requests.incrementAndGet();
+                    String collection = url.split("/")[2];
+                    try {
+                        return (ResponseEntity<T>)
+                                ResponseEntity.ok(collections.get(collection).call());
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            };
+
+    private SimpleMeterRegistry meterRegistry;
+    private MultiCollectionSearchServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("search-");
+        executor.setVirtualThreads(true);
+        meterRegistry = new SimpleMeterRegistry();
+        service =
+                new MultiCollectionSearchServiceImpl(
+                        embeddingCache,
+                        qdrantRestTemplate,
+                        new ObjectMapper(),
+                        executor,
+                        meterRegistry);
+        ReflectionTestUtils.setField(service, "productCollection", "product_vectors");
+        ReflectionTestUtils.setField(service, "brandCollection", "brand_vectors");
+        ReflectionTestUtils.setField(service, "categoryCollection", "category_vectors");
+        ReflectionTestUtils.setField(service, "knowledgeCollection", "knowledge_vectors");
+        ReflectionTestUtils.setField(service, "collectionTimeout", Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Should embed once and keep the results of collections that answered")
+    void shouldEmbedOnceAndTolerateFailedAndSlowCollections() {
+        // Given
+        when(embeddingCache.embed("woody perfume")).thenReturn(new float[] {0.1f, 0.2f});
+        givenCollection("brand_vectors", hit("b1", "Dior"));
+        givenCollection("product_vectors", hit("p1", "Sauvage"));
+        collections.put(
+                "category_vectors",
+                () -> {
+                    throw new ResourceAccessException("connection refused");
+                });
+        collections.put(
+                "knowledge_vectors",
+                () -> {
+                    Thread.sleep(3_000);
+                    return "{\"result\":[]}";
+                });
+
+        // When
+        MultiSearchResult result = service.searchAll("woody perfume", 3, 0.3);
+
+        // Then
+        verify(embeddingCache, times(1)).embed("woody perfume");
+        assertThat(result.brands()).extracting(d -> d.getId()).containsExactly("b1");
+        assertThat(result.products()).extracting(d -> d.getId()).containsExactly("p1");
+        assertThat(result.categories()).isEmpty();
+        assertThat(result.knowledge()).isEmpty();
+        assertThat(
+                        meterRegistry
+                                .counter("rag.search.timeouts", "collection", "knowledge_vectors")
+                                .count())
+                .isEqualTo(1);
+        assertThat(
+                        meterRegistry
+                                .get("rag.search.collection")
+                                .tags("collection", "category_vectors", "outcome", "error")
+                                .timer()
+                                .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should skip Qdrant when the query cannot be embedded")
+    void shouldReturnEmptyResultWhenEmbeddingFails() {
+        // Given
+        when(embeddingCache.embed(anyString())).thenThrow(new IllegalStateException("quota"));
+
+        // When
+        MultiSearchResult result = service.searchAll("woody perfume", 3, 0.3);
+
+        // Then
+        assertThat(result.products()).isEmpty();
+        assertThat(requests).hasValue(0);
+    }
+
+    private void givenCollection(String collection, String hits) {
+        collections.put(collection, () -> "{\"result\":[" + hits + "]}");
+    }
+
+    private static String hit(String id, String name) {
+        return "{\"id\":\"" + id + "\",\"score\":0.9,\"payload\":{\"name\":\"" + name + "\"}}";
+    }
+}
@@ -0,0 +1,128 @@
+package com.per.rag.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.per.brand.entity.Brand;
+import com.per.category.entity.Category;
+import com.per.made_in.entity.MadeIn;
+import com.per.product.entity.Product;
+import com.per.product.entity.ProductVariant;
+import com.per.product.repository.ProductRepository;
+import com.per.product.repository.ProductVariantRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VectorStoreService Unit Tests")
+class VectorStoreServiceImplTest {
+
+    @Mock private ProductRepository productRepository;
+    @Mock private ProductVariantRepository productVariantRepository;
+    @Mock private VectorStore vectorStore;
+    @Mock private RestTemplate qdrantRestTemplate;
+
+    @Captor private ArgumentCaptor<List<Document>> documents;
+    @Captor private ArgumentCaptor<List<String>> deletedIds;
+
+    private VectorStoreServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service =
+                new VectorStoreServiceImpl(
+                        productRepository,
+                        productVariantRepository,
+                        vectorStore,
+                        qdrantRestTemplate,
+                        new ObjectMapper());
+        ReflectionTestUtils.setField(service, "upsertBatchSize", 2);
+    }
+
+    @Test
+    @DisplayName("Should upsert products in sized batches with one query per batch")
+    void shouldUpsertInBatches() {
+        // Given
+        Product sauvage = product("Sauvage", true);
+        Product bleu = product("Bleu de Chanel", true);
+        Product aventus = product("Aventus", true);
+        when(productRepository.findAllByIdInWithRelations(List.of(sauvage.getId(), bleu.getId())))
+                .thenReturn(List.of(sauvage, bleu));
+        when(productRepository.findAllByIdInWithRelations(List.of(aventus.getId())))
+                .thenReturn(List.of(aventus));
+        when(productVariantRepository.findByProductIdIn(anyList()))
+                .thenReturn(List.of(variant(sauvage, "80.00"), variant(sauvage, "120.00")))
+                .thenReturn(List.of());
+
+        // When
+        service.syncProducts(List.of(sauvage.getId(), bleu.getId(), aventus.getId()), List.of());
+
+        // Then
+        verify(vectorStore, times(2)).add(documents.capture());
+        assertThat(documents.getAllValues().get(0)).hasSize(2);
+        assertThat(documents.getAllValues().get(1)).hasSize(1);
+        Document first = documents.getAllValues().get(0).get(0);
+        assertThat(first.getId()).isEqualTo(sauvage.getId().toString());
+        assertThat(first.getMetadata()).containsEntry("minPrice", 80.0);
+        assertThat(first.getText()).contains("Price Range: 80.00 - 120.00");
+        verify(vectorStore, never()).delete(anyList());
+    }
+
+    @Test
+    @DisplayName("Should delete vectors of deleted, missing and inactive products by point id")
+    void shouldDeleteMissingAndInactiveProducts() {
+        // Given
+        Product inactive = product("Discontinued", false);
+        UUID missing = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        when(productRepository.findAllByIdInWithRelations(List.of(inactive.getId(), missing)))
+                .thenReturn(List.of(inactive));
+
+        // When
+        service.syncProducts(List.of(inactive.getId(), missing), List.of(deleted));
+
+        // Then
+        verify(vectorStore, never()).add(anyList());
+        verify(vectorStore, times(2)).delete(deletedIds.capture());
+        assertThat(deletedIds.getAllValues().stream().flatMap(List::stream))
+                .containsExactlyInAnyOrder(
+                        deleted.toString(), inactive.getId().toString(), missing.toString());
+    }
+
+    private static Product product(String name, boolean active) {
+        return Product.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .brand(Brand.builder().name("Dior").build())
+                .category(Category.builder().name("Eau de Parfum").build())
+                .madeIn(MadeIn.builder().name("France").build())
+                .active(active)
+                .updatedAt(Instant.parse("2026-01-01T00:00:00Z"))
+                .build();
+    }
+
+    private static ProductVariant variant(Product product, String price) {
+        return ProductVariant.builder().product(product).price(new BigDecimal(price)).build();
+    }
+}
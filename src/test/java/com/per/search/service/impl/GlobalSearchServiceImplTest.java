@@ -0,0 +1,159 @@
+package com.per.search.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+
+import com.per.brand.document.BrandDocument;
+import com.per.brand.service.BrandSearchService;
+import com.per.category.document.CategoryDocument;
+import com.per.category.service.CategorySearchService;
+import com.per.made_in.document.MadeInDocument;
+import com.per.made_in.service.MadeInSearchService;
+import com.per.product.document.ProductDocument;
+import com.per.product.mapper.ProductDocumentMapper;
+import com.per.product.service.ProductSearchService;
+import com.per.search.dto.response.GlobalSearchResponse;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GlobalSearchService Unit Tests")
+class GlobalSearchServiceImplTest {
+
+    @Mock private ElasticsearchOperations esOperations;
+
+    @Mock private ProductSearchService productSearchService;
+
+    @Mock private BrandSearchService brandSearchService;
+
+    @Mock private CategorySearchService categorySearchService;
+
+    @Mock private MadeInSearchService madeInSearchService;
+
+    private GlobalSearchServiceImpl globalSearchService;
+
+    @BeforeEach
+    void setUp() {
+        globalSearchService =
+                new GlobalSearchServiceImpl(
+                        esOperations,
+                        productSearchService,
+                        brandSearchService,
+                        categorySearchService,
+                        madeInSearchService,
+                        new ProductDocumentMapper());
+
+        when(productSearchService.searchQuery("dior")).thenReturn(named("product"));
+        when(brandSearchService.searchQuery("dior")).thenReturn(named("brand"));
+        when(categorySearchService.searchQuery("dior")).thenReturn(named("category"));
+        when(madeInSearchService.searchQuery("dior")).thenReturn(named("madeIn"));
+    }
+
+    @Test
+    @DisplayName("Should send all entity queries in one multi search and group the hits")
+    @SuppressWarnings("unchecked")
+    void shouldSendAllQueriesInOneMultiSearchAndGroupHits() {
+        // Given
+        List<SearchHits<?>> results =
+                List.of(
+                        hits(3, ProductDocument.builder().id("p1").name("Sauvage").build()),
+                        hits(1, BrandDocument.builder().id("b1").name("Dior").build()),
+                        hits(0),
+                        hits(0));
+        doReturn(results).when(esOperations).multiSearch(anyList(), anyList());
+
+        // When
+        GlobalSearchResponse response = globalSearchService.search("dior", 5);
+
+        // Then
+        ArgumentCaptor<List<NativeQuery>> queries = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Class<?>>> classes = ArgumentCaptor.forClass(List.class);
+        verify(esOperations).multiSearch(queries.capture(), classes.capture());
+        verify(esOperations, never()).search(any(NativeQuery.class), any(Class.class));
+
+        assertThat(queries.getValue())
+                .extracting(q -> q.getQuery().bool().queryName())
+                .containsExactly("product", "brand", "category", "madeIn");
+        assertThat(queries.getValue())
+                .allSatisfy(q -> assertThat(q.getPageable().getPageSize()).isEqualTo(5));
+        assertThat(classes.getValue())
+                .containsExactly(
+                        ProductDocument.class,
+                        BrandDocument.class,
+                        CategoryDocument.class,
+                        MadeInDocument.class);
+
+        assertThat(response.getProducts().getTotal()).isEqualTo(3);
+        assertThat(response.getProducts().getItems())
+                .singleElement()
+                .satisfies(p -> assertThat(p.getName()).isEqualTo("Sauvage"));
+        assertThat(response.getBrands().getItems())
+                .extracting(BrandDocument::getId)
+                .containsExactly("b1");
+        assertThat(response.getCategories().getItems()).isEmpty();
+        assertThat(response.getMadeIn().getItems()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should cap the number of hits per entity type")
+    @SuppressWarnings("unchecked")
+    void shouldCapHitsPerEntityType() {
+        // Given
+        List<SearchHits<?>> results = List.of(hits(0), hits(0), hits(0), hits(0));
+        doReturn(results).when(esOperations).multiSearch(anyList(), anyList());
+
+        // When
+        globalSearchService.search("dior", 500);
+
+        // Then
+        ArgumentCaptor<List<NativeQuery>> queries = ArgumentCaptor.forClass(List.class);
+        verify(esOperations).multiSearch(queries.capture(), anyList());
+        assertThat(queries.getValue())
+                .allSatisfy(
+                        q ->
+                                assertThat(q.getPageable().getPageSize())
+                                        .isEqualTo(GlobalSearchServiceImpl.MAX_SIZE));
+    }
+
+    private static Query named(String name) {
+        return Query.of(q -> q.bool(b -> b.queryName(name)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> SearchHits<T> hits(long total, T... documents) {
+        SearchHits<T> hits = mock(SearchHits.class);
+        List<SearchHit<T>> searchHits =
+                Arrays.stream(documents)
+                        .map(
+                                document -> {
+                                    SearchHit<T> hit = mock(SearchHit.class);
+                                    when(hit.getContent()).thenReturn(document);
+                                    return hit;
+                                })
+                        .toList();
+        when(hits.getSearchHits()).thenReturn(searchHits);
+        when(hits.getTotalHits()).thenReturn(total);
+        return hits;
+    }
+}